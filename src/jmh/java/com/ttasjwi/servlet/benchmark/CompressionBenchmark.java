@@ -0,0 +1,112 @@
+package com.ttasjwi.servlet.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ttasjwi.servlet.domain.Member;
+import com.ttasjwi.servlet.web.compression.CompressionResponseWrapper;
+import com.ttasjwi.servlet.web.compression.CompressionStats;
+import com.ttasjwi.servlet.web.compression.ContentEncoding;
+import com.ttasjwi.servlet.web.compression.DeflaterPool;
+import com.ttasjwi.servlet.web.view.HtmlOutput;
+import com.ttasjwi.servlet.web.view.MembersTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 응답 압축(CompressionFilter 의 CompressionResponseWrapper) 의 레벨별 CPU 비용과 전송 바이트 수
+ * - identity : 압축하지 않고 응답에 쓰는 기준값
+ * - gzip : level 별 응답당 시간. 압축 후 크기는 각 trial 이 끝날 때 출력 ("wire bytes")
+ * - pooled=false 는 응답마다 Deflater 를 만들고 해제 (풀을 쓰지 않을 때의 비용, gc.alloc.rate.norm 과 함께 비교)
+ * - body : 회원 목록 HTML(MembersTemplate), JSON(MemberApiServlet 과 같은 필드)
+ * - min-size 는 0 : 작은 body 도 압축해서 크기별 비용을 비교 (실제 필터는 compression.min-size 이하를 압축하지 않음)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class CompressionBenchmark {
+
+    @Param({"html", "json"})
+    String body;
+
+    @Param({"20", "1000"})
+    int memberCount;
+
+    @Param({"1", "6", "9"})
+    int level;
+
+    @Param({"true", "false"})
+    boolean pooled;
+
+    private byte[] content;
+    private String contentType;
+    private DeflaterPool pool;
+    private CompressionStats stats;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < memberCount; i++) {
+            Member member = new Member("member" + i, 20 + i % 50);
+            member.setId((long) i + 1);
+            members.add(member);
+        }
+        if (body.equals("html")) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            HtmlOutput out = new HtmlOutput(bytes);
+            new MembersTemplate().render(members, out);
+            out.flush();
+            content = bytes.toByteArray();
+            contentType = "text/html;charset=utf-8";
+        } else {
+            content = new ObjectMapper().writeValueAsBytes(members);
+            contentType = "application/json";
+        }
+        pool = new DeflaterPool(level, pooled ? 8 : 0);
+        stats = new CompressionStats(pool);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (stats.getResponses() > 0) {
+            System.out.printf("%nwire bytes : body=%s members=%d level=%d -> %d / %d bytes (%.1f%%)%n",
+                    body, memberCount, level, stats.getOutputBytes() / stats.getResponses(), content.length,
+                    100.0 * stats.getOutputBytes() / stats.getInputBytes());
+        }
+    }
+
+    @Benchmark
+    public byte[] identity() throws IOException {
+        MockHttpServletResponse response = response();
+        response.getOutputStream().write(content);
+        return response.getContentAsByteArray();
+    }
+
+    @Benchmark
+    public byte[] gzip() throws IOException {
+        MockHttpServletResponse response = response();
+        CompressionResponseWrapper wrapper = new CompressionResponseWrapper(response, ContentEncoding.GZIP, pool, 0, stats);
+        wrapper.getOutputStream().write(content);
+        wrapper.getOutputStream().close();
+        return response.getContentAsByteArray();
+    }
+
+    private MockHttpServletResponse response() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setContentType(contentType);
+        return response;
+    }
+}
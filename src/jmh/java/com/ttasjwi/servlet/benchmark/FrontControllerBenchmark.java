@@ -0,0 +1,145 @@
+package com.ttasjwi.servlet.benchmark;
+
+import com.ttasjwi.servlet.domain.Member;
+import com.ttasjwi.servlet.domain.MemberRepository;
+import com.ttasjwi.servlet.web.frontcontroller.v1.FrontControllerServletV1;
+import com.ttasjwi.servlet.web.frontcontroller.v2.FrontControllerServletV2;
+import com.ttasjwi.servlet.web.frontcontroller.v3.FrontControllerServletV3;
+import com.ttasjwi.servlet.web.frontcontroller.v4.FrontControllerServletV4;
+import com.ttasjwi.servlet.web.frontcontroller.v5.FrontControllerServletV5;
+import com.ttasjwi.servlet.web.servlet.MemberFormServlet;
+import com.ttasjwi.servlet.web.servlet.MemberListServlet;
+import com.ttasjwi.servlet.web.servlet.MemberSaveServlet;
+import com.ttasjwi.servlet.web.servletmvc.MvcMemberFormServlet;
+import com.ttasjwi.servlet.web.servletmvc.MvcMemberListServlet;
+import com.ttasjwi.servlet.web.servletmvc.MvcMemberSaveServlet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletConfig;
+import org.springframework.mock.web.MockServletContext;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 서블릿, 서블릿 MVC, 프론트 컨트롤러 v1 ~ v5 의 요청당 처리량과 할당량 비교
+ * - v5-annotated : @MyController 핸들러 메서드(HandlerInvoker 호출). v5-v4 와 같은 수준이어야 함
+ * - Mock 요청/응답으로 servlet.service 를 직접 호출 (JSP 는 forward 경로만 기록되고 실행되지 않음)
+ * - 회원 수(memberCount)를 바꿔가며 list, save, form 흐름을 측정. 저장소는 반복마다 memberCount 명으로 되돌림
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(time = 2)
+@Measurement(time = 2) // save 흐름이 한 반복 안에서 쌓는 회원 수를 줄이도록 반복을 짧게 (기본 10초)
+public class FrontControllerBenchmark {
+
+    @Param({"servlet", "servlet-mvc", "v1", "v2", "v3", "v4", "v5-v3", "v5-v4", "v5-annotated"})
+    String dispatcher;
+
+    @Param({"list", "save", "form"})
+    String flow;
+
+    @Param({"100", "10000"})
+    int memberCount;
+
+    private HttpServlet servlet;
+    private String uri;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ServletException {
+        servlet = createServlet();
+        servlet.init(new MockServletConfig(new MockServletContext()));
+        uri = basePath() + uriSuffix();
+    }
+
+    /**
+     * 반복(iteration)마다 memberCount 명으로 되돌림
+     * - save 흐름이 저장한 회원이 쌓이면 뒤쪽 반복일수록 저장소가 커지고 GC 부담이 늘어서, 같은 조건의 측정이 아니게 됨
+     */
+    @Setup(Level.Iteration)
+    public void resetMembers() {
+        MemberRepository memberRepository = MemberRepository.getInstance();
+        memberRepository.clearStore();
+        for (int i = 0; i < memberCount; i++) {
+            memberRepository.save(new Member("member" + i, i % 100));
+        }
+    }
+
+    @Benchmark
+    public MockHttpServletResponse dispatch() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(flow.equals("save") ? "POST" : "GET", uri);
+        if (flow.equals("save")) {
+            request.setParameter("username", "kim");
+            request.setParameter("age", "20");
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        servlet.service(request, response);
+        return response;
+    }
+
+    private HttpServlet createServlet() {
+        switch (dispatcher) {
+            case "servlet":
+                return flow.equals("list") ? new MemberListServlet()
+                        : flow.equals("save") ? new MemberSaveServlet() : new MemberFormServlet();
+            case "servlet-mvc":
+                return flow.equals("list") ? new MvcMemberListServlet()
+                        : flow.equals("save") ? new MvcMemberSaveServlet() : new MvcMemberFormServlet();
+            case "v1":
+                return new FrontControllerServletV1();
+            case "v2":
+                return new FrontControllerServletV2();
+            case "v3":
+                return new FrontControllerServletV3();
+            case "v4":
+                return new FrontControllerServletV4();
+            case "v5-v3":
+            case "v5-v4":
+            case "v5-annotated":
+                return new FrontControllerServletV5();
+            default:
+                throw new IllegalArgumentException("unknown dispatcher = " + dispatcher);
+        }
+    }
+
+    private String basePath() {
+        switch (dispatcher) {
+            case "servlet":
+                return "/servlet/members";
+            case "servlet-mvc":
+                return "/servlet-mvc/members";
+            case "v5-v3":
+                return "/front-controller/v5/v3/members";
+            case "v5-v4":
+                return "/front-controller/v5/v4/members";
+            case "v5-annotated":
+                return "/front-controller/v5/annotated/members";
+            default:
+                return "/front-controller/" + dispatcher + "/members";
+        }
+    }
+
+    private String uriSuffix() {
+        switch (flow) {
+            case "save":
+                return "/save";
+            case "form":
+                return "/new-form";
+            default:
+                return "";
+        }
+    }
+}
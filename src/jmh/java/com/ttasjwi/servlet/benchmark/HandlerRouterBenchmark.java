@@ -0,0 +1,81 @@
+package com.ttasjwi.servlet.benchmark;
+
+import com.ttasjwi.servlet.web.frontcontroller.v4.controller.MemberListControllerV4;
+import com.ttasjwi.servlet.web.frontcontroller.v5.HandlerRouter;
+import com.ttasjwi.servlet.web.frontcontroller.v5.MyHandlerAdapter;
+import com.ttasjwi.servlet.web.frontcontroller.v5.adapter.ControllerV3Adapter;
+import com.ttasjwi.servlet.web.frontcontroller.v5.adapter.ControllerV4Adapter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FrontControllerServletV5 의 핸들러 + 어댑터 조회 비교
+ * - mapAndScan : 이전 방식 (requestURI 로 HashMap 조회 + 어댑터 목록을 supports 로 순회)
+ * - router : HandlerRouter (segment 트리 + 등록 시점에 찾아둔 어댑터)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class HandlerRouterBenchmark {
+
+    @Param({"10", "100", "500"})
+    int routeCount;
+
+    private final Map<String, Object> handlerMappingMap = new HashMap<>();
+    private final List<MyHandlerAdapter> handlerAdapters = new ArrayList<>();
+    private final HandlerRouter handlerRouter = new HandlerRouter();
+
+    private String staticPath;
+    private String variablePath;
+
+    @Setup
+    public void setUp() {
+        handlerAdapters.add(new ControllerV3Adapter());
+        handlerAdapters.add(new ControllerV4Adapter());
+
+        MyHandlerAdapter v4Adapter = handlerAdapters.get(1);
+        for (int i = 0; i < routeCount; i++) {
+            String path = "/front-controller/v5/resource" + i + "/items";
+            Object handler = new MemberListControllerV4();
+            handlerMappingMap.put(path, handler);
+            handlerRouter.add(path, handler, v4Adapter);
+            handlerRouter.add(path + "/{id}", handler, v4Adapter);
+        }
+
+        staticPath = "/front-controller/v5/resource" + (routeCount / 2) + "/items";
+        variablePath = staticPath + "/42";
+    }
+
+    @Benchmark
+    public MyHandlerAdapter mapAndScan() {
+        Object handler = handlerMappingMap.get(staticPath);
+        for (MyHandlerAdapter adapter : handlerAdapters) {
+            if (adapter.supports(handler)) {
+                return adapter;
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    @Benchmark
+    public MyHandlerAdapter router() {
+        return handlerRouter.match(staticPath).getAdapter();
+    }
+
+    @Benchmark
+    public MyHandlerAdapter routerWithPathVariable() {
+        return handlerRouter.match(variablePath).getAdapter();
+    }
+}
@@ -0,0 +1,84 @@
+package com.ttasjwi.servlet.benchmark;
+
+import com.ttasjwi.servlet.domain.Member;
+import com.ttasjwi.servlet.domain.MemberLog;
+import com.ttasjwi.servlet.domain.MemberRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * MemberLog 를 연결한 MemberRepository.save 의 처리량을 fsync 정책별로 비교
+ * - none : 로그 없이 메모리에만 저장 (기준선)
+ * - never : 로그에 쓰기만 하고 fsync 는 OS 에 맡김
+ * - interval : 100ms 마다 백그라운드 fsync
+ * - always : save 마다 fsync 를 기다림. 동시에 기다리는 save 는 한 번의 fsync 로 묶이므로(group commit) 스레드가 많을수록 처리량이 늘어남
+ * <p>
+ * ./gradlew jmh -PjmhIncludes=MemberLogBenchmark (로그는 임시 디렉터리에 쓰므로, 결과는 그 디스크의 fsync 속도에 크게 좌우됨)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class MemberLogBenchmark {
+
+    @Param({"none", "never", "interval", "always"})
+    String fsync;
+
+    private final MemberRepository memberRepository = MemberRepository.getInstance();
+    private Path dir;
+    private MemberLog log;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("member-log-benchmark");
+        if (!fsync.equals("none")) {
+            log = new MemberLog(dir, MemberLog.FsyncPolicy.valueOf(fsync.toUpperCase()), 100, 64L * 1024 * 1024);
+            memberRepository.attachLog(log);
+        }
+    }
+
+    // 반복마다 저장소를 비워서 회원 수가 계속 늘어나지 않도록
+    @Setup(Level.Iteration)
+    public void clear() {
+        memberRepository.clearStore();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        memberRepository.detachLog();
+        memberRepository.clearStore();
+        if (log != null) {
+            log.close();
+        }
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Member save() {
+        return memberRepository.save(new Member("member", 20));
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Member save8Threads() {
+        return memberRepository.save(new Member("member", 20));
+    }
+}
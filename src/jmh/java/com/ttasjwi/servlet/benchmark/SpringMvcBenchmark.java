@@ -0,0 +1,76 @@
+package com.ttasjwi.servlet.benchmark;
+
+import com.ttasjwi.servlet.domain.Member;
+import com.ttasjwi.servlet.domain.MemberRepository;
+import com.ttasjwi.servlet.web.springmvc.v1.SpringMemberFormControllerV1;
+import com.ttasjwi.servlet.web.springmvc.v1.SpringMemberListControllerV1;
+import com.ttasjwi.servlet.web.springmvc.v1.SpringMemberSaveControllerV1;
+import com.ttasjwi.servlet.web.springmvc.v2.SpringMemberControllerV2;
+import com.ttasjwi.servlet.web.springmvc.v3.SpringMemberControllerV3;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.view.InternalResourceViewResolver;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * springmvc v1 ~ v3 컨트롤러의 요청당 처리량과 할당량 비교 (MockMvc 로 DispatcherServlet 경유)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class SpringMvcBenchmark {
+
+    @Param({"v1", "v2", "v3"})
+    String version;
+
+    @Param({"list", "save", "form"})
+    String flow;
+
+    @Param({"100", "10000"})
+    int memberCount;
+
+    private MockMvc mockMvc;
+    private String uri;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        MemberRepository memberRepository = MemberRepository.getInstance();
+        memberRepository.clearStore();
+        for (int i = 0; i < memberCount; i++) {
+            memberRepository.save(new Member("member" + i, i % 100));
+        }
+
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(
+                        new SpringMemberFormControllerV1(), new SpringMemberListControllerV1(), new SpringMemberSaveControllerV1(),
+                        new SpringMemberControllerV2(), new SpringMemberControllerV3())
+                .setViewResolvers(new InternalResourceViewResolver("/WEB-INF/views/", ".jsp"))
+                .build();
+
+        uri = "/springmvc/" + version + "/members"
+                + (flow.equals("save") ? "/save" : flow.equals("form") ? "/new-form" : "");
+    }
+
+    @Benchmark
+    public MvcResult dispatch() throws Exception {
+        RequestBuilder request = flow.equals("save")
+                ? post(uri).param("username", "kim").param("age", "20")
+                : get(uri);
+        return mockMvc.perform(request).andReturn();
+    }
+}
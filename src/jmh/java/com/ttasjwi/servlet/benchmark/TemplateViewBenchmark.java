@@ -0,0 +1,89 @@
+package com.ttasjwi.servlet.benchmark;
+
+import com.ttasjwi.servlet.ServletApplication;
+import com.ttasjwi.servlet.domain.Member;
+import com.ttasjwi.servlet.domain.MemberRepository;
+import com.ttasjwi.servlet.web.view.HtmlTemplates;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 회원 목록(memberCount 행) 렌더링 : JSP(members.jsp, JSTL) vs HtmlTemplate(MembersTemplate)
+ * - JSP 는 Mock 요청으로는 실행되지 않으므로, 내장 톰캣을 띄우고 HTTP 로 요청 (두 경우 모두 같은 HTTP 비용이 포함됨)
+ * - 페이징 없이 전체 회원을 "members" view 로 넘기는 벤치마크 전용 컨트롤러(/benchmark/members)를 사용
+ * - JSP 를 찾을 수 있도록 프로젝트 디렉터리에서 실행 (./gradlew jmh -PjmhIncludes=TemplateViewBenchmark)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class TemplateViewBenchmark {
+
+    @Param({"jsp", "template"})
+    String view;
+
+    @Param({"10000"})
+    int memberCount;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        MemberRepository memberRepository = MemberRepository.getInstance();
+        memberRepository.clearStore();
+        for (int i = 0; i < memberCount; i++) {
+            memberRepository.save(new Member("member<" + i + ">", i % 100)); // 이스케이프 비용이 포함되도록
+        }
+
+        context = new SpringApplicationBuilder(ServletApplication.class)
+                .properties("server.port=0",
+                        "logging.level.org.apache.coyote.http11=info",
+                        HtmlTemplates.ENABLED_PROPERTY + "=" + view.equals("template"))
+                .run();
+        String port = context.getEnvironment().getProperty("local.server.port");
+
+        client = HttpClient.newHttpClient();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/benchmark/members")).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] render() throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofByteArray()).body();
+    }
+
+    @Controller
+    public static class BenchmarkMemberListController {
+
+        @GetMapping("/benchmark/members")
+        public String members(Model model) {
+            model.addAttribute("members", MemberRepository.getInstance().findAll());
+            return "members";
+        }
+    }
+}
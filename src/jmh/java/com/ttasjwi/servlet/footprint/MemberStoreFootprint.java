@@ -0,0 +1,80 @@
+package com.ttasjwi.servlet.footprint;
+
+import com.ttasjwi.servlet.domain.CompactMemberStore;
+import com.ttasjwi.servlet.domain.MapMemberStore;
+import com.ttasjwi.servlet.domain.Member;
+import com.ttasjwi.servlet.domain.MemberStore;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 저장 방식(MemberStore)별로 회원 members 명을 저장했을 때의 메모리 사용량을 측정
+ * - heap : 저장 전후 GC 직후의 힙 사용량 차이
+ * - off-heap : direct ByteBuffer 사용량 차이 (CompactMemberStore 의 청크)
+ * - usernames=0 이면 모든 username 이 다르고, N 이면 N 종류의 username 이 반복됨 (요청마다 새 String 이 만들어지는 것과 같음)
+ * <p>
+ * ./gradlew memberStoreFootprint -PfootprintArgs="--store=compact --members=10000000"
+ * 한 JVM 에서는 한 저장 방식만 측정 (앞의 측정이 남긴 힙이 섞이지 않도록)
+ */
+public class MemberStoreFootprint {
+
+    public static void main(String[] args) {
+        Map<String, String> options = parse(args);
+        String storeName = options.getOrDefault("store", "map");
+        int members = Integer.parseInt(options.getOrDefault("members", "1000000"));
+        int usernames = Integer.parseInt(options.getOrDefault("usernames", "0"));
+
+        MemberStore store = "compact".equals(storeName) ? new CompactMemberStore() : new MapMemberStore();
+
+        long heapBefore = usedHeap();
+        long directBefore = usedDirect();
+        long start = System.nanoTime();
+        for (int i = 1; i <= members; i++) {
+            int name = usernames == 0 ? i : i % usernames;
+            Member member = new Member("member" + name, i % 100);
+            member.setId((long) i);
+            store.put(member);
+        }
+        long fillMillis = (System.nanoTime() - start) / 1_000_000;
+        long heap = usedHeap() - heapBefore;
+        long direct = usedDirect() - directBefore;
+
+        System.out.printf("store=%s members=%d usernames=%s heap=%,dB (%.1fB/member) off-heap=%,dB total=%.1fB/member fill=%dms%n",
+                storeName, members, usernames == 0 ? "unique" : String.valueOf(usernames),
+                heap, (double) heap / members, direct, (double) (heap + direct) / members, fillMillis);
+
+        // 측정이 끝날 때까지 store 가 수거되지 않도록
+        if (store.get(members) == null) {
+            throw new IllegalStateException("마지막 회원이 조회되지 않습니다.");
+        }
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static long usedDirect() {
+        for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+            if ("direct".equals(pool.getName())) {
+                return pool.getMemoryUsed();
+            }
+        }
+        return 0L;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return options;
+    }
+}
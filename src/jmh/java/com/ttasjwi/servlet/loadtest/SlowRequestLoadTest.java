@@ -0,0 +1,161 @@
+package com.ttasjwi.servlet.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 느린 요청(/load-test/slow) 을 동시에 concurrency 개씩 보내서 처리량, 지연시간과 서버의 스레드 수, 메모리를 측정
+ * - 서버의 지표는 실행 중 /metrics 를 주기적으로 읽어서 최댓값을 기록 (MetricsServlet 의 jvm_threads_*, process_resident_memory_bytes)
+ * <p>
+ * 서버 실행 (JDK 21) : 두 모드를 각각 띄워서 같은 부하로 비교
+ * - 플랫폼 스레드 풀 : java -jar build/libs/servlet-0.0.1-SNAPSHOT.war --load-test.enabled=true --server.tomcat.max-connections=20000 --server.tomcat.accept-count=10000
+ * - 가상 스레드 : 위 옵션 + --spring.threads.virtual.enabled=true
+ * <p>
+ * 부하 : ./gradlew loadTest -PloadTestArgs="--concurrency=10000 --requests=100000 --delayMs=200"
+ * (클라이언트도 연결을 concurrency 개 열므로 ulimit -n 을 충분히 올려야 함)
+ * <p>
+ * 플랫폼 스레드 풀(기본 200개)은 delayMs=200 이면 초당 약 1000 요청이 상한이고 나머지는 큐에서 기다림
+ * 가상 스레드는 동시 요청 수만큼 기다릴 수 있으므로 concurrency / delay 에 가까운 처리량이 나와야 함
+ * 단, 톰캣 9 의 소켓 I/O 는 synchronized 안에서 기다리므로 그 구간은 carrier 스레드(CPU 코어 수)만큼만 동시에 진행됨 (VirtualThreadConfig 참고)
+ * -> 이 부하는 body 가 작아 소켓 대기가 짧으므로 대부분 sleep 구간의 차이만 보임. 느린 클라이언트가 섞이면 차이가 줄어듦
+ * <p>
+ * 클라이언트와 서버를 CPU 1개인 같은 머신에서 돌리면 두 모드 모두 CPU 가 먼저 한계에 닿아 차이가 보이지 않음. 서로 다른 머신에서 실행
+ */
+public class SlowRequestLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        String baseUrl = options.getOrDefault("baseUrl", "http://localhost:8080");
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "10000"));
+        int requests = Integer.parseInt(options.getOrDefault("requests", "50000"));
+        int delayMillis = Integer.parseInt(options.getOrDefault("delayMs", "200"));
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/load-test/slow?delayMs=" + delayMillis))
+                .timeout(Duration.ofSeconds(120))
+                .build();
+
+        ServerSampler sampler = new ServerSampler(client, URI.create(baseUrl + "/metrics"));
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        scheduler.scheduleAtFixedRate(sampler::sample, 0, 500, TimeUnit.MILLISECONDS);
+
+        System.out.printf("url=%s concurrency=%d requests=%d delayMs=%d%n", request.uri(), concurrency, requests, delayMillis);
+
+        long[] latencies = new long[requests];
+        LongAdder errors = new LongAdder();
+        Semaphore inFlight = new Semaphore(concurrency);
+        CountDownLatch done = new CountDownLatch(requests);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            inFlight.acquire();
+            int index = i;
+            long sent = System.nanoTime();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                latencies[index] = System.nanoTime() - sent;
+                if (error != null || response.statusCode() != 200) {
+                    errors.increment();
+                }
+                inFlight.release();
+                done.countDown();
+            });
+        }
+        done.await();
+        long elapsed = System.nanoTime() - start;
+
+        scheduler.shutdown();
+        scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        sampler.sample();
+
+        Arrays.sort(latencies);
+        System.out.printf("throughput=%.1f req/s errors=%d%n", requests / (elapsed / 1e9), errors.sum());
+        System.out.printf("latency ms : p50=%.1f p90=%.1f p99=%.1f max=%.1f%n",
+                millis(latencies, 0.5), millis(latencies, 0.9), millis(latencies, 0.99), millis(latencies, 1.0));
+        System.out.printf("server : peak platform threads=%d, max RSS=%.1f MB, max heap used=%.1f MB%n",
+                sampler.peakThreads.get(), sampler.maxResidentBytes.get() / 1e6, sampler.maxHeapBytes.get() / 1e6);
+    }
+
+    private static double millis(long[] sortedNanos, double quantile) {
+        int index = (int) Math.min(sortedNanos.length - 1, Math.ceil(quantile * sortedNanos.length) - 1);
+        return sortedNanos[Math.max(0, index)] / 1e6;
+    }
+
+    // --name=value 형식
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return options;
+    }
+
+    /**
+     * /metrics 를 읽어서 지표별 최댓값을 기록
+     * 플랫폼 스레드 풀이 가득 차면 /metrics 요청도 큐에서 기다리므로, 응답이 없는 샘플은 건너뜀
+     */
+    private static class ServerSampler {
+
+        private final HttpClient client;
+        private final HttpRequest request;
+        private final AtomicLong peakThreads = new AtomicLong();
+        private final AtomicLong maxResidentBytes = new AtomicLong();
+        private final AtomicLong maxHeapBytes = new AtomicLong();
+
+        private ServerSampler(HttpClient client, URI metricsUri) {
+            this.client = client;
+            this.request = HttpRequest.newBuilder(metricsUri).timeout(Duration.ofSeconds(2)).build();
+        }
+
+        private void sample() {
+            String body;
+            try {
+                body = client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+            } catch (IOException e) {
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            for (String line : body.split("\n")) {
+                if (line.startsWith("#")) {
+                    continue;
+                }
+                String[] nameAndValue = line.split(" ");
+                if (nameAndValue.length != 2) {
+                    continue;
+                }
+                switch (nameAndValue[0]) {
+                    case "jvm_threads_peak":
+                        peakThreads.accumulateAndGet(Long.parseLong(nameAndValue[1]), Math::max);
+                        break;
+                    case "process_resident_memory_bytes":
+                        maxResidentBytes.accumulateAndGet(Long.parseLong(nameAndValue[1]), Math::max);
+                        break;
+                    case "jvm_memory_heap_used_bytes":
+                        maxHeapBytes.accumulateAndGet(Long.parseLong(nameAndValue[1]), Math::max);
+                        break;
+                    default:
+                }
+            }
+        }
+    }
+}
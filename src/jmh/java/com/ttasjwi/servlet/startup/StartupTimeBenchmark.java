@@ -0,0 +1,147 @@
+package com.ttasjwi.servlet.startup;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 애플리케이션 프로세스를 띄워서 첫 요청이 성공할 때까지의 시간(time-to-first-request)을 측정
+ * - scan : 빌드 시 만든 색인을 무시하고 클래스패스를 훑음 (-Dspring.index.ignore=true, 이전 방식)
+ * - index : META-INF/spring.components 색인 사용
+ * - index+cds : 색인 + AppCDS 아카이브 (./gradlew cdsArchive 로 만든 아카이브가 있을 때만)
+ * <p>
+ * - scan 이 변경 전(before) 이고, 나머지는 scan 대비 중앙값 차이를 함께 출력
+ * <p>
+ * ./gradlew startupBenchmark (JDK 13 이상. 옵션 : -PstartupArgs="--runs=10 --path=/servlet/members")
+ * 아카이브를 만들 때와 같은 클래스패스로 실행해야 하므로 클래스패스는 Gradle 이 넘겨줌
+ * 결과는 콘솔과 --output 파일(build/results/startup/results.txt)에 기록
+ */
+public class StartupTimeBenchmark {
+
+    private static final String MAIN_CLASS = "com.ttasjwi.servlet.ServletApplication";
+    private static final long TIMEOUT_MILLIS = 60_000;
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        String java = options.getOrDefault("java", ProcessHandle.current().info().command().orElse("java"));
+        String classpath = options.get("classpath");
+        if (classpath == null) {
+            throw new IllegalArgumentException("--classpath 가 필요합니다.");
+        }
+        int runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+        int port = Integer.parseInt(options.getOrDefault("port", "18080"));
+        String path = options.getOrDefault("path", "/hello?username=startup");
+        String archive = options.get("archive");
+
+        Map<String, List<String>> modes = new LinkedHashMap<>();
+        modes.put("scan", List.of("-Dspring.index.ignore=true"));
+        modes.put("index", List.of());
+        if (archive != null && new File(archive).isFile()) {
+            modes.put("index+cds", List.of("-XX:SharedArchiveFile=" + archive));
+        } else {
+            System.out.println("AppCDS 아카이브가 없어서 index+cds 는 건너뜀 (./gradlew cdsArchive). archive = " + archive);
+        }
+
+        URL url = new URL("http://localhost:" + port + path);
+        List<String> lines = new ArrayList<>();
+        lines.add("java = " + java + ", runs = " + runs + ", path = " + path);
+        long baseline = -1; // scan 의 중앙값
+        for (Map.Entry<String, List<String>> mode : modes.entrySet()) {
+            long[] millis = new long[runs];
+            for (int i = 0; i < runs; i++) {
+                millis[i] = timeToFirstRequest(java, mode.getValue(), classpath, port, url);
+            }
+            Arrays.sort(millis);
+            long median = millis[runs / 2];
+            String line = String.format("%-10s runs=%d min=%dms median=%dms max=%dms",
+                    mode.getKey(), runs, millis[0], median, millis[runs - 1]);
+            if (baseline < 0) {
+                baseline = median;
+            } else {
+                line += String.format(" (scan 대비 %+dms, %+.1f%%)", median - baseline, 100.0 * (median - baseline) / baseline);
+            }
+            System.out.println(line);
+            lines.add(line);
+        }
+
+        String output = options.get("output");
+        if (output != null) {
+            Path file = Path.of(output);
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.write(file, lines);
+            System.out.println("결과 : " + file.toAbsolutePath());
+        }
+    }
+
+    private static long timeToFirstRequest(String java, List<String> jvmOptions, String classpath, int port, URL url) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(java);
+        command.addAll(jvmOptions);
+        command.addAll(List.of("-cp", classpath, MAIN_CLASS,
+                "--server.port=" + port, "--access-log.enabled=false", "--member.log.enabled=false"));
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            while (!succeeded(url)) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("애플리케이션이 시작 중에 종료되었습니다. exit code = " + process.exitValue() + ", command = " + command);
+                }
+                if (System.nanoTime() - start > TimeUnit.MILLISECONDS.toNanos(TIMEOUT_MILLIS)) {
+                    throw new IllegalStateException(TIMEOUT_MILLIS + "ms 안에 첫 요청이 성공하지 않았습니다. url = " + url);
+                }
+                Thread.sleep(5);
+            }
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static boolean succeeded(URL url) {
+        try {
+            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            connection.setConnectTimeout(100);
+            int status = connection.getResponseCode();
+            try (InputStream body = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+                if (body != null) {
+                    body.transferTo(OutputStream.nullOutputStream());
+                }
+            }
+            return status == HttpURLConnection.HTTP_OK;
+        } catch (IOException e) { // 아직 포트를 열지 않음
+            return false;
+        }
+    }
+
+    // --name=value 형식
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return options;
+    }
+}
@@ -7,6 +7,9 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.web.servlet.ViewResolver;
 import org.springframework.web.servlet.view.InternalResourceViewResolver;
 
+// 서블릿, 필터(@WebServlet, @WebFilter) 와 스프링 빈(@Component, @Controller, @Configuration) 은
+// 빌드 시 spring-context-indexer 가 만든 META-INF/spring.components 에서 찾음 -> 시작할 때 클래스패스를 훑지 않음
+// (색인을 무시하고 훑으려면 -Dspring.index.ignore=true)
 @ServletComponentScan // 서블릿 자동 등록
 @SpringBootApplication
 public class ServletApplication {
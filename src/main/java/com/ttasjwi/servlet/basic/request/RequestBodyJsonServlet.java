@@ -1,8 +1,12 @@
 package com.ttasjwi.servlet.basic.request;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.ttasjwi.servlet.basic.HelloData;
-import org.springframework.util.StreamUtils;
+import com.ttasjwi.servlet.web.JsonCodecs;
+import lombok.extern.slf4j.Slf4j;
 
 import javax.servlet.ServletException;
 import javax.servlet.ServletInputStream;
@@ -11,24 +15,51 @@ import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 
+/**
+ * 요청 body 를 문자열로 모으지 않고, ServletInputStream 에서 바로 파싱
+ * - 단건 : {"username":"hello", "age":20}
+ * - 여러 건 : [{"username":"hello", "age":20}, ...] -> 원소 하나씩 읽어서 처리 (배열 전체를 메모리에 올리지 않음)
+ * - body 가 비었거나 JSON 이 아니면 400
+ */
+@Slf4j
 @WebServlet(name = "requestBodyJsonServlet", urlPatterns = "/request-body-json")
 public class RequestBodyJsonServlet extends HttpServlet {
 
-    private ObjectMapper objectMapper = new ObjectMapper();
+    private final ObjectReader helloDataReader = JsonCodecs.readerFor(HelloData.class);
 
     @Override
     protected void service(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
         ServletInputStream inputStream = request.getInputStream();
-        String messageBody = StreamUtils.copyToString(inputStream, StandardCharsets.UTF_8);
 
-        System.out.println("messageBody = " + messageBody);
+        try (JsonParser parser = JsonCodecs.objectMapper().getFactory().createParser(inputStream)) {
+            JsonToken token = parser.nextToken();
 
-        HelloData helloData = objectMapper.readValue(messageBody, HelloData.class);
+            if (token == null) {
+                response.sendError(HttpServletResponse.SC_BAD_REQUEST, "요청 body 가 비어 있습니다.");
+                return;
+            }
+            if (token == JsonToken.START_ARRAY) {
+                int count = 0;
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    helloDataReader.readValue(parser);
+                    count++;
+                }
+                log.debug("helloData count = {}", count);
+            } else {
+                HelloData helloData = helloDataReader.readValue(parser);
+                if (helloData == null) { // body 가 null
+                    response.sendError(HttpServletResponse.SC_BAD_REQUEST, "요청 body 가 비어 있습니다.");
+                    return;
+                }
 
-        System.out.println("helloData.username = " + helloData.getUsername());
-        System.out.println("helloData.age = " + helloData.getAge());
+                log.debug("helloData.username = {}", helloData.getUsername());
+                log.debug("helloData.age = {}", helloData.getAge());
+            }
+        } catch (JsonProcessingException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "JSON 형식이 아닙니다. " + e.getOriginalMessage());
+            return;
+        }
 
         response.getWriter().write("ok");
     }
@@ -1,5 +1,6 @@
 package com.ttasjwi.servlet.basic.request;
 
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.util.StreamUtils;
 
 import javax.servlet.ServletException;
@@ -11,6 +12,7 @@ import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 
+@Slf4j
 @WebServlet (name = "requestBodyStringServlet", urlPatterns = "/request-body-string")
 public class RequestBodyStringServlet extends HttpServlet {
     @Override
@@ -18,7 +20,7 @@ public class RequestBodyStringServlet extends HttpServlet {
         ServletInputStream inputStream = request.getInputStream(); // http 요청을 바이트코드로 바로 얻어올 수 있음
         String messageBody = StreamUtils.copyToString(inputStream, StandardCharsets.UTF_8);// 바이트코드를 문자열로 바꾸기 위해서, UTF-8 인코딩으로 명시해야함
 
-        System.out.println("messageBody = " + messageBody);
+        log.debug("messageBody = {}", messageBody);
 
         response.getWriter().write("ok");
     }
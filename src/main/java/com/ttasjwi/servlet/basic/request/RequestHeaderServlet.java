@@ -1,5 +1,7 @@
 package com.ttasjwi.servlet.basic.request;
 
+import lombok.extern.slf4j.Slf4j;
+
 import javax.servlet.ServletException;
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.Cookie;
@@ -9,106 +11,101 @@ import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 
 // http://localhost:8080/request-header?username=hello
+@Slf4j
 @WebServlet(name = "requestHeaderServlet", urlPatterns = "/request-header")
 public class RequestHeaderServlet extends HttpServlet {
     @Override
     protected void service(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
-        printStartLine(request);
-        printHeaders(request);
-        printHeaderUtils(request);
-        printEtc(request);
+        if (log.isDebugEnabled()) { // 헤더 덤프는 디버그 모드에서만 (logging.level.com.ttasjwi.servlet.basic.request=debug)
+            printStartLine(request);
+            printHeaders(request);
+            printHeaderUtils(request);
+            printEtc(request);
+        }
 
         response.getWriter().write("ok");
     }
 
     //start line 정보
     private void printStartLine(HttpServletRequest request) {
-        System.out.println("--- REQUEST-LINE - start ---");
-        System.out.println("request.getMethod() = " + request.getMethod()); // HTTP 메서드 - GET
-        System.out.println("request.getProtocal() = " + request.getProtocol()); // 프로토콜 - HTTP/1.1
-        System.out.println("request.getScheme() = " + request.getScheme()); // scheme (사용할 프로토콜 - http)
+        log.debug("--- REQUEST-LINE - start ---");
+        log.debug("request.getMethod() = {}", request.getMethod()); // HTTP 메서드 - GET
+        log.debug("request.getProtocal() = {}", request.getProtocol()); // 프로토콜 - HTTP/1.1
+        log.debug("request.getScheme() = {}", request.getScheme()); // scheme (사용할 프로토콜 - http)
 
         // 요청 URL(http://localhost:8080/request-header)
-        System.out.println("request.getRequestURL() = " + request.getRequestURL());
+        log.debug("request.getRequestURL() = {}", request.getRequestURL());
         // 요청 URI(/request-test)
-        System.out.println("request.getRequestURI() = " + request.getRequestURI());
+        log.debug("request.getRequestURI() = {}", request.getRequestURI());
         // QueryParameter (username=hi)
-        System.out.println("request.getQueryString() = " + request.getQueryString());
+        log.debug("request.getQueryString() = {}", request.getQueryString());
 
-        System.out.println("request.isSecure() = " + request.isSecure()); // https 사용 유무
-        System.out.println("--- REQUEST-LINE - end ---");
-        System.out.println();
+        log.debug("request.isSecure() = {}", request.isSecure()); // https 사용 유무
+        log.debug("--- REQUEST-LINE - end ---");
     }
 
     //Header 모든 정보
     private void printHeaders(HttpServletRequest request) {
-        System.out.println("--- Headers - start ---");
+        log.debug("--- Headers - start ---");
 
         /*
         Enumeration<String> headerNames = request.getHeaderNames();
         while (headerNames.hasMoreElements()) {
         String headerName = headerNames.nextElement();
-        System.out.println(headerName + ": " + request.getHeader(headerName));
+        log.debug("{}: {}", headerName, request.getHeader(headerName));
         }
 
         아래와 같은 코드
         */
 
         request.getHeaderNames().asIterator()
-                .forEachRemaining(headerName -> System.out.println(headerName + ": " + request.getHeader(headerName)));
+                .forEachRemaining(headerName -> log.debug("{}: {}", headerName, request.getHeader(headerName)));
 
-        System.out.println("--- Headers - end ---");
-        System.out.println();
+        log.debug("--- Headers - end ---");
     }
 
     //Header 편리한 조회
     private void printHeaderUtils(HttpServletRequest request) {
-        System.out.println("--- Header 편의 조회 start ---");
+        log.debug("--- Header 편의 조회 start ---");
 
-        System.out.println("[Host 편의 조회]");
-        System.out.println("request.getServerName() = " + request.getServerName()); // Host 헤더(호스트명)
-        System.out.println("request.getServerPort() = " + request.getServerPort()); // Host 헤더(포트명)
-        System.out.println();
+        log.debug("[Host 편의 조회]");
+        log.debug("request.getServerName() = {}", request.getServerName()); // Host 헤더(호스트명)
+        log.debug("request.getServerPort() = {}", request.getServerPort()); // Host 헤더(포트명)
 
-        System.out.println("[Accept-Language 편의 조회]");
+        log.debug("[Accept-Language 편의 조회]");
         request.getLocales().asIterator()
-                .forEachRemaining(locale -> System.out.println("locale = " + locale));
-        System.out.println("request.getLocale() = " + request.getLocale());
-        System.out.println();
+                .forEachRemaining(locale -> log.debug("locale = {}", locale));
+        log.debug("request.getLocale() = {}", request.getLocale());
 
-        System.out.println("[cookie 편의 조회]");
+        log.debug("[cookie 편의 조회]");
         if (request.getCookies() != null) {
             for (Cookie cookie : request.getCookies()) {
-                System.out.println(cookie.getName() + ": " + cookie.getValue());
+                log.debug("{}: {}", cookie.getName(), cookie.getValue());
             }
         }
-        System.out.println();
 
-        System.out.println("[Content 편의 조회]");
-        System.out.println("request.getContentType() = " + request.getContentType());
-        System.out.println("request.getContentLength() = " + request.getContentLength());
-        System.out.println("request.getCharacterEncoding() = " + request.getCharacterEncoding());
+        log.debug("[Content 편의 조회]");
+        log.debug("request.getContentType() = {}", request.getContentType());
+        log.debug("request.getContentLength() = {}", request.getContentLength());
+        log.debug("request.getCharacterEncoding() = {}", request.getCharacterEncoding());
 
-        System.out.println("--- Header 편의 조회 end ---");
-        System.out.println();
+        log.debug("--- Header 편의 조회 end ---");
     }
 
     //기타 정보
     private void printEtc(HttpServletRequest request) {
-        System.out.println("--- 기타 조회 start ---");
+        log.debug("--- 기타 조회 start ---");
 
-        System.out.println("[Remote 정보]");
-        System.out.println("request.getRemoteHost() = " + request.getRemoteHost()); // 요청(클라이언트)측에 대한 정보
-        System.out.println("request.getRemoteAddr() = " + request.getRemoteAddr()); //
-        System.out.println("request.getRemotePort() = " + request.getRemotePort()); //
-        System.out.println();
+        log.debug("[Remote 정보]");
+        log.debug("request.getRemoteHost() = {}", request.getRemoteHost()); // 요청(클라이언트)측에 대한 정보
+        log.debug("request.getRemoteAddr() = {}", request.getRemoteAddr()); //
+        log.debug("request.getRemotePort() = {}", request.getRemotePort()); //
 
-        System.out.println("[Local 정보]");
-        System.out.println("request.getLocalName() = " + request.getLocalName()); // 서버 측에 대한 정보
-        System.out.println("request.getLocalAddr() = " + request.getLocalAddr()); //
-        System.out.println("request.getLocalPort() = " + request.getLocalPort()); //
+        log.debug("[Local 정보]");
+        log.debug("request.getLocalName() = {}", request.getLocalName()); // 서버 측에 대한 정보
+        log.debug("request.getLocalAddr() = {}", request.getLocalAddr()); //
+        log.debug("request.getLocalPort() = {}", request.getLocalPort()); //
 
-        System.out.println("--- 기타 조회 end ---");
-        System.out.println();
+        log.debug("--- 기타 조회 end ---");
     }
 }
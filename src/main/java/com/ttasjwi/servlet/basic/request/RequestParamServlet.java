@@ -1,5 +1,7 @@
 package com.ttasjwi.servlet.basic.request;
 
+import lombok.extern.slf4j.Slf4j;
+
 import javax.servlet.ServletException;
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.HttpServlet;
@@ -15,37 +17,42 @@ import java.io.IOException;
  * http://localhost:8080/request-param?username=hello&username=spring&age=20
  */
 
+@Slf4j
 @WebServlet(name = "requestParamServlet", urlPatterns = "/request-param")
 public class RequestParamServlet extends HttpServlet {
     @Override
     protected void service(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
 
-        System.out.println("[전체 파라미터 조회] - start");
+        if (log.isDebugEnabled()) { // 파라미터 덤프는 디버그 모드에서만
+            printParameters(request);
+        }
+
+        response.getWriter().write("ok!");
+    }
+
+    private void printParameters(HttpServletRequest request) {
+        log.debug("[전체 파라미터 조회] - start");
 
-        System.out.println("RequestParamServlet.service");
+        log.debug("RequestParamServlet.service");
         request.getParameterNames().asIterator()
-                        .forEachRemaining(paramName -> System.out.println(paramName + "=" + request.getParameter(paramName)));
+                        .forEachRemaining(paramName -> log.debug("{}={}", paramName, request.getParameter(paramName)));
 
-        System.out.println("[전체 파라미터 조회] - end");
-        System.out.println();
+        log.debug("[전체 파라미터 조회] - end");
 
-        System.out.println("[단일 파라미터 조회] - start");
+        log.debug("[단일 파라미터 조회] - start");
         String username = request.getParameter("username");
         String age = request.getParameter("age");
 
-        System.out.println("username = " + username);
-        System.out.println("age = " + age);
+        log.debug("username = {}", username);
+        log.debug("age = {}", age);
 
-        System.out.println("[단일 파라미터 조회] - end");
-        System.out.println();
+        log.debug("[단일 파라미터 조회] - end");
 
-        System.out.println("[이름이 같은 복수 파라미터 조회] - start");
+        log.debug("[이름이 같은 복수 파라미터 조회] - start");
         String[] usernames = request.getParameterValues("username");
         for (String name : usernames) {
-            System.out.println("username = " + name);
+            log.debug("username = {}", name);
         }
-        System.out.println("[이름이 같은 복수 파라미터 조회] - end");
-
-        response.getWriter().write("ok!");
+        log.debug("[이름이 같은 복수 파라미터 조회] - end");
     }
 }
@@ -1,7 +1,12 @@
 package com.ttasjwi.servlet.basic.response;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.ttasjwi.servlet.basic.HelloData;
+import com.ttasjwi.servlet.web.JsonCodecs;
+import com.ttasjwi.servlet.web.bind.BindException;
+import com.ttasjwi.servlet.web.bind.FieldError;
+import com.ttasjwi.servlet.web.bind.ParamConverters;
 
 import javax.servlet.ServletException;
 import javax.servlet.ServletOutputStream;
@@ -11,23 +16,74 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 
+/**
+ * 객체를 Json 문자열로 만들지 않고, ServletOutputStream 에 바로 직렬화
+ * - /response-json : 단건
+ * - /response-json?count=1000 : 배열을 원소 하나씩 흘려보냄 (전체 배열을 메모리에 만들지 않음)
+ *   count 가 0 이상의 정수가 아니면 400, MAX_COUNT 보다 크면 MAX_COUNT 개
+ */
 @WebServlet(name = "responseJsonServlet",urlPatterns = "/response-json")
 public class ResponseJsonServlet extends HttpServlet {
 
-    private ObjectMapper objectMapper = new ObjectMapper();
+    public static final int MAX_COUNT = 10_000;
+
+    private final ObjectWriter helloDataWriter = JsonCodecs.writerFor(HelloData.class);
 
     @Override
     protected void service(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+        int count;
+        try {
+            count = count(request.getParameter("count")); // 응답을 쓰기 전에 검사
+        } catch (BindException e) {
+            e.sendError(response);
+            return;
+        }
+
         //Content-Type : application/json
         response.setContentType("application/json");
-         response.setCharacterEncoding("utf-8");
+        response.setCharacterEncoding("utf-8");
+
+        ServletOutputStream outputStream = response.getOutputStream();
 
+        if (count < 0) {
+            //{"username":"kim", "age":20}
+            helloDataWriter.writeValue(outputStream, helloData(0)); // 객체 -> Json -> 응답 body
+            return;
+        }
+
+        //[{"username":"kim", "age":20}, ...]
+        try (JsonGenerator generator = JsonCodecs.objectMapper().getFactory().createGenerator(outputStream)) {
+            generator.writeStartArray();
+            for (int i = 0; i < count; i++) {
+                helloDataWriter.writeValue(generator, helloData(i));
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    /**
+     * @return count 파라미터가 없으면 -1 (단건), 있으면 0 ~ MAX_COUNT
+     */
+    private static int count(String value) {
+        if (value == null) {
+            return -1;
+        }
+        int count;
+        try {
+            count = Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new BindException(new FieldError("count", value, ParamConverters.typeMismatchMessage(int.class)));
+        }
+        if (count < 0) {
+            throw new BindException(new FieldError("count", value, "0 이상이어야 합니다."));
+        }
+        return Math.min(count, MAX_COUNT);
+    }
+
+    private HelloData helloData(int index) {
         HelloData helloData = new HelloData();
         helloData.setUsername("땃쥐");
-        helloData.setAge(20);
-
-        //{"username":"kim", "age":20}
-        String result = objectMapper.writeValueAsString(helloData); // 객체 -> Json 문자열
-        response.getWriter().write(result);
+        helloData.setAge(20 + index);
+        return helloData;
     }
 }
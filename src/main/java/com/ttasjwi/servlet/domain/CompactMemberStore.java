@@ -0,0 +1,318 @@
+package com.ttasjwi.servlet.domain;
+
+import java.nio.ByteBuffer;
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 회원 수가 매우 많을 때를 위한 저장 방식 (member.storage=compact)
+ * - Member 객체, Long 키, Map 노드를 보관하지 않고 age, username 번호를 off-heap 청크(direct ByteBuffer)에 저장
+ * - 청크 하나가 연속된 id 65536개를 담당하고, 칸의 위치는 id 로 계산 (청크 번호 = id >>> 16). 힙에는 청크마다 Map 노드 하나만 남음
+ * - username 은 문자열 풀에 한 번만 저장하고, 청크에는 풀의 번호만 저장
+ * - Member 객체는 조회 시점에만 만들어짐. 돌려받은 Member 를 setter 로 바꿔도 저장소에는 반영되지 않음
+ * <p>
+ * 보조 인덱스가 없으므로 findByUsername, findByAgeBetween 은 청크 전체를 훑음 (객체를 따라가지 않는 int 비교라 빠르지만 O(n))
+ * 검색 결과의 Member 는 limit 명까지만 만들어짐
+ * 청크 메모리는 저장소가 교체된 뒤(clearStore) GC 가 ByteBuffer 를 수거할 때 반환됨 (-XX:MaxDirectMemorySize 안에서 할당)
+ */
+public class CompactMemberStore implements MemberStore {
+
+    private static final int CHUNK_SHIFT = 16;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT; // 청크당 65536명
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    // 칸 : [age(int)][username 번호 + 2(int)]. direct buffer 는 0 으로 초기화되므로 0 은 빈 칸, 1 은 username 이 null
+    private static final int SLOT_BYTES = 8;
+    private static final int USERNAME_OFFSET = 4;
+    private static final int EMPTY = 0;
+    private static final int NULL_USERNAME = 1;
+
+    private static final int ITERATOR_BATCH = 256; // valuesAfter 의 순회가 읽기 잠금 한 번에 만드는 회원 수
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<Long, ByteBuffer> chunks = new TreeMap<>();
+    private final Map<String, Integer> usernamePool = new HashMap<>();
+    private final List<String> usernames = new ArrayList<>();
+    private long size = 0L;
+
+    @Override
+    public void put(Member member) {
+        lock.writeLock().lock();
+        try {
+            write(member);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 쓰기 잠금은 한 번만
+    @Override
+    public void putAll(List<Member> members) {
+        lock.writeLock().lock();
+        try {
+            for (Member member : members) {
+                write(member);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Member get(long id) {
+        lock.readLock().lock();
+        try {
+            ByteBuffer chunk = chunks.get(id >>> CHUNK_SHIFT);
+            if (chunk == null || id < 0) {
+                return null;
+            }
+            int slot = slot(id);
+            if (chunk.getInt(slot + USERNAME_OFFSET) == EMPTY) {
+                return null;
+            }
+            return materialize(chunk, slot, id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Member> findByUsername(String username, int limit) {
+        List<Member> result = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Integer ref = usernamePool.get(username);
+            if (ref == null) {
+                return result;
+            }
+            int stored = ref + 2;
+            for (Map.Entry<Long, ByteBuffer> entry : chunks.entrySet()) {
+                ByteBuffer chunk = entry.getValue();
+                long firstId = entry.getKey() << CHUNK_SHIFT;
+                for (int i = 0; i < CHUNK_SIZE; i++) {
+                    if (result.size() >= limit) {
+                        return result;
+                    }
+                    if (chunk.getInt(i * SLOT_BYTES + USERNAME_OFFSET) == stored) {
+                        result.add(materialize(chunk, i * SLOT_BYTES, firstId + i));
+                    }
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 결과가 나이순이므로 두 번 훑음 (Member 는 최대 limit 명만 만듦)
+     * 1. 범위 안의 나이별 회원 수를 세서, 나이순으로 limit 명을 채우는 마지막 나이(cutoffAge)와 그 나이에서 가져올 수를 구함
+     * 2. id 순으로 훑으면서 cutoffAge 보다 어린 회원과 cutoffAge 인 회원을 정해진 수만큼 만들고, 나이순으로 정렬
+     */
+    @Override
+    public List<Member> findByAgeBetween(int minAge, int maxAge, int limit) {
+        List<Member> result = new ArrayList<>();
+        if (minAge > maxAge || limit <= 0) {
+            return result;
+        }
+        lock.readLock().lock();
+        try {
+            NavigableMap<Integer, Integer> counts = new TreeMap<>();
+            for (ByteBuffer chunk : chunks.values()) {
+                for (int slot = 0; slot < CHUNK_SIZE * SLOT_BYTES; slot += SLOT_BYTES) {
+                    int age = chunk.getInt(slot);
+                    if (age >= minAge && age <= maxAge && chunk.getInt(slot + USERNAME_OFFSET) != EMPTY) {
+                        counts.merge(age, 1, Integer::sum);
+                    }
+                }
+            }
+            int cutoffAge = maxAge;
+            int cutoffTake = Integer.MAX_VALUE;
+            int remaining = limit;
+            for (Map.Entry<Integer, Integer> count : counts.entrySet()) {
+                if (count.getValue() >= remaining) {
+                    cutoffAge = count.getKey();
+                    cutoffTake = remaining;
+                    break;
+                }
+                remaining -= count.getValue();
+            }
+
+            int takenAtCutoff = 0;
+            for (Map.Entry<Long, ByteBuffer> entry : chunks.entrySet()) {
+                ByteBuffer chunk = entry.getValue();
+                long firstId = entry.getKey() << CHUNK_SHIFT;
+                for (int i = 0; i < CHUNK_SIZE; i++) {
+                    int slot = i * SLOT_BYTES;
+                    int age = chunk.getInt(slot);
+                    if (age < minAge || age > cutoffAge || chunk.getInt(slot + USERNAME_OFFSET) == EMPTY) {
+                        continue;
+                    }
+                    if (age == cutoffAge) {
+                        if (takenAtCutoff == cutoffTake) {
+                            continue;
+                        }
+                        takenAtCutoff++;
+                    }
+                    result.add(materialize(chunk, slot, firstId + i));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        result.sort(Comparator.comparingInt(Member::getAge)); // 안정 정렬이라 같은 나이는 id 순 유지
+        return result;
+    }
+
+    @Override
+    public Collection<Member> valuesAfter(long afterId) {
+        return new AbstractCollection<>() {
+            @Override
+            public Iterator<Member> iterator() {
+                return new BatchIterator(afterId);
+            }
+
+            // 청크를 훑어서 셈 (O(n))
+            @Override
+            public int size() {
+                int count = 0;
+                for (Iterator<Member> iterator = iterator(); iterator.hasNext(); iterator.next()) {
+                    count++;
+                }
+                return count;
+            }
+        };
+    }
+
+    @Override
+    public MemberStore emptyCopy() {
+        return new CompactMemberStore();
+    }
+
+    public long size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // off-heap 에 할당된 청크 바이트 수
+    public long offHeapBytes() {
+        lock.readLock().lock();
+        try {
+            return (long) chunks.size() * CHUNK_SIZE * SLOT_BYTES;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void write(Member member) {
+        long id = member.getId();
+        ByteBuffer chunk = chunks.computeIfAbsent(id >>> CHUNK_SHIFT,
+                chunkId -> ByteBuffer.allocateDirect(CHUNK_SIZE * SLOT_BYTES));
+        int slot = slot(id);
+        if (chunk.getInt(slot + USERNAME_OFFSET) == EMPTY) {
+            size++;
+        }
+        chunk.putInt(slot, member.getAge());
+        chunk.putInt(slot + USERNAME_OFFSET, intern(member.getUsername()));
+    }
+
+    private static int slot(long id) {
+        return (int) (id & CHUNK_MASK) * SLOT_BYTES;
+    }
+
+    private Member materialize(ByteBuffer chunk, int slot, long id) {
+        int stored = chunk.getInt(slot + USERNAME_OFFSET);
+        Member member = new Member(stored == NULL_USERNAME ? null : usernames.get(stored - 2), chunk.getInt(slot));
+        member.setId(id);
+        return member;
+    }
+
+    // 같은 username 은 같은 번호를 공유. 청크에 저장할 값(번호 + 2)을 반환
+    private int intern(String username) {
+        if (username == null) {
+            return NULL_USERNAME;
+        }
+        Integer ref = usernamePool.get(username);
+        if (ref == null) {
+            ref = usernames.size();
+            usernames.add(username);
+            usernamePool.put(username, ref);
+        }
+        return ref + 2;
+    }
+
+    /**
+     * 읽기 잠금을 한 번 잡을 때마다 다음 회원을 ITERATOR_BATCH 명씩 만들어서 순회
+     * 다음에 읽을 id 만 기억하므로 순회 도중에 저장되어도 같은 회원이 두 번 나오지 않음
+     */
+    private class BatchIterator implements Iterator<Member> {
+
+        private long nextId;
+        private final List<Member> batch = new ArrayList<>(ITERATOR_BATCH);
+        private int position;
+        private boolean exhausted;
+
+        BatchIterator(long afterId) {
+            this.nextId = Math.max(0L, afterId + 1);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (position < batch.size()) {
+                return true;
+            }
+            if (!exhausted) {
+                fill();
+            }
+            return position < batch.size();
+        }
+
+        @Override
+        public Member next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return batch.get(position++);
+        }
+
+        private void fill() {
+            batch.clear();
+            position = 0;
+            lock.readLock().lock();
+            try {
+                for (Map.Entry<Long, ByteBuffer> entry : chunks.tailMap(nextId >>> CHUNK_SHIFT, true).entrySet()) {
+                    ByteBuffer chunk = entry.getValue();
+                    long firstId = entry.getKey() << CHUNK_SHIFT;
+                    for (int i = (int) Math.max(0L, nextId - firstId); i < CHUNK_SIZE; i++) {
+                        int slot = i * SLOT_BYTES;
+                        if (chunk.getInt(slot + USERNAME_OFFSET) != EMPTY) {
+                            batch.add(materialize(chunk, slot, firstId + i));
+                            if (batch.size() == ITERATOR_BATCH) {
+                                nextId = firstId + i + 1;
+                                return;
+                            }
+                        }
+                    }
+                }
+                exhausted = true;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.ttasjwi.servlet.domain;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Member 객체를 그대로 보관하는 기본 저장 방식
+ * - 저장소는 lock-free 인 ConcurrentSkipListMap (id 순으로 정렬)
+ * - username 인덱스 (해시) : findByUsername O(1)
+ * - age 인덱스 (정렬, skip list) : findByAgeBetween O(log n + 결과 수)
+ * - 인덱스는 put 시점의 username, age 기준. 저장 후 setter 로 바꾼 값은 인덱스에 반영되지 않음
+ */
+public class MapMemberStore implements MemberStore {
+
+    private final ConcurrentNavigableMap<Long, Member> store = new ConcurrentSkipListMap<>();
+    private final ConcurrentMap<String, ConcurrentNavigableMap<Long, Member>> usernameIndex = new ConcurrentHashMap<>();
+    private final ConcurrentNavigableMap<Integer, ConcurrentNavigableMap<Long, Member>> ageIndex = new ConcurrentSkipListMap<>();
+
+    @Override
+    public void put(Member member) {
+        store.put(member.getId(), member);
+        if (member.getUsername() != null) {
+            usernameIndex.computeIfAbsent(member.getUsername(), username -> new ConcurrentSkipListMap<>())
+                    .put(member.getId(), member);
+        }
+        ageIndex.computeIfAbsent(member.getAge(), age -> new ConcurrentSkipListMap<>())
+                .put(member.getId(), member);
+    }
+
+    @Override
+    public Member get(long id) {
+        return store.get(id);
+    }
+
+    @Override
+    public List<Member> findByUsername(String username, int limit) {
+        List<Member> result = new ArrayList<>();
+        ConcurrentNavigableMap<Long, Member> members = usernameIndex.get(username);
+        if (members != null) {
+            addUpTo(result, members.values(), limit);
+        }
+        return result;
+    }
+
+    @Override
+    public List<Member> findByAgeBetween(int minAge, int maxAge, int limit) {
+        List<Member> result = new ArrayList<>();
+        if (minAge > maxAge) {
+            return result;
+        }
+        for (ConcurrentNavigableMap<Long, Member> members : ageIndex.subMap(minAge, true, maxAge, true).values()) {
+            if (!addUpTo(result, members.values(), limit)) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Collection<Member> valuesAfter(long afterId) {
+        return store.tailMap(afterId, false).values();
+    }
+
+    @Override
+    public MemberStore emptyCopy() {
+        return new MapMemberStore();
+    }
+
+    // result 가 limit 명이 될 때까지 담음. 더 담을 수 있으면 true
+    private static boolean addUpTo(List<Member> result, Collection<Member> members, int limit) {
+        for (Member member : members) {
+            if (result.size() >= limit) {
+                return false;
+            }
+            result.add(member);
+        }
+        return result.size() < limit;
+    }
+}
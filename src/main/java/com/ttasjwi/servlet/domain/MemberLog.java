@@ -0,0 +1,479 @@
+package com.ttasjwi.servlet.domain;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+
+/**
+ * MemberRepository 의 선행 기록 로그(write-ahead log)
+ * - save, saveAll, clearStore 를 바이너리 레코드로 members.log 끝에 덧붙임
+ * - 레코드를 쓴 다음 메모리에 반영 (apply). 로그의 레코드 순서와 메모리에 반영된 순서가 항상 같음
+ *   (clearStore 와 save 가 섞여도 재생 결과가 메모리와 같음. 쓰기에 실패하면 메모리에 반영하지 않음)
+ *   INTERVAL, NEVER 는 같은 쓰기 잠금 안에서 바로 반영
+ *   ALWAYS 는 fsync 가 레코드를 포함한 뒤에 반영 -> 디스크에 남지 않은 회원을 다른 요청이 보는 일이 없음
+ *   (fsync 를 기다리는 레코드들은 pending 에 로그 순서로 쌓이고, fsync 한 스레드가 그 위치까지 순서대로 반영)
+ * - 쓰기나 fsync 에 한 번 실패하면 이후의 기록은 모두 IOException (디스크에 무엇이 남았는지 알 수 없으므로 메모리가 앞서지 않도록)
+ * - 시작 시 members.snapshot -> members.log 순으로 재생해서 저장소를 복구
+ * - 로그가 compactThresholdBytes 를 넘으면 현재 회원 전체와 지금까지 발급한 가장 큰 id 를 스냅샷으로 쓰고 로그를 비움 (복구 시간 제한)
+ *   (회원이 모두 지워진 뒤에 compaction 되어도 재시작 후의 id 가 이전 id 와 겹치지 않도록 가장 큰 id 도 기록)
+ * <p>
+ * 레코드 : [payload 길이(int)][payload][crc32(int)]
+ * payload : [type(byte)][id(long)][age(int)][username 길이(int, null 이면 -1)][username(UTF-8)]
+ * - type 3(last id) 은 id 에 지금까지 발급한 가장 큰 id 를 기록
+ * <p>
+ * 마지막 레코드가 잘렸거나 crc 가 맞지 않으면 그 앞까지만 재생하고 나머지는 버림
+ */
+@Slf4j
+public class MemberLog implements Closeable {
+
+    public enum FsyncPolicy {
+        ALWAYS,   // save 가 반환되기 전에 디스크에 기록됨. 동시에 기다리는 save 들은 한 번의 fsync 로 묶임(group commit)
+        INTERVAL, // fsyncIntervalMillis 마다 백그라운드에서 fsync. 장애 시 마지막 주기만큼 유실 가능
+        NEVER     // fsync 하지 않음 (OS 에 맡김)
+    }
+
+    public interface Replayer {
+        void save(Member member);
+
+        void clear();
+
+        // 스냅샷 시점까지 발급된 가장 큰 id (그 id 의 회원은 남아있지 않을 수 있음)
+        void lastId(long id);
+    }
+
+    static final String LOG_FILE = "members.log";
+    static final String SNAPSHOT_FILE = "members.snapshot";
+
+    private static final byte TYPE_SAVE = 1;
+    private static final byte TYPE_CLEAR = 2;
+    private static final byte TYPE_LAST_ID = 3;
+    private static final int HEADER_BYTES = 4;
+    private static final int CRC_BYTES = 4;
+    private static final int FIXED_PAYLOAD_BYTES = 1 + 8 + 4 + 4;
+    private static final Runnable NO_APPLY = () -> {
+    };
+
+    private final Path directory;
+    private final FsyncPolicy fsyncPolicy;
+    private final long compactThresholdBytes;
+
+    private final FileChannel channel;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private final ReentrantLock applyLock = new ReentrantLock();
+    private final Queue<Pending> pending = new ConcurrentLinkedQueue<>(); // ALWAYS : 썼지만 아직 fsync 되지 않아 반영하지 않은 레코드 (로그 순서)
+    private final AtomicBoolean compacting = new AtomicBoolean();
+    private final ScheduledExecutorService background;
+
+    // 로그 파일이 비워져도 줄어들지 않는 누적 바이트 수. group commit 에서 어디까지 fsync 되었는지 비교하는 데 사용
+    private volatile long writtenBytes;
+    private volatile long durableBytes;
+    private volatile long segmentStartBytes; // 현재 로그 파일의 시작에 해당하는 writtenBytes
+    private volatile Supplier<Collection<Member>> snapshotSource;
+    private volatile LongSupplier lastIdSource;
+    private volatile IOException failure;
+
+    public MemberLog(Path directory, FsyncPolicy fsyncPolicy, long fsyncIntervalMillis, long compactThresholdBytes) throws IOException {
+        this(directory, fsyncPolicy, fsyncIntervalMillis, compactThresholdBytes, open(directory));
+    }
+
+    // 테스트에서 실패하는 채널을 넣기 위해 package-private
+    MemberLog(Path directory, FsyncPolicy fsyncPolicy, long fsyncIntervalMillis, long compactThresholdBytes, FileChannel channel) {
+        this.directory = directory;
+        this.fsyncPolicy = fsyncPolicy;
+        this.compactThresholdBytes = compactThresholdBytes;
+        this.channel = channel;
+
+        this.background = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "member-log");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (fsyncPolicy == FsyncPolicy.INTERVAL) {
+            background.scheduleWithFixedDelay(this::syncQuietly, fsyncIntervalMillis, fsyncIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 스냅샷과 로그를 순서대로 재생. 로그 끝의 깨진 레코드는 잘라냄
+     */
+    public void replay(Replayer replayer) throws IOException {
+        writeLock.lock();
+        try {
+            Path snapshot = directory.resolve(SNAPSHOT_FILE);
+            if (Files.exists(snapshot)) {
+                try (FileChannel snapshotChannel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+                    readRecords(snapshotChannel, replayer);
+                }
+            }
+            long validBytes = readRecords(channel, replayer);
+            channel.truncate(validBytes);
+            channel.position(validBytes);
+            segmentStartBytes = writtenBytes;
+            writtenBytes += validBytes;
+            durableBytes = writtenBytes;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 로그가 커졌을 때 스냅샷으로 쓸 현재 회원 목록과 지금까지 발급한 가장 큰 id 를 제공
+     * 쓰기 잠금 안에서 호출되므로, 그 사이에 apply 되는 변경은 없음
+     */
+    public void setSnapshotSource(Supplier<Collection<Member>> snapshotSource, LongSupplier lastIdSource) {
+        this.snapshotSource = snapshotSource;
+        this.lastIdSource = lastIdSource;
+    }
+
+    public void appendSave(Member member) throws IOException {
+        appendSave(member, NO_APPLY);
+    }
+
+    /**
+     * 레코드를 쓴 뒤 apply 를 실행 (메모리 반영). ALWAYS 정책이면 fsync 된 뒤에 apply 하고 반환
+     */
+    public void appendSave(Member member, Runnable apply) throws IOException {
+        append(encode(TYPE_SAVE, member), apply);
+    }
+
+    public void appendSaveAll(List<Member> members) throws IOException {
+        appendSaveAll(members, NO_APPLY);
+    }
+
+    /**
+     * 여러 회원의 레코드를 한 번의 write 로 덧붙임 (ALWAYS 정책이어도 fsync 는 한 번)
+     */
+    public void appendSaveAll(List<Member> members, Runnable apply) throws IOException {
+        if (members.isEmpty()) {
+            apply.run();
+            return;
+        }
+        ByteBuffer[] records = new ByteBuffer[members.size()];
+        int totalBytes = 0;
+        for (int i = 0; i < records.length; i++) {
+            records[i] = encode(TYPE_SAVE, members.get(i));
+            totalBytes += records[i].remaining();
+        }
+        ByteBuffer batch = ByteBuffer.allocate(totalBytes);
+        for (ByteBuffer record : records) {
+            batch.put(record);
+        }
+        batch.flip();
+        append(batch, apply);
+    }
+
+    public void appendClear() throws IOException {
+        appendClear(NO_APPLY);
+    }
+
+    public void appendClear(Runnable apply) throws IOException {
+        append(encode(TYPE_CLEAR, null), apply);
+    }
+
+    private void append(ByteBuffer record, Runnable apply) throws IOException {
+        long position;
+        writeLock.lock();
+        try {
+            checkNotFailed();
+            try {
+                while (record.hasRemaining()) {
+                    writtenBytes += channel.write(record);
+                }
+            } catch (IOException e) {
+                throw fail(e);
+            }
+            position = writtenBytes;
+            if (fsyncPolicy == FsyncPolicy.ALWAYS) {
+                pending.add(new Pending(position, apply));
+            } else {
+                apply.run();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+
+        if (fsyncPolicy == FsyncPolicy.ALWAYS) {
+            sync(position); // 실패하면 pending 의 레코드는 반영되지 않음
+            publish();
+        }
+        if (compactThresholdBytes > 0 && position - segmentStartBytes >= compactThresholdBytes
+                && snapshotSource != null && compacting.compareAndSet(false, true)) {
+            background.execute(this::compactQuietly);
+        }
+    }
+
+    /**
+     * position 까지 기록된 내용이 디스크에 반영되도록 보장
+     * fsync 가 진행중이면 끝나기를 기다렸다가, 그 fsync 가 내 레코드까지 포함했으면 그대로 반환 (group commit)
+     */
+    void sync(long position) throws IOException {
+        if (durableBytes >= position) {
+            return;
+        }
+        syncLock.lock();
+        try {
+            if (durableBytes >= position) {
+                return;
+            }
+            checkNotFailed();
+            long target = writtenBytes;
+            try {
+                channel.force(false);
+            } catch (IOException e) {
+                throw fail(e); // 실패한 fsync 는 다시 시도해도 앞서 쓴 내용이 디스크에 있다고 보장되지 않음
+            }
+            durableBytes = target;
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * fsync 된 위치까지의 pending 레코드를 로그 순서대로 메모리에 반영 (ALWAYS)
+     * 다른 스레드가 반영 중이면 기다렸다가 남은 것을 반영하므로, 반환할 때는 durableBytes 까지 모두 반영되어 있음
+     */
+    private void publish() {
+        applyLock.lock();
+        try {
+            Pending next;
+            while ((next = pending.peek()) != null && next.position <= durableBytes) {
+                pending.poll();
+                next.apply.run();
+            }
+        } finally {
+            applyLock.unlock();
+        }
+    }
+
+    /**
+     * 현재 회원 전체를 임시 파일에 쓰고 fsync 한 뒤 스냅샷 파일로 교체하고, 로그를 비움
+     * 쓰기 잠금을 잡고 진행하므로 그 사이의 append 는 잠시 대기함
+     */
+    public void compact() throws IOException {
+        Supplier<Collection<Member>> source = snapshotSource;
+        if (source == null) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            checkNotFailed();
+            if (fsyncPolicy == FsyncPolicy.ALWAYS) {
+                // 로그를 비우므로, 썼지만 아직 반영하지 않은 레코드까지 반영한 뒤 스냅샷을 만듦
+                sync(writtenBytes);
+                publish();
+            }
+            Path temp = directory.resolve(SNAPSHOT_FILE + ".tmp");
+            try (FileChannel snapshotChannel = FileChannel.open(temp,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                LongSupplier lastId = lastIdSource;
+                if (lastId != null) {
+                    Member last = new Member(null, 0);
+                    last.setId(lastId.getAsLong());
+                    ByteBuffer record = encode(TYPE_LAST_ID, last);
+                    while (record.hasRemaining()) {
+                        snapshotChannel.write(record);
+                    }
+                }
+                for (Member member : source.get()) {
+                    ByteBuffer record = encode(TYPE_SAVE, member);
+                    while (record.hasRemaining()) {
+                        snapshotChannel.write(record);
+                    }
+                }
+                snapshotChannel.force(true);
+            }
+            Files.move(temp, directory.resolve(SNAPSHOT_FILE),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            syncLock.lock();
+            try {
+                channel.truncate(0);
+                channel.position(0);
+                channel.force(true);
+                durableBytes = writtenBytes;
+                segmentStartBytes = writtenBytes;
+            } finally {
+                syncLock.unlock();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        background.shutdown();
+        try {
+            background.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            if (fsyncPolicy != FsyncPolicy.NEVER && failure == null) {
+                sync(writtenBytes);
+                publish();
+            }
+        } finally {
+            channel.close();
+        }
+    }
+
+    // 예외를 던지면 scheduleWithFixedDelay 의 이후 실행이 모두 취소되므로 기록만 함 (fsync 실패는 fail 로 이후의 기록을 막음)
+    private void syncQuietly() {
+        if (failure != null) {
+            return;
+        }
+        try {
+            sync(writtenBytes);
+        } catch (IOException | RuntimeException e) {
+            log.error("member log fsync 실패. 이후의 기록을 거절합니다. dir = {}", directory, e);
+        }
+    }
+
+    private IOException fail(IOException e) {
+        if (failure == null) {
+            failure = e;
+        }
+        return e;
+    }
+
+    private void checkNotFailed() throws IOException {
+        IOException failure = this.failure;
+        if (failure != null) {
+            throw new IOException("이전의 쓰기, fsync 실패로 member log 를 더 쓸 수 없습니다. dir = " + directory, failure);
+        }
+    }
+
+    private static FileChannel open(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        return FileChannel.open(directory.resolve(LOG_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    // 실패하면 로그는 그대로 두고, 다음에 임계치를 넘는 append 가 다시 시도
+    private void compactQuietly() {
+        try {
+            compact();
+        } catch (IOException | RuntimeException e) {
+            log.error("member log compaction 실패. dir = {}", directory, e);
+        } finally {
+            compacting.set(false);
+        }
+    }
+
+    // 정상적으로 읽은 마지막 레코드의 끝 위치를 반환
+    private long readRecords(FileChannel source, Replayer replayer) throws IOException {
+        long position = 0;
+        long size = source.size();
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        CRC32 crc = new CRC32();
+
+        while (position + HEADER_BYTES <= size) {
+            header.clear();
+            readFully(source, header, position);
+            int payloadLength = header.getInt(0);
+            if (payloadLength < FIXED_PAYLOAD_BYTES || position + HEADER_BYTES + payloadLength + CRC_BYTES > size) {
+                break;
+            }
+
+            ByteBuffer body = ByteBuffer.allocate(payloadLength + CRC_BYTES);
+            readFully(source, body, position + HEADER_BYTES);
+            crc.reset();
+            crc.update(body.array(), 0, payloadLength);
+            if ((int) crc.getValue() != body.getInt(payloadLength)) {
+                break;
+            }
+
+            body.limit(payloadLength);
+            byte type = body.get();
+            if (type == TYPE_CLEAR) {
+                replayer.clear();
+            } else if (type == TYPE_SAVE) {
+                replayer.save(decodeMember(body));
+            } else if (type == TYPE_LAST_ID) {
+                replayer.lastId(body.getLong());
+            } else {
+                break;
+            }
+            position += HEADER_BYTES + payloadLength + CRC_BYTES;
+        }
+        return position;
+    }
+
+    private void readFully(FileChannel source, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = source.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IOException("unexpected end of member log");
+            }
+        }
+        buffer.flip();
+    }
+
+    private Member decodeMember(ByteBuffer payload) {
+        long id = payload.getLong();
+        int age = payload.getInt();
+        int usernameLength = payload.getInt();
+        String username = null;
+        if (usernameLength >= 0) {
+            username = new String(payload.array(), payload.position(), usernameLength, StandardCharsets.UTF_8);
+        }
+        Member member = new Member(username, age);
+        member.setId(id);
+        return member;
+    }
+
+    private ByteBuffer encode(byte type, Member member) {
+        byte[] username = (member == null || member.getUsername() == null)
+                ? null : member.getUsername().getBytes(StandardCharsets.UTF_8);
+        int payloadLength = FIXED_PAYLOAD_BYTES + (username == null ? 0 : username.length);
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + payloadLength + CRC_BYTES);
+        buffer.putInt(payloadLength);
+        buffer.put(type);
+        buffer.putLong(member == null ? 0L : member.getId());
+        buffer.putInt(member == null ? 0 : member.getAge());
+        buffer.putInt(username == null ? -1 : username.length);
+        if (username != null) {
+            buffer.put(username);
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), HEADER_BYTES, payloadLength);
+        buffer.putInt((int) crc.getValue());
+        buffer.flip();
+        return buffer;
+    }
+
+    private static final class Pending {
+
+        private final long position;
+        private final Runnable apply;
+
+        private Pending(long position, Runnable apply) {
+            this.position = position;
+            this.apply = apply;
+        }
+    }
+}
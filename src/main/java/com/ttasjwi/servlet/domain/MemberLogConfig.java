@@ -0,0 +1,44 @@
+package com.ttasjwi.servlet.domain;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * member.log.enabled=true 일 때 MemberRepository 에 MemberLog 를 연결 (application.properties 참고)
+ * - MemberRepository 는 JVM 에 하나뿐이므로, 컨텍스트가 닫힐 때 로그를 닫기 전에 먼저 떼어냄
+ *   (같은 JVM 의 다른 컨텍스트, devtools 재시작, 아직 처리 중인 요청의 save 가 닫힌 채널에 쓰지 않도록)
+ */
+@Configuration
+@ConditionalOnProperty(name = "member.log.enabled", havingValue = "true")
+public class MemberLogConfig {
+
+    @Bean(destroyMethod = "") // memberLogDetacher 가 detachLog 뒤에 close
+    public MemberLog memberLog(
+            @Value("${member.log.dir:./data}") String dir,
+            @Value("${member.log.fsync:interval}") String fsync,
+            @Value("${member.log.fsync-interval-ms:100}") long fsyncIntervalMillis,
+            @Value("${member.log.compact-threshold-bytes:67108864}") long compactThresholdBytes) throws IOException {
+
+        MemberLog memberLog = new MemberLog(Paths.get(dir),
+                MemberLog.FsyncPolicy.valueOf(fsync.trim().toUpperCase()),
+                fsyncIntervalMillis, compactThresholdBytes);
+
+        MemberRepository.getInstance().attachLog(memberLog);
+        return memberLog;
+    }
+
+    // memberLog 에 의존하므로 memberLog 보다 먼저 destroy 됨
+    @Bean
+    public DisposableBean memberLogDetacher(MemberLog memberLog) {
+        return () -> {
+            MemberRepository.getInstance().detachLog();
+            memberLog.close();
+        };
+    }
+}
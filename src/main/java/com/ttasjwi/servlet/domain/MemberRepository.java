@@ -1,18 +1,51 @@
 package com.ttasjwi.servlet.domain;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
- * 동시성 문제가 고려되어 있지 않음. 실무에서는 ConcurrentHashMap, AtomicLong 사용 고려
+ * 동시성 고려 : 저장소(MemberStore)는 동시 접근을 허용하고, id 채번은 AtomicLong 으로 처리
+ * - 여러 스레드가 동시에 save 해도 id 중복, 유실이 발생하지 않음
+ * - 저장소가 id 순으로 정렬되어 있으므로 findAll 은 항상 id 오름차순으로 반환됨
+ * - 정렬되어 있으므로 afterId 이후부터 limit 개만 가져오는 커서 방식 페이징을 O(log n + limit) 으로 처리
+ * <p>
+ * 저장 방식 : 기본은 MapMemberStore (skip list + username, age 보조 인덱스)
+ * - useStore 로 CompactMemberStore 등 다른 저장 방식으로 바꿀 수 있음 (member.storage, MemberStorageConfig)
+ * <p>
+ * 변경 버전 : save, saveAll, clearStore, attachLog 마다 version 이 1 씩 증가하고 lastModified 가 갱신됨
+ * - 변경될 때마다 addChangeListener 로 등록한 리스너를 호출 (렌더링 결과 캐시 무효화 등)
+ * - 목록 응답의 ETag, Last-Modified 에 사용 (ConditionalGet). 저장소에 반영한 뒤 증가시키므로, 어떤 version 을 본 뒤 조회한 내용은 최소한 그 version 의 내용을 포함함
+ * <p>
+ * 영속화 : attachLog 로 MemberLog 를 연결하면 (member.log.enabled=true)
+ * - 연결 시점에 로그를 재생해서 이전 회원들을 복구
+ * - 이후 save, saveAll, clearStore 는 로그에 먼저 기록한 뒤 메모리에 반영 (write-ahead. fsync=always 이면 fsync 된 뒤에 반영)
+ * - 로그에 쓰는 순서와 메모리에 반영하는 순서가 같으므로, clearStore 와 save 가 섞여도 재생하면 같은 상태가 됨
+ * <p>
+ * 저장소 교체(useStore, clearStore)는 synchronized 대신 ReentrantLock 으로 직렬화
+ * - clearStore 는 잠금 안에서 로그 기록(fsync 포함)을 기다리므로, 가상 스레드 모드(VirtualThreadConfig)에서 캐리어 스레드를 붙잡지 않도록
  */
 
 public class MemberRepository {
 
-    private final Map<Long, Member> store = new HashMap<>();
-    private static long sequence = 0L;
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private volatile MemberStore store = new MapMemberStore();
+    private static final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong version = new AtomicLong();
+    private volatile long lastModified = System.currentTimeMillis();
+    private final List<Runnable> changeListeners = new CopyOnWriteArrayList<>();
+    private volatile MemberLog log;
+    private final ReentrantLock storeLock = new ReentrantLock();
 
     private static final MemberRepository instance = new MemberRepository();
 
@@ -24,20 +57,226 @@ public class MemberRepository {
     }
 
     public Member save(Member member) {
-        member.setId(++sequence);
-        store.put(member.getId(), member);
+        member.setId(sequence.incrementAndGet()); // 원자적 채번 : 스레드마다 서로 다른 id 를 받음
+
+        MemberLog log = this.log;
+        if (log == null) {
+            store.put(member);
+        } else {
+            try {
+                log.appendSave(member, () -> store.put(member));
+            } catch (IOException e) {
+                throw new UncheckedIOException("회원 저장 로그 기록 실패. member id = " + member.getId(), e);
+            }
+        }
+        modified();
         return member;
     }
 
+    /**
+     * 여러 회원을 한 번에 저장
+     * - id 는 sequence 에서 members.size() 개를 한 번에 예약해서 순서대로 부여 (회원마다 CAS 하지 않음)
+     * - 로그가 연결되어 있으면 전체를 하나의 레코드 묶음으로 기록 (fsync 도 한 번)
+     * - 다른 스레드의 save 와 섞여도 이 배치 안의 id 는 연속됨
+     */
+    public List<Member> saveAll(List<Member> members) {
+        if (members.isEmpty()) {
+            return members;
+        }
+        long firstId = sequence.getAndAdd(members.size()) + 1;
+        for (int i = 0; i < members.size(); i++) {
+            members.get(i).setId(firstId + i);
+        }
+
+        MemberLog log = this.log;
+        if (log == null) {
+            store.putAll(members);
+        } else {
+            try {
+                log.appendSaveAll(members, () -> store.putAll(members));
+            } catch (IOException e) {
+                throw new UncheckedIOException("회원 일괄 저장 로그 기록 실패. first id = " + firstId, e);
+            }
+        }
+        modified();
+        return members;
+    }
+
+    private void modified() {
+        lastModified = System.currentTimeMillis();
+        version.incrementAndGet();
+        for (Runnable listener : changeListeners) {
+            listener.run();
+        }
+    }
+
+    // 리스너는 변경한 스레드에서 바로 호출되므로 오래 걸리는 작업을 하면 안 됨
+    public void addChangeListener(Runnable listener) {
+        changeListeners.add(listener);
+    }
+
+    public void removeChangeListener(Runnable listener) {
+        changeListeners.remove(listener);
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    // 마지막으로 변경된 시각 (epoch millis)
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * 저장 방식을 바꿈. 지금까지 저장된 회원은 새 저장소로 옮겨짐
+     * 옮기는 도중의 save 는 유실될 수 있으므로 요청을 받기 전(애플리케이션 시작 시)에만 호출해야 함
+     */
+    public void useStore(MemberStore newStore) {
+        storeLock.lock();
+        try {
+            newStore.putAll(new ArrayList<>(store.valuesAfter(0L)));
+            this.store = newStore;
+            modified();
+        } finally {
+            storeLock.unlock();
+        }
+    }
+
     public Member findById(Long id) {
+        if (id == null) {
+            return null;
+        }
         return store.get(id);
     }
 
+    /**
+     * 호출 시점 이전에 완료된 save 는 모두 포함되며, 같은 회원이 두 번 담기지 않음
+     */
     public List<Member> findAll() {
-        return new ArrayList<>(store.values());
+        return new ArrayList<>(store.valuesAfter(0L));
     }
 
+    public List<Member> findByUsername(String username) {
+        return store.findByUsername(username, Integer.MAX_VALUE);
+    }
+
+    /**
+     * username 이 같은 회원을 id 순으로 최대 limit 명 반환 (limit 은 findPage 와 같은 규칙)
+     */
+    public List<Member> findByUsername(String username, int limit) {
+        return store.findByUsername(username, pageSize(limit));
+    }
+
+    // minAge <= age <= maxAge 인 회원을 나이순(같은 나이는 id 순)으로 반환
+    public List<Member> findByAgeBetween(int minAge, int maxAge) {
+        return store.findByAgeBetween(minAge, maxAge, Integer.MAX_VALUE);
+    }
+
+    /**
+     * findByAgeBetween 의 앞에서부터 최대 limit 명 (limit 은 findPage 와 같은 규칙)
+     * 인덱스를 나이순으로 읽다가 limit 명이 되면 멈추므로 범위가 넓어도 결과 전체를 복사하지 않음
+     */
+    public List<Member> findByAgeBetween(int minAge, int maxAge, int limit) {
+        return store.findByAgeBetween(minAge, maxAge, pageSize(limit));
+    }
+
+    /**
+     * id 가 afterId 보다 큰 회원을 id 순으로 최대 limit 명 반환 (첫 페이지는 afterId = 0)
+     * limit 은 1 ~ MAX_PAGE_SIZE 로 제한되며, 0 이하이면 DEFAULT_PAGE_SIZE 를 사용
+     */
+    public List<Member> findPage(long afterId, int limit) {
+        int size = pageSize(limit);
+        List<Member> page = new ArrayList<>(size);
+        for (Member member : store.valuesAfter(afterId)) {
+            if (page.size() == size) {
+                break;
+            }
+            page.add(member);
+        }
+        return page;
+    }
+
+    // id 가 afterId 보다 큰 회원이 있는지 (다음 페이지 여부)
+    public boolean hasMembersAfter(long afterId) {
+        return store.valuesAfter(afterId).iterator().hasNext();
+    }
+
+    /**
+     * findPage 가 실제로 사용하는 페이지 크기 (1 ~ MAX_PAGE_SIZE, 0 이하이면 DEFAULT_PAGE_SIZE)
+     */
+    public static int pageSize(int limit) {
+        return limit <= 0 ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    /**
+     * id 가 afterId 보다 큰 회원을 id 순으로 복사 없이 순회하는 읽기 전용 view
+     * 순회 도중에 저장된 회원은 보일 수도, 보이지 않을 수도 있음 (같은 회원이 두 번 나오지는 않음)
+     */
+    public Collection<Member> viewAfter(long afterId) {
+        return Collections.unmodifiableCollection(store.valuesAfter(afterId));
+    }
+
+    // 전체 회원을 복사 없이 id 순으로 순회
+    public void forEach(Consumer<? super Member> action) {
+        store.valuesAfter(0L).forEach(action);
+    }
+
+    public Stream<Member> stream() {
+        return store.valuesAfter(0L).stream();
+    }
+
+    /**
+     * 저장소를 비우지 않고 빈 저장소로 교체 (저장소와 인덱스가 함께 바뀌므로, 동시에 진행중인 save 가 인덱스에만 남는 일이 없음)
+     * 교체 직전의 저장소에 들어간 save 는 clearStore 보다 먼저 일어난 것으로 취급됨
+     */
     public void clearStore() {
-        store.clear();
+        storeLock.lock();
+        try {
+            MemberLog log = this.log;
+            if (log == null) {
+                store = store.emptyCopy();
+            } else {
+                try {
+                    log.appendClear(() -> store = store.emptyCopy());
+                } catch (IOException e) {
+                    throw new UncheckedIOException("회원 삭제 로그 기록 실패", e);
+                }
+            }
+            modified();
+        } finally {
+            storeLock.unlock();
+        }
+    }
+
+    /**
+     * 로그를 재생해서 저장소를 복구하고, 이후의 변경을 로그에 기록
+     * id 채번은 복구된 회원과 스냅샷에 기록된 가장 큰 id 중 큰 값 다음부터 이어짐 (모두 지워진 뒤에도 id 를 다시 쓰지 않음)
+     */
+    public void attachLog(MemberLog log) throws IOException {
+        log.replay(new MemberLog.Replayer() {
+            @Override
+            public void save(Member member) {
+                store.put(member);
+                sequence.accumulateAndGet(member.getId(), Math::max);
+            }
+
+            @Override
+            public void clear() {
+                store = store.emptyCopy();
+            }
+
+            @Override
+            public void lastId(long id) {
+                sequence.accumulateAndGet(id, Math::max);
+            }
+        });
+        log.setSnapshotSource(() -> store.valuesAfter(0L), sequence::get);
+        this.log = log;
+        modified();
+    }
+
+    public void detachLog() {
+        this.log = null;
     }
 }
@@ -0,0 +1,21 @@
+package com.ttasjwi.servlet.domain;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * member.storage=compact 일 때 MemberRepository 의 저장 방식을 CompactMemberStore 로 바꿈 (application.properties 참고)
+ * MemberLogConfig 보다 나중에 만들어져도 이미 복구된 회원은 새 저장소로 옮겨짐
+ */
+@Configuration
+@ConditionalOnProperty(name = "member.storage", havingValue = "compact")
+public class MemberStorageConfig {
+
+    @Bean
+    public CompactMemberStore compactMemberStore() {
+        CompactMemberStore store = new CompactMemberStore();
+        MemberRepository.getInstance().useStore(store);
+        return store;
+    }
+}
@@ -0,0 +1,43 @@
+package com.ttasjwi.servlet.domain;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * MemberRepository 가 회원을 보관하는 방식 (member.storage, MemberStorageConfig 참고)
+ * - MapMemberStore : Member 객체를 skip list 와 보조 인덱스에 그대로 보관 (기본값)
+ * - CompactMemberStore : Member 객체 없이 age, username 번호만 off-heap 청크에 보관. 조회할 때 Member 를 만듦
+ * <p>
+ * id 채번, version, 로그 기록은 MemberRepository 가 담당하고, 저장소는 이미 id 가 부여된 회원을 보관만 함
+ */
+public interface MemberStore {
+
+    void put(Member member);
+
+    default void putAll(List<Member> members) {
+        for (Member member : members) {
+            put(member);
+        }
+    }
+
+    // 없으면 null
+    Member get(long id);
+
+    // username 이 같은 회원을 id 순으로 최대 limit 명 반환
+    List<Member> findByUsername(String username, int limit);
+
+    // minAge <= age <= maxAge 인 회원을 나이순(같은 나이는 id 순)으로 최대 limit 명 반환
+    List<Member> findByAgeBetween(int minAge, int maxAge, int limit);
+
+    /**
+     * id 가 afterId 보다 큰 회원을 id 순으로 순회하는 view
+     * 순회 도중에 저장된 회원은 보일 수도, 보이지 않을 수도 있음 (같은 회원이 두 번 나오지는 않음)
+     */
+    Collection<Member> valuesAfter(long afterId);
+
+    /**
+     * 같은 방식의 빈 저장소. MemberRepository 는 clearStore 때 기존 저장소를 비우지 않고 이것으로 통째로 교체함
+     * (비우는 도중에 끝난 save 의 인덱스 갱신이 비운 뒤에 남는 일이 없도록)
+     */
+    MemberStore emptyCopy();
+}
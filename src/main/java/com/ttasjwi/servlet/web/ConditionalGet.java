@@ -0,0 +1,78 @@
+package com.ttasjwi.servlet.web;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * 조건부 GET 처리 (ETag / Last-Modified -> 304 Not Modified)
+ * - ETag 는 저장소의 변경 버전으로 만든 strong ETag. 내용이 바뀌지 않았으면 다시 조회, 렌더링하지 않고 304 로 응답
+ * - If-None-Match 가 있으면 그것만 비교하고, 없을 때만 If-Modified-Since 를 비교 (RFC 7232)
+ * - Last-Modified 는 초 단위이므로, 같은 초 안의 변경은 If-Modified-Since 로는 구분되지 않음 -> ETag 를 우선 사용
+ */
+public abstract class ConditionalGet {
+
+    // 재시작하면 version 이 다시 0 부터 시작하므로, 이전 실행의 ETag 와 겹치지 않도록 시작 시각을 붙임
+    private static final String EPOCH = Long.toHexString(System.currentTimeMillis());
+
+    public static String eTag(long version) {
+        return "\"" + EPOCH + "-" + version + "\"";
+    }
+
+    /**
+     * ETag, Last-Modified 헤더를 설정하고, 요청의 조건에 맞으면 304 를 설정한 뒤 true 를 반환
+     * true 이면 호출한 쪽은 응답 body 를 쓰지 않고 바로 반환해야 함. GET, HEAD 가 아니면 아무것도 하지 않고 false
+     */
+    public static boolean checkNotModified(HttpServletRequest request, HttpServletResponse response, long version, long lastModified) {
+        return checkNotModified(request, response, eTag(version), lastModified);
+    }
+
+    /**
+     * 저장소 버전이 아닌 다른 ETag (ex: 정적 리소스의 내용 해시) 로 조건부 GET 처리
+     */
+    public static boolean checkNotModified(HttpServletRequest request, HttpServletResponse response, String eTag, long lastModified) {
+        String method = request.getMethod();
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            return false;
+        }
+
+        response.setHeader("ETag", eTag);
+        response.setDateHeader("Last-Modified", lastModified);
+
+        String ifNoneMatch = request.getHeader("If-None-Match");
+        boolean notModified = ifNoneMatch != null
+                ? matches(ifNoneMatch, eTag)
+                : notModifiedSince(request, lastModified);
+
+        if (notModified) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        }
+        return notModified;
+    }
+
+    // If-None-Match 는 약한 비교 : W/ 를 떼고 비교
+    private static boolean matches(String ifNoneMatch, String eTag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*")) {
+                return true;
+            }
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean notModifiedSince(HttpServletRequest request, long lastModified) {
+        long ifModifiedSince;
+        try {
+            ifModifiedSince = request.getDateHeader("If-Modified-Since");
+        } catch (IllegalArgumentException e) { // 날짜 형식이 아니면 조건이 없는 것으로 처리
+            return false;
+        }
+        return ifModifiedSince >= 0 && lastModified / 1000 <= ifModifiedSince / 1000;
+    }
+}
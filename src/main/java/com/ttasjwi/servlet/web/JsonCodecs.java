@@ -0,0 +1,39 @@
+package com.ttasjwi.servlet.web;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 서블릿들이 함께 쓰는 ObjectMapper 와 타입별 ObjectReader / ObjectWriter
+ * - ObjectMapper 는 생성 비용이 크고 thread-safe 하므로 하나만 만들어서 공유
+ * - ObjectReader / ObjectWriter 는 타입별로 한 번 만들어 캐시 (요청마다 역직렬화기 조회를 하지 않음)
+ * - 요청/응답 스트림을 직접 읽고 쓰므로, 다 읽거나 쓴 뒤에 스트림을 닫지 않도록 설정 (스트림은 컨테이너가 관리)
+ * - Jackson 2.12 의 com.fasterxml.jackson.databind.json.JsonMapper 와 이름이 겹치지 않도록 JsonCodecs
+ */
+public abstract class JsonCodecs {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(JsonParser.Feature.AUTO_CLOSE_SOURCE, false)
+            .configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+
+    private static final ConcurrentMap<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    public static ObjectMapper objectMapper() {
+        return objectMapper;
+    }
+
+    public static ObjectReader readerFor(Class<?> type) {
+        return readers.computeIfAbsent(type, objectMapper::readerFor);
+    }
+
+    public static ObjectWriter writerFor(Class<?> type) {
+        return writers.computeIfAbsent(type, objectMapper::writerFor);
+    }
+}
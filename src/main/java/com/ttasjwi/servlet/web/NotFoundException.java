@@ -0,0 +1,22 @@
+package com.ttasjwi.servlet.web;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 경로로 지정한 대상(회원 등)이 없을 때 컨트롤러가 던짐 -> 프론트 컨트롤러가 빈 화면(200) 대신 404 로 응답
+ * - BindException 과 같이 흐름 제어용 예외이므로 stack trace 를 만들지 않음
+ */
+public class NotFoundException extends RuntimeException {
+
+    public NotFoundException(String message) {
+        super(message, null, false, false);
+    }
+
+    /**
+     * 404 응답. 메시지는 에러 페이지에 표시
+     */
+    public void sendError(HttpServletResponse response) throws IOException {
+        response.sendError(HttpServletResponse.SC_NOT_FOUND, getMessage());
+    }
+}
@@ -0,0 +1,72 @@
+package com.ttasjwi.servlet.web;
+
+import com.ttasjwi.servlet.domain.Member;
+import com.ttasjwi.servlet.domain.MemberRepository;
+import com.ttasjwi.servlet.web.bind.BindException;
+import com.ttasjwi.servlet.web.bind.FieldError;
+import com.ttasjwi.servlet.web.bind.ParamConverters;
+
+import java.util.List;
+
+/**
+ * 회원 목록 페이징 쿼리 파라미터 해석 (모든 목록 엔드포인트가 같은 규칙을 사용)
+ * - afterId : 이전 페이지의 마지막 회원 id (없으면 첫 페이지). 0 이상의 정수
+ * - size : 한 페이지의 회원 수 (없으면 DEFAULT_PAGE_SIZE). 1 이상의 정수이고, MAX_PAGE_SIZE 보다 크면 MAX_PAGE_SIZE
+ * - 숫자가 아니거나 범위를 벗어난 값은 BindException -> 400
+ * <p>
+ * 다음 페이지가 있으면 모델의 "nextPage" 에 다음 페이지 쿼리 문자열을 넣고, 목록 view 가 다음 링크로 렌더링
+ * <p>
+ * 예) /servlet/members?afterId=200&size=50
+ */
+public abstract class PageParams {
+
+    public static final String AFTER_ID = "afterId";
+    public static final String SIZE = "size";
+    public static final String NEXT_PAGE = "nextPage";
+
+    public static long afterId(String value) {
+        if (value == null || value.isEmpty()) {
+            return 0L;
+        }
+        long afterId;
+        try {
+            afterId = Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new BindException(new FieldError(AFTER_ID, value, ParamConverters.typeMismatchMessage(long.class)));
+        }
+        if (afterId < 0) {
+            throw new BindException(new FieldError(AFTER_ID, value, "0 이상이어야 합니다."));
+        }
+        return afterId;
+    }
+
+    public static int size(String value) {
+        if (value == null || value.isEmpty()) {
+            return MemberRepository.DEFAULT_PAGE_SIZE;
+        }
+        int size;
+        try {
+            size = Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new BindException(new FieldError(SIZE, value, ParamConverters.typeMismatchMessage(int.class)));
+        }
+        if (size < 1) {
+            throw new BindException(new FieldError(SIZE, value, "1 이상이어야 합니다."));
+        }
+        return Math.min(size, MemberRepository.MAX_PAGE_SIZE);
+    }
+
+    /**
+     * findPage(afterId, size) 로 가져온 page 다음에 회원이 더 있으면 다음 페이지의 쿼리 문자열 ("?afterId=..&size=.."), 없으면 null
+     */
+    public static String nextPage(MemberRepository memberRepository, List<Member> page, int size) {
+        if (page.size() < size) {
+            return null;
+        }
+        long lastId = page.get(page.size() - 1).getId();
+        if (!memberRepository.hasMembersAfter(lastId)) {
+            return null;
+        }
+        return "?" + AFTER_ID + "=" + lastId + "&" + SIZE + "=" + size;
+    }
+}
@@ -0,0 +1,48 @@
+package com.ttasjwi.servlet.web;
+
+import com.ttasjwi.servlet.domain.Member;
+import com.ttasjwi.servlet.domain.MemberRepository;
+import com.ttasjwi.servlet.web.bind.BindException;
+import com.ttasjwi.servlet.web.bind.FieldError;
+import com.ttasjwi.servlet.web.bind.ParamConverters;
+
+import java.util.List;
+
+/**
+ * 회원 검색 쿼리 파라미터 해석 (프론트 컨트롤러 v4, v5, 스프링 MVC v3 의 /search 가 같은 규칙을 사용)
+ * - username 이 있으면 username 인덱스로, 없으면 minAge ~ maxAge (한쪽만 있으면 다른 쪽은 열림) 를 age 인덱스로 검색
+ * - 결과는 size 명까지 (PageParams.size 와 같은 규칙). 인덱스를 앞에서부터 읽다가 멈추므로 결과가 많아도 전체를 복사하지 않음
+ * - 조건이 하나도 없거나 나이가 숫자가 아니면 BindException -> 400 (전체 목록은 페이징되는 목록 엔드포인트로)
+ * <p>
+ * 예) /members/search?username=kim , /members/search?minAge=20&maxAge=30&size=50
+ */
+public abstract class SearchParams {
+
+    public static final String USERNAME = "username";
+    public static final String MIN_AGE = "minAge";
+    public static final String MAX_AGE = "maxAge";
+
+    public static List<Member> search(MemberRepository memberRepository, String username, String minAge, String maxAge, String size) {
+        int limit = PageParams.size(size);
+        if (username != null && !username.isEmpty()) {
+            return memberRepository.findByUsername(username, limit);
+        }
+
+        boolean hasMinAge = minAge != null && !minAge.isEmpty();
+        boolean hasMaxAge = maxAge != null && !maxAge.isEmpty();
+        if (!hasMinAge && !hasMaxAge) {
+            throw new BindException(new FieldError(USERNAME, null, "username, minAge, maxAge 중 하나는 있어야 합니다."));
+        }
+        int min = hasMinAge ? age(MIN_AGE, minAge) : 0;
+        int max = hasMaxAge ? age(MAX_AGE, maxAge) : Integer.MAX_VALUE;
+        return memberRepository.findByAgeBetween(min, max, limit);
+    }
+
+    private static int age(String name, String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new BindException(new FieldError(name, value, ParamConverters.typeMismatchMessage(int.class)));
+        }
+    }
+}
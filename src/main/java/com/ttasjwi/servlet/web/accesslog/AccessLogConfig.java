@@ -0,0 +1,30 @@
+package com.ttasjwi.servlet.web.accesslog;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.servlet.DispatcherType;
+
+/**
+ * AccessLogFilter 등록
+ * - CompressionFilter(CompressionConfig) 보다 바깥에 둠 -> 접근 로그의 바이트 수는 압축 후, 실제로 보낸 body 크기
+ * - 압축 필터 안에서 생긴 예외, 지연시간도 함께 기록됨
+ */
+@Configuration
+@ConditionalOnProperty(name = "access-log.enabled", havingValue = "true", matchIfMissing = true)
+public class AccessLogConfig {
+
+    @Bean
+    public FilterRegistrationBean<AccessLogFilter> accessLogFilter() {
+        FilterRegistrationBean<AccessLogFilter> registration = new FilterRegistrationBean<>(new AccessLogFilter());
+        registration.setName("accessLogFilter");
+        registration.addUrlPatterns("/*");
+        registration.setAsyncSupported(true);
+        registration.setDispatcherTypes(DispatcherType.REQUEST, DispatcherType.ASYNC);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 50); // CompressionConfig 는 + 100
+        return registration;
+    }
+}
@@ -0,0 +1,54 @@
+package com.ttasjwi.servlet.web.accesslog;
+
+/**
+ * 접근 로그 한 건 (불변)
+ * - weight : 과부하로 샘플링 중일 때 이 항목이 대표하는 요청 수. 샘플링하지 않았으면 1
+ */
+public class AccessLogEntry {
+
+    private final long timestamp;
+    private final String method;
+    private final String uri;
+    private final int status;
+    private final long bytes;
+    private final long durationMicros;
+    private final int weight;
+
+    public AccessLogEntry(long timestamp, String method, String uri, int status, long bytes, long durationMicros, int weight) {
+        this.timestamp = timestamp;
+        this.method = method;
+        this.uri = uri;
+        this.status = status;
+        this.bytes = bytes;
+        this.durationMicros = durationMicros;
+        this.weight = weight;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getUri() {
+        return uri;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public long getDurationMicros() {
+        return durationMicros;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+}
@@ -0,0 +1,191 @@
+package com.ttasjwi.servlet.web.accesslog;
+
+import com.ttasjwi.servlet.web.staticresource.StaticResourceServlet;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.context.support.WebApplicationContextUtils;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.DispatcherType;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletContext;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 모든 요청의 method, uri, status, 응답 바이트 수, 처리 시간을 AccessLogger 로 기록
+ * - 비동기 요청(v5 비동기 모드)은 AsyncListener.onComplete 에서 기록. ASYNC dispatch 에서 쓴 바이트도 함께 셈
+ * - 예외로 끝난 요청은 status 500 으로 기록
+ * - StaticResourceServlet 의 정적 파일은 응답을 감싸지 않고(sendfile 을 쓸 수 있도록) 바이트 수를 Content-Length 로 기록
+ * - 등록 순서 : AccessLogConfig (CompressionFilter 보다 바깥이므로 바이트 수는 압축 후 크기)
+ * - access-log.* 설정은 application.properties 참고
+ */
+@Slf4j
+public class AccessLogFilter implements Filter {
+
+    private static final String COUNTER_ATTRIBUTE = AccessLogFilter.class.getName() + ".counter";
+
+    private AccessLogger accessLogger;
+
+    @Override
+    public void init(FilterConfig filterConfig) throws ServletException {
+        ServletContext servletContext = filterConfig.getServletContext();
+        WebApplicationContext context = WebApplicationContextUtils.getWebApplicationContext(servletContext);
+        Environment environment = context == null ? null : context.getEnvironment();
+        if (environment != null && !environment.getProperty("access-log.enabled", Boolean.class, true)) {
+            return;
+        }
+
+        try {
+            RollingLogFile file = new RollingLogFile(
+                    Paths.get(property(environment, "access-log.dir", "./logs")),
+                    property(environment, "access-log.max-file-bytes", 64L * 1024 * 1024),
+                    property(environment, "access-log.max-files", 5));
+            accessLogger = new AccessLogger(
+                    new AccessLogRingBuffer(property(environment, "access-log.buffer-size", 8192)),
+                    file,
+                    property(environment, "access-log.batch-size", 512),
+                    property(environment, "access-log.flush-interval-ms", 200L),
+                    property(environment, "access-log.sample-threshold", 0.5),
+                    property(environment, "access-log.sample-rate", 10));
+            accessLogger.start();
+        } catch (IOException e) {
+            throw new ServletException("access log 파일을 열 수 없습니다.", e);
+        }
+        servletContext.setAttribute(AccessLogger.CONTEXT_ATTRIBUTE, accessLogger);
+    }
+
+    @Override
+    public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain chain) throws IOException, ServletException {
+        HttpServletRequest request = (HttpServletRequest) servletRequest;
+        HttpServletResponse response = (HttpServletResponse) servletResponse;
+        if (accessLogger == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        if (StaticResourceServlet.handles(request)) {
+            long start = System.nanoTime();
+            boolean failed = true;
+            try {
+                chain.doFilter(request, response);
+                failed = false;
+            } finally {
+                accessLogger.log(request.getMethod(), request.getRequestURI(),
+                        failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus(),
+                        failed ? 0 : declaredBytes(request, response), System.nanoTime() - start);
+            }
+            return;
+        }
+
+        AtomicLong counter;
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            counter = (AtomicLong) request.getAttribute(COUNTER_ATTRIBUTE);
+            if (counter == null) {
+                chain.doFilter(request, response); // 첫 요청이 이 필터를 거치지 않은 경우
+                return;
+            }
+        } else {
+            counter = new AtomicLong();
+        }
+
+        long start = System.nanoTime();
+        CountingResponseWrapper wrapper = new CountingResponseWrapper(response, counter);
+        boolean failed = true;
+        try {
+            chain.doFilter(request, wrapper);
+            wrapper.flush();
+            failed = false;
+        } finally {
+            // ASYNC dispatch 는 첫 요청에서 등록한 AsyncListener 가 기록
+            if (request.getDispatcherType() != DispatcherType.ASYNC) {
+                if (request.isAsyncStarted()) {
+                    request.setAttribute(COUNTER_ATTRIBUTE, counter);
+                    request.getAsyncContext().addListener(new CompletionListener(request, response, counter, start));
+                } else {
+                    log(request, failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus(), counter, start);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (accessLogger == null) {
+            return;
+        }
+        try {
+            accessLogger.close();
+        } catch (IOException e) {
+            log.warn("access log 를 닫지 못했습니다.", e);
+        }
+    }
+
+    private void log(HttpServletRequest request, int status, AtomicLong counter, long start) {
+        accessLogger.log(request.getMethod(), request.getRequestURI(), status, counter.get(), System.nanoTime() - start);
+    }
+
+    // body 가 없는 HEAD, 304 는 0. 길이를 알 수 없으면(에러 페이지 등) 0
+    private static long declaredBytes(HttpServletRequest request, HttpServletResponse response) {
+        String contentLength = response.getHeader("Content-Length");
+        if (contentLength == null || "HEAD".equals(request.getMethod())) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(contentLength.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static <T> T property(Environment environment, String key, T defaultValue) {
+        if (environment == null) {
+            return defaultValue;
+        }
+        @SuppressWarnings("unchecked")
+        Class<T> type = (Class<T>) defaultValue.getClass();
+        return environment.getProperty(key, type, defaultValue);
+    }
+
+    private class CompletionListener implements AsyncListener {
+
+        private final HttpServletRequest request;
+        private final HttpServletResponse response;
+        private final AtomicLong counter;
+        private final long start;
+
+        private CompletionListener(HttpServletRequest request, HttpServletResponse response, AtomicLong counter, long start) {
+            this.request = request;
+            this.response = response;
+            this.counter = counter;
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            log(request, response.getStatus(), counter, start);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
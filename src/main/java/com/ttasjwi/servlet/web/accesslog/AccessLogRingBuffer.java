@@ -0,0 +1,79 @@
+package com.ttasjwi.servlet.web.accesslog;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * 여러 요청 스레드가 넣고(offer) 하나의 스레드가 꺼내는(drain) 고정 크기 링 버퍼. 잠금을 사용하지 않음
+ * - 생산자는 tail 을 CAS 로 한 칸 예약한 뒤 그 칸에 항목을 씀
+ * - 소비자는 head 칸이 채워져 있을 때만 꺼내고, 칸을 비운 뒤 head 를 증가 (예약만 되고 아직 쓰이지 않은 칸에서 멈춤)
+ * - 가득 차면 offer 는 기다리지 않고 false 를 반환 -> 요청 처리 스레드가 로그 때문에 막히지 않음
+ */
+public class AccessLogRingBuffer {
+
+    private final AtomicReferenceArray<AccessLogEntry> slots;
+    private final int capacity;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong(); // 다음에 꺼낼 위치 (소비자만 변경)
+    private final AtomicLong tail = new AtomicLong(); // 다음에 넣을 위치
+
+    /**
+     * @param capacity 2의 거듭제곱으로 올림
+     */
+    public AccessLogRingBuffer(int capacity) {
+        if (capacity < 1 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("capacity 는 1 ~ 2^30 이어야 합니다. capacity = " + capacity);
+        }
+        this.capacity = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = this.capacity - 1;
+        this.slots = new AtomicReferenceArray<>(this.capacity);
+    }
+
+    /**
+     * @return 가득 차서 넣지 못했으면 false
+     */
+    public boolean offer(AccessLogEntry entry) {
+        while (true) {
+            long currentTail = tail.get();
+            if (currentTail - head.get() >= capacity) {
+                return false;
+            }
+            if (tail.compareAndSet(currentTail, currentTail + 1)) {
+                slots.lazySet((int) currentTail & mask, entry);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 최대 maxEntries 개를 꺼내서 consumer 에 전달. 소비자 스레드 하나에서만 호출해야 함
+     *
+     * @return 꺼낸 개수
+     */
+    public int drain(Consumer<AccessLogEntry> consumer, int maxEntries) {
+        long currentHead = head.get();
+        int drained = 0;
+        while (drained < maxEntries) {
+            int index = (int) currentHead & mask;
+            AccessLogEntry entry = slots.get(index);
+            if (entry == null) {
+                break;
+            }
+            slots.lazySet(index, null);
+            head.lazySet(++currentHead);
+            consumer.accept(entry);
+            drained++;
+        }
+        return drained;
+    }
+
+    public int size() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+}
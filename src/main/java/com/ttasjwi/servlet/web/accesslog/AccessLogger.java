@@ -0,0 +1,181 @@
+package com.ttasjwi.servlet.web.accesslog;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 요청 스레드는 AccessLogRingBuffer 에 항목을 넣기만 하고, 백그라운드 스레드 하나가 모아서 JSON 한 줄씩 파일에 기록
+ * - 기록 스레드는 start() 로 시작
+ * - 요청 스레드에서는 파일 I/O, 문자열 조립, 잠금이 없음
+ * - 기록 스레드는 batchSize 개씩 꺼내서 한 번에 쓰고, 버퍼가 비면 flushIntervalMillis 동안 쉼
+ * <p>
+ * 과부하 샘플링
+ * - 버퍼가 sampleThreshold(0 ~ 1) 이상 차 있으면 5xx 가 아닌 요청은 sampleRate 개 중 1개만 남기고, 남긴 항목의 weight 를 sampleRate 로 기록
+ * - 5xx 는 샘플링하지 않음. 그래도 버퍼가 가득 차면 버리고 dropped 로 셈
+ * <p>
+ * 기록 형식 : {"ts":"2026-01-01T00:00:00.000Z","method":"GET","uri":"/hello","status":200,"bytes":12,"durationUs":345,"weight":1}
+ */
+@Slf4j
+public class AccessLogger implements Closeable {
+
+    public static final String CONTEXT_ATTRIBUTE = AccessLogger.class.getName();
+
+    private final AccessLogRingBuffer buffer;
+    private final RollingLogFile file;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final int sampleThresholdSize;
+    private final int sampleRate;
+
+    private final AtomicLong sampleSequence = new AtomicLong();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder sampledOut = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    private final ByteArrayOutputStream line = new ByteArrayOutputStream(256);
+    private final StringBuilder text = new StringBuilder(256);
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    AccessLogger(AccessLogRingBuffer buffer, RollingLogFile file, int batchSize, long flushIntervalMillis,
+                        double sampleThreshold, int sampleRate) {
+        this.buffer = buffer;
+        this.file = file;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.sampleThresholdSize = (int) (buffer.getCapacity() * sampleThreshold);
+        this.sampleRate = Math.max(1, sampleRate);
+
+        this.thread = new Thread(this::run, "access-log");
+        this.thread.setDaemon(true);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    /**
+     * 요청 스레드에서 호출. 기다리지 않음
+     */
+    public void log(String method, String uri, int status, long bytes, long durationNanos) {
+        int weight = 1;
+        if (status < 500 && sampleRate > 1 && buffer.size() >= sampleThresholdSize) {
+            if (sampleSequence.incrementAndGet() % sampleRate != 0) {
+                sampledOut.increment();
+                return;
+            }
+            weight = sampleRate;
+        }
+
+        AccessLogEntry entry = new AccessLogEntry(System.currentTimeMillis(), method, uri, status, bytes,
+                TimeUnit.NANOSECONDS.toMicros(durationNanos), weight);
+        if (!buffer.offer(entry)) {
+            dropped.increment();
+        }
+    }
+
+    public long getWritten() {
+        return written.sum();
+    }
+
+    public long getSampledOut() {
+        return sampledOut.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public int getPending() {
+        return buffer.size();
+    }
+
+    /**
+     * 남은 항목을 모두 기록하고 파일을 닫음
+     */
+    @Override
+    public void close() throws IOException {
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        file.close();
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                if (writeBatch() == 0) {
+                    file.flush();
+                    LockSupport.parkNanos(this, flushIntervalNanos);
+                }
+            } catch (IOException | RuntimeException e) {
+                log.warn("access log 기록 실패", e);
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            }
+        }
+
+        try {
+            while (writeBatch() > 0) {
+                // 종료 전에 남은 항목을 모두 기록
+            }
+            file.flush();
+        } catch (IOException e) {
+            log.warn("access log 기록 실패", e);
+        }
+    }
+
+    private int writeBatch() throws IOException {
+        line.reset();
+        int count = buffer.drain(this::append, batchSize);
+        if (count > 0) {
+            file.write(line.toByteArray(), line.size());
+            written.add(count);
+        }
+        return count;
+    }
+
+    private void append(AccessLogEntry entry) {
+        text.setLength(0);
+        text.append("{\"ts\":\"").append(Instant.ofEpochMilli(entry.getTimestamp()))
+                .append("\",\"method\":\"");
+        appendEscaped(entry.getMethod());
+        text.append("\",\"uri\":\"");
+        appendEscaped(entry.getUri());
+        text.append("\",\"status\":").append(entry.getStatus())
+                .append(",\"bytes\":").append(entry.getBytes())
+                .append(",\"durationUs\":").append(entry.getDurationMicros())
+                .append(",\"weight\":").append(entry.getWeight())
+                .append("}\n");
+        byte[] bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+        line.write(bytes, 0, bytes.length);
+    }
+
+    private void appendEscaped(String value) {
+        if (value == null) {
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                text.append('\\').append(c);
+            } else if (c < 0x20) {
+                text.append(String.format("\\u%04x", (int) c));
+            } else {
+                text.append(c);
+            }
+        }
+    }
+}
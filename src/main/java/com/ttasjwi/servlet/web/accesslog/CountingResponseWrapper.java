@@ -0,0 +1,150 @@
+package com.ttasjwi.servlet.web.accesslog;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 응답 body 를 그대로 원래 응답에 쓰면서 바이트 수를 셈
+ * - getWriter 로 쓴 문자도 응답의 문자 인코딩으로 바꾼 뒤 세므로 실제 전송된 body 크기와 같음
+ * - 비동기 요청은 ASYNC dispatch 에서 새 wrapper 를 만들되 같은 counter 를 공유
+ */
+class CountingResponseWrapper extends HttpServletResponseWrapper {
+
+    private final AtomicLong counter;
+    private CountingOutputStream outputStream;
+    private PrintWriter writer;
+
+    CountingResponseWrapper(HttpServletResponse response, AtomicLong counter) {
+        super(response);
+        this.counter = counter;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() 가 이미 호출되었습니다.");
+        }
+        return countingStream();
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            if (outputStream != null) {
+                throw new IllegalStateException("getOutputStream() 이 이미 호출되었습니다.");
+            }
+            Charset charset = Charset.forName(getCharacterEncoding());
+            writer = new PrintWriter(new OutputStreamWriter(countingStream(), charset)); // 이후 getOutputStream 호출은 막음
+        }
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        super.flushBuffer();
+    }
+
+    /**
+     * 원래 응답의 버퍼를 비운 뒤(commit 되었으면 예외), writer 에 남아있는 문자도 버림
+     * commit 전이면 아직 보낸 바이트가 없으므로 센 바이트 수도 0 으로
+     */
+    @Override
+    public void resetBuffer() {
+        super.resetBuffer();
+        discardPending();
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        discardPending();
+    }
+
+    /**
+     * dispatch 가 끝날 때 필터가 호출. writer 에 남아있는 문자를 원래 응답으로 내보냄
+     */
+    void flush() {
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    private CountingOutputStream countingStream() throws IOException {
+        if (outputStream == null) {
+            outputStream = new CountingOutputStream(super.getOutputStream());
+        }
+        return outputStream;
+    }
+
+    private void discardPending() {
+        if (writer != null) {
+            outputStream.discarding = true;
+            try {
+                writer.flush(); // 인코더 버퍼의 바이트를 원래 응답에 쓰지 않고 버림. 호출한 쪽이 가진 writer 는 그대로 쓸 수 있음
+            } finally {
+                outputStream.discarding = false;
+            }
+        }
+        counter.set(0L);
+    }
+
+    private class CountingOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+        private boolean discarding;
+
+        private CountingOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (discarding) {
+                return;
+            }
+            delegate.write(b);
+            counter.incrementAndGet();
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (discarding) {
+                return;
+            }
+            delegate.write(b, off, len);
+            counter.addAndGet(len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (!discarding) {
+                delegate.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.ttasjwi.servlet.web.accesslog;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * dir/access.log 에 덧붙이고, maxFileBytes 를 넘으면 access-yyyyMMdd-HHmmss-SSS.log 로 이름을 바꾼 뒤 새 파일을 엶
+ * - 이름을 바꾼 파일은 최근 maxFiles 개만 남기고 삭제
+ * - 같은 ms 안에 여러 번 넘기면 이름이 겹치지 않도록 직전 이름의 시각 + 1ms 를 씀 (이름 순 = 오래된 순 유지)
+ * - AccessLogger 의 기록 스레드 하나에서만 사용
+ */
+class RollingLogFile implements Closeable {
+
+    static final String FILE_NAME = "access.log";
+    private static final String ROLLED_PREFIX = "access-";
+    private static final DateTimeFormatter ROLLED_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    private final Path directory;
+    private final long maxFileBytes;
+    private final int maxFiles;
+
+    private OutputStream out;
+    private long fileBytes;
+    private LocalDateTime lastRolledAt = LocalDateTime.MIN;
+
+    RollingLogFile(Path directory, long maxFileBytes, int maxFiles) throws IOException {
+        this.directory = directory;
+        this.maxFileBytes = maxFileBytes;
+        this.maxFiles = maxFiles;
+        Files.createDirectories(directory);
+        open();
+    }
+
+    void write(byte[] bytes, int length) throws IOException {
+        if (maxFileBytes > 0 && fileBytes > 0 && fileBytes + length > maxFileBytes) {
+            roll();
+        }
+        out.write(bytes, 0, length);
+        fileBytes += length;
+    }
+
+    void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private void open() throws IOException {
+        Path file = directory.resolve(FILE_NAME);
+        out = new BufferedOutputStream(Files.newOutputStream(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND), 64 * 1024);
+        fileBytes = Files.size(file);
+    }
+
+    private void roll() throws IOException {
+        out.close();
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        lastRolledAt = now.isAfter(lastRolledAt) ? now : lastRolledAt.plus(1, ChronoUnit.MILLIS);
+        Path rolled = directory.resolve(ROLLED_PREFIX + lastRolledAt.format(ROLLED_FORMAT) + ".log");
+        Files.move(directory.resolve(FILE_NAME), rolled, StandardCopyOption.REPLACE_EXISTING);
+        deleteOldFiles();
+        open();
+    }
+
+    private void deleteOldFiles() throws IOException {
+        List<Path> rolledFiles = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, ROLLED_PREFIX + "*.log")) {
+            stream.forEach(rolledFiles::add);
+        }
+        Collections.sort(rolledFiles); // 이름에 시각이 들어있으므로 이름 순 = 오래된 순
+        for (int i = 0; i < rolledFiles.size() - maxFiles; i++) {
+            Files.deleteIfExists(rolledFiles.get(i));
+        }
+    }
+}
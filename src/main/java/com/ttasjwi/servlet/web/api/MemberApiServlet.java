@@ -0,0 +1,242 @@
+package com.ttasjwi.servlet.web.api;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.ttasjwi.servlet.domain.Member;
+import com.ttasjwi.servlet.domain.MemberRepository;
+import com.ttasjwi.servlet.web.ConditionalGet;
+import com.ttasjwi.servlet.web.JsonCodecs;
+import com.ttasjwi.servlet.web.PageParams;
+import com.ttasjwi.servlet.web.bind.BindException;
+import com.ttasjwi.servlet.web.bind.FieldError;
+import com.ttasjwi.servlet.web.bind.ParamReader;
+
+import javax.servlet.ServletException;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * 회원 JSON API
+ * - GET /api/members?afterId=0&size=100 : id 순 페이지. {"members":[...],"next":다음 페이지의 afterId 또는 null}
+ * - GET /api/members?ids=1,2,3 : 여러 명 조회 (최대 MemberRepository.MAX_PAGE_SIZE 개). {"members":[...],"missing":[없는 id]}
+ * - GET /api/members/{id} : 한 명. 없으면 404
+ * - POST /api/members {"username":"kim","age":20} : 등록. 201 + Location
+ * <p>
+ * - 목록은 저장소를 복사하지 않고 순회하면서 JsonGenerator 로 응답 스트림에 바로 씀 -> 요청당 메모리는 페이지 크기와 무관
+ * - 압축은 CompressionFilter 가 담당 (Accept-Encoding 협상, 압축 표현별 ETag)
+ * - GET 은 저장소 버전으로 ETag / Last-Modified 를 붙이고, 바뀐 것이 없으면 304 (ConditionalGet)
+ * - 잘못된 파라미터, body 는 400 {"status":400,"error":"...","fields":[...]}
+ */
+@WebServlet(name = "memberApiServlet", urlPatterns = "/api/members/*")
+public class MemberApiServlet extends HttpServlet {
+
+    private final MemberRepository memberRepository = MemberRepository.getInstance();
+    private final ObjectReader memberRequestReader = JsonCodecs.readerFor(MemberRequest.class);
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+        String path = request.getPathInfo();
+        try {
+            if (path != null && path.length() > 1) {
+                writeMember(request, response, path.substring(1));
+            } else if (request.getParameter("ids") != null) {
+                writeMembers(request, response, request.getParameter("ids"));
+            } else {
+                writePage(request, response);
+            }
+        } catch (BindException e) {
+            writeError(response, HttpServletResponse.SC_BAD_REQUEST, e.getMessage(), e.getErrors());
+        }
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+        String path = request.getPathInfo();
+        if (path != null && path.length() > 1) {
+            response.setHeader("Allow", "GET");
+            writeError(response, HttpServletResponse.SC_METHOD_NOT_ALLOWED, "허용되지 않는 메서드입니다.", List.of());
+            return;
+        }
+
+        MemberRequest memberRequest;
+        try {
+            memberRequest = memberRequestReader.readValue(request.getInputStream());
+        } catch (JsonProcessingException e) {
+            memberRequest = null;
+        }
+        if (memberRequest == null) {
+            writeError(response, HttpServletResponse.SC_BAD_REQUEST, "JSON 형식이 올바르지 않습니다.", List.of());
+            return;
+        }
+        List<FieldError> errors = memberRequest.validate();
+        if (!errors.isEmpty()) {
+            writeError(response, HttpServletResponse.SC_BAD_REQUEST, new BindException(errors).getMessage(), errors);
+            return;
+        }
+
+        // body 의 id 는 사용하지 않음 (저장소가 발급)
+        Member member = memberRepository.save(new Member(memberRequest.getUsername(), memberRequest.getAge()));
+
+        response.setStatus(HttpServletResponse.SC_CREATED);
+        response.setHeader("Location", request.getContextPath() + "/api/members/" + member.getId());
+        writeJson(response, generator -> writeMember(generator, member));
+    }
+
+    private void writePage(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        long afterId = PageParams.afterId(request.getParameter(PageParams.AFTER_ID));
+        int size = PageParams.size(request.getParameter(PageParams.SIZE));
+
+        if (checkNotModified(request, response)) {
+            return;
+        }
+        writeJson(response, generator -> {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("members");
+            Iterator<Member> members = memberRepository.viewAfter(afterId).iterator();
+            long lastId = afterId;
+            for (int count = 0; count < size && members.hasNext(); count++) {
+                Member member = members.next();
+                writeMember(generator, member);
+                lastId = member.getId();
+            }
+            generator.writeEndArray();
+            if (members.hasNext()) {
+                generator.writeNumberField("next", lastId);
+            } else {
+                generator.writeNullField("next");
+            }
+            generator.writeEndObject();
+        });
+    }
+
+    private void writeMembers(HttpServletRequest request, HttpServletResponse response, String idsParameter) throws IOException {
+        long[] ids = parseIds(idsParameter);
+        if (checkNotModified(request, response)) {
+            return;
+        }
+        writeJson(response, generator -> {
+            Member[] members = new Member[ids.length]; // id 마다 한 번만 조회. members 와 missing 이 같은 조회 결과를 봄
+            for (int i = 0; i < ids.length; i++) {
+                members[i] = memberRepository.findById(ids[i]);
+            }
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("members");
+            for (Member member : members) {
+                if (member != null) {
+                    writeMember(generator, member);
+                }
+            }
+            generator.writeEndArray();
+            generator.writeArrayFieldStart("missing");
+            for (int i = 0; i < ids.length; i++) {
+                if (members[i] == null) {
+                    generator.writeNumber(ids[i]);
+                }
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        });
+    }
+
+    private void writeMember(HttpServletRequest request, HttpServletResponse response, String idSegment) throws IOException {
+        ParamReader params = new ParamReader(name -> idSegment);
+        long id = params.getRequiredLong("id");
+        params.validate();
+
+        Member member = memberRepository.findById(id);
+        if (member == null) {
+            writeError(response, HttpServletResponse.SC_NOT_FOUND, "회원을 찾을 수 없습니다. id = " + id, List.of());
+            return;
+        }
+        if (checkNotModified(request, response)) {
+            return;
+        }
+        writeJson(response, generator -> writeMember(generator, member));
+    }
+
+    private boolean checkNotModified(HttpServletRequest request, HttpServletResponse response) {
+        return ConditionalGet.checkNotModified(request, response, memberRepository.getVersion(), memberRepository.getLastModified());
+    }
+
+    /**
+     * "1,2,3" -> id 배열. 개수는 MAX_PAGE_SIZE 까지
+     */
+    private long[] parseIds(String idsParameter) {
+        ParamReader params = new ParamReader(name -> null);
+        List<String> tokens = new ArrayList<>();
+        int start = 0;
+        while (start <= idsParameter.length()) {
+            int comma = idsParameter.indexOf(',', start);
+            int end = comma < 0 ? idsParameter.length() : comma;
+            String token = idsParameter.substring(start, end).trim();
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+            start = end + 1;
+        }
+        if (tokens.isEmpty() || tokens.size() > MemberRepository.MAX_PAGE_SIZE) {
+            params.reject("ids", null, "1 ~ " + MemberRepository.MAX_PAGE_SIZE + " 개의 id 가 필요합니다.");
+        }
+
+        long[] ids = new long[tokens.size()];
+        for (int i = 0; i < ids.length; i++) {
+            String token = tokens.get(i);
+            try {
+                ids[i] = Long.parseLong(token);
+            } catch (NumberFormatException e) {
+                params.reject("ids", token, "정수여야합니다.");
+            }
+        }
+        params.validate();
+        return ids;
+    }
+
+    private void writeJson(HttpServletResponse response, JsonBody body) throws IOException {
+        response.setContentType("application/json");
+        response.setCharacterEncoding("utf-8");
+        try (JsonGenerator generator = JsonCodecs.objectMapper().getFactory().createGenerator(response.getOutputStream())) {
+            body.write(generator);
+        }
+    }
+
+    private static void writeMember(JsonGenerator generator, Member member) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", member.getId());
+        generator.writeStringField("username", member.getUsername());
+        generator.writeNumberField("age", member.getAge());
+        generator.writeEndObject();
+    }
+
+    private void writeError(HttpServletResponse response, int status, String message, List<FieldError> errors) throws IOException {
+        response.setStatus(status);
+        response.setContentType("application/json");
+        response.setCharacterEncoding("utf-8");
+        try (JsonGenerator generator = JsonCodecs.objectMapper().getFactory().createGenerator(response.getOutputStream())) {
+            generator.writeStartObject();
+            generator.writeNumberField("status", status);
+            generator.writeStringField("error", message);
+            generator.writeArrayFieldStart("fields");
+            for (FieldError error : errors) {
+                generator.writeStartObject();
+                generator.writeStringField("name", error.getName());
+                generator.writeStringField("message", error.getMessage());
+                generator.writeStringField("rejectedValue", error.getRejectedValue());
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+    }
+
+    @FunctionalInterface
+    private interface JsonBody {
+        void write(JsonGenerator generator) throws IOException;
+    }
+}
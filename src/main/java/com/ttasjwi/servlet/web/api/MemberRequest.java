@@ -0,0 +1,31 @@
+package com.ttasjwi.servlet.web.api;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.ttasjwi.servlet.web.bind.FieldError;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * POST /api/members 의 body. id 는 서버에서 채번하므로 body 에 있어도 무시
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@Getter @Setter
+public class MemberRequest {
+
+    private String username;
+    private int age;
+
+    List<FieldError> validate() {
+        List<FieldError> errors = new ArrayList<>();
+        if (username == null || username.isBlank()) {
+            errors.add(new FieldError("username", username, "필수 값입니다."));
+        }
+        if (age < 0) {
+            errors.add(new FieldError("age", Integer.toString(age), "0 이상이어야합니다."));
+        }
+        return errors;
+    }
+}
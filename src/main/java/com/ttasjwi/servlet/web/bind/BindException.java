@@ -0,0 +1,40 @@
+package com.ttasjwi.servlet.web.bind;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 요청 파라미터가 없거나 타입에 맞지 않을 때 던짐 -> 프론트 컨트롤러, 서블릿이 500 대신 400 으로 응답
+ * - 흐름 제어용 예외이므로 stack trace 를 만들지 않음
+ */
+public class BindException extends RuntimeException {
+
+    private final List<FieldError> errors;
+
+    public BindException(List<FieldError> errors) {
+        super(null, null, false, false);
+        this.errors = List.copyOf(errors);
+    }
+
+    public BindException(FieldError error) {
+        this(List.of(error));
+    }
+
+    public List<FieldError> getErrors() {
+        return errors;
+    }
+
+    @Override
+    public String getMessage() {
+        return errors.stream().map(FieldError::toString).collect(Collectors.joining(", ", "잘못된 요청 파라미터입니다. ", ""));
+    }
+
+    /**
+     * 400 응답. 오류 내용은 메시지로 전달 (에러 페이지에 표시)
+     */
+    public void sendError(HttpServletResponse response) throws IOException {
+        response.sendError(HttpServletResponse.SC_BAD_REQUEST, getMessage());
+    }
+}
@@ -0,0 +1,34 @@
+package com.ttasjwi.servlet.web.bind;
+
+/**
+ * 요청 파라미터 하나의 바인딩 오류
+ */
+public class FieldError {
+
+    private final String name;
+    private final String rejectedValue;
+    private final String message;
+
+    public FieldError(String name, String rejectedValue, String message) {
+        this.name = name;
+        this.rejectedValue = rejectedValue;
+        this.message = message;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getRejectedValue() {
+        return rejectedValue;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return rejectedValue == null ? name + ": " + message : name + ": " + message + " (value = " + rejectedValue + ")";
+    }
+}
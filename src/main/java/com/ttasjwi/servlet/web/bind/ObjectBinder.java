@@ -0,0 +1,318 @@
+package com.ttasjwi.servlet.web.bind;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 요청 파라미터 -> 객체 바인딩 계획. 클래스마다 처음 한 번만 만들고 ClassValue 에 보관
+ * - 이름을 알 수 있는(-parameters) 파라미터가 가장 많은 public 생성자가 있으면 생성자로 바인딩 (ex: Member(username, age))
+ *   -> 생성자에 없는 필드(id 등)는 요청으로 바꿀 수 없음. 생성자 파라미터는 모두 필수 (없으면 null 로 만들지 않고 FieldError)
+ * - 없으면 기본 생성자 + public setter 로 바인딩 (ex: HelloData). 요청에 없는 파라미터는 setter 를 호출하지 않음
+ * - setter 는 (Object, int)void 같은 정확한 타입의 MethodHandle 로 호출하므로 기본 타입 값을 boxing 하지 않음
+ */
+abstract class ObjectBinder<T> {
+
+    private static final ClassValue<ObjectBinder<?>> PLANS = new ClassValue<>() {
+        @Override
+        protected ObjectBinder<?> computeValue(Class<?> type) {
+            return create(type);
+        }
+    };
+
+    @SuppressWarnings("unchecked")
+    static <T> ObjectBinder<T> of(Class<T> type) {
+        return (ObjectBinder<T>) PLANS.get(type);
+    }
+
+    /**
+     * @return 오류가 있었으면 null 일 수 있음 (오류는 reader 에 기록)
+     */
+    abstract T bind(ParamReader reader);
+
+    private static ObjectBinder<?> create(Class<?> type) {
+        if (!Modifier.isPublic(type.getModifiers()) || Modifier.isAbstract(type.getModifiers())) {
+            throw new IllegalStateException("바인딩할 수 없는 타입입니다. public 구체 클래스여야합니다. type = " + type.getName());
+        }
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        try {
+            Constructor<?> constructor = bindableConstructor(type);
+            if (constructor != null) {
+                return new ConstructorBinder<>(lookup.unreflectConstructor(constructor), constructor.getParameters());
+            }
+            return new SetterBinder<>(lookup.findConstructor(type, MethodType.methodType(void.class)), setters(type, lookup));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalStateException("바인딩할 수 없는 타입입니다. 이름이 있는 생성자나 public 기본 생성자가 필요합니다. type = " + type.getName(), e);
+        }
+    }
+
+    private static Constructor<?> bindableConstructor(Class<?> type) {
+        Constructor<?> selected = null;
+        for (Constructor<?> constructor : type.getConstructors()) {
+            if (constructor.getParameterCount() == 0 || (selected != null && selected.getParameterCount() >= constructor.getParameterCount())) {
+                continue;
+            }
+            boolean bindable = true;
+            for (Parameter parameter : constructor.getParameters()) {
+                bindable &= parameter.isNamePresent() && ParamConverters.isSupported(parameter.getType());
+            }
+            if (bindable) {
+                selected = constructor;
+            }
+        }
+        return selected;
+    }
+
+    private static List<Property> setters(Class<?> type, MethodHandles.Lookup lookup) throws IllegalAccessException {
+        List<Property> properties = new ArrayList<>();
+        for (Method method : type.getMethods()) {
+            String name = method.getName();
+            if (!name.startsWith("set") || name.length() == 3 || method.getParameterCount() != 1
+                    || method.getReturnType() != void.class || Modifier.isStatic(method.getModifiers())) {
+                continue;
+            }
+            Class<?> valueType = method.getParameterTypes()[0];
+            if (!ParamConverters.isSupported(valueType)) {
+                continue;
+            }
+            String property = Character.toLowerCase(name.charAt(3)) + name.substring(4);
+            properties.add(Property.setter(property, valueType, lookup.unreflect(method)));
+        }
+        properties.sort(Comparator.comparing(property -> property.name)); // 오류 순서를 항상 같게
+        return properties;
+    }
+
+    private static class ConstructorBinder<T> extends ObjectBinder<T> {
+
+        private final MethodHandle constructor; // (Object[])Object
+        private final Property[] parameters;
+
+        private ConstructorBinder(MethodHandle constructor, Parameter[] parameters) {
+            this.constructor = constructor.asType(MethodType.genericMethodType(parameters.length))
+                    .asSpreader(Object[].class, parameters.length);
+            this.parameters = new Property[parameters.length];
+            for (int i = 0; i < parameters.length; i++) {
+                this.parameters[i] = Property.argument(parameters[i].getName(), parameters[i].getType());
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        T bind(ParamReader reader) {
+            int errorsBefore = reader.getErrors().size();
+            Object[] args = new Object[parameters.length];
+            for (int i = 0; i < parameters.length; i++) {
+                args[i] = parameters[i].read(reader);
+            }
+            if (reader.getErrors().size() > errorsBefore) {
+                return null; // 없거나 변환할 수 없는 인자가 있어 생성하지 않음
+            }
+            try {
+                return (T) (Object) constructor.invokeExact(args);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private static class SetterBinder<T> extends ObjectBinder<T> {
+
+        private final MethodHandle constructor; // ()Object
+        private final List<Property> properties;
+
+        private SetterBinder(MethodHandle constructor, List<Property> properties) {
+            this.constructor = constructor.asType(MethodType.methodType(Object.class));
+            this.properties = properties;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        T bind(ParamReader reader) {
+            try {
+                Object target = (Object) constructor.invokeExact();
+                for (Property property : properties) {
+                    property.set(target, reader);
+                }
+                return (T) target;
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /**
+     * 객체의 속성(생성자 파라미터 또는 setter) 하나
+     */
+    private abstract static class Property {
+
+        final String name;
+
+        Property(String name) {
+            this.name = name;
+        }
+
+        /**
+         * 생성자 인자로 읽음. 없으면 오류
+         */
+        abstract Object read(ParamReader reader);
+
+        /**
+         * 값이 있으면 setter 호출
+         */
+        abstract void set(Object target, ParamReader reader) throws Throwable;
+
+        static Property argument(String name, Class<?> type) {
+            if (type == int.class) {
+                return new IntProperty(name, null);
+            }
+            if (type == long.class) {
+                return new LongProperty(name, null);
+            }
+            if (type == boolean.class) {
+                return new BooleanProperty(name, null);
+            }
+            return new ObjectProperty(name, type, null);
+        }
+
+        static Property setter(String name, Class<?> type, MethodHandle setter) {
+            if (type == int.class) {
+                return new IntProperty(name, setter.asType(MethodType.methodType(void.class, Object.class, int.class)));
+            }
+            if (type == long.class) {
+                return new LongProperty(name, setter.asType(MethodType.methodType(void.class, Object.class, long.class)));
+            }
+            if (type == boolean.class) {
+                return new BooleanProperty(name, setter.asType(MethodType.methodType(void.class, Object.class, boolean.class)));
+            }
+            return new ObjectProperty(name, type, setter.asType(MethodType.methodType(void.class, Object.class, Object.class)));
+        }
+    }
+
+    private static class IntProperty extends Property {
+
+        private final MethodHandle setter; // (Object, int)void
+
+        IntProperty(String name, MethodHandle setter) {
+            super(name);
+            this.setter = setter;
+        }
+
+        @Override
+        Object read(ParamReader reader) {
+            return reader.getRequiredInt(name);
+        }
+
+        @Override
+        void set(Object target, ParamReader reader) throws Throwable {
+            if (reader.getString(name) != null) {
+                setter.invokeExact(target, reader.getInt(name, 0));
+            }
+        }
+    }
+
+    private static class LongProperty extends Property {
+
+        private final MethodHandle setter; // (Object, long)void
+
+        LongProperty(String name, MethodHandle setter) {
+            super(name);
+            this.setter = setter;
+        }
+
+        @Override
+        Object read(ParamReader reader) {
+            return reader.getRequiredLong(name);
+        }
+
+        @Override
+        void set(Object target, ParamReader reader) throws Throwable {
+            if (reader.getString(name) != null) {
+                setter.invokeExact(target, reader.getLong(name, 0L));
+            }
+        }
+    }
+
+    private static class BooleanProperty extends Property {
+
+        private final MethodHandle setter; // (Object, boolean)void
+
+        BooleanProperty(String name, MethodHandle setter) {
+            super(name);
+            this.setter = setter;
+        }
+
+        @Override
+        Object read(ParamReader reader) {
+            if (reader.getString(name) == null) {
+                reader.reject(name, null, ParamConverters.missingMessage());
+                return false;
+            }
+            return reader.getBoolean(name, false);
+        }
+
+        @Override
+        void set(Object target, ParamReader reader) throws Throwable {
+            if (reader.getString(name) != null) {
+                setter.invokeExact(target, reader.getBoolean(name, false));
+            }
+        }
+    }
+
+    private static class ObjectProperty extends Property {
+
+        private final Class<?> type;
+        private final Function<String, Object> converter;
+        private final MethodHandle setter; // (Object, Object)void
+
+        ObjectProperty(String name, Class<?> type, MethodHandle setter) {
+            super(name);
+            this.type = type;
+            this.converter = ParamConverters.of(type);
+            this.setter = setter;
+        }
+
+        @Override
+        Object read(ParamReader reader) {
+            String value = reader.getString(name);
+            if (value == null) {
+                reader.reject(name, null, ParamConverters.missingMessage());
+                return null;
+            }
+            return convert(reader, value);
+        }
+
+        @Override
+        void set(Object target, ParamReader reader) throws Throwable {
+            String value = reader.getString(name);
+            if (value == null) {
+                return;
+            }
+            Object converted = convert(reader, value);
+            if (converted != null) {
+                setter.invokeExact(target, converted);
+            }
+        }
+
+        // 변환할 수 없으면 오류를 기록하고 null
+        private Object convert(ParamReader reader, String value) {
+            try {
+                return converter.apply(value);
+            } catch (IllegalArgumentException e) {
+                reader.reject(name, value, ParamConverters.typeMismatchMessage(type));
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.ttasjwi.servlet.web.bind;
+
+import java.util.function.Function;
+
+/**
+ * 요청 파라미터 문자열 -> 타입 변환
+ * - 지원 타입 : String, int, long, boolean (과 wrapper), enum
+ * - 변환할 수 없는 값은 IllegalArgumentException (NumberFormatException 포함)
+ */
+public abstract class ParamConverters {
+
+    /**
+     * @return 지원하지 않는 타입이면 null
+     */
+    public static Function<String, Object> of(Class<?> type) {
+        if (type == String.class) {
+            return value -> value;
+        }
+        if (type == int.class || type == Integer.class) {
+            return Integer::valueOf;
+        }
+        if (type == long.class || type == Long.class) {
+            return Long::valueOf;
+        }
+        if (type == boolean.class || type == Boolean.class) {
+            return ParamConverters::parseBoolean;
+        }
+        if (type.isEnum()) {
+            Object[] constants = type.getEnumConstants();
+            return value -> parseEnum(constants, value);
+        }
+        return null;
+    }
+
+    public static boolean isSupported(Class<?> type) {
+        return of(type) != null;
+    }
+
+    static boolean parseBoolean(String value) {
+        if ("true".equalsIgnoreCase(value)) {
+            return true;
+        }
+        if ("false".equalsIgnoreCase(value)) {
+            return false;
+        }
+        throw new IllegalArgumentException(value);
+    }
+
+    static Object parseEnum(Object[] constants, String value) {
+        for (Object constant : constants) {
+            if (((Enum<?>) constant).name().equals(value)) {
+                return constant;
+            }
+        }
+        throw new IllegalArgumentException(value);
+    }
+
+    /**
+     * 변환 실패 시 FieldError 메시지
+     */
+    public static String typeMismatchMessage(Class<?> type) {
+        if (type == int.class || type == Integer.class || type == long.class || type == Long.class) {
+            return "정수여야합니다.";
+        }
+        if (type == boolean.class || type == Boolean.class) {
+            return "true 또는 false 여야합니다.";
+        }
+        if (type.isEnum()) {
+            StringBuilder names = new StringBuilder();
+            for (Object constant : type.getEnumConstants()) {
+                names.append(names.length() == 0 ? "" : ", ").append(((Enum<?>) constant).name());
+            }
+            return names + " 중 하나여야합니다.";
+        }
+        return "올바르지 않은 값입니다.";
+    }
+
+    public static String missingMessage() {
+        return "필수 파라미터입니다.";
+    }
+}
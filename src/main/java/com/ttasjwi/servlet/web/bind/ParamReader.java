@@ -0,0 +1,166 @@
+package com.ttasjwi.servlet.web.bind;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 요청 파라미터를 타입에 맞게 꺼내고, 오류는 모아두었다가 validate 에서 한 번에 BindException 으로 던짐
+ * - 요청 파라미터를 다른 Map 으로 옮겨 담지 않고 원본(request, paramMap)에서 바로 읽음
+ * - getInt, getLong, getBoolean 은 기본 타입을 그대로 반환 (boxing 없음)
+ * - 오류가 없으면 오류 목록도 만들지 않음
+ * <p>
+ * 예)
+ * ParamReader params = ParamReader.of(paramMap);
+ * Member member = params.bind(Member.class);
+ * params.validate(); // 잘못된 파라미터가 있으면 BindException -> 400
+ */
+public class ParamReader {
+
+    @FunctionalInterface
+    public interface Source {
+        String get(String name);
+    }
+
+    private final Source source;
+    private List<FieldError> errors;
+
+    public ParamReader(Source source) {
+        this.source = source;
+    }
+
+    public static ParamReader of(HttpServletRequest request) {
+        return new ParamReader(request::getParameter);
+    }
+
+    public static ParamReader of(Map<String, String> paramMap) {
+        return new ParamReader(paramMap::get);
+    }
+
+    /**
+     * @return 없거나 빈 문자열이면 null
+     */
+    public String getString(String name) {
+        String value = source.get(name);
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    public String getRequiredString(String name) {
+        String value = getString(name);
+        if (value == null) {
+            reject(name, null, ParamConverters.missingMessage());
+        }
+        return value;
+    }
+
+    public int getInt(String name, int defaultValue) {
+        String value = getString(name);
+        return value == null ? defaultValue : parseInt(name, value, defaultValue);
+    }
+
+    public int getRequiredInt(String name) {
+        String value = getString(name);
+        if (value == null) {
+            reject(name, null, ParamConverters.missingMessage());
+            return 0;
+        }
+        return parseInt(name, value, 0);
+    }
+
+    public long getLong(String name, long defaultValue) {
+        String value = getString(name);
+        return value == null ? defaultValue : parseLong(name, value, defaultValue);
+    }
+
+    public long getRequiredLong(String name) {
+        String value = getString(name);
+        if (value == null) {
+            reject(name, null, ParamConverters.missingMessage());
+            return 0L;
+        }
+        return parseLong(name, value, 0L);
+    }
+
+    public boolean getBoolean(String name, boolean defaultValue) {
+        String value = getString(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return ParamConverters.parseBoolean(value);
+        } catch (IllegalArgumentException e) {
+            reject(name, value, ParamConverters.typeMismatchMessage(boolean.class));
+            return defaultValue;
+        }
+    }
+
+    public <E extends Enum<E>> E getEnum(String name, Class<E> type, E defaultValue) {
+        String value = getString(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return type.cast(ParamConverters.parseEnum(type.getEnumConstants(), value));
+        } catch (IllegalArgumentException e) {
+            reject(name, value, ParamConverters.typeMismatchMessage(type));
+            return defaultValue;
+        }
+    }
+
+    /**
+     * 파라미터를 type 의 객체로 바인딩 (ObjectBinder 참고). 오류가 있으면 기록하고 null 을 반환할 수 있음
+     */
+    public <T> T bind(Class<T> type) {
+        return ObjectBinder.of(type).bind(this);
+    }
+
+    /**
+     * type 의 바인딩 계획을 미리 만들어봄. 바인딩할 수 없는 타입이면 IllegalStateException (시작 시점 검사용)
+     */
+    public static void checkBindable(Class<?> type) {
+        ObjectBinder.of(type);
+    }
+
+    /**
+     * 지금까지 기록된 오류가 있으면 BindException
+     */
+    public void validate() {
+        if (errors != null) {
+            throw new BindException(errors);
+        }
+    }
+
+    public boolean hasErrors() {
+        return errors != null;
+    }
+
+    public List<FieldError> getErrors() {
+        return errors == null ? List.of() : errors;
+    }
+
+    public void reject(String name, String rejectedValue, String message) {
+        if (errors == null) {
+            errors = new ArrayList<>(2);
+        }
+        errors.add(new FieldError(name, rejectedValue, message));
+    }
+
+    private int parseInt(String name, String value, int defaultValue) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            reject(name, value, ParamConverters.typeMismatchMessage(int.class));
+            return defaultValue;
+        }
+    }
+
+    private long parseLong(String name, String value, long defaultValue) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            reject(name, value, ParamConverters.typeMismatchMessage(long.class));
+            return defaultValue;
+        }
+    }
+}
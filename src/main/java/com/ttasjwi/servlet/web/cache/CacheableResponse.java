@@ -0,0 +1,15 @@
+package com.ttasjwi.servlet.web.cache;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 스프링 MVC 핸들러 메서드의 GET 응답을 RenderedResponseCacheFilter 가 캐시해도 된다는 표시
+ * - 요청 파라미터와 MemberRepository 의 내용만으로 응답이 정해지는 메서드에만 사용
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CacheableResponse {
+}
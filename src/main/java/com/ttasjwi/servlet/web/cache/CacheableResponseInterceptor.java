@@ -0,0 +1,22 @@
+package com.ttasjwi.servlet.web.cache;
+
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * @CacheableResponse 가 붙은 핸들러 메서드로 가는 GET 요청을 캐시 가능으로 표시
+ */
+public class CacheableResponseInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if ("GET".equals(request.getMethod()) && handler instanceof HandlerMethod
+                && ((HandlerMethod) handler).hasMethodAnnotation(CacheableResponse.class)) {
+            RenderedResponseCache.markCacheable(request);
+        }
+        return true;
+    }
+}
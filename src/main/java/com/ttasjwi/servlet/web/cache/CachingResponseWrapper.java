@@ -0,0 +1,185 @@
+package com.ttasjwi.servlet.web.cache;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+
+/**
+ * 캐시할 응답의 body 를 원래 응답에 쓰지 않고 메모리에 모으는 wrapper (status, 헤더는 원래 응답에 그대로 반영)
+ * - body 를 처음 쓰려고 할 때, 핸들러가 RenderedResponseCache.markCacheable 로 표시한 요청이면 모으고, 아니면 원래 응답으로 바로 흘려보냄
+ *   -> 캐시하지 않는 응답(큰 목록, 405, 에러 페이지 등)은 메모리에 복사되지 않음
+ * - 모으기 시작할 때 X-Cache: MISS 를 설정 (캐시 대상이 아닌 응답에는 X-Cache 가 없음)
+ * - 모은 body 는 필터가 캐시에 저장한 뒤 원래 응답으로 복사
+ * - 모으는 도중에 setWriteListener(비동기 I/O)가 호출되면 모은 내용을 원래 응답에 쓰고, 이후는 원래 응답으로 흘려보냄 (캐시하지 않음)
+ */
+class CachingResponseWrapper extends HttpServletResponseWrapper {
+
+    private final HttpServletRequest request;
+    private Boolean buffering; // body 를 처음 쓸 때 정함
+    private ByteArrayOutputStream buffer;
+    private BufferingOutputStream outputStream;
+    private PrintWriter writer;
+
+    CachingResponseWrapper(HttpServletRequest request, HttpServletResponse response) {
+        super(response);
+        this.request = request;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (!buffering()) {
+            return super.getOutputStream();
+        }
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() 가 이미 호출되었습니다.");
+        }
+        if (outputStream == null) {
+            outputStream = new BufferingOutputStream();
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (!buffering()) {
+            return super.getWriter();
+        }
+        if (outputStream != null) {
+            throw new IllegalStateException("getOutputStream() 이 이미 호출되었습니다.");
+        }
+        if (writer == null) {
+            writer = new PrintWriter(new OutputStreamWriter(buffer, Charset.forName(getCharacterEncoding())));
+        }
+        return writer;
+    }
+
+    // body 를 다 쓰기 전에 원래 응답이 commit 되지 않도록, 모으는 중에는 길이와 flush 를 필터가 처리
+    @Override
+    public void flushBuffer() throws IOException {
+        if (!buffering()) {
+            super.flushBuffer();
+            return;
+        }
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    @Override
+    public void setContentLength(int len) {
+        if (!buffering()) {
+            super.setContentLength(len);
+        }
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        if (!buffering()) {
+            super.setContentLengthLong(len);
+        }
+    }
+
+    @Override
+    public void resetBuffer() {
+        super.resetBuffer();
+        resetBody();
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        resetBody();
+    }
+
+    /**
+     * body 를 모았으면 true. false 이면 body 는 이미 원래 응답에 쓰였음
+     */
+    boolean isBuffered() {
+        return Boolean.TRUE.equals(buffering);
+    }
+
+    byte[] toByteArray() {
+        if (writer != null) {
+            writer.flush();
+        }
+        return buffer.toByteArray();
+    }
+
+    private boolean buffering() {
+        if (buffering == null) {
+            buffering = RenderedResponseCache.isCacheable(request);
+            if (buffering) {
+                buffer = new ByteArrayOutputStream(8192);
+                setHeader("X-Cache", "MISS"); // 캐시 대상이어서 모으는 응답에만 (body 를 쓰기 전이므로 아직 commit 전)
+            }
+        }
+        return buffering;
+    }
+
+    private void resetBody() {
+        if (!isBuffered()) {
+            return;
+        }
+        if (writer != null) {
+            writer.flush(); // writer 에 남은 문자까지 버리도록 먼저 buffer 로 보낸 뒤 비움
+        }
+        buffer.reset();
+    }
+
+    private class BufferingOutputStream extends ServletOutputStream {
+
+        private ServletOutputStream target; // setWriteListener 이후에는 원래 응답의 stream
+
+        @Override
+        public void write(int b) throws IOException {
+            if (target != null) {
+                target.write(b);
+            } else {
+                buffer.write(b);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (target != null) {
+                target.write(b, off, len);
+            } else {
+                buffer.write(b, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (target != null) {
+                target.flush();
+            }
+        }
+
+        @Override
+        public boolean isReady() {
+            return target == null || target.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            try {
+                target = getResponse().getOutputStream();
+                buffering = false; // 캐시하지 않음. 필터는 body 를 다시 쓰지 않음
+                if (buffer.size() > 0) {
+                    buffer.writeTo(target);
+                    buffer.reset();
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("원래 응답의 stream 으로 바꿀 수 없습니다.", e);
+            }
+            target.setWriteListener(writeListener);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.ttasjwi.servlet.web.cache;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 렌더링이 끝난 응답(body + 헤더)의 캐시
+ * - key : requestURI + query string
+ * - LRU : 최근에 조회되지 않은 항목부터, 항목 수(maxEntries) 나 전체 크기(maxBytes) 를 넘지 않도록 제거
+ * - 항목은 만들 때의 저장소 version 을 가지고 있고, 조회 시점의 version 과 다르면 사용하지 않음
+ *   (저장소 변경 리스너로 invalidateAll 도 호출되지만, 렌더링 도중에 변경된 경우까지 막기 위해 version 도 비교)
+ * - hit, miss, eviction, invalidation 수를 집계
+ * - 잠금은 synchronized 대신 ReentrantLock : 가상 스레드 모드(VirtualThreadConfig)에서 기다리는 동안 캐리어 스레드를 붙잡지 않음
+ */
+public class RenderedResponseCache {
+
+    public static final String CONTEXT_ATTRIBUTE = RenderedResponseCache.class.getName();
+    public static final String CACHEABLE_ATTRIBUTE = RenderedResponseCache.class.getName() + ".cacheable";
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private final int maxEntryBytes;
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true); // 접근 순서 -> LRU
+    private final ReentrantLock lock = new ReentrantLock();
+    private long totalBytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public RenderedResponseCache(int maxEntries, long maxBytes, int maxEntryBytes) {
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.maxEntryBytes = maxEntryBytes;
+    }
+
+    /**
+     * 이 요청의 응답을 캐시해도 된다고 표시 (요청 파라미터와 저장소 내용만으로 응답이 정해지는 GET 핸들러에서 호출)
+     */
+    public static void markCacheable(HttpServletRequest request) {
+        request.setAttribute(CACHEABLE_ATTRIBUTE, Boolean.TRUE);
+    }
+
+    public static boolean isCacheable(HttpServletRequest request) {
+        return Boolean.TRUE.equals(request.getAttribute(CACHEABLE_ATTRIBUTE));
+    }
+
+    public static String key(HttpServletRequest request) {
+        String queryString = request.getQueryString();
+        return queryString == null ? request.getRequestURI() : request.getRequestURI() + "?" + queryString;
+    }
+
+    /**
+     * @return version 이 일치하는 항목, 없으면 null
+     */
+    public Entry get(String key, long version) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.version != version) {
+                remove(key);
+                entry = null;
+            }
+            if (entry == null) {
+                misses.increment();
+            } else {
+                hits.increment();
+            }
+            return entry;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void put(String key, Entry entry) {
+        if (entry.body.length > maxEntryBytes) {
+            return;
+        }
+        lock.lock();
+        try {
+            Entry old = entries.put(key, entry);
+            if (old != null) {
+                totalBytes -= old.body.length;
+            }
+            totalBytes += entry.body.length;
+
+            Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+            while ((entries.size() > maxEntries || totalBytes > maxBytes) && eldest.hasNext()) {
+                totalBytes -= eldest.next().getValue().body.length;
+                eldest.remove();
+                evictions.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            if (entries.isEmpty()) {
+                return;
+            }
+            invalidations.add(entries.size());
+            entries.clear();
+            totalBytes = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void remove(String key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            totalBytes -= removed.body.length;
+            invalidations.increment();
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public long getInvalidations() {
+        return invalidations.sum();
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getTotalBytes() {
+        lock.lock();
+        try {
+            return totalBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public static class Entry {
+
+        private final String contentType;
+        private final Map<String, List<String>> headers;
+        private final byte[] body;
+        private final long version;
+        private final long lastModified;
+
+        public Entry(String contentType, Map<String, List<String>> headers, byte[] body, long version, long lastModified) {
+            this.contentType = contentType;
+            this.headers = Collections.unmodifiableMap(headers);
+            this.body = body;
+            this.version = version;
+            this.lastModified = lastModified;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public Map<String, List<String>> getHeaders() {
+            return headers;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public long getLastModified() {
+            return lastModified;
+        }
+    }
+}
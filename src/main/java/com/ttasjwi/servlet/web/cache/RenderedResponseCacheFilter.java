@@ -0,0 +1,173 @@
+package com.ttasjwi.servlet.web.cache;
+
+import com.ttasjwi.servlet.domain.MemberRepository;
+import com.ttasjwi.servlet.web.ConditionalGet;
+import org.springframework.core.env.Environment;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.context.support.WebApplicationContextUtils;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletContext;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.annotation.WebFilter;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 프론트 컨트롤러 v5, 스프링 MVC 의 GET 응답을 RenderedResponseCache 에 저장하고, 같은 요청이 오면 그대로 돌려줌
+ * - 캐시 hit 이면 핸들러 어댑터, 컨트롤러, view 렌더링을 모두 거치지 않음
+ * - 핸들러가 RenderedResponseCache.markCacheable 로 표시한 200 응답만 저장 (v5 : MyLastModified 핸들러, 스프링 : @CacheableResponse)
+ *   표시하지 않은 응답은 메모리에 모으지 않고 그대로 흘려보냄 (CachingResponseWrapper)
+ * - MemberRepository 가 변경되면 전체 무효화
+ * - 비동기 요청(v5 비동기 모드)은 첫 요청에서는 응답을 쓰지 않고, 핸들러가 끝난 뒤의 ASYNC dispatch 에서 저장
+ * - response.cache.* 설정은 application.properties 참고
+ */
+@WebFilter(filterName = "renderedResponseCacheFilter", urlPatterns = {"/front-controller/v5/*", "/springmvc/*"},
+        asyncSupported = true, dispatcherTypes = {DispatcherType.REQUEST, DispatcherType.ASYNC})
+public class RenderedResponseCacheFilter implements Filter {
+
+    // 응답마다 달라지거나 컨테이너가 다시 계산하는 헤더는 저장하지 않음
+    private static final Set<String> EXCLUDED_HEADERS = Set.of(
+            "set-cookie", "content-length", "content-type", "transfer-encoding", "date", "x-cache");
+
+    private static final String VERSION_ATTRIBUTE = RenderedResponseCacheFilter.class.getName() + ".version";
+    private static final String LAST_MODIFIED_ATTRIBUTE = RenderedResponseCacheFilter.class.getName() + ".lastModified";
+
+    private final MemberRepository memberRepository = MemberRepository.getInstance();
+    private RenderedResponseCache cache;
+    private Runnable invalidator;
+
+    @Override
+    public void init(FilterConfig filterConfig) {
+        ServletContext servletContext = filterConfig.getServletContext();
+        WebApplicationContext context = WebApplicationContextUtils.getWebApplicationContext(servletContext);
+        Environment environment = context == null ? null : context.getEnvironment();
+        if (environment != null && !environment.getProperty("response.cache.enabled", Boolean.class, true)) {
+            return;
+        }
+
+        cache = new RenderedResponseCache(
+                property(environment, "response.cache.max-entries", 1024),
+                property(environment, "response.cache.max-bytes", 64L * 1024 * 1024),
+                property(environment, "response.cache.max-entry-bytes", 1024 * 1024));
+        invalidator = cache::invalidateAll;
+        memberRepository.addChangeListener(invalidator);
+        servletContext.setAttribute(RenderedResponseCache.CONTEXT_ATTRIBUTE, cache);
+    }
+
+    @Override
+    public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain chain) throws IOException, ServletException {
+        HttpServletRequest request = (HttpServletRequest) servletRequest;
+        HttpServletResponse response = (HttpServletResponse) servletResponse;
+        if (cache == null || !"GET".equals(request.getMethod())) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        boolean asyncDispatch = request.getDispatcherType() == DispatcherType.ASYNC;
+        String key = RenderedResponseCache.key(request);
+        long version;
+        long lastModified;
+        if (asyncDispatch) {
+            // 핸들러를 실행하기 전(첫 요청)에 읽어둔 version 을 사용
+            version = (Long) request.getAttribute(VERSION_ATTRIBUTE);
+            lastModified = (Long) request.getAttribute(LAST_MODIFIED_ATTRIBUTE);
+        } else {
+            // 렌더링 전에 읽은 version 으로 저장 -> 렌더링 도중 변경되었으면 다음 조회에서 version 이 달라 사용되지 않음
+            version = memberRepository.getVersion();
+            lastModified = memberRepository.getLastModified();
+
+            RenderedResponseCache.Entry entry = cache.get(key, version);
+            if (entry != null) {
+                writeEntry(entry, request, response);
+                return;
+            }
+            // 비동기로 넘어가면 ASYNC dispatch 에서 사용
+            request.setAttribute(VERSION_ATTRIBUTE, version);
+            request.setAttribute(LAST_MODIFIED_ATTRIBUTE, lastModified);
+        }
+
+        CachingResponseWrapper wrapper = new CachingResponseWrapper(request, response);
+        chain.doFilter(request, wrapper);
+        if (request.isAsyncStarted()) {
+            return; // 응답은 ASYNC dispatch 에서 다시 이 필터를 거치며 쓰고 저장함
+        }
+        if (!wrapper.isBuffered()) {
+            return; // 캐시 대상이 아니어서 body 는 이미 원래 응답으로 흘려보냄
+        }
+        byte[] body = wrapper.toByteArray();
+
+        // 이미 압축된 body 는 Accept-Encoding 이 다른 클라이언트에게 돌려줄 수 없으므로 저장하지 않음
+        if (RenderedResponseCache.isCacheable(request) && response.getStatus() == HttpServletResponse.SC_OK
+                && response.getHeader("Content-Encoding") == null) {
+            cache.put(key, new RenderedResponseCache.Entry(response.getContentType(), headers(response), body, version, lastModified));
+        }
+        if (body.length == 0) {
+            return; // 304, 리다이렉트 등
+        }
+        if (!response.isCommitted()) {
+            response.setContentLength(body.length);
+        }
+        response.getOutputStream().write(body);
+    }
+
+    @Override
+    public void destroy() {
+        if (invalidator != null) {
+            memberRepository.removeChangeListener(invalidator);
+        }
+    }
+
+    private void writeEntry(RenderedResponseCache.Entry entry, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setHeader("X-Cache", "HIT");
+        // 원래 응답이 ETag 를 가지고 있었으면 조건부 GET 도 그대로 처리
+        if (entry.getHeaders().containsKey("ETag")
+                && ConditionalGet.checkNotModified(request, response, entry.getVersion(), entry.getLastModified())) {
+            return;
+        }
+        entry.getHeaders().forEach((name, values) -> {
+            for (int i = 0; i < values.size(); i++) {
+                if (i == 0) {
+                    response.setHeader(name, values.get(i)); // ConditionalGet 이 설정한 헤더와 중복되지 않도록
+                } else {
+                    response.addHeader(name, values.get(i));
+                }
+            }
+        });
+        if (entry.getContentType() != null) {
+            response.setContentType(entry.getContentType());
+        }
+        response.setContentLength(entry.getBody().length);
+        response.getOutputStream().write(entry.getBody());
+    }
+
+    private Map<String, List<String>> headers(HttpServletResponse response) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (String name : response.getHeaderNames()) {
+            if (!EXCLUDED_HEADERS.contains(name.toLowerCase())) {
+                headers.put(name, new ArrayList<>(response.getHeaders(name)));
+            }
+        }
+        return headers;
+    }
+
+    private static <T> T property(Environment environment, String key, T defaultValue) {
+        if (environment == null) {
+            return defaultValue;
+        }
+        @SuppressWarnings("unchecked")
+        Class<T> type = (Class<T>) defaultValue.getClass();
+        return environment.getProperty(key, type, defaultValue);
+    }
+}
@@ -0,0 +1,39 @@
+package com.ttasjwi.servlet.web.cache;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.ttasjwi.servlet.web.JsonCodecs;
+
+import javax.servlet.ServletException;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 렌더링 결과 캐시의 hit, miss, eviction, invalidation 수와 현재 크기 (Json)
+ */
+@WebServlet(name = "renderedResponseCacheStatsServlet", urlPatterns = "/response-cache/stats")
+public class RenderedResponseCacheStatsServlet extends HttpServlet {
+
+    @Override
+    protected void service(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+        RenderedResponseCache cache = (RenderedResponseCache) getServletContext().getAttribute(RenderedResponseCache.CONTEXT_ATTRIBUTE);
+
+        response.setContentType("application/json");
+        response.setCharacterEncoding("utf-8");
+        try (JsonGenerator generator = JsonCodecs.objectMapper().getFactory().createGenerator(response.getOutputStream())) {
+            generator.writeStartObject();
+            generator.writeBooleanField("enabled", cache != null);
+            if (cache != null) {
+                generator.writeNumberField("hits", cache.getHits());
+                generator.writeNumberField("misses", cache.getMisses());
+                generator.writeNumberField("evictions", cache.getEvictions());
+                generator.writeNumberField("invalidations", cache.getInvalidations());
+                generator.writeNumberField("entries", cache.size());
+                generator.writeNumberField("bytes", cache.getTotalBytes());
+            }
+            generator.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.ttasjwi.servlet.web.cache;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class ResponseCacheConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new CacheableResponseInterceptor())
+                .addPathPatterns("/springmvc/**");
+    }
+}
@@ -0,0 +1,218 @@
+package com.ttasjwi.servlet.web.compression;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import java.io.IOException;
+import java.util.zip.Checksum;
+import java.util.zip.Deflater;
+
+/**
+ * 응답 body 를 압축하면서 바로 원래 응답으로 흘려보내는 stream (전체 body 를 메모리에 모으지 않음)
+ * - 처음 minSize 바이트까지는 모아두고, 그보다 커지면 압축할지 정함 -> 그 안에 끝나는 작은 body 는 압축하지 않고 그대로 씀
+ * - 압축할지는 CompressionResponseWrapper.startCompression 이 헤더(Content-Type, Content-Encoding, status)를 보고 정함
+ * - flush 는 SYNC_FLUSH : 지금까지 쓴 내용을 클라이언트가 풀 수 있는 단위로 내보냄 (압축률은 조금 손해)
+ * - finish 에서 남은 데이터와 트레일러를 쓰고 Deflater 를 풀에 돌려줌
+ */
+class CompressingOutputStream extends ServletOutputStream {
+
+    private static final int OUTPUT_BUFFER_SIZE = 8192;
+
+    private enum State {BUFFERING, COMPRESSING, PASS_THROUGH, FINISHED}
+
+    private final CompressionResponseWrapper response;
+    private final ContentEncoding encoding;
+    private final DeflaterPool pool;
+    private final int minSize;
+    private final CompressionStats stats;
+
+    private State state = State.BUFFERING;
+    private byte[] buffer;
+    private int count;
+    private ServletOutputStream out;
+
+    private Deflater deflater;
+    private Checksum checksum;
+    private byte[] output;
+    private long inputBytes;
+    private long outputBytes;
+
+    CompressingOutputStream(CompressionResponseWrapper response, ContentEncoding encoding, DeflaterPool pool, int minSize, CompressionStats stats) {
+        this.response = response;
+        this.encoding = encoding;
+        this.pool = pool;
+        this.minSize = minSize;
+        this.stats = stats;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (state == State.BUFFERING) {
+            if (count + len <= minSize) {
+                if (buffer == null) {
+                    buffer = new byte[minSize];
+                }
+                System.arraycopy(b, off, buffer, count, len);
+                count += len;
+                return;
+            }
+            start(true);
+        }
+        switch (state) {
+            case COMPRESSING:
+                checksum.update(b, off, len);
+                inputBytes += len;
+                deflater.setInput(b, off, len);
+                while (!deflater.needsInput()) {
+                    deflate(Deflater.NO_FLUSH);
+                }
+                break;
+            case PASS_THROUGH:
+                out.write(b, off, len);
+                break;
+            default:
+                throw new IOException("응답 stream 이 이미 닫혔습니다.");
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (state == State.BUFFERING) {
+            if (count == 0) {
+                return; // 아직 쓴 내용이 없으면 압축 여부를 정하지 않음
+            }
+            start(true); // 전체 크기를 모르는 채로 내보내야 하므로 압축 대상이면 압축
+        }
+        if (state == State.COMPRESSING) {
+            while (deflate(Deflater.SYNC_FLUSH) == OUTPUT_BUFFER_SIZE) {
+                // 출력 버퍼가 가득 찼으면 남은 데이터가 있을 수 있음
+            }
+        }
+        if (out != null) {
+            out.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        finish();
+        if (out != null) {
+            out.close();
+        }
+    }
+
+    /**
+     * body 를 끝냄. 원래 응답의 stream 은 닫지 않음 (필터가 dispatch 가 끝날 때 호출, 여러 번 호출해도 됨)
+     */
+    void finish() throws IOException {
+        if (state == State.BUFFERING) {
+            start(false);
+        }
+        if (state == State.COMPRESSING) {
+            deflater.finish();
+            while (!deflater.finished()) {
+                deflate(Deflater.NO_FLUSH);
+            }
+            outputBytes += encoding.writeTrailer(out, checksum, inputBytes);
+            stats.record(inputBytes, outputBytes);
+            release();
+        }
+        state = State.FINISHED;
+    }
+
+    /**
+     * 압축 중이던 Deflater 를 풀에 돌려주고, 아직 아무것도 쓰지 않은 처음 상태로 돌아감
+     * 원래 응답의 버퍼를 비운 뒤(reset, resetBuffer)에 호출
+     */
+    void reset() {
+        release();
+        state = State.BUFFERING;
+        count = 0;
+        out = null;
+        inputBytes = 0;
+        outputBytes = 0;
+    }
+
+    /**
+     * 비동기로 넘어간 요청에서, 필터가 끝난 뒤 다른 스레드가 쓰는 내용(ex: 타임아웃 에러 응답)은 압축하지 않음
+     * 압축 응답은 ASYNC dispatch 에서 새 wrapper 가 처리
+     */
+    void detach() throws IOException {
+        if (state == State.BUFFERING && count == 0) {
+            response.passThrough();
+            out = response.getResponse().getOutputStream();
+            state = State.PASS_THROUGH;
+        } else {
+            flush();
+        }
+    }
+
+    // 예외로 끝난 요청 : 쓰던 내용은 버리고 Deflater 만 돌려줌
+    void abort() {
+        release();
+        state = State.FINISHED;
+    }
+
+    boolean isCompressing() {
+        return state == State.COMPRESSING;
+    }
+
+    @Override
+    public boolean isReady() {
+        return out == null || out.isReady();
+    }
+
+    @Override
+    public void setWriteListener(WriteListener writeListener) {
+        try {
+            response.getResponse().getOutputStream().setWriteListener(writeListener);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 압축할지 정하고 모아둔 바이트를 씀
+     * @param large body 가 minSize 보다 크거나 크기를 모름 (false : 이미 끝난 작은 body)
+     */
+    private void start(boolean large) throws IOException {
+        boolean compress = response.startCompression(large);
+        out = response.getResponse().getOutputStream();
+        if (compress) {
+            state = State.COMPRESSING;
+            deflater = pool.borrow();
+            checksum = encoding.newChecksum();
+            output = new byte[OUTPUT_BUFFER_SIZE];
+            outputBytes += encoding.writeHeader(out);
+        } else {
+            state = State.PASS_THROUGH;
+        }
+        byte[] buffered = buffer;
+        int length = count;
+        buffer = null;
+        count = 0;
+        if (length > 0) {
+            write(buffered, 0, length);
+        }
+    }
+
+    private int deflate(int flushMode) throws IOException {
+        int length = deflater.deflate(output, 0, output.length, flushMode);
+        if (length > 0) {
+            out.write(output, 0, length);
+            outputBytes += length;
+        }
+        return length;
+    }
+
+    private void release() {
+        if (deflater != null) {
+            pool.release(deflater);
+            deflater = null;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.ttasjwi.servlet.web.compression;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.servlet.DispatcherType;
+
+/**
+ * CompressionFilter 등록
+ * - @WebFilter 로 등록한 필터들은 순서를 정할 수 없으므로 FilterRegistrationBean 으로 그보다 앞(바깥)에 둠
+ *   -> RenderedResponseCacheFilter 는 압축 전 body 를 저장하고, 캐시 hit 응답도 클라이언트에 맞게 압축됨
+ * - AccessLogFilter(AccessLogConfig) 보다는 안쪽이므로 접근 로그의 바이트 수는 압축 후 크기
+ */
+@Configuration
+@ConditionalOnProperty(name = "compression.enabled", havingValue = "true", matchIfMissing = true)
+public class CompressionConfig {
+
+    @Bean
+    public FilterRegistrationBean<CompressionFilter> compressionFilter() {
+        FilterRegistrationBean<CompressionFilter> registration = new FilterRegistrationBean<>(new CompressionFilter());
+        registration.setName("compressionFilter");
+        registration.addUrlPatterns("/*");
+        registration.setAsyncSupported(true);
+        registration.setDispatcherTypes(DispatcherType.REQUEST, DispatcherType.ASYNC);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 100);
+        return registration;
+    }
+}
@@ -0,0 +1,88 @@
+package com.ttasjwi.servlet.web.compression;
+
+import com.ttasjwi.servlet.web.staticresource.StaticResourceServlet;
+import org.springframework.core.env.Environment;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.context.support.WebApplicationContextUtils;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletContext;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.zip.Deflater;
+
+/**
+ * Accept-Encoding 에 따라 응답 body 를 gzip 또는 deflate 로 압축
+ * - 압축은 쓰는 동안 스트리밍으로 처리하고, Deflater 는 DeflaterPool 에서 빌려 씀
+ * - compression.min-size 이하의 body, 압축할 수 없는 Content-Type, 이미 Content-Encoding 이 있는 응답은 그대로 보냄
+ * - 비동기 요청(v5 비동기 모드)은 응답을 쓰는 ASYNC dispatch 에서 압축
+ * - StaticResourceServlet 의 정적 파일은 감싸지 않음 (미리 압축한 .gz 로 응답하고, 감싸지 않아야 sendfile 을 쓸 수 있음)
+ * - 등록 순서 : CompressionConfig (RenderedResponseCacheFilter 보다 바깥이어야 캐시에 압축하지 않은 body 가 저장됨)
+ * - compression.* 설정은 application.properties 참고
+ */
+public class CompressionFilter implements Filter {
+
+    private DeflaterPool pool;
+    private CompressionStats stats;
+    private int minSize;
+
+    @Override
+    public void init(FilterConfig filterConfig) {
+        ServletContext servletContext = filterConfig.getServletContext();
+        WebApplicationContext context = WebApplicationContextUtils.getWebApplicationContext(servletContext);
+        Environment environment = context == null ? null : context.getEnvironment();
+
+        pool = new DeflaterPool(
+                property(environment, "compression.level", Deflater.DEFAULT_COMPRESSION),
+                property(environment, "compression.pool-size", 64));
+        minSize = property(environment, "compression.min-size", 1024);
+        stats = new CompressionStats(pool);
+        servletContext.setAttribute(CompressionStats.CONTEXT_ATTRIBUTE, stats);
+    }
+
+    @Override
+    public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain chain) throws IOException, ServletException {
+        HttpServletRequest request = (HttpServletRequest) servletRequest;
+        HttpServletResponse response = (HttpServletResponse) servletResponse;
+        ContentEncoding encoding = ContentEncoding.negotiate(request.getHeader("Accept-Encoding"));
+        if (encoding == null || StaticResourceServlet.handles(request)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        CompressionResponseWrapper wrapper = new CompressionResponseWrapper(response, encoding, pool, minSize, stats);
+        boolean failed = true;
+        try {
+            chain.doFilter(new CompressionRequestWrapper(request, wrapper, encoding), wrapper);
+            if (request.isAsyncStarted()) {
+                wrapper.detach();
+            } else {
+                wrapper.finish();
+            }
+            failed = false;
+        } finally {
+            if (failed) {
+                wrapper.abort();
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+    }
+
+    private static <T> T property(Environment environment, String key, T defaultValue) {
+        if (environment == null) {
+            return defaultValue;
+        }
+        @SuppressWarnings("unchecked")
+        Class<T> type = (Class<T>) defaultValue.getClass();
+        return environment.getProperty(key, type, defaultValue);
+    }
+}
@@ -0,0 +1,62 @@
+package com.ttasjwi.servlet.web.compression;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import java.util.Collections;
+import java.util.Enumeration;
+
+/**
+ * If-None-Match 의 ETag 에서 압축 형식("-gzip", "-deflate")을 떼서 핸들러에 넘김
+ * - 핸들러(ConditionalGet)는 압축과 관계없는 원래 ETag 로 비교할 수 있음
+ * - 떼어낸 형식이 이번 응답의 형식과 같으면 304 응답의 ETag 에 다시 붙이도록 응답에 알림
+ */
+class CompressionRequestWrapper extends HttpServletRequestWrapper {
+
+    private static final String IF_NONE_MATCH = "If-None-Match";
+
+    private final String ifNoneMatch;
+
+    CompressionRequestWrapper(HttpServletRequest request, CompressionResponseWrapper response, ContentEncoding encoding) {
+        super(request);
+        String header = request.getHeader(IF_NONE_MATCH);
+        this.ifNoneMatch = header == null ? null : stripEncodings(header, encoding, response);
+    }
+
+    @Override
+    public String getHeader(String name) {
+        if (ifNoneMatch != null && IF_NONE_MATCH.equalsIgnoreCase(name)) {
+            return ifNoneMatch;
+        }
+        return super.getHeader(name);
+    }
+
+    @Override
+    public Enumeration<String> getHeaders(String name) {
+        if (ifNoneMatch != null && IF_NONE_MATCH.equalsIgnoreCase(name)) {
+            return Collections.enumeration(Collections.singletonList(ifNoneMatch));
+        }
+        return super.getHeaders(name);
+    }
+
+    private static String stripEncodings(String header, ContentEncoding encoding, CompressionResponseWrapper response) {
+        StringBuilder stripped = new StringBuilder(header.length());
+        for (String candidate : header.split(",")) {
+            String value = candidate.trim();
+            for (ContentEncoding each : ContentEncoding.values()) {
+                String suffix = "-" + each.getToken() + "\"";
+                if (value.endsWith(suffix)) {
+                    value = value.substring(0, value.length() - suffix.length()) + "\"";
+                    if (each == encoding) {
+                        response.eTagMatchedWithEncoding();
+                    }
+                    break;
+                }
+            }
+            if (stripped.length() > 0) {
+                stripped.append(", ");
+            }
+            stripped.append(value);
+        }
+        return stripped.toString();
+    }
+}
@@ -0,0 +1,320 @@
+package com.ttasjwi.servlet.web.compression;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * body 를 CompressingOutputStream 으로 압축하는 응답
+ * - getOutputStream, getWriter 모두 압축 stream 을 거침
+ * - 핸들러가 설정한 Content-Length 는 압축 여부가 정해질 때까지 원래 응답에 넘기지 않음 (압축하면 길이가 달라짐)
+ * - 압축하면 Content-Encoding, Vary: Accept-Encoding 을 설정하고 ETag 에 형식을 붙임 ("...-gzip")
+ *   -> 같은 ETag 로 압축한 표현과 압축하지 않은 표현을 구분 (CompressionRequestWrapper 가 If-None-Match 에서 다시 뗌)
+ * - sendError, sendRedirect, 예외로 압축을 그만두면 압축 응답으로 바꿔둔 헤더를 되돌림 (abort)
+ *   -> 에러 페이지, 리다이렉트의 body 는 압축되지 않음 (필터는 REQUEST dispatch 에만 걸리므로 에러 페이지 forward 를 감싸지 않음)
+ */
+public class CompressionResponseWrapper extends HttpServletResponseWrapper {
+
+    private static final Set<String> COMPRESSIBLE_TYPES = Set.of(
+            "application/json", "application/javascript", "application/xml", "image/svg+xml");
+
+    private final ContentEncoding encoding;
+    private final CompressingOutputStream stream;
+    private PrintWriter writer;
+    private boolean streamUsed;
+
+    private long contentLength = -1;
+    private boolean decided;
+    private boolean compressed;
+    private boolean eTagMatchedWithEncoding;
+    private String originalETag;
+    private boolean varyAdded;
+
+    public CompressionResponseWrapper(HttpServletResponse response, ContentEncoding encoding, DeflaterPool pool, int minSize, CompressionStats stats) {
+        super(response);
+        this.encoding = encoding;
+        this.stream = new CompressingOutputStream(this, encoding, pool, minSize, stats);
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() 가 이미 호출되었습니다.");
+        }
+        streamUsed = true;
+        return stream;
+    }
+
+    @Override
+    public PrintWriter getWriter() {
+        if (writer == null) {
+            if (streamUsed) {
+                throw new IllegalStateException("getOutputStream() 이 이미 호출되었습니다.");
+            }
+            Charset charset = Charset.forName(getCharacterEncoding());
+            writer = new PrintWriter(new OutputStreamWriter(stream, charset));
+        }
+        return writer;
+    }
+
+    @Override
+    public void setContentLength(int len) {
+        setContentLengthLong(len);
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        if (decided) {
+            if (!compressed) {
+                super.setContentLengthLong(len);
+            }
+            return;
+        }
+        contentLength = len;
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if ("Content-Length".equalsIgnoreCase(name) && value != null) {
+            setContentLengthLong(Long.parseLong(value.trim()));
+            return;
+        }
+        super.setHeader(name, value);
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        if ("Content-Length".equalsIgnoreCase(name) && value != null) {
+            setContentLengthLong(Long.parseLong(value.trim()));
+            return;
+        }
+        super.addHeader(name, value);
+    }
+
+    @Override
+    public void setIntHeader(String name, int value) {
+        if ("Content-Length".equalsIgnoreCase(name)) {
+            setContentLengthLong(value);
+            return;
+        }
+        super.setIntHeader(name, value);
+    }
+
+    @Override
+    public void addIntHeader(String name, int value) {
+        if ("Content-Length".equalsIgnoreCase(name)) {
+            setContentLengthLong(value);
+            return;
+        }
+        super.addIntHeader(name, value);
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        stream.flush();
+        super.flushBuffer();
+    }
+
+    @Override
+    public void reset() {
+        super.reset(); // 이미 커밋되었으면 IllegalStateException
+        stream.reset();
+        writer = null;
+        streamUsed = false;
+        contentLength = -1;
+        decided = false;
+        compressed = false;
+    }
+
+    @Override
+    public void resetBuffer() {
+        super.resetBuffer();
+        stream.reset(); // 헤더는 남아있으므로 압축했던 응답이면 다시 압축 (startCompression)
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        abort();
+        super.sendError(sc, msg);
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        abort();
+        super.sendError(sc);
+    }
+
+    @Override
+    public void sendRedirect(String location) throws IOException {
+        abort();
+        super.sendRedirect(location);
+    }
+
+    /**
+     * dispatch 가 끝날 때 필터가 호출. writer 에 남은 문자를 내보내고, 압축 중이면 트레일러까지 씀
+     */
+    void finish() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        stream.finish();
+    }
+
+    void detach() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        stream.detach();
+    }
+
+    /**
+     * 압축을 그만둠. 이미 압축 응답으로 헤더를 바꿨고 아직 커밋 전이면 Content-Encoding 을 지우고 ETag, Vary 를 되돌림
+     * 서블릿 API 에는 헤더를 지우는 메서드가 없으므로 헤더를 모아두고 reset 한 뒤 압축 관련 헤더만 빼고 다시 설정
+     */
+    void abort() {
+        stream.abort();
+        HttpServletResponse response = (HttpServletResponse) getResponse();
+        if (compressed && !response.isCommitted()) {
+            int status = response.getStatus();
+            String contentType = response.getContentType();
+            Map<String, List<String>> headers = new LinkedHashMap<>();
+            for (String name : response.getHeaderNames()) {
+                headers.computeIfAbsent(name, key -> new ArrayList<>(response.getHeaders(key)));
+            }
+            response.reset();
+            response.setStatus(status);
+            if (contentType != null) {
+                response.setContentType(contentType);
+            }
+            headers.forEach((name, values) -> {
+                if (name.equalsIgnoreCase("Content-Encoding") || name.equalsIgnoreCase("Content-Type")
+                        || name.equalsIgnoreCase("Content-Length")) {
+                    return;
+                }
+                for (String value : values) {
+                    if (name.equalsIgnoreCase("ETag") && originalETag != null) {
+                        value = originalETag;
+                    } else if (name.equalsIgnoreCase("Vary") && varyAdded && value.equalsIgnoreCase("Accept-Encoding")) {
+                        continue;
+                    }
+                    response.addHeader(name, value);
+                }
+            });
+        }
+        compressed = false;
+        decided = false;
+    }
+
+    // If-None-Match 에 이 응답의 형식이 붙은 ETag 가 있었음 (CompressionRequestWrapper)
+    void eTagMatchedWithEncoding() {
+        eTagMatchedWithEncoding = true;
+    }
+
+    /**
+     * 압축 stream 이 처음 바이트를 내보내기 전에 호출. 압축할 수 있으면 헤더를 압축 응답에 맞게 바꾸고 true
+     * @param large body 가 minSize 보다 크거나 크기를 모름 (false : 이미 끝난 작은 body)
+     */
+    boolean startCompression(boolean large) {
+        decided = true;
+        if (compressed) {
+            return true; // resetBuffer 뒤에 다시 쓰는 body. 헤더는 이미 압축 응답
+        }
+        HttpServletResponse response = (HttpServletResponse) getResponse();
+        if (!large
+                || response.isCommitted()
+                || response.getHeader("Content-Encoding") != null // 이미 압축한 body (ex: StaticResourceServlet 의 미리 압축한 .gz)
+                || !isCompressible(response.getContentType())
+                || !hasBody(response.getStatus())) {
+            passThrough();
+            return false;
+        }
+        response.setHeader("Content-Encoding", encoding.getToken());
+        varyAdded = addVary(response);
+        String eTag = response.getHeader("ETag");
+        if (eTag != null) {
+            originalETag = eTag;
+            response.setHeader("ETag", withEncoding(eTag, encoding));
+        }
+        compressed = true;
+        return true;
+    }
+
+    /**
+     * 압축하지 않고 그대로 보내기로 정했을 때 호출 (작은 body, 압축할 수 없는 형식 등)
+     */
+    void passThrough() {
+        decided = true;
+        compressed = false;
+        HttpServletResponse response = (HttpServletResponse) getResponse();
+        if (response.isCommitted()) {
+            return;
+        }
+        if (contentLength >= 0) {
+            response.setContentLengthLong(contentLength);
+        }
+        if (response.getStatus() == HttpServletResponse.SC_NOT_MODIFIED) {
+            // 304 는 200 이었다면 보냈을 ETag 를 돌려줘야 함 -> 클라이언트가 압축 표현의 ETag 로 물어봤으면 그대로
+            String eTag = response.getHeader("ETag");
+            if (eTag != null && eTagMatchedWithEncoding) {
+                response.setHeader("ETag", withEncoding(eTag, encoding));
+            }
+            addVary(response);
+        } else if (response.getHeader("Content-Encoding") == null && isCompressible(response.getContentType())) {
+            addVary(response); // 같은 URL 이 Accept-Encoding 에 따라 압축될 수 있음을 캐시에 알림
+        }
+    }
+
+    static boolean isCompressible(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        int semicolon = contentType.indexOf(';');
+        String mediaType = (semicolon < 0 ? contentType : contentType.substring(0, semicolon)).trim().toLowerCase(Locale.ROOT);
+        return mediaType.startsWith("text/")
+                || COMPRESSIBLE_TYPES.contains(mediaType)
+                || mediaType.endsWith("+json")
+                || mediaType.endsWith("+xml");
+    }
+
+    // "abc" -> "abc-gzip", W/"abc" -> W/"abc-gzip"
+    static String withEncoding(String eTag, ContentEncoding encoding) {
+        if (eTag.endsWith("\"") && eTag.length() > 1) {
+            return eTag.substring(0, eTag.length() - 1) + "-" + encoding.getToken() + "\"";
+        }
+        return eTag + "-" + encoding.getToken();
+    }
+
+    private static boolean hasBody(int status) {
+        return status >= 200
+                && status != HttpServletResponse.SC_NO_CONTENT
+                && status != HttpServletResponse.SC_PARTIAL_CONTENT // Range 응답은 원래 표현의 바이트 범위
+                && status != HttpServletResponse.SC_NOT_MODIFIED;
+    }
+
+    // 이미 있으면 false
+    private static boolean addVary(HttpServletResponse response) {
+        for (String vary : response.getHeaders("Vary")) {
+            for (String value : vary.split(",")) {
+                String name = value.trim();
+                if (name.equalsIgnoreCase("Accept-Encoding") || name.equals("*")) {
+                    return false;
+                }
+            }
+        }
+        response.addHeader("Vary", "Accept-Encoding");
+        return true;
+    }
+}
@@ -0,0 +1,42 @@
+package com.ttasjwi.servlet.web.compression;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 압축한 응답 수와 압축 전후 바이트 수, 만든 Deflater 수 (/metrics 의 compression_*)
+ */
+public class CompressionStats {
+
+    public static final String CONTEXT_ATTRIBUTE = CompressionStats.class.getName();
+
+    private final LongAdder responses = new LongAdder();
+    private final LongAdder inputBytes = new LongAdder();
+    private final LongAdder outputBytes = new LongAdder();
+    private final DeflaterPool pool;
+
+    public CompressionStats(DeflaterPool pool) {
+        this.pool = pool;
+    }
+
+    void record(long input, long output) {
+        responses.increment();
+        inputBytes.add(input);
+        outputBytes.add(output);
+    }
+
+    public long getResponses() {
+        return responses.sum();
+    }
+
+    public long getInputBytes() {
+        return inputBytes.sum();
+    }
+
+    public long getOutputBytes() {
+        return outputBytes.sum();
+    }
+
+    public long getDeflatersCreated() {
+        return pool.getCreated();
+    }
+}
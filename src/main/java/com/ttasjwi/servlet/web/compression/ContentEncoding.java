@@ -0,0 +1,138 @@
+package com.ttasjwi.servlet.web.compression;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.Checksum;
+
+/**
+ * 응답 압축 형식. 둘 다 헤더, 트레일러 없는(nowrap) Deflater 의 출력에 형식별 헤더와 트레일러를 직접 붙임
+ * -> 같은 Deflater 풀을 두 형식이 함께 사용
+ * - gzip (RFC 1952) : 10 바이트 헤더 + deflate + CRC32, 원본 크기 (little endian)
+ * - deflate (RFC 1950, zlib) : 2 바이트 헤더 + deflate + Adler-32 (big endian)
+ */
+public enum ContentEncoding {
+
+    GZIP("gzip") {
+        private final byte[] header = {0x1f, (byte) 0x8b, 8, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+        @Override
+        Checksum newChecksum() {
+            return new CRC32();
+        }
+
+        @Override
+        int writeHeader(OutputStream out) throws IOException {
+            out.write(header);
+            return header.length;
+        }
+
+        @Override
+        int writeTrailer(OutputStream out, Checksum checksum, long inputBytes) throws IOException {
+            writeIntLittleEndian(out, (int) checksum.getValue());
+            writeIntLittleEndian(out, (int) inputBytes); // 원본 크기 mod 2^32
+            return 8;
+        }
+    },
+
+    DEFLATE("deflate") {
+        private final byte[] header = {0x78, (byte) 0x9c};
+
+        @Override
+        Checksum newChecksum() {
+            return new Adler32();
+        }
+
+        @Override
+        int writeHeader(OutputStream out) throws IOException {
+            out.write(header);
+            return header.length;
+        }
+
+        @Override
+        int writeTrailer(OutputStream out, Checksum checksum, long inputBytes) throws IOException {
+            int value = (int) checksum.getValue();
+            out.write(new byte[]{(byte) (value >>> 24), (byte) (value >>> 16), (byte) (value >>> 8), (byte) value});
+            return 4;
+        }
+    };
+
+    private final String token;
+
+    ContentEncoding(String token) {
+        this.token = token;
+    }
+
+    // Content-Encoding 헤더 값
+    public String getToken() {
+        return token;
+    }
+
+    abstract Checksum newChecksum();
+
+    abstract int writeHeader(OutputStream out) throws IOException;
+
+    abstract int writeTrailer(OutputStream out, Checksum checksum, long inputBytes) throws IOException;
+
+    /**
+     * Accept-Encoding 으로 사용할 형식을 고름 (gzip 우선). 둘 다 받지 않으면 null
+     * - q=0 은 받지 않는다는 뜻. 목록에 없는 형식은 * 의 q 를 따름
+     */
+    public static ContentEncoding negotiate(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isEmpty()) {
+            return null;
+        }
+        double gzip = -1;
+        double deflate = -1;
+        double any = -1;
+        for (String part : acceptEncoding.split(",")) {
+            int semicolon = part.indexOf(';');
+            String name = (semicolon < 0 ? part : part.substring(0, semicolon)).trim().toLowerCase(Locale.ROOT);
+            double quality = semicolon < 0 ? 1.0 : quality(part.substring(semicolon + 1));
+            switch (name) {
+                case "gzip":
+                case "x-gzip":
+                    gzip = Math.max(gzip, quality);
+                    break;
+                case "deflate":
+                    deflate = quality;
+                    break;
+                case "*":
+                    any = quality;
+                    break;
+                default:
+            }
+        }
+        if (gzip < 0) {
+            gzip = any;
+        }
+        if (deflate < 0) {
+            deflate = any;
+        }
+        if (gzip > 0 && gzip >= deflate) {
+            return GZIP;
+        }
+        return deflate > 0 ? DEFLATE : null;
+    }
+
+    // "q=0.5" -> 0.5. 형식이 잘못되었으면 0 (받지 않음)
+    private static double quality(String parameters) {
+        for (String parameter : parameters.split(";")) {
+            String value = parameter.trim();
+            if (value.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(value.substring(2));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1.0;
+    }
+
+    private static void writeIntLittleEndian(OutputStream out, int value) throws IOException {
+        out.write(new byte[]{(byte) value, (byte) (value >>> 8), (byte) (value >>> 16), (byte) (value >>> 24)});
+    }
+}
@@ -0,0 +1,56 @@
+package com.ttasjwi.servlet.web.compression;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.Deflater;
+
+/**
+ * nowrap Deflater 재사용 풀
+ * - Deflater 는 zlib 의 native 상태(수백 KB)를 가지므로 요청마다 만들고 GC 에 맡기면 native 메모리와 생성 비용이 큼
+ * - borrow 는 쉬고 있는 Deflater 가 없으면 새로 만들고, release 는 reset 해서 돌려놓되 maxIdle 개를 넘으면 바로 end() 로 해제
+ * - 기다리지 않음 (동시 요청이 maxIdle 보다 많으면 그만큼 새로 만듬)
+ */
+public class DeflaterPool {
+
+    private final int level;
+    private final BlockingQueue<Deflater> idle;
+    private final LongAdder created = new LongAdder();
+
+    public DeflaterPool(int level, int maxIdle) {
+        if (level < Deflater.DEFAULT_COMPRESSION || level > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("압축 레벨은 -1 ~ 9 이어야합니다. level = " + level);
+        }
+        this.level = level;
+        this.idle = maxIdle > 0 ? new ArrayBlockingQueue<>(maxIdle) : null;
+    }
+
+    public Deflater borrow() {
+        Deflater deflater = idle == null ? null : idle.poll();
+        if (deflater == null) {
+            created.increment();
+            deflater = new Deflater(level, true);
+        }
+        return deflater;
+    }
+
+    public void release(Deflater deflater) {
+        deflater.reset();
+        if (idle == null || !idle.offer(deflater)) {
+            deflater.end();
+        }
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    // 지금까지 새로 만든 Deflater 수 (풀이 잘 동작하면 최대 동시 압축 응답 수 근처에서 멈춤)
+    public long getCreated() {
+        return created.sum();
+    }
+
+    public int getIdle() {
+        return idle == null ? 0 : idle.size();
+    }
+}
@@ -0,0 +1,46 @@
+package com.ttasjwi.servlet.web.frontcontroller;
+
+import com.ttasjwi.servlet.web.server.VirtualThreads;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 컨트롤러에 넘기는 model Map 을 스레드마다 하나씩 재사용
+ * - acquire 로 꺼내서 사용하고, 렌더링이 끝나면 release 로 비워서 돌려줌
+ * - model 의 값은 렌더링 시 request attribute 로 옮겨지므로, 렌더링 이후에 Map 을 비워도 안전
+ * - 돌려주지 않은 Map 은 그냥 GC 대상이 되고, 다음 acquire 는 새 Map 을 만듬
+ * - 가상 스레드(VirtualThreadConfig)는 요청마다 새로 만들어지므로 재사용하지 않고 매번 새 Map (스레드마다 ThreadLocal 슬롯을 만드는 비용만 늘어남)
+ */
+public abstract class ModelMapPool {
+
+    private static final ThreadLocal<Slot> slots = ThreadLocal.withInitial(Slot::new);
+
+    public static Map<String, Object> acquire() {
+        if (VirtualThreads.isVirtual(Thread.currentThread())) {
+            return new HashMap<>();
+        }
+        Slot slot = slots.get();
+        Map<String, Object> model = slot.model;
+        if (model == null) {
+            return new HashMap<>();
+        }
+        slot.model = null;
+        return model;
+    }
+
+    public static void release(Map<String, Object> model) {
+        if (!(model instanceof HashMap) || VirtualThreads.isVirtual(Thread.currentThread())) {
+            return;
+        }
+        model.clear();
+        Slot slot = slots.get();
+        if (slot.model == null) {
+            slot.model = model;
+        }
+    }
+
+    private static class Slot {
+        private Map<String, Object> model;
+    }
+}
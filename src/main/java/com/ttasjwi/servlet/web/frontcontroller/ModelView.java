@@ -6,10 +6,16 @@ import java.util.Map;
 public class ModelView {
 
     private String viewName;
-    private Map<String, Object> model = new HashMap<>();
+    private Map<String, Object> model;
 
     public ModelView(String viewName) {
         this.viewName = viewName;
+        this.model = new HashMap<>();
+    }
+
+    public ModelView(String viewName, Map<String, Object> model) {
+        this.viewName = viewName;
+        this.model = model;
     }
 
     public String getViewName() {
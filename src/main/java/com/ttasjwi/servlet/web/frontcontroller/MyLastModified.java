@@ -0,0 +1,35 @@
+package com.ttasjwi.servlet.web.frontcontroller;
+
+import com.ttasjwi.servlet.web.ConditionalGet;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * 응답 내용의 버전과 마지막 변경 시각을 알려주는 컨트롤러 (스프링 LastModified 의 역할)
+ * - 프론트 컨트롤러는 컨트롤러를 호출하기 전에 조건부 GET 을 확인하고, 바뀌지 않았으면 컨트롤러, view 를 거치지 않고 304 로 응답
+ * - 요청 파라미터는 조건부 GET 보다 먼저 검증 (validate) -> 잘못된 요청은 ETag 가 맞아도 304 가 아니라 400
+ */
+public interface MyLastModified {
+
+    // 응답 내용이 바뀔 때마다 달라지는 값 (ETag 로 사용)
+    long getVersion();
+
+    // epoch millis
+    long getLastModified();
+
+    /**
+     * 조건부 GET 전에 요청 파라미터 검증. 잘못되었으면 BindException (기본은 검증할 것이 없음)
+     */
+    default void validate(HttpServletRequest request) {
+    }
+
+    /**
+     * 조건부 GET 확인 (프론트 컨트롤러 v1 ~ v5 공통). 바뀌지 않았으면 304 를 설정하고 true
+     * 요청 파라미터가 잘못되었으면 응답 헤더를 건드리지 않고 BindException
+     */
+    default boolean checkNotModified(HttpServletRequest request, HttpServletResponse response) {
+        validate(request);
+        return ConditionalGet.checkNotModified(request, response, getVersion(), getLastModified());
+    }
+}
@@ -10,23 +10,37 @@ import java.util.Map;
 public class MyView {
 
     private String viewPath; // view 경로
+    private RequestDispatcher dispatcher; // MyViewResolver 가 미리 찾아둔 dispatcher (없으면 요청마다 조회)
 
     public MyView(String viewPath) {
         this.viewPath = viewPath;
     }
 
+    public MyView(String viewPath, RequestDispatcher dispatcher) {
+        this.viewPath = viewPath;
+        this.dispatcher = dispatcher;
+    }
+
     // 렌더링
     public void render(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
-        RequestDispatcher requestDispatcher = request.getRequestDispatcher(viewPath);
+        RequestDispatcher requestDispatcher = getRequestDispatcher(request);
         requestDispatcher.forward(request, response);
     }
 
     public void render(Map<String, Object> model, HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
         modelToRequestAttribute(model, request); // 모델을 HttpServletRequest에 담음
-        RequestDispatcher requestDispatcher = request.getRequestDispatcher(viewPath);
+        RequestDispatcher requestDispatcher = getRequestDispatcher(request);
         requestDispatcher.forward(request, response); // 제어의 주도권을 viewPath의 jsp에게 전달
     }
 
+    public String getViewPath() {
+        return viewPath;
+    }
+
+    private RequestDispatcher getRequestDispatcher(HttpServletRequest request) {
+        return dispatcher != null ? dispatcher : request.getRequestDispatcher(viewPath);
+    }
+
     private void modelToRequestAttribute(Map<String, Object> model, HttpServletRequest request) {
         model.forEach((key, value) -> request.setAttribute(key, value));
     }
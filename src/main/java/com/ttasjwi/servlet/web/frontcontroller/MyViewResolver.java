@@ -0,0 +1,94 @@
+package com.ttasjwi.servlet.web.frontcontroller;
+
+import com.ttasjwi.servlet.web.view.HtmlTemplate;
+import com.ttasjwi.servlet.web.view.HtmlTemplates;
+import org.springframework.core.env.Environment;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.context.support.WebApplicationContextUtils;
+
+import javax.servlet.RequestDispatcher;
+import javax.servlet.ServletContext;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 논리 view 이름 -> MyView 변환 (ex: "members" -> "/WEB-INF/views/members.jsp")
+ * - prefix, suffix 는 application.properties 의 spring.mvc.view.prefix, spring.mvc.view.suffix 를 사용
+ * - 한 번 만든 MyView 는 cacheLimit 개까지 캐시해서 재사용 -> 요청마다 문자열 연결, MyView 생성을 하지 않음
+ * - ServletContext 의 RequestDispatcher 는 요청에 종속되지 않으므로 MyView 에 함께 캐시
+ * - view.template.enabled=true 이면 HtmlTemplates 에 등록된 view 는 JSP 대신 TemplateView 로 렌더링
+ */
+public class MyViewResolver {
+
+    public static final String DEFAULT_PREFIX = "/WEB-INF/views/";
+    public static final String DEFAULT_SUFFIX = ".jsp";
+    public static final int DEFAULT_CACHE_LIMIT = 256;
+
+    private final String prefix;
+    private final String suffix;
+    private final ServletContext servletContext;
+    private final int cacheLimit;
+    private final boolean templateEnabled;
+    private final ConcurrentMap<String, MyView> viewCache = new ConcurrentHashMap<>();
+
+    public MyViewResolver(String prefix, String suffix, ServletContext servletContext, int cacheLimit) {
+        this(prefix, suffix, servletContext, cacheLimit, false);
+    }
+
+    public MyViewResolver(String prefix, String suffix, ServletContext servletContext, int cacheLimit, boolean templateEnabled) {
+        this.prefix = prefix;
+        this.suffix = suffix;
+        this.servletContext = servletContext;
+        this.cacheLimit = cacheLimit;
+        this.templateEnabled = templateEnabled;
+    }
+
+    /**
+     * 스프링 컨테이너가 있으면 그 설정값으로, 없으면 기본값으로 생성
+     */
+    public static MyViewResolver of(ServletContext servletContext) {
+        String prefix = DEFAULT_PREFIX;
+        String suffix = DEFAULT_SUFFIX;
+        boolean templateEnabled = false;
+
+        WebApplicationContext context = servletContext == null
+                ? null : WebApplicationContextUtils.getWebApplicationContext(servletContext);
+        if (context != null) {
+            Environment environment = context.getEnvironment();
+            prefix = environment.getProperty("spring.mvc.view.prefix", DEFAULT_PREFIX);
+            suffix = environment.getProperty("spring.mvc.view.suffix", DEFAULT_SUFFIX);
+            templateEnabled = environment.getProperty(HtmlTemplates.ENABLED_PROPERTY, Boolean.class, false);
+        }
+        return new MyViewResolver(prefix, suffix, servletContext, DEFAULT_CACHE_LIMIT, templateEnabled);
+    }
+
+    public MyView resolve(String viewName) {
+        MyView view = viewCache.get(viewName);
+        if (view != null) {
+            return view;
+        }
+
+        view = createView(viewName);
+        if (viewCache.size() < cacheLimit) { // 잘못된 view 이름이 계속 들어와도 캐시가 무한히 커지지 않도록 제한
+            MyView cached = viewCache.putIfAbsent(viewName, view);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        return view;
+    }
+
+    private MyView createView(String viewName) {
+        HtmlTemplate template = templateEnabled ? HtmlTemplates.find(viewName) : null;
+        if (template != null) {
+            return new TemplateView(viewName, template);
+        }
+
+        String viewPath = prefix + viewName + suffix;
+        if (servletContext == null || !viewPath.startsWith("/")) {
+            return new MyView(viewPath);
+        }
+        RequestDispatcher dispatcher = servletContext.getRequestDispatcher(viewPath);
+        return dispatcher == null ? new MyView(viewPath) : new MyView(viewPath, dispatcher);
+    }
+}
@@ -0,0 +1,61 @@
+package com.ttasjwi.servlet.web.frontcontroller;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.AbstractMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * HttpServletRequest 의 파라미터를 복사하지 않고 그대로 보여주는 읽기 전용 Map
+ * - get 은 request.getParameter 로 바로 위임 (요청마다 HashMap 을 만들고 모든 파라미터를 옮겨 담지 않음)
+ * - pathVariables 가 있으면 같은 이름의 요청 파라미터보다 우선
+ * - 전체 순회(entrySet, size 등)가 필요할 때만 Map 을 만들어서 사용
+ */
+public class RequestParamMap extends AbstractMap<String, String> {
+
+    private final HttpServletRequest request;
+    private final Map<String, String> pathVariables;
+    private Set<Entry<String, String>> entrySet;
+
+    public RequestParamMap(HttpServletRequest request) {
+        this(request, null);
+    }
+
+    public RequestParamMap(HttpServletRequest request, Map<String, String> pathVariables) {
+        this.request = request;
+        this.pathVariables = pathVariables;
+    }
+
+    @Override
+    public String get(Object key) {
+        if (!(key instanceof String)) {
+            return null;
+        }
+        if (pathVariables != null) {
+            String value = pathVariables.get(key);
+            if (value != null) {
+                return value;
+            }
+        }
+        return request.getParameter((String) key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        if (entrySet == null) {
+            Map<String, String> copy = new HashMap<>();
+            request.getParameterMap().forEach((name, values) -> copy.put(name, values.length == 0 ? "" : values[0]));
+            if (pathVariables != null) {
+                copy.putAll(pathVariables);
+            }
+            entrySet = copy.entrySet();
+        }
+        return entrySet;
+    }
+}
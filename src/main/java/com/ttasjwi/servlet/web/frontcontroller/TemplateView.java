@@ -0,0 +1,35 @@
+package com.ttasjwi.servlet.web.frontcontroller;
+
+import com.ttasjwi.servlet.web.view.HtmlTemplate;
+import com.ttasjwi.servlet.web.view.HtmlTemplateView;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * JSP 로 forward 하지 않고 HtmlTemplate 으로 응답에 바로 렌더링하는 MyView
+ * - 모델을 request attribute 로 옮기지 않음
+ */
+public class TemplateView extends MyView {
+
+    private final HtmlTemplate template;
+
+    public TemplateView(String viewName, HtmlTemplate template) {
+        super("template:" + viewName);
+        this.template = template;
+    }
+
+    @Override
+    public void render(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+        render(Collections.emptyMap(), request, response);
+    }
+
+    @Override
+    public void render(Map<String, Object> model, HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+        HtmlTemplateView.render(template, model, response);
+    }
+}
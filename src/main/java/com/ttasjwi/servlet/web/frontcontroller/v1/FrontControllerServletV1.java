@@ -1,8 +1,11 @@
 package com.ttasjwi.servlet.web.frontcontroller.v1;
 
+import com.ttasjwi.servlet.web.bind.BindException;
+import com.ttasjwi.servlet.web.frontcontroller.MyLastModified;
 import com.ttasjwi.servlet.web.frontcontroller.v1.controller.MemberFormControllerV1;
 import com.ttasjwi.servlet.web.frontcontroller.v1.controller.MemberListControllerV1;
 import com.ttasjwi.servlet.web.frontcontroller.v1.controller.MemberSaveControllerV1;
+import lombok.extern.slf4j.Slf4j;
 
 import javax.servlet.ServletException;
 import javax.servlet.annotation.WebServlet;
@@ -14,6 +17,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 
+@Slf4j
 @WebServlet(name = "frontControllerServletV1", urlPatterns = "/front-controller/v1/*")
 public class FrontControllerServletV1 extends HttpServlet {
 
@@ -27,13 +31,26 @@ public class FrontControllerServletV1 extends HttpServlet {
 
     @Override
     protected void service(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
-        System.out.println("FrontControllerServletV1.service");
+        log.debug("FrontControllerServletV1.service");
         String requestURI = request.getRequestURI();
         ControllerV1 controller = controllerMap.get(requestURI);
         if (controller == null) {
             response.setStatus(HttpServletResponse.SC_NOT_FOUND);
             return;
         }
-        controller.process(request, response);
+
+        try {
+            if (controller instanceof MyLastModified && ((MyLastModified) controller).checkNotModified(request, response)) {
+                return; // 바뀐 것이 없으면 컨트롤러, view 를 거치지 않고 304
+            }
+        } catch (BindException e) {
+            e.sendError(response); // 조건부 GET 보다 먼저 검증한 요청 파라미터가 잘못됨 -> 400
+            return;
+        }
+        try {
+            controller.process(request, response);
+        } catch (BindException e) {
+            e.sendError(response); // 잘못된 요청 파라미터 -> 400
+        }
     }
 }
@@ -2,6 +2,7 @@ package com.ttasjwi.servlet.web.frontcontroller.v1.controller;
 
 import com.ttasjwi.servlet.domain.Member;
 import com.ttasjwi.servlet.domain.MemberRepository;
+import com.ttasjwi.servlet.web.bind.ParamReader;
 import com.ttasjwi.servlet.web.frontcontroller.v1.ControllerV1;
 
 import javax.servlet.RequestDispatcher;
@@ -16,10 +17,9 @@ public class MemberSaveControllerV1 implements ControllerV1 {
 
     @Override
     public void process(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
-        String username = request.getParameter("username");
-        int age = Integer.parseInt(request.getParameter("age"));
-
-        Member member = new Member(username, age);
+        ParamReader params = ParamReader.of(request);
+        Member member = params.bind(Member.class); // username, age
+        params.validate(); // 잘못된 파라미터 -> BindException -> 400
         memberRepository.save(member);
 
         // model에 데이터 보관
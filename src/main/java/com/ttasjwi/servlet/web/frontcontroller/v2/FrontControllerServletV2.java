@@ -1,5 +1,7 @@
 package com.ttasjwi.servlet.web.frontcontroller.v2;
 
+import com.ttasjwi.servlet.web.bind.BindException;
+import com.ttasjwi.servlet.web.frontcontroller.MyLastModified;
 import com.ttasjwi.servlet.web.frontcontroller.MyView;
 import com.ttasjwi.servlet.web.frontcontroller.v2.controller.MemberFormControllerV2;
 import com.ttasjwi.servlet.web.frontcontroller.v2.controller.MemberListControllerV2;
@@ -36,7 +38,22 @@ public class FrontControllerServletV2 extends HttpServlet {
             return;
         }
 
-        MyView view = controller.process(request, response);
+        try {
+            if (controller instanceof MyLastModified && ((MyLastModified) controller).checkNotModified(request, response)) {
+                return; // 바뀐 것이 없으면 컨트롤러, view 를 거치지 않고 304
+            }
+        } catch (BindException e) {
+            e.sendError(response); // 조건부 GET 보다 먼저 검증한 요청 파라미터가 잘못됨 -> 400
+            return;
+        }
+
+        MyView view;
+        try {
+            view = controller.process(request, response);
+        } catch (BindException e) {
+            e.sendError(response); // 잘못된 요청 파라미터 -> 400
+            return;
+        }
         view.render(request, response);
     }
 }
@@ -2,6 +2,8 @@ package com.ttasjwi.servlet.web.frontcontroller.v2.controller;
 
 import com.ttasjwi.servlet.domain.Member;
 import com.ttasjwi.servlet.domain.MemberRepository;
+import com.ttasjwi.servlet.web.PageParams;
+import com.ttasjwi.servlet.web.frontcontroller.MyLastModified;
 import com.ttasjwi.servlet.web.frontcontroller.MyView;
 import com.ttasjwi.servlet.web.frontcontroller.v2.ControllerV2;
 
@@ -11,15 +13,32 @@ import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.List;
 
-public class MemberListControllerV2 implements ControllerV2 {
+public class MemberListControllerV2 implements ControllerV2, MyLastModified {
 
     private MemberRepository memberRepository = MemberRepository.getInstance();
 
     @Override
     public MyView process(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
-        List<Member> members = memberRepository.findAll();
+        int size = PageParams.size(request.getParameter(PageParams.SIZE));
+        List<Member> members = memberRepository.findPage(PageParams.afterId(request.getParameter(PageParams.AFTER_ID)), size);
         request.setAttribute("members", members);
+        request.setAttribute(PageParams.NEXT_PAGE, PageParams.nextPage(memberRepository, members, size));
         return new MyView("/WEB-INF/views/members.jsp");
     }
 
+    @Override
+    public void validate(HttpServletRequest request) {
+        PageParams.afterId(request.getParameter(PageParams.AFTER_ID));
+        PageParams.size(request.getParameter(PageParams.SIZE));
+    }
+
+    @Override
+    public long getVersion() {
+        return memberRepository.getVersion();
+    }
+
+    @Override
+    public long getLastModified() {
+        return memberRepository.getLastModified();
+    }
 }
@@ -2,6 +2,7 @@ package com.ttasjwi.servlet.web.frontcontroller.v2.controller;
 
 import com.ttasjwi.servlet.domain.Member;
 import com.ttasjwi.servlet.domain.MemberRepository;
+import com.ttasjwi.servlet.web.bind.ParamReader;
 import com.ttasjwi.servlet.web.frontcontroller.MyView;
 import com.ttasjwi.servlet.web.frontcontroller.v2.ControllerV2;
 
@@ -16,10 +17,9 @@ public class MemberSaveControllerV2 implements ControllerV2 {
 
     @Override
     public MyView process(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
-        String username = request.getParameter("username");
-        int age = Integer.parseInt(request.getParameter("age"));
-
-        Member member = new Member(username, age);
+        ParamReader params = ParamReader.of(request);
+        Member member = params.bind(Member.class); // username, age
+        params.validate(); // 잘못된 파라미터 -> BindException -> 400
         memberRepository.save(member);
 
         request.setAttribute("member", member);
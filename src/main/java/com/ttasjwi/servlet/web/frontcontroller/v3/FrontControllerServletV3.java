@@ -1,7 +1,11 @@
 package com.ttasjwi.servlet.web.frontcontroller.v3;
 
+import com.ttasjwi.servlet.web.bind.BindException;
 import com.ttasjwi.servlet.web.frontcontroller.ModelView;
+import com.ttasjwi.servlet.web.frontcontroller.MyLastModified;
 import com.ttasjwi.servlet.web.frontcontroller.MyView;
+import com.ttasjwi.servlet.web.frontcontroller.MyViewResolver;
+import com.ttasjwi.servlet.web.frontcontroller.RequestParamMap;
 import com.ttasjwi.servlet.web.frontcontroller.v3.controller.MemberFormControllerV3;
 import com.ttasjwi.servlet.web.frontcontroller.v3.controller.MemberListControllerV3;
 import com.ttasjwi.servlet.web.frontcontroller.v3.controller.MemberSaveControllerV3;
@@ -21,12 +25,19 @@ public class FrontControllerServletV3 extends HttpServlet {
 
     private Map<String, ControllerV3> controllerMap = new HashMap<>();
 
+    private MyViewResolver viewResolver;
+
     public FrontControllerServletV3() {
         controllerMap.put("/front-controller/v3/members/new-form", new MemberFormControllerV3());
         controllerMap.put("/front-controller/v3/members/save", new MemberSaveControllerV3());
         controllerMap.put("/front-controller/v3/members", new MemberListControllerV3());
     }
 
+    @Override
+    public void init() throws ServletException {
+        viewResolver = MyViewResolver.of(getServletContext());
+    }
+
     @Override
     protected void service(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
 
@@ -37,27 +48,29 @@ public class FrontControllerServletV3 extends HttpServlet {
             return;
         }
 
-        // HttpServletRequest의 모든 Parameter를 뽑아서, Map으로 만듬
-        Map<String, String> paramMap = createParamMap(request);
+        try {
+            if (controller instanceof MyLastModified && ((MyLastModified) controller).checkNotModified(request, response)) {
+                return; // 바뀐 것이 없으면 컨트롤러, view 를 거치지 않고 304
+            }
+        } catch (BindException e) {
+            e.sendError(response); // 조건부 GET 보다 먼저 검증한 요청 파라미터가 잘못됨 -> 400
+            return;
+        }
+
+        // HttpServletRequest의 Parameter를 복사하지 않고 Map으로 보여줌
+        Map<String, String> paramMap = new RequestParamMap(request);
 
         // paramMap을 기반으로 비즈니스 로직을 수행하고, ModelView에 view의 논리적 이름과 Model을 담아 반환
-        ModelView mv = controller.process(paramMap);
+        ModelView mv;
+        try {
+            mv = controller.process(paramMap);
+        } catch (BindException e) {
+            e.sendError(response); // 잘못된 요청 파라미터 -> 400
+            return;
+        }
 
         String viewName = mv.getViewName();
-        MyView view = viewResolver(viewName);  // 논리이름을 경로명으로 변환한뒤 MyView 생성
+        MyView view = viewResolver.resolve(viewName);  // 논리이름을 경로명으로 변환한 MyView (캐시)
         view.render(mv.getModel(), request, response); // 렌더링
     }
-
-    private Map<String, String> createParamMap(HttpServletRequest request) {
-        Map<String, String> paramMap = new HashMap<>();
-
-        request.getParameterNames().asIterator()
-                .forEachRemaining(
-                        paramName -> paramMap.put(paramName, request.getParameter(paramName)));
-        return paramMap;
-    }
-
-    private MyView viewResolver(String viewName) {
-        return new MyView("/WEB-INF/views/" + viewName + ".jsp");
-    }
 }
@@ -2,22 +2,43 @@ package com.ttasjwi.servlet.web.frontcontroller.v3.controller;
 
 import com.ttasjwi.servlet.domain.Member;
 import com.ttasjwi.servlet.domain.MemberRepository;
+import com.ttasjwi.servlet.web.PageParams;
 import com.ttasjwi.servlet.web.frontcontroller.ModelView;
+import com.ttasjwi.servlet.web.frontcontroller.MyLastModified;
 import com.ttasjwi.servlet.web.frontcontroller.v3.ControllerV3;
 
+import javax.servlet.http.HttpServletRequest;
 import java.util.List;
 import java.util.Map;
 
-public class MemberListControllerV3 implements ControllerV3 {
+public class MemberListControllerV3 implements ControllerV3, MyLastModified {
 
     private MemberRepository memberRepository = MemberRepository.getInstance();
 
     @Override
     public ModelView process(Map<String, String> paramMap) {
-        List<Member> members = memberRepository.findAll();
+        int size = PageParams.size(paramMap.get(PageParams.SIZE));
+        List<Member> members = memberRepository.findPage(PageParams.afterId(paramMap.get(PageParams.AFTER_ID)), size);
         ModelView mv = new ModelView("members");
         mv.getModel().put("members", members);
+        mv.getModel().put(PageParams.NEXT_PAGE, PageParams.nextPage(memberRepository, members, size));
 
         return mv;
     }
+
+    @Override
+    public void validate(HttpServletRequest request) {
+        PageParams.afterId(request.getParameter(PageParams.AFTER_ID));
+        PageParams.size(request.getParameter(PageParams.SIZE));
+    }
+
+    @Override
+    public long getVersion() {
+        return memberRepository.getVersion();
+    }
+
+    @Override
+    public long getLastModified() {
+        return memberRepository.getLastModified();
+    }
 }
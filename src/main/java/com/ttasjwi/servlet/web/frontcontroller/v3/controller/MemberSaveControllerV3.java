@@ -2,6 +2,7 @@ package com.ttasjwi.servlet.web.frontcontroller.v3.controller;
 
 import com.ttasjwi.servlet.domain.Member;
 import com.ttasjwi.servlet.domain.MemberRepository;
+import com.ttasjwi.servlet.web.bind.ParamReader;
 import com.ttasjwi.servlet.web.frontcontroller.ModelView;
 import com.ttasjwi.servlet.web.frontcontroller.v3.ControllerV3;
 
@@ -13,10 +14,9 @@ public class MemberSaveControllerV3 implements ControllerV3 {
 
     @Override
     public ModelView process(Map<String, String> paramMap) {
-        String username = paramMap.get("username");
-        int age = Integer.parseInt(paramMap.get("age"));
-
-        Member member = new Member(username, age);
+        ParamReader params = ParamReader.of(paramMap);
+        Member member = params.bind(Member.class); // username, age
+        params.validate(); // 잘못된 파라미터 -> BindException -> 400
         memberRepository.save(member);
 
         ModelView mv = new ModelView("save-result");
@@ -1,6 +1,11 @@
 package com.ttasjwi.servlet.web.frontcontroller.v4;
 
+import com.ttasjwi.servlet.web.bind.BindException;
+import com.ttasjwi.servlet.web.frontcontroller.ModelMapPool;
+import com.ttasjwi.servlet.web.frontcontroller.MyLastModified;
 import com.ttasjwi.servlet.web.frontcontroller.MyView;
+import com.ttasjwi.servlet.web.frontcontroller.MyViewResolver;
+import com.ttasjwi.servlet.web.frontcontroller.RequestParamMap;
 import com.ttasjwi.servlet.web.frontcontroller.v4.controller.MemberFormControllerV4;
 import com.ttasjwi.servlet.web.frontcontroller.v4.controller.MemberListControllerV4;
 import com.ttasjwi.servlet.web.frontcontroller.v4.controller.MemberSaveControllerV4;
@@ -21,12 +26,19 @@ public class FrontControllerServletV4 extends HttpServlet {
 
     private Map<String, ControllerV4> controllerMap = new HashMap<>();
 
+    private MyViewResolver viewResolver;
+
     public FrontControllerServletV4() {
         controllerMap.put("/front-controller/v4/members/new-form", new MemberFormControllerV4());
         controllerMap.put("/front-controller/v4/members/save", new MemberSaveControllerV4());
         controllerMap.put("/front-controller/v4/members", new MemberListControllerV4());
     }
 
+    @Override
+    public void init() throws ServletException {
+        viewResolver = MyViewResolver.of(getServletContext());
+    }
+
     @Override
     protected void service(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
 
@@ -37,25 +49,27 @@ public class FrontControllerServletV4 extends HttpServlet {
             return;
         }
 
-        Map<String, String> paramMap = createParamMap(request); // HttpServletRequest의 모든 Parameter를 뽑아서, Map으로 만듬
-        Map<String, Object> model = new HashMap<>();
-
-        String viewName = controller.process(paramMap, model); // paramMap을 기반으로 비즈니스 로직을 수행하고 model을 변형, view의 논리적 이름을 반환.
-
-        MyView view = viewResolver(viewName);  // 논리이름을 경로명으로 변환한뒤 MyView 생성
-        view.render(model, request, response); // 렌더링
-    }
+        try {
+            if (controller instanceof MyLastModified && ((MyLastModified) controller).checkNotModified(request, response)) {
+                return; // 바뀐 것이 없으면 컨트롤러, view 를 거치지 않고 304
+            }
+        } catch (BindException e) {
+            e.sendError(response); // 조건부 GET 보다 먼저 검증한 요청 파라미터가 잘못됨 -> 400
+            return;
+        }
 
-    private Map<String, String> createParamMap(HttpServletRequest request) {
-        Map<String, String> paramMap = new HashMap<>();
+        Map<String, String> paramMap = new RequestParamMap(request); // HttpServletRequest의 Parameter를 복사하지 않고 Map으로 보여줌
+        Map<String, Object> model = ModelMapPool.acquire(); // 스레드마다 재사용하는 model
 
-        request.getParameterNames().asIterator()
-                .forEachRemaining(
-                        paramName -> paramMap.put(paramName, request.getParameter(paramName)));
-        return paramMap;
-    }
+        try {
+            String viewName = controller.process(paramMap, model); // paramMap을 기반으로 비즈니스 로직을 수행하고 model을 변형, view의 논리적 이름을 반환.
 
-    private MyView viewResolver(String viewName) {
-        return new MyView("/WEB-INF/views/" + viewName + ".jsp");
+            MyView view = viewResolver.resolve(viewName);  // 논리이름을 경로명으로 변환한 MyView (캐시)
+            view.render(model, request, response); // 렌더링
+        } catch (BindException e) {
+            e.sendError(response); // 잘못된 요청 파라미터 -> 400
+        } finally {
+            ModelMapPool.release(model); // 렌더링이 끝났으므로 비워서 돌려줌
+        }
     }
 }
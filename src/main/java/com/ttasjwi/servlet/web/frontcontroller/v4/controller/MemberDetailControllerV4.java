@@ -0,0 +1,32 @@
+package com.ttasjwi.servlet.web.frontcontroller.v4.controller;
+
+import com.ttasjwi.servlet.domain.Member;
+import com.ttasjwi.servlet.domain.MemberRepository;
+import com.ttasjwi.servlet.web.NotFoundException;
+import com.ttasjwi.servlet.web.bind.ParamReader;
+import com.ttasjwi.servlet.web.frontcontroller.v4.ControllerV4;
+
+import java.util.Map;
+
+/**
+ * 경로 변수 {id} 로 회원 한 명을 조회 (ex: /members/1). 없는 id 는 404
+ */
+public class MemberDetailControllerV4 implements ControllerV4 {
+
+    private MemberRepository memberRepository = MemberRepository.getInstance();
+
+    @Override
+    public String process(Map<String, String> paramMap, Map<String, Object> model) {
+        ParamReader params = ParamReader.of(paramMap);
+        long id = params.getRequiredLong("id");
+        params.validate(); // 숫자가 아닌 id -> 400
+
+        Member member = memberRepository.findById(id);
+        if (member == null) {
+            throw new NotFoundException("회원을 찾을 수 없습니다. id = " + id); // 없는 id -> 404
+        }
+
+        model.put("member", member);
+        return "member";
+    }
+}
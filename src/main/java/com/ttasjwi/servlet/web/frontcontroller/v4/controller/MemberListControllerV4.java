@@ -2,19 +2,40 @@ package com.ttasjwi.servlet.web.frontcontroller.v4.controller;
 
 import com.ttasjwi.servlet.domain.Member;
 import com.ttasjwi.servlet.domain.MemberRepository;
+import com.ttasjwi.servlet.web.PageParams;
+import com.ttasjwi.servlet.web.frontcontroller.MyLastModified;
 import com.ttasjwi.servlet.web.frontcontroller.v4.ControllerV4;
 
+import javax.servlet.http.HttpServletRequest;
 import java.util.List;
 import java.util.Map;
 
-public class MemberListControllerV4 implements ControllerV4 {
+public class MemberListControllerV4 implements ControllerV4, MyLastModified {
 
     private MemberRepository memberRepository = MemberRepository.getInstance();
 
     @Override
     public String process(Map<String, String> paramMap, Map<String, Object> model) {
-        List<Member> members = memberRepository.findAll();
+        int size = PageParams.size(paramMap.get(PageParams.SIZE));
+        List<Member> members = memberRepository.findPage(PageParams.afterId(paramMap.get(PageParams.AFTER_ID)), size);
         model.put("members", members);
+        model.put(PageParams.NEXT_PAGE, PageParams.nextPage(memberRepository, members, size));
         return "members";
     }
+
+    @Override
+    public void validate(HttpServletRequest request) {
+        PageParams.afterId(request.getParameter(PageParams.AFTER_ID));
+        PageParams.size(request.getParameter(PageParams.SIZE));
+    }
+
+    @Override
+    public long getVersion() {
+        return memberRepository.getVersion();
+    }
+
+    @Override
+    public long getLastModified() {
+        return memberRepository.getLastModified();
+    }
 }
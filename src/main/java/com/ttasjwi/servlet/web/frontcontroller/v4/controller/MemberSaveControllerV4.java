@@ -2,6 +2,7 @@ package com.ttasjwi.servlet.web.frontcontroller.v4.controller;
 
 import com.ttasjwi.servlet.domain.Member;
 import com.ttasjwi.servlet.domain.MemberRepository;
+import com.ttasjwi.servlet.web.bind.ParamReader;
 import com.ttasjwi.servlet.web.frontcontroller.v4.ControllerV4;
 
 import java.util.Map;
@@ -12,10 +13,9 @@ public class MemberSaveControllerV4 implements ControllerV4 {
 
     @Override
     public String process(Map<String, String> paramMap, Map<String, Object> model) {
-        String username = paramMap.get("username");
-        int age = Integer.parseInt(paramMap.get("age"));
-
-        Member member = new Member(username, age);
+        ParamReader params = ParamReader.of(paramMap);
+        Member member = params.bind(Member.class); // username, age
+        params.validate(); // 잘못된 파라미터 -> BindException -> 400
         memberRepository.save(member);
 
         model.put("member",member);
@@ -0,0 +1,29 @@
+package com.ttasjwi.servlet.web.frontcontroller.v4.controller;
+
+import com.ttasjwi.servlet.domain.Member;
+import com.ttasjwi.servlet.domain.MemberRepository;
+import com.ttasjwi.servlet.web.PageParams;
+import com.ttasjwi.servlet.web.SearchParams;
+import com.ttasjwi.servlet.web.frontcontroller.v4.ControllerV4;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * username 이 있으면 username 인덱스로, 없으면 age 인덱스로 size 명까지 검색 (SearchParams)
+ * 예) /members/search?username=kim , /members/search?minAge=20&maxAge=30
+ */
+public class MemberSearchControllerV4 implements ControllerV4 {
+
+    private MemberRepository memberRepository = MemberRepository.getInstance();
+
+    @Override
+    public String process(Map<String, String> paramMap, Map<String, Object> model) {
+        List<Member> members = SearchParams.search(memberRepository,
+                paramMap.get(SearchParams.USERNAME), paramMap.get(SearchParams.MIN_AGE), paramMap.get(SearchParams.MAX_AGE),
+                paramMap.get(PageParams.SIZE)); // 조건이 없거나 숫자가 아닌 나이 -> 400
+
+        model.put("members", members);
+        return "members";
+    }
+}
@@ -0,0 +1,197 @@
+package com.ttasjwi.servlet.web.frontcontroller.v5;
+
+import com.ttasjwi.servlet.web.frontcontroller.ModelMapPool;
+import com.ttasjwi.servlet.web.frontcontroller.ModelView;
+import org.springframework.core.env.Environment;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.context.support.WebApplicationContextUtils;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletContext;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * FrontControllerServletV5 의 비동기 모드 (front-controller.v5.async.enabled=true)
+ * - request.startAsync() 후 핸들러를 제한된 작업 스레드 풀에서 실행하고, 톰캣 스레드는 바로 반환
+ * - 핸들러가 끝나면 결과(ModelView 또는 예외)를 request attribute 에 담아 AsyncContext.dispatch() 로 같은 서블릿에 다시 들어감
+ *   -> 렌더링은 컨테이너 스레드에서 기존과 같은 방식으로 진행 (JSP forward, 필터 모두 그대로 동작)
+ * - 작업 큐가 가득 차면 503, timeoutMillis 안에 끝나지 않아도 503
+ */
+public class AsyncHandlerExecutor {
+
+    public static final String RESULT_ATTRIBUTE = AsyncHandlerExecutor.class.getName() + ".result";
+
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    public AsyncHandlerExecutor(int threads, int queueCapacity, long timeoutMillis) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "front-controller-v5-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()); // 큐가 가득 차면 RejectedExecutionException -> 503
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * 비동기 모드가 켜져 있으면 설정값으로 생성, 꺼져 있으면 null
+     */
+    public static AsyncHandlerExecutor of(ServletContext servletContext) {
+        WebApplicationContext context = servletContext == null
+                ? null : WebApplicationContextUtils.getWebApplicationContext(servletContext);
+        if (context == null) {
+            return null;
+        }
+        Environment environment = context.getEnvironment();
+        if (!environment.getProperty("front-controller.v5.async.enabled", Boolean.class, false)) {
+            return null;
+        }
+        return new AsyncHandlerExecutor(
+                environment.getProperty("front-controller.v5.async.threads", Integer.class, 16),
+                environment.getProperty("front-controller.v5.async.queue-capacity", Integer.class, 200),
+                environment.getProperty("front-controller.v5.async.timeout-ms", Long.class, 10000L));
+    }
+
+    public void execute(HttpServletRequest request, HttpServletResponse response, MyHandlerAdapter adapter, Object handler) throws IOException {
+        AsyncContext asyncContext = request.startAsync();
+        asyncContext.setTimeout(timeoutMillis);
+
+        AtomicBoolean finished = new AtomicBoolean(); // 핸들러 완료, 타임아웃, 거절, 오류 중 먼저 일어난 하나만 응답을 처리
+        asyncContext.addListener(new FinishListener(finished, response));
+
+        CompletableFuture<ModelView> result;
+        try {
+            result = CompletableFuture.supplyAsync(() -> handle(adapter, request, response, handler), executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            if (finished.compareAndSet(false, true)) {
+                response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+                asyncContext.complete();
+            }
+            return;
+        }
+
+        result.whenComplete((mv, error) -> {
+            if (!finished.compareAndSet(false, true)) {
+                discard(mv); // 이미 타임아웃으로 응답했거나 오류, 연결 종료로 AsyncContext 가 끝났으면 결과는 버림
+                return;
+            }
+            request.setAttribute(RESULT_ATTRIBUTE, error == null ? mv : unwrap(error));
+            try {
+                asyncContext.dispatch();
+            } catch (IllegalStateException e) {
+                // CAS 와 dispatch 사이에 컨테이너가 AsyncContext 를 끝낸 경우 (타임아웃 처리 중 등)
+                request.removeAttribute(RESULT_ATTRIBUTE);
+                discard(mv);
+            }
+        });
+    }
+
+    /**
+     * dispatch 로 다시 들어온 요청에서 핸들러 결과를 꺼냄. 핸들러가 예외를 던졌으면 그 예외를 다시 던짐
+     */
+    public static ModelView takeResult(HttpServletRequest request) throws ServletException, IOException {
+        Object result = request.getAttribute(RESULT_ATTRIBUTE);
+        request.removeAttribute(RESULT_ATTRIBUTE);
+        if (result instanceof IOException) {
+            throw (IOException) result;
+        }
+        if (result instanceof ServletException) {
+            throw (ServletException) result;
+        }
+        if (result instanceof RuntimeException) {
+            throw (RuntimeException) result;
+        }
+        if (result instanceof Throwable) {
+            throw new ServletException((Throwable) result);
+        }
+        return (ModelView) result;
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public long getTimeoutCount() {
+        return timeouts.sum();
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private static ModelView handle(MyHandlerAdapter adapter, HttpServletRequest request, HttpServletResponse response, Object handler) {
+        try {
+            return adapter.handle(request, response, handler);
+        } catch (ServletException | IOException e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    private static void discard(ModelView mv) {
+        if (mv != null) {
+            ModelMapPool.release(mv.getModel());
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    /**
+     * 타임아웃이면 503 으로 응답하고, 오류나 완료(연결 종료 등)로 AsyncContext 가 끝나면 이후의 dispatch 를 막음
+     */
+    private class FinishListener implements AsyncListener {
+
+        private final AtomicBoolean finished;
+        private final HttpServletResponse response;
+
+        private FinishListener(AtomicBoolean finished, HttpServletResponse response) {
+            this.finished = finished;
+            this.response = response;
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) throws IOException {
+            if (finished.compareAndSet(false, true)) {
+                timeouts.increment();
+                response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+                event.getAsyncContext().complete();
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            finished.set(true);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            finished.set(true); // 컨테이너가 오류 처리 후 complete 함
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
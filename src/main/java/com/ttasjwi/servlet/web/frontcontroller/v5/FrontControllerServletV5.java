@@ -1,16 +1,31 @@
 package com.ttasjwi.servlet.web.frontcontroller.v5;
 
+import com.ttasjwi.servlet.web.NotFoundException;
+import com.ttasjwi.servlet.web.bind.BindException;
+import com.ttasjwi.servlet.web.cache.RenderedResponseCache;
+import com.ttasjwi.servlet.web.frontcontroller.ModelMapPool;
 import com.ttasjwi.servlet.web.frontcontroller.ModelView;
+import com.ttasjwi.servlet.web.frontcontroller.MyLastModified;
 import com.ttasjwi.servlet.web.frontcontroller.MyView;
+import com.ttasjwi.servlet.web.frontcontroller.MyViewResolver;
 import com.ttasjwi.servlet.web.frontcontroller.v3.controller.MemberFormControllerV3;
 import com.ttasjwi.servlet.web.frontcontroller.v3.controller.MemberListControllerV3;
 import com.ttasjwi.servlet.web.frontcontroller.v3.controller.MemberSaveControllerV3;
+import com.ttasjwi.servlet.web.frontcontroller.v4.controller.MemberDetailControllerV4;
 import com.ttasjwi.servlet.web.frontcontroller.v4.controller.MemberFormControllerV4;
 import com.ttasjwi.servlet.web.frontcontroller.v4.controller.MemberListControllerV4;
 import com.ttasjwi.servlet.web.frontcontroller.v4.controller.MemberSaveControllerV4;
+import com.ttasjwi.servlet.web.frontcontroller.v4.controller.MemberSearchControllerV4;
+import com.ttasjwi.servlet.web.frontcontroller.v5.adapter.AnnotatedHandlerAdapter;
 import com.ttasjwi.servlet.web.frontcontroller.v5.adapter.ControllerV3Adapter;
 import com.ttasjwi.servlet.web.frontcontroller.v5.adapter.ControllerV4Adapter;
+import com.ttasjwi.servlet.web.frontcontroller.v5.annotation.AnnotatedHandler;
+import com.ttasjwi.servlet.web.frontcontroller.v5.annotation.AnnotatedHandlerScanner;
+import com.ttasjwi.servlet.web.frontcontroller.v5.controller.MemberControllerV5;
+import com.ttasjwi.servlet.web.metrics.MetricsRegistry;
+import com.ttasjwi.servlet.web.metrics.RouteMetrics;
 
+import javax.servlet.DispatcherType;
 import javax.servlet.ServletException;
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.HttpServlet;
@@ -22,56 +37,181 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-@WebServlet(name = "frontControllerServletV5", urlPatterns = "/front-controller/v5/*")
+@WebServlet(name = "frontControllerServletV5", urlPatterns = "/front-controller/v5/*", asyncSupported = true)
 public class FrontControllerServletV5 extends HttpServlet {
 
-    private final Map<String, Object> handlerMappingMap = new HashMap<>();
+    public static final String METRICS_DISPATCHER = "front-controller-v5";
+    private static final String CONTROLLER_PACKAGE = MemberControllerV5.class.getPackage().getName(); // @MyController 를 찾을 패키지
+    private static final String METRICS_ATTRIBUTE = FrontControllerServletV5.class.getName() + ".metrics";
+    private static final String START_ATTRIBUTE = FrontControllerServletV5.class.getName() + ".start";
+
+    private final HandlerRouter handlerRouter = new HandlerRouter();
+    private final MetricsRegistry metricsRegistry = MetricsRegistry.getInstance();
+    private final Map<String, RouteMetrics> routeMetrics = new HashMap<>(); // route 패턴 -> 지표 (등록 시점에 만들고 이후에는 읽기만 함)
     private final List<MyHandlerAdapter> handlerAdapters = new ArrayList<>();
 
+    private MyViewResolver viewResolver;
+    private AsyncHandlerExecutor asyncHandlerExecutor; // 비동기 모드가 꺼져 있으면 null
+
     public FrontControllerServletV5() {
+        initHandlerAdapters(); // 핸들러 등록 시 어댑터를 미리 찾아두므로, 어댑터를 먼저 초기화
         initHandlerMappingMap();
-        initHandlerAdapters();
+    }
+
+    @Override
+    public void init() throws ServletException {
+        viewResolver = MyViewResolver.of(getServletContext());
+        asyncHandlerExecutor = AsyncHandlerExecutor.of(getServletContext());
+    }
+
+    @Override
+    public void destroy() {
+        if (asyncHandlerExecutor != null) {
+            asyncHandlerExecutor.shutdown();
+        }
     }
 
     private void initHandlerMappingMap() {
-        handlerMappingMap.put("/front-controller/v5/v3/members/new-form", new MemberFormControllerV3());
-        handlerMappingMap.put("/front-controller/v5/v3/members/save", new MemberSaveControllerV3());
-        handlerMappingMap.put("/front-controller/v5/v3/members", new MemberListControllerV3());
+        addHandler("/front-controller/v5/v3/members/new-form", new MemberFormControllerV3());
+        addHandler("/front-controller/v5/v3/members/save", new MemberSaveControllerV3());
+        addHandler("/front-controller/v5/v3/members", new MemberListControllerV3());
 
-        handlerMappingMap.put("/front-controller/v5/v4/members/new-form", new MemberFormControllerV4());
-        handlerMappingMap.put("/front-controller/v5/v4/members/save", new MemberSaveControllerV4());
-        handlerMappingMap.put("/front-controller/v5/v4/members", new MemberListControllerV4());
+        addHandler("/front-controller/v5/v4/members/new-form", new MemberFormControllerV4());
+        addHandler("/front-controller/v5/v4/members/save", new MemberSaveControllerV4());
+        addHandler("/front-controller/v5/v4/members", new MemberListControllerV4());
+        addHandler("/front-controller/v5/v4/members/search", new MemberSearchControllerV4());
+        addHandler("/front-controller/v5/v4/members/{id}", new MemberDetailControllerV4());
+
+        AnnotatedHandlerScanner.scan(CONTROLLER_PACKAGE).forEach(this::addHandler);
+    }
+
+    private void addHandler(String pattern, Object handler) {
+        handlerRouter.add(pattern, handler, getHandlerAdapter(handler));
+        routeMetrics.put(pattern, metricsRegistry.route(METRICS_DISPATCHER, pattern));
     }
 
     private void initHandlerAdapters() {
         handlerAdapters.add(new ControllerV3Adapter());
         handlerAdapters.add(new ControllerV4Adapter());
+        handlerAdapters.add(new AnnotatedHandlerAdapter());
     }
 
     @Override
     protected void service(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
-        Object handler = getHandler(request);
+        long start = System.nanoTime();
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            serviceAsyncResult(request, response, start); // 비동기로 실행한 핸들러의 결과를 가지고 다시 들어온 요청
+            return;
+        }
+
+        HandlerRouter.Route route = getRoute(request);
+        long lookedUp = System.nanoTime();
 
-        if (handler == null) {
+        if (route == null) {
+            metricsRegistry.route(METRICS_DISPATCHER, MetricsRegistry.UNMATCHED_ROUTE).record(RouteMetrics.Phase.LOOKUP, lookedUp - start);
             response.setStatus(HttpServletResponse.SC_NOT_FOUND);
             return;
         }
-        MyHandlerAdapter adapter = getHandlerAdapter(handler);
+        RouteMetrics metrics = routeMetrics.get(route.getPattern());
+        metrics.record(RouteMetrics.Phase.LOOKUP, lookedUp - start);
+
+        Object handler = route.getHandler();
+        MyLastModified lastModified = getLastModified(handler, request);
+        try {
+            if (lastModified != null && lastModified.checkNotModified(request, response)) {
+                metrics.record(RouteMetrics.Phase.TOTAL, System.nanoTime() - start);
+                return; // 바뀐 것이 없으면 핸들러, view 를 거치지 않고 304
+            }
+        } catch (BindException e) {
+            e.sendError(response); // 조건부 GET 보다 먼저 검증한 요청 파라미터가 잘못됨 -> 400
+            metrics.record(RouteMetrics.Phase.TOTAL, System.nanoTime() - start);
+            return;
+        }
+        if (lastModified != null) {
+            RenderedResponseCache.markCacheable(request); // 저장소 내용으로만 정해지는 응답 -> RenderedResponseCacheFilter 가 저장
+        }
+        MyHandlerAdapter adapter = route.getAdapter(); // 등록 시점에 찾아둔 어댑터
 
-        ModelView mv = adapter.handle(request, response, handler);
+        if (asyncHandlerExecutor != null) {
+            request.setAttribute(METRICS_ATTRIBUTE, metrics);
+            request.setAttribute(START_ATTRIBUTE, start);
+            asyncHandlerExecutor.execute(request, response, adapter, handler); // 핸들러는 작업 스레드에서 실행되고, 끝나면 dispatch 로 다시 들어옴
+            return;
+        }
 
-        String viewName = mv.getViewName();
-        MyView view = viewResolver(viewName);  // 논리이름을 경로명으로 변환한뒤 MyView 생성
+        try {
+            ModelView mv = adapter.handle(request, response, handler);
+            metrics.record(RouteMetrics.Phase.HANDLE, System.nanoTime() - lookedUp);
+            render(mv, request, response, metrics);
+        } catch (BindException e) {
+            e.sendError(response); // 잘못된 요청 파라미터 -> 400 (오류 지표에는 넣지 않음)
+        } catch (NotFoundException e) {
+            e.sendError(response); // 없는 회원 -> 404 (오류 지표에는 넣지 않음)
+        } catch (ServletException | IOException | RuntimeException e) {
+            metrics.recordError();
+            throw e;
+        }
+        metrics.record(RouteMetrics.Phase.TOTAL, System.nanoTime() - start);
+    }
 
-        view.render(mv.getModel(), request, response); // 렌더링
+    private void serviceAsyncResult(HttpServletRequest request, HttpServletResponse response, long dispatched) throws ServletException, IOException {
+        RouteMetrics metrics = (RouteMetrics) request.getAttribute(METRICS_ATTRIBUTE);
+        long start = (Long) request.getAttribute(START_ATTRIBUTE);
+        metrics.record(RouteMetrics.Phase.HANDLE, dispatched - start); // 작업 큐 대기 + 핸들러 실행 + dispatch 대기
+
+        try {
+            render(AsyncHandlerExecutor.takeResult(request), request, response, metrics);
+        } catch (BindException e) {
+            e.sendError(response);
+        } catch (NotFoundException e) {
+            e.sendError(response);
+        } catch (ServletException | IOException | RuntimeException e) {
+            metrics.recordError();
+            throw e;
+        }
+        metrics.record(RouteMetrics.Phase.TOTAL, System.nanoTime() - start);
     }
 
-    private Object getHandler(HttpServletRequest request) {
+    private void render(ModelView mv, HttpServletRequest request, HttpServletResponse response, RouteMetrics metrics) throws ServletException, IOException {
+        if (mv == null) {
+            return; // 핸들러가 응답을 직접 씀 (405 등)
+        }
+        try {
+            long start = System.nanoTime();
+            String viewName = mv.getViewName();
+            MyView view = viewResolver.resolve(viewName);  // 논리이름을 경로명으로 변환한 MyView (캐시)
+            long resolved = System.nanoTime();
+            metrics.record(RouteMetrics.Phase.RESOLVE, resolved - start);
+
+            view.render(mv.getModel(), request, response); // 렌더링
+            metrics.record(RouteMetrics.Phase.RENDER, System.nanoTime() - resolved);
+        } finally {
+            ModelMapPool.release(mv.getModel()); // 렌더링이 끝난(또는 실패한) model 은 비워서 재사용
+        }
+    }
+
+    /**
+     * 조건부 GET, 렌더링 결과 캐시를 적용할 핸들러면 MyLastModified, 아니면 null
+     * - @MyController 는 @CacheableResponse 가 붙은 핸들러 메서드만 적용
+     */
+    private MyLastModified getLastModified(Object handler, HttpServletRequest request) {
+        if (handler instanceof AnnotatedHandler) {
+            return ((AnnotatedHandler) handler).getLastModified(request.getMethod());
+        }
+        return handler instanceof MyLastModified ? (MyLastModified) handler : null;
+    }
+
+    private HandlerRouter.Route getRoute(HttpServletRequest request) {
         String requestURI = request.getRequestURI();
-        return handlerMappingMap.get(requestURI);
+        HandlerRouter.Route route = handlerRouter.match(requestURI);
+        if (route != null && route.hasPathVariables()) {
+            // 경로 변수는 어댑터가 paramMap 에 함께 담아서 컨트롤러에 전달
+            request.setAttribute(HandlerRouter.PATH_VARIABLES_ATTRIBUTE, route.extractPathVariables(requestURI));
+        }
+        return route;
     }
 
-    private MyHandlerAdapter getHandlerAdapter(Object handler) throws ServletException, IOException {
+    private MyHandlerAdapter getHandlerAdapter(Object handler) {
         for (MyHandlerAdapter adapter : handlerAdapters) {
             if (adapter.supports(handler)) {
                 return adapter;
@@ -79,8 +219,4 @@ public class FrontControllerServletV5 extends HttpServlet {
         }
         throw new IllegalAccessError("HandlerAdapter를 찾을 수 없습니다. handler = " + handler);
     }
-
-    private MyView viewResolver(String viewName) {
-        return new MyView("/WEB-INF/views/" + viewName + ".jsp");
-    }
 }
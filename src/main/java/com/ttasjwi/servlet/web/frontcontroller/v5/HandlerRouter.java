@@ -0,0 +1,204 @@
+package com.ttasjwi.servlet.web.frontcontroller.v5;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 경로를 '/' 단위 segment 로 나눈 트리(trie)로 핸들러를 찾음
+ * - 정적 segment 와 {id} 같은 경로 변수 segment 를 지원. 같은 위치에서는 정적 segment 가 우선
+ * - 등록 시점에 핸들러 어댑터를 미리 찾아서 Route 에 보관 -> 요청마다 supports 를 순회하지 않음
+ * - 조회 시 substring 을 만들지 않고 원본 문자열의 구간을 비교하므로, 경로 변수가 없는 경로는 객체를 생성하지 않음
+ */
+public class HandlerRouter {
+
+    public static final String PATH_VARIABLES_ATTRIBUTE = HandlerRouter.class.getName() + ".pathVariables";
+
+    private final Node root = new Node(null);
+
+    public void add(String pattern, Object handler, MyHandlerAdapter adapter) {
+        Node node = root;
+        List<String> variableNames = new ArrayList<>();
+        List<Integer> variableSegments = new ArrayList<>();
+
+        List<String> segments = split(pattern);
+        for (int i = 0; i < segments.size(); i++) {
+            String segment = segments.get(i);
+            if (segment.startsWith("{") && segment.endsWith("}")) {
+                variableNames.add(segment.substring(1, segment.length() - 1));
+                variableSegments.add(i);
+                if (node.variableChild == null) {
+                    node.variableChild = new Node(null);
+                }
+                node = node.variableChild;
+            } else {
+                node = node.getOrAddChild(segment);
+            }
+        }
+
+        if (node.route != null) {
+            throw new IllegalStateException("이미 등록된 경로입니다. pattern = " + pattern);
+        }
+        node.route = new Route(pattern, handler, adapter, variableNames.toArray(new String[0]),
+                variableSegments.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    /**
+     * FrontControllerServletV5 가 request 에 담아둔 경로 변수, 없으면 null
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, String> getPathVariables(HttpServletRequest request) {
+        return (Map<String, String>) request.getAttribute(PATH_VARIABLES_ATTRIBUTE);
+    }
+
+    /**
+     * @return 일치하는 Route, 없으면 null
+     */
+    public Route match(String path) {
+        return match(root, path, skipSlashes(path, 0));
+    }
+
+    private Route match(Node node, String path, int start) {
+        if (start >= path.length()) {
+            return node.route;
+        }
+        int end = segmentEnd(path, start);
+        int next = skipSlashes(path, end);
+
+        Node child = node.findChild(path, start, end);
+        if (child != null) {
+            Route route = match(child, path, next);
+            if (route != null) {
+                return route;
+            }
+        }
+        if (node.variableChild != null) {
+            return match(node.variableChild, path, next);
+        }
+        return null;
+    }
+
+    private static int segmentEnd(String path, int start) {
+        int slash = path.indexOf('/', start);
+        return slash < 0 ? path.length() : slash;
+    }
+
+    private static int skipSlashes(String path, int index) {
+        while (index < path.length() && path.charAt(index) == '/') {
+            index++;
+        }
+        return index;
+    }
+
+    private static List<String> split(String path) {
+        List<String> segments = new ArrayList<>();
+        for (String segment : path.split("/")) {
+            if (!segment.isEmpty()) {
+                segments.add(segment);
+            }
+        }
+        return segments;
+    }
+
+    private static int hash(String path, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + path.charAt(i); // String.hashCode 와 같은 계산
+        }
+        return hash;
+    }
+
+    private static class Node {
+
+        private final String segment;
+        private final int segmentHash;
+        private Node[] children = new Node[0];
+        private Node variableChild;
+        private Route route;
+
+        private Node(String segment) {
+            this.segment = segment;
+            this.segmentHash = segment == null ? 0 : segment.hashCode();
+        }
+
+        private Node getOrAddChild(String segment) {
+            for (Node child : children) {
+                if (child.segment.equals(segment)) {
+                    return child;
+                }
+            }
+            Node child = new Node(segment);
+            children = Arrays.copyOf(children, children.length + 1);
+            children[children.length - 1] = child;
+            return child;
+        }
+
+        private Node findChild(String path, int start, int end) {
+            int length = end - start;
+            int hash = hash(path, start, end);
+            for (Node child : children) {
+                if (child.segmentHash == hash && child.segment.length() == length
+                        && path.regionMatches(start, child.segment, 0, length)) {
+                    return child;
+                }
+            }
+            return null;
+        }
+    }
+
+    public static class Route {
+
+        private final String pattern;
+        private final Object handler;
+        private final MyHandlerAdapter adapter;
+        private final String[] variableNames;
+        private final int[] variableSegments; // variableNames[i] 가 몇 번째 segment 인지 (등록 시점에 계산)
+
+        private Route(String pattern, Object handler, MyHandlerAdapter adapter, String[] variableNames, int[] variableSegments) {
+            this.pattern = pattern;
+            this.handler = handler;
+            this.adapter = adapter;
+            this.variableNames = variableNames;
+            this.variableSegments = variableSegments;
+        }
+
+        public String getPattern() {
+            return pattern;
+        }
+
+        public Object getHandler() {
+            return handler;
+        }
+
+        public MyHandlerAdapter getAdapter() {
+            return adapter;
+        }
+
+        public boolean hasPathVariables() {
+            return variableNames.length > 0;
+        }
+
+        /**
+         * 패턴의 {name} 위치에 있는 값을 path 에서 꺼냄. 경로 변수가 있는 Route 에서만 호출
+         * - 패턴은 다시 나누지 않고, 등록 시점에 계산한 segment 위치만 보고 마지막 경로 변수까지만 훑음
+         */
+        public Map<String, String> extractPathVariables(String path) {
+            Map<String, String> variables = new HashMap<>(variableNames.length * 2);
+            int start = skipSlashes(path, 0);
+            int segmentIndex = 0;
+            for (int i = 0; i < variableSegments.length; i++) {
+                for (; segmentIndex < variableSegments[i]; segmentIndex++) {
+                    start = skipSlashes(path, segmentEnd(path, start));
+                }
+                int end = segmentEnd(path, start);
+                variables.put(variableNames[i], path.substring(start, end));
+                start = skipSlashes(path, end);
+                segmentIndex++;
+            }
+            return variables;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.ttasjwi.servlet.web.frontcontroller.v5.adapter;
+
+import com.ttasjwi.servlet.web.frontcontroller.ModelMapPool;
+import com.ttasjwi.servlet.web.frontcontroller.ModelView;
+import com.ttasjwi.servlet.web.frontcontroller.v5.HandlerRouter;
+import com.ttasjwi.servlet.web.frontcontroller.v5.MyHandlerAdapter;
+import com.ttasjwi.servlet.web.frontcontroller.v5.annotation.AnnotatedHandler;
+import com.ttasjwi.servlet.web.frontcontroller.v5.annotation.MyHandlerMethod;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * @MyController 핸들러 메서드를 실행
+ * - 반환값이 String 이면 view 이름, ModelView 이면 그대로, null(void) 이면 핸들러가 응답을 직접 쓴 것으로 보고 렌더링하지 않음
+ * - 요청의 HTTP 메서드를 처리하는 핸들러 메서드가 없으면 405
+ */
+public class AnnotatedHandlerAdapter implements MyHandlerAdapter {
+
+    @Override
+    public boolean supports(Object handler) {
+        return (handler instanceof AnnotatedHandler);
+    }
+
+    @Override
+    public ModelView handle(HttpServletRequest request, HttpServletResponse response, Object handler) throws ServletException, IOException {
+        AnnotatedHandler annotatedHandler = (AnnotatedHandler) handler;
+        MyHandlerMethod handlerMethod = annotatedHandler.select(request.getMethod());
+        if (handlerMethod == null) {
+            response.setHeader("Allow", annotatedHandler.getAllowedMethods());
+            response.sendError(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
+            return null;
+        }
+
+        Map<String, Object> model = ModelMapPool.acquire(); // view 이름을 반환하면 렌더링 후 FrontControllerServletV5 가 돌려줌
+        boolean rendered = false;
+        try {
+            Object result = handlerMethod.invoke(request, response, HandlerRouter.getPathVariables(request), model);
+
+            if (result instanceof String) {
+                rendered = true;
+                return new ModelView((String) result, model);
+            }
+            if (result == null || result instanceof ModelView) {
+                return (ModelView) result;
+            }
+            throw new IllegalStateException("지원하지 않는 반환 타입입니다. handler = " + handlerMethod + ", result = " + result.getClass());
+        } finally {
+            if (!rendered) {
+                ModelMapPool.release(model); // 바인딩, 핸들러 실패(400, 404 등)나 model 을 쓰지 않는 반환값이면 바로 돌려줌
+            }
+        }
+    }
+}
@@ -1,14 +1,15 @@
 package com.ttasjwi.servlet.web.frontcontroller.v5.adapter;
 
 import com.ttasjwi.servlet.web.frontcontroller.ModelView;
+import com.ttasjwi.servlet.web.frontcontroller.RequestParamMap;
 import com.ttasjwi.servlet.web.frontcontroller.v3.ControllerV3;
+import com.ttasjwi.servlet.web.frontcontroller.v5.HandlerRouter;
 import com.ttasjwi.servlet.web.frontcontroller.v5.MyHandlerAdapter;
 
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.util.HashMap;
 import java.util.Map;
 
 public class ControllerV3Adapter implements MyHandlerAdapter {
@@ -22,18 +23,9 @@ public class ControllerV3Adapter implements MyHandlerAdapter {
     public ModelView handle(HttpServletRequest request, HttpServletResponse response, Object handler) throws ServletException, IOException {
         ControllerV3 controllerV3 = (ControllerV3) handler;
 
-        Map<String, String> paramMap = createParamMap(request);
+        // HttpServletRequest의 Parameter와 경로 변수를 복사하지 않고 Map으로 보여줌
+        Map<String, String> paramMap = new RequestParamMap(request, HandlerRouter.getPathVariables(request));
         ModelView mv = controllerV3.process(paramMap);
         return mv;
     }
-
-    // HttpServletRequest의 모든 Parameter를 뽑아서, Map으로 만듬
-    private Map<String, String> createParamMap(HttpServletRequest request) {
-        Map<String, String> paramMap = new HashMap<>();
-
-        request.getParameterNames().asIterator()
-                .forEachRemaining(
-                        paramName -> paramMap.put(paramName, request.getParameter(paramName)));
-        return paramMap;
-    }
 }
@@ -1,14 +1,16 @@
 package com.ttasjwi.servlet.web.frontcontroller.v5.adapter;
 
+import com.ttasjwi.servlet.web.frontcontroller.ModelMapPool;
 import com.ttasjwi.servlet.web.frontcontroller.ModelView;
+import com.ttasjwi.servlet.web.frontcontroller.RequestParamMap;
 import com.ttasjwi.servlet.web.frontcontroller.v4.ControllerV4;
+import com.ttasjwi.servlet.web.frontcontroller.v5.HandlerRouter;
 import com.ttasjwi.servlet.web.frontcontroller.v5.MyHandlerAdapter;
 
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.util.HashMap;
 import java.util.Map;
 
 public class ControllerV4Adapter implements MyHandlerAdapter {
@@ -22,22 +24,18 @@ public class ControllerV4Adapter implements MyHandlerAdapter {
     public ModelView handle(HttpServletRequest request, HttpServletResponse response, Object handler) throws ServletException, IOException {
         ControllerV4 controller = (ControllerV4) handler;
 
-        Map<String, String> paramMap = createParamMap(request); // HttpServletRequest의 모든 Parameter를 뽑아서, Map으로 만듬
-        Map<String, Object> model = new HashMap<>();
+        // HttpServletRequest의 Parameter와 경로 변수를 복사하지 않고 Map으로 보여줌
+        Map<String, String> paramMap = new RequestParamMap(request, HandlerRouter.getPathVariables(request));
+        Map<String, Object> model = ModelMapPool.acquire(); // 렌더링 후 FrontControllerServletV5 가 돌려줌
 
-        String viewName = controller.process(paramMap, model);
+        String viewName;
+        try {
+            viewName = controller.process(paramMap, model);
+        } catch (RuntimeException e) {
+            ModelMapPool.release(model); // 렌더링까지 가지 않으므로 여기서 돌려줌 (400, 404 등)
+            throw e;
+        }
 
-        ModelView mv = new ModelView(viewName);
-        mv.setModel(model);
-        return mv;
-    }
-
-    private Map<String, String> createParamMap(HttpServletRequest request) {
-        Map<String, String> paramMap = new HashMap<>();
-
-        request.getParameterNames().asIterator()
-                .forEachRemaining(
-                        paramName -> paramMap.put(paramName, request.getParameter(paramName)));
-        return paramMap;
+        return new ModelView(viewName, model);
     }
 }
@@ -0,0 +1,83 @@
+package com.ttasjwi.servlet.web.frontcontroller.v5.annotation;
+
+import com.ttasjwi.servlet.web.frontcontroller.MyLastModified;
+import org.springframework.web.bind.annotation.RequestMethod;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * 경로 패턴 하나에 매핑된 핸들러 메서드들. HandlerRouter 에는 이 객체가 핸들러로 등록됨
+ * - 같은 경로라도 HTTP 메서드별로 다른 핸들러 메서드를 가질 수 있음 (ex: GET /members, POST /members)
+ * - HTTP 메서드를 지정하지 않은 매핑은 모든 메서드를 처리
+ */
+public class AnnotatedHandler {
+
+    private final String pattern;
+    private final Map<RequestMethod, MyHandlerMethod> methods = new EnumMap<>(RequestMethod.class);
+    private MyHandlerMethod anyMethod;
+
+    AnnotatedHandler(String pattern) {
+        this.pattern = pattern;
+    }
+
+    void add(RequestMethod[] httpMethods, MyHandlerMethod handlerMethod) {
+        if (httpMethods.length == 0) {
+            if (anyMethod != null) {
+                throw new IllegalStateException("이미 등록된 경로입니다. pattern = " + pattern + ", handler = " + anyMethod);
+            }
+            anyMethod = handlerMethod;
+            return;
+        }
+        for (RequestMethod httpMethod : httpMethods) {
+            MyHandlerMethod existing = methods.putIfAbsent(httpMethod, handlerMethod);
+            if (existing != null) {
+                throw new IllegalStateException("이미 등록된 경로입니다. " + httpMethod + " " + pattern + ", handler = " + existing);
+            }
+        }
+    }
+
+    /**
+     * @return 요청의 HTTP 메서드를 처리할 핸들러 메서드, 없으면 null (405). HEAD 는 GET 핸들러가 처리
+     */
+    public MyHandlerMethod select(String httpMethod) {
+        MyHandlerMethod handlerMethod = methods.get(requestMethod(httpMethod)); // 알 수 없는 메서드면 key 가 null -> null
+        if (handlerMethod == null && "HEAD".equals(httpMethod)) {
+            handlerMethod = methods.get(RequestMethod.GET);
+        }
+        return handlerMethod != null ? handlerMethod : anyMethod;
+    }
+
+    /**
+     * 조건부 GET, 렌더링 결과 캐시를 적용할 핸들러면 그 빈을, 아니면 null
+     */
+    public MyLastModified getLastModified(String httpMethod) {
+        MyHandlerMethod handlerMethod = select(httpMethod);
+        if (handlerMethod == null || !handlerMethod.isCacheable() || !(handlerMethod.getBean() instanceof MyLastModified)) {
+            return null;
+        }
+        return (MyLastModified) handlerMethod.getBean();
+    }
+
+    /**
+     * 405 응답의 Allow 헤더 값
+     */
+    public String getAllowedMethods() {
+        StringJoiner joiner = new StringJoiner(", ");
+        methods.keySet().forEach(method -> joiner.add(method.name()));
+        return joiner.toString();
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    private static RequestMethod requestMethod(String httpMethod) {
+        try {
+            return RequestMethod.valueOf(httpMethod);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.ttasjwi.servlet.web.frontcontroller.v5.annotation;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * basePackage 아래의 @MyController 클래스를 찾아서 경로 패턴 -> AnnotatedHandler 를 만듬
+ * - 클래스의 @RequestMapping 경로 + 메서드의 @RequestMapping(@GetMapping, @PostMapping ...) 경로가 패턴이 됨
+ * - 클래스 파일을 읽어서 찾으므로(ClassPathScanningCandidateComponentProvider) 스프링 컨테이너가 없어도 동작
+ * - 빌드 시 만든 색인(META-INF/spring.components) 이 있으면 클래스패스를 훑지 않고 색인에서 찾음 (-Dspring.index.ignore=true 이면 훑음)
+ */
+public abstract class AnnotatedHandlerScanner {
+
+    public static Map<String, AnnotatedHandler> scan(String basePackage) {
+        ClassPathScanningCandidateComponentProvider provider = new ClassPathScanningCandidateComponentProvider(false);
+        provider.addIncludeFilter(new AnnotationTypeFilter(MyController.class));
+
+        List<String> classNames = new ArrayList<>();
+        for (BeanDefinition candidate : provider.findCandidateComponents(basePackage)) {
+            classNames.add(candidate.getBeanClassName());
+        }
+        classNames.sort(Comparator.naturalOrder()); // 등록 순서를 항상 같게
+
+        Map<String, AnnotatedHandler> handlers = new LinkedHashMap<>();
+        ClassLoader classLoader = ClassUtils.getDefaultClassLoader();
+        for (String className : classNames) {
+            try {
+                register(instantiate(ClassUtils.forName(className, classLoader)), handlers);
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException("컨트롤러 클래스를 읽을 수 없습니다. class = " + className, e);
+            }
+        }
+        return handlers;
+    }
+
+    /**
+     * controller 의 핸들러 메서드를 handlers 에 추가
+     */
+    public static void register(Object controller, Map<String, AnnotatedHandler> handlers) {
+        Class<?> type = controller.getClass();
+        RequestMapping typeMapping = AnnotatedElementUtils.findMergedAnnotation(type, RequestMapping.class);
+        String[] prefixes = typeMapping == null ? new String[]{""} : paths(typeMapping);
+
+        Method[] methods = type.getMethods();
+        Arrays.sort(methods, Comparator.comparing(Method::getName)); // 중복 매핑 오류 메시지를 항상 같게
+        for (Method method : methods) {
+            if (method.isBridge() || method.isSynthetic() || Modifier.isStatic(method.getModifiers())) {
+                continue;
+            }
+            RequestMapping mapping = AnnotatedElementUtils.findMergedAnnotation(method, RequestMapping.class);
+            if (mapping == null) {
+                continue;
+            }
+            MyHandlerMethod handlerMethod = new MyHandlerMethod(controller, method);
+            for (String prefix : prefixes) {
+                for (String path : paths(mapping)) {
+                    String pattern = join(prefix, path);
+                    handlers.computeIfAbsent(pattern, AnnotatedHandler::new).add(mapping.method(), handlerMethod);
+                }
+            }
+        }
+    }
+
+    private static Object instantiate(Class<?> type) {
+        try {
+            return type.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("@MyController 는 기본 생성자가 필요합니다. class = " + type.getName(), e);
+        }
+    }
+
+    private static String[] paths(RequestMapping mapping) {
+        return mapping.path().length == 0 ? new String[]{""} : mapping.path();
+    }
+
+    private static String join(String prefix, String path) {
+        if (path.isEmpty()) {
+            return prefix;
+        }
+        if (prefix.endsWith("/") && path.startsWith("/")) {
+            return prefix + path.substring(1);
+        }
+        if (!prefix.endsWith("/") && !path.startsWith("/")) {
+            return prefix + "/" + path;
+        }
+        return prefix + path;
+    }
+}
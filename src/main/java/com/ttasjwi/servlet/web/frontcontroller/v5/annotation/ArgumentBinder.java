@@ -0,0 +1,15 @@
+package com.ttasjwi.servlet.web.frontcontroller.v5.annotation;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Map;
+
+/**
+ * 핸들러 메서드의 파라미터 하나에 넘길 값을 요청에서 꺼냄
+ * - 시작 시점에 파라미터마다 하나씩 만들어두므로, 요청마다 애노테이션이나 타입을 다시 조사하지 않음
+ */
+@FunctionalInterface
+public interface ArgumentBinder {
+
+    Object bind(HttpServletRequest request, HttpServletResponse response, Map<String, String> pathVariables, Map<String, Object> model);
+}
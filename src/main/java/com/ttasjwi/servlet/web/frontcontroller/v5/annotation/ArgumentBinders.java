@@ -0,0 +1,116 @@
+package com.ttasjwi.servlet.web.frontcontroller.v5.annotation;
+
+import com.ttasjwi.servlet.web.bind.BindException;
+import com.ttasjwi.servlet.web.bind.FieldError;
+import com.ttasjwi.servlet.web.bind.ParamConverters;
+import com.ttasjwi.servlet.web.bind.ParamReader;
+import com.ttasjwi.servlet.web.frontcontroller.RequestParamMap;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ValueConstants;
+
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 핸들러 메서드 파라미터 -> ArgumentBinder
+ * - 애노테이션이 없는 객체 파라미터(ex: Member, HelloData)는 요청 파라미터와 경로 변수로 바인딩 (ParamReader.bind)
+ * - 값이 없거나 타입에 맞지 않으면 BindException -> 400
+ * - 지원하지 않는 파라미터는 요청이 올 때가 아니라 시작 시점에 IllegalStateException
+ */
+abstract class ArgumentBinders {
+
+    static ArgumentBinder of(Method method, Parameter parameter) {
+        Class<?> type = parameter.getType();
+
+        RequestParam requestParam = parameter.getAnnotation(RequestParam.class);
+        if (requestParam != null) {
+            String name = name(parameter, requestParam.value(), requestParam.name());
+            String defaultValue = ValueConstants.DEFAULT_NONE.equals(requestParam.defaultValue()) ? null : requestParam.defaultValue();
+            return value(method, parameter, name, requestParam.required() && defaultValue == null, defaultValue,
+                    (request, pathVariables) -> request.getParameter(name));
+        }
+
+        PathVariable pathVariable = parameter.getAnnotation(PathVariable.class);
+        if (pathVariable != null) {
+            String name = name(parameter, pathVariable.value(), pathVariable.name());
+            return value(method, parameter, name, true, null,
+                    (request, pathVariables) -> pathVariables == null ? null : pathVariables.get(name));
+        }
+
+        if (ServletRequest.class.isAssignableFrom(type)) {
+            return (request, response, pathVariables, model) -> request;
+        }
+        if (ServletResponse.class.isAssignableFrom(type)) {
+            return (request, response, pathVariables, model) -> response;
+        }
+        if (Map.class.equals(type)) {
+            return (request, response, pathVariables, model) -> model;
+        }
+        if (!type.isPrimitive() && !type.isArray() && !type.getName().startsWith("java.")) {
+            ParamReader.checkBindable(type);
+            return (request, response, pathVariables, model) -> {
+                ParamReader reader = ParamReader.of(new RequestParamMap(request, pathVariables));
+                Object value = reader.bind(type);
+                reader.validate();
+                return value;
+            };
+        }
+        throw new IllegalStateException("지원하지 않는 파라미터입니다. method = " + method + ", parameter = " + parameter);
+    }
+
+    private static ArgumentBinder value(Method method, Parameter parameter, String name, boolean required, String defaultValue,
+                                        ValueSource source) {
+        Class<?> type = parameter.getType();
+        Function<String, Object> converter = ParamConverters.of(type);
+        if (converter == null) {
+            throw new IllegalStateException("변환할 수 없는 파라미터 타입입니다. method = " + method + ", parameter = " + parameter);
+        }
+        if (type.isPrimitive() && !required && defaultValue == null) {
+            throw new IllegalStateException("기본 타입 파라미터는 필수이거나 defaultValue 가 있어야합니다. method = " + method + ", parameter = " + parameter);
+        }
+        Object convertedDefault = defaultValue == null ? null : converter.apply(defaultValue); // 기본값은 한 번만 변환
+        String typeMismatchMessage = ParamConverters.typeMismatchMessage(type);
+
+        return (request, response, pathVariables, model) -> {
+            String value = source.get(request, pathVariables);
+            if (value == null || value.isEmpty()) {
+                if (convertedDefault != null) {
+                    return convertedDefault;
+                }
+                if (required) {
+                    throw new BindException(new FieldError(name, null, ParamConverters.missingMessage()));
+                }
+                return null;
+            }
+            try {
+                return converter.apply(value);
+            } catch (IllegalArgumentException e) {
+                throw new BindException(new FieldError(name, value, typeMismatchMessage));
+            }
+        };
+    }
+
+    private static String name(Parameter parameter, String value, String name) {
+        if (!value.isEmpty()) {
+            return value;
+        }
+        if (!name.isEmpty()) {
+            return name;
+        }
+        if (!parameter.isNamePresent()) {
+            throw new IllegalStateException("파라미터 이름을 알 수 없습니다. 애노테이션에 이름을 지정하거나 -parameters 로 컴파일해야합니다. parameter = " + parameter);
+        }
+        return parameter.getName();
+    }
+
+    @FunctionalInterface
+    private interface ValueSource {
+        String get(HttpServletRequest request, Map<String, String> pathVariables);
+    }
+}
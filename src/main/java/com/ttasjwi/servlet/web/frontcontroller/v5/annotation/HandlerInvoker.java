@@ -0,0 +1,126 @@
+package com.ttasjwi.servlet.web.frontcontroller.v5.annotation;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+
+/**
+ * 핸들러 메서드를 (bean, args) 로 호출
+ * - 값을 반환하는 인자 MAX_ARITY 개 이하의 메서드는 LambdaMetafactory 로 컨트롤러 메서드를 직접 호출하는 클래스를 만들어서 사용
+ *   -> 호출 대상이 바이트코드에 고정되므로 JIT 가 컨트롤러 메서드까지 인라인할 수 있음
+ *   (인스턴스 필드에 담긴 MethodHandle 은 JIT 에게 상수가 아니라서 invokeExact 너머로 인라인되지 않음)
+ * - 그 외(void 반환, 인자가 많은 메서드)는 (Object, Object[])Object 로 맞춘 MethodHandle 로 호출
+ */
+@FunctionalInterface
+public interface HandlerInvoker {
+
+    int MAX_ARITY = 5;
+
+    Object invoke(Object bean, Object[] args) throws Throwable;
+
+    static HandlerInvoker of(Method method) {
+        MethodHandles.Lookup lookup;
+        MethodHandle handle;
+        try {
+            method.setAccessible(true);
+            lookup = MethodHandles.privateLookupIn(method.getDeclaringClass(), MethodHandles.lookup());
+            handle = lookup.unreflect(method);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("핸들러 메서드에 접근할 수 없습니다. method = " + method, e);
+        }
+
+        int parameterCount = method.getParameterCount();
+        if (method.getReturnType() != void.class && parameterCount <= MAX_ARITY) {
+            try {
+                return generated(lookup, handle, parameterCount);
+            } catch (LambdaConversionException e) {
+                // 만들 수 없는 모양이면 아래의 MethodHandle 로 호출
+            }
+        }
+
+        // (Bean, A, B ...)R -> (Object, Object, Object ...)Object -> (Object, Object[])Object
+        // 기본 타입 인자는 unboxing, void 반환은 null 로 바뀜
+        MethodHandle spreader = handle.asType(MethodType.genericMethodType(parameterCount + 1))
+                .asSpreader(Object[].class, parameterCount);
+        return (bean, args) -> (Object) spreader.invokeExact(bean, args);
+    }
+
+    private static HandlerInvoker generated(MethodHandles.Lookup lookup, MethodHandle handle, int parameterCount) throws LambdaConversionException {
+        switch (parameterCount) {
+            case 0:
+                Arity0 arity0 = metafactory(lookup, handle, Arity0.class);
+                return (bean, args) -> arity0.call(bean);
+            case 1:
+                Arity1 arity1 = metafactory(lookup, handle, Arity1.class);
+                return (bean, args) -> arity1.call(bean, args[0]);
+            case 2:
+                Arity2 arity2 = metafactory(lookup, handle, Arity2.class);
+                return (bean, args) -> arity2.call(bean, args[0], args[1]);
+            case 3:
+                Arity3 arity3 = metafactory(lookup, handle, Arity3.class);
+                return (bean, args) -> arity3.call(bean, args[0], args[1], args[2]);
+            case 4:
+                Arity4 arity4 = metafactory(lookup, handle, Arity4.class);
+                return (bean, args) -> arity4.call(bean, args[0], args[1], args[2], args[3]);
+            case 5:
+                Arity5 arity5 = metafactory(lookup, handle, Arity5.class);
+                return (bean, args) -> arity5.call(bean, args[0], args[1], args[2], args[3], args[4]);
+            default:
+                throw new LambdaConversionException("인자가 너무 많습니다. count = " + parameterCount);
+        }
+    }
+
+    /**
+     * handle 을 호출하는 functionalInterface 구현 객체 생성
+     * - 인터페이스 메서드는 모두 Object 를 받고, 실제 파라미터 타입(기본 타입은 wrapper)으로의 cast, unboxing 은 생성된 클래스가 처리
+     */
+    private static <T> T metafactory(MethodHandles.Lookup lookup, MethodHandle handle, Class<T> functionalInterface) throws LambdaConversionException {
+        MethodType handleType = handle.type();
+        MethodType erased = MethodType.genericMethodType(handleType.parameterCount());
+        try {
+            CallSite callSite = LambdaMetafactory.metafactory(lookup, "call", MethodType.methodType(functionalInterface),
+                    erased, handle, handleType.wrap());
+            return functionalInterface.cast(callSite.getTarget().invoke());
+        } catch (LambdaConversionException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("핸들러 메서드 호출기를 만들 수 없습니다. handle = " + handle, e);
+        }
+    }
+
+    // LambdaMetafactory 가 구현하는 인자 수별 인터페이스 (첫 번째 인자는 bean). 생성된 클래스에서 보이도록 public
+
+    @FunctionalInterface
+    interface Arity0 {
+        Object call(Object bean);
+    }
+
+    @FunctionalInterface
+    interface Arity1 {
+        Object call(Object bean, Object a0);
+    }
+
+    @FunctionalInterface
+    interface Arity2 {
+        Object call(Object bean, Object a0, Object a1);
+    }
+
+    @FunctionalInterface
+    interface Arity3 {
+        Object call(Object bean, Object a0, Object a1, Object a2);
+    }
+
+    @FunctionalInterface
+    interface Arity4 {
+        Object call(Object bean, Object a0, Object a1, Object a2, Object a3);
+    }
+
+    @FunctionalInterface
+    interface Arity5 {
+        Object call(Object bean, Object a0, Object a1, Object a2, Object a3, Object a4);
+    }
+}
@@ -0,0 +1,23 @@
+package com.ttasjwi.servlet.web.frontcontroller.v5.annotation;
+
+import org.springframework.stereotype.Indexed;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * FrontControllerServletV5 가 시작할 때 찾아서 등록하는 애노테이션 기반 컨트롤러 표시
+ * - 스프링 빈이 아니고, 기본 생성자로 한 번 생성해서 사용 (스프링 MVC 가 처리하지 않도록 @Controller 와 구분)
+ * - 경로와 HTTP 메서드는 스프링의 @RequestMapping, @GetMapping, @PostMapping 으로 지정
+ * - 파라미터는 @RequestParam, @PathVariable, Map(model), HttpServletRequest, HttpServletResponse, 바인딩할 객체(ex: Member) 를 지원
+ * - @Indexed : 빌드 시 spring-context-indexer 가 META-INF/spring.components 에 기록 -> AnnotatedHandlerScanner 가 클래스패스를 훑지 않음
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Indexed
+public @interface MyController {
+}
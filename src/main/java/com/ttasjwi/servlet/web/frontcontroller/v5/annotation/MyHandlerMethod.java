@@ -0,0 +1,89 @@
+package com.ttasjwi.servlet.web.frontcontroller.v5.annotation;
+
+import com.ttasjwi.servlet.web.cache.CacheableResponse;
+import com.ttasjwi.servlet.web.frontcontroller.ModelView;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.Map;
+
+/**
+ * @MyController 의 핸들러 메서드 하나
+ * - 시작 시점에 HandlerInvoker 를 만들어둠 (LambdaMetafactory 로 생성한 클래스, 또는 MethodHandle)
+ *   -> 요청마다 Method.invoke 의 접근 검사, 인자 배열 검사를 하지 않음
+ * - 파라미터마다 ArgumentBinder 를 미리 만들어둠
+ */
+public class MyHandlerMethod {
+
+    private static final Object[] NO_ARGS = new Object[0];
+
+    private final Object bean;
+    private final Method method;
+    private final HandlerInvoker invoker;
+    private final ArgumentBinder[] binders;
+    private final boolean cacheable;
+
+    MyHandlerMethod(Object bean, Method method) {
+        Class<?> returnType = method.getReturnType();
+        if (returnType != String.class && returnType != ModelView.class && returnType != void.class) {
+            throw new IllegalStateException("핸들러 메서드는 String, ModelView, void 를 반환해야합니다. method = " + method);
+        }
+        this.bean = bean;
+        this.method = method;
+        this.binders = binders(method);
+        this.invoker = HandlerInvoker.of(method);
+        this.cacheable = method.isAnnotationPresent(CacheableResponse.class);
+    }
+
+    /**
+     * @return 핸들러의 반환값 (view 이름, ModelView, 또는 응답을 직접 썼으면 null)
+     */
+    public Object invoke(HttpServletRequest request, HttpServletResponse response,
+                         Map<String, String> pathVariables, Map<String, Object> model) throws ServletException, IOException {
+        Object[] args = binders.length == 0 ? NO_ARGS : new Object[binders.length];
+        for (int i = 0; i < binders.length; i++) {
+            args[i] = binders[i].bind(request, response, pathVariables, model);
+        }
+
+        try {
+            return invoker.invoke(bean, args);
+        } catch (ServletException | IOException | RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new ServletException(e);
+        }
+    }
+
+    public Object getBean() {
+        return bean;
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    /**
+     * @CacheableResponse 가 붙은 메서드 -> 빈이 MyLastModified 이면 조건부 GET, 렌더링 결과 캐시 대상
+     */
+    public boolean isCacheable() {
+        return cacheable;
+    }
+
+    private static ArgumentBinder[] binders(Method method) {
+        Parameter[] parameters = method.getParameters();
+        ArgumentBinder[] binders = new ArgumentBinder[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            binders[i] = ArgumentBinders.of(method, parameters[i]);
+        }
+        return binders;
+    }
+
+    @Override
+    public String toString() {
+        return method.toString();
+    }
+}
@@ -0,0 +1,110 @@
+package com.ttasjwi.servlet.web.frontcontroller.v5.controller;
+
+import com.ttasjwi.servlet.domain.Member;
+import com.ttasjwi.servlet.domain.MemberRepository;
+import com.ttasjwi.servlet.web.NotFoundException;
+import com.ttasjwi.servlet.web.PageParams;
+import com.ttasjwi.servlet.web.SearchParams;
+import com.ttasjwi.servlet.web.cache.CacheableResponse;
+import com.ttasjwi.servlet.web.frontcontroller.MyLastModified;
+import com.ttasjwi.servlet.web.frontcontroller.v5.annotation.MyController;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 프론트 컨트롤러 v5 가 애노테이션으로 찾아서 등록하는 컨트롤러 (SpringMemberControllerV3 와 같은 모양)
+ */
+@MyController
+@RequestMapping("/front-controller/v5/annotated/members")
+public class MemberControllerV5 implements MyLastModified {
+
+    private MemberRepository memberRepository = MemberRepository.getInstance();
+
+    @GetMapping("/new-form")
+    public String newForm() {
+        return "new-form";
+    }
+
+    @PostMapping("/save")
+    public String save(
+            @RequestParam("username") String username,
+            @RequestParam("age") int age,
+            Map<String, Object> model) {
+
+        Member member = new Member(username, age);
+        memberRepository.save(member);
+
+        model.put("member", member);
+        return "save-result";
+    }
+
+    @CacheableResponse
+    @GetMapping
+    public String members(
+            @RequestParam(value = PageParams.AFTER_ID, required = false) String afterId,
+            @RequestParam(value = PageParams.SIZE, required = false) String size,
+            Map<String, Object> model) {
+
+        int pageSize = PageParams.size(size); // 기본값, 범위, 잘못된 값(400) 처리를 다른 목록과 같게
+        List<Member> members = memberRepository.findPage(PageParams.afterId(afterId), pageSize);
+
+        model.put("members", members);
+        model.put(PageParams.NEXT_PAGE, PageParams.nextPage(memberRepository, members, pageSize));
+        return "members";
+    }
+
+    //   /front-controller/v5/annotated/members/search?username=kim , ...?minAge=20&maxAge=30
+    @CacheableResponse
+    @GetMapping("/search")
+    public String search(
+            @RequestParam(value = SearchParams.USERNAME, required = false) String username,
+            @RequestParam(value = SearchParams.MIN_AGE, required = false) String minAge,
+            @RequestParam(value = SearchParams.MAX_AGE, required = false) String maxAge,
+            @RequestParam(value = PageParams.SIZE, required = false) String size,
+            Map<String, Object> model) {
+
+        List<Member> members = SearchParams.search(memberRepository, username, minAge, maxAge, size); // size 명까지
+
+        model.put("members", members);
+        return "members";
+    }
+
+    @GetMapping("/{id}")
+    public String member(@PathVariable("id") long id, Map<String, Object> model) {
+        Member member = memberRepository.findById(id);
+        if (member == null) {
+            throw new NotFoundException("회원을 찾을 수 없습니다. id = " + id); // 없는 id -> 404
+        }
+
+        model.put("member", member);
+        return "member";
+    }
+
+    /**
+     * 조건부 GET 대상(@CacheableResponse)인 목록, 검색의 페이지 파라미터를 304 판단 전에 검증
+     */
+    @Override
+    public void validate(HttpServletRequest request) {
+        PageParams.size(request.getParameter(PageParams.SIZE));
+        if (!request.getRequestURI().endsWith("/search")) {
+            PageParams.afterId(request.getParameter(PageParams.AFTER_ID)); // 검색은 afterId 를 사용하지 않음
+        }
+    }
+
+    @Override
+    public long getVersion() {
+        return memberRepository.getVersion();
+    }
+
+    @Override
+    public long getLastModified() {
+        return memberRepository.getLastModified();
+    }
+}
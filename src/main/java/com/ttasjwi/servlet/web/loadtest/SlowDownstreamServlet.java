@@ -0,0 +1,65 @@
+package com.ttasjwi.servlet.web.loadtest;
+
+import com.ttasjwi.servlet.web.bind.BindException;
+import com.ttasjwi.servlet.web.bind.ParamReader;
+import org.springframework.core.env.Environment;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.context.support.WebApplicationContextUtils;
+
+import javax.servlet.ServletException;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 느린 외부 I/O 를 기다리는 요청을 흉내내는 부하 테스트용 엔드포인트 (SlowRequestLoadTest)
+ * - GET /load-test/slow?delayMs=200 : delayMs 만큼 요청 스레드를 재운 뒤 응답 (최대 MAX_DELAY_MS)
+ * - load-test.enabled=true 일 때만 동작하고, 아니면 404
+ */
+@WebServlet(name = "slowDownstreamServlet", urlPatterns = "/load-test/slow")
+public class SlowDownstreamServlet extends HttpServlet {
+
+    private static final int DEFAULT_DELAY_MS = 200;
+    private static final int MAX_DELAY_MS = 10_000;
+
+    private boolean enabled;
+
+    @Override
+    public void init() throws ServletException {
+        WebApplicationContext context = WebApplicationContextUtils.getWebApplicationContext(getServletContext());
+        Environment environment = context == null ? null : context.getEnvironment();
+        enabled = environment != null && environment.getProperty("load-test.enabled", Boolean.class, false);
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+        if (!enabled) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        int delayMillis;
+        try {
+            ParamReader params = ParamReader.of(request);
+            delayMillis = Math.min(Math.max(0, params.getInt("delayMs", DEFAULT_DELAY_MS)), MAX_DELAY_MS);
+            params.validate();
+        } catch (BindException e) {
+            e.sendError(response);
+            return;
+        }
+
+        try {
+            Thread.sleep(delayMillis); // 가상 스레드에서는 캐리어 스레드를 반환하고 기다림
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            return;
+        }
+
+        response.setContentType("text/plain");
+        response.setCharacterEncoding("utf-8");
+        response.getWriter().write("ok");
+    }
+}
@@ -0,0 +1,62 @@
+package com.ttasjwi.servlet.web.metrics;
+
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.ModelAndView;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * 스프링 MVC 컨트롤러의 route 별 지연시간 기록
+ * - preHandle ~ postHandle : HANDLE, postHandle ~ afterCompletion : RENDER (view 조회 + 렌더링), preHandle ~ afterCompletion : TOTAL
+ * - route 는 매칭된 @RequestMapping 패턴
+ */
+public class LatencyInterceptor implements HandlerInterceptor {
+
+    public static final String DISPATCHER = "springmvc";
+
+    private static final String START_ATTRIBUTE = LatencyInterceptor.class.getName() + ".start";
+    private static final String HANDLED_ATTRIBUTE = LatencyInterceptor.class.getName() + ".handled";
+
+    private final MetricsRegistry metricsRegistry = MetricsRegistry.getInstance();
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler, ModelAndView modelAndView) {
+        long now = System.nanoTime();
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (start != null) {
+            routeMetrics(request).record(RouteMetrics.Phase.HANDLE, now - (Long) start);
+            request.setAttribute(HANDLED_ATTRIBUTE, now);
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        long now = System.nanoTime();
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (start == null) {
+            return;
+        }
+        RouteMetrics metrics = routeMetrics(request);
+        Object handled = request.getAttribute(HANDLED_ATTRIBUTE);
+        if (handled != null) {
+            metrics.record(RouteMetrics.Phase.RENDER, now - (Long) handled);
+        }
+        metrics.record(RouteMetrics.Phase.TOTAL, now - (Long) start);
+        if (ex != null) {
+            metrics.recordError();
+        }
+    }
+
+    private RouteMetrics routeMetrics(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return metricsRegistry.route(DISPATCHER, pattern == null ? MetricsRegistry.UNMATCHED_ROUTE : pattern.toString());
+    }
+}
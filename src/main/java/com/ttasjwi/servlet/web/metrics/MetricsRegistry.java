@@ -0,0 +1,44 @@
+package com.ttasjwi.servlet.web.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * (dispatcher, route) 별 RouteMetrics 저장소
+ * - route 는 요청 URI 가 아닌 등록된 패턴(/members/{id} 등)을 사용해서 항목 수가 route 수로 제한되도록 함
+ */
+public class MetricsRegistry {
+
+    public static final String UNMATCHED_ROUTE = "unmatched";
+
+    private static final MetricsRegistry instance = new MetricsRegistry();
+
+    private final ConcurrentMap<String, ConcurrentMap<String, RouteMetrics>> dispatchers = new ConcurrentHashMap<>();
+
+    public static MetricsRegistry getInstance() {
+        return instance;
+    }
+
+    private MetricsRegistry() {
+    }
+
+    public RouteMetrics route(String dispatcher, String route) {
+        ConcurrentMap<String, RouteMetrics> routes = dispatchers.get(dispatcher);
+        if (routes == null) {
+            routes = dispatchers.computeIfAbsent(dispatcher, d -> new ConcurrentHashMap<>());
+        }
+        RouteMetrics metrics = routes.get(route); // 대부분 이미 있으므로 computeIfAbsent 의 잠금을 피함
+        if (metrics != null) {
+            return metrics;
+        }
+        return routes.computeIfAbsent(route, r -> new RouteMetrics(dispatcher, route));
+    }
+
+    public List<RouteMetrics> getRoutes() {
+        List<RouteMetrics> result = new ArrayList<>();
+        dispatchers.values().forEach(routes -> result.addAll(routes.values()));
+        return result;
+    }
+}
@@ -0,0 +1,151 @@
+package com.ttasjwi.servlet.web.metrics;
+
+import com.ttasjwi.servlet.web.accesslog.AccessLogger;
+import com.ttasjwi.servlet.web.cache.RenderedResponseCache;
+import com.ttasjwi.servlet.web.compression.CompressionStats;
+
+import javax.servlet.ServletException;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Prometheus text format(0.0.4) 으로 지표를 노출
+ * - http_server_phase_seconds : route, 단계별 지연시간 summary (p50, p90, p99, p999 는 시작 이후 누적 기준)
+ * - http_server_errors_total : route 별 예외 수
+ * - response_cache_* : 렌더링 결과 캐시 카운터 (켜져 있을 때만)
+ * - access_log_* : 접근 로그 기록, 샘플링, 유실 카운터 (켜져 있을 때만)
+ * - compression_* : 압축한 응답 수, 압축 전후 바이트 수, 만든 Deflater 수 (켜져 있을 때만)
+ * - jvm_threads_*, jvm_memory_heap_used_bytes, process_resident_memory_bytes : 스레드 수와 메모리 (가상 스레드 모드 비교용)
+ *   가상 스레드는 jvm_threads_* 에 포함되지 않고 스택이 힙에 있으므로, 두 모드의 메모리는 RSS 로 비교
+ */
+@WebServlet(name = "metricsServlet", urlPatterns = "/metrics")
+public class MetricsServlet extends HttpServlet {
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private static final Path PROC_STATUS = Paths.get("/proc/self/status");
+
+    private final MetricsRegistry metricsRegistry = MetricsRegistry.getInstance();
+
+    @Override
+    protected void service(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+        response.setContentType("text/plain; version=0.0.4");
+        response.setCharacterEncoding("utf-8");
+        PrintWriter w = response.getWriter();
+
+        List<RouteMetrics> routes = metricsRegistry.getRoutes();
+        routes.sort(Comparator.comparing(RouteMetrics::getDispatcher).thenComparing(RouteMetrics::getRoute));
+
+        w.write("# HELP http_server_phase_seconds Request latency by route and phase\n");
+        w.write("# TYPE http_server_phase_seconds summary\n");
+        for (RouteMetrics route : routes) {
+            for (RouteMetrics.Phase phase : RouteMetrics.Phase.values()) {
+                LatencyHistogram histogram = route.getHistogram(phase);
+                if (histogram.getCount() == 0) {
+                    continue;
+                }
+                String labels = labels(route, phase);
+                long[] values = histogram.percentiles(QUANTILES);
+                for (int i = 0; i < QUANTILES.length; i++) {
+                    w.write("http_server_phase_seconds{" + labels + ",quantile=\"" + QUANTILES[i] + "\"} " + seconds(values[i]) + "\n");
+                }
+                w.write("http_server_phase_seconds_sum{" + labels + "} " + seconds(histogram.getSum()) + "\n");
+                w.write("http_server_phase_seconds_count{" + labels + "} " + histogram.getCount() + "\n");
+            }
+        }
+
+        w.write("# HELP http_server_errors_total Requests that ended with an exception\n");
+        w.write("# TYPE http_server_errors_total counter\n");
+        for (RouteMetrics route : routes) {
+            w.write("http_server_errors_total{dispatcher=\"" + escape(route.getDispatcher())
+                    + "\",route=\"" + escape(route.getRoute()) + "\"} " + route.getErrors() + "\n");
+        }
+
+        RenderedResponseCache cache = (RenderedResponseCache) getServletContext().getAttribute(RenderedResponseCache.CONTEXT_ATTRIBUTE);
+        if (cache != null) {
+            counter(w, "response_cache_hits_total", "Rendered response cache hits", cache.getHits());
+            counter(w, "response_cache_misses_total", "Rendered response cache misses", cache.getMisses());
+            counter(w, "response_cache_evictions_total", "Rendered response cache LRU evictions", cache.getEvictions());
+            counter(w, "response_cache_invalidations_total", "Rendered response cache entries invalidated by writes", cache.getInvalidations());
+        }
+
+        AccessLogger accessLogger = (AccessLogger) getServletContext().getAttribute(AccessLogger.CONTEXT_ATTRIBUTE);
+        if (accessLogger != null) {
+            counter(w, "access_log_written_total", "Access log entries written to file", accessLogger.getWritten());
+            counter(w, "access_log_sampled_out_total", "Access log entries skipped by overload sampling", accessLogger.getSampledOut());
+            counter(w, "access_log_dropped_total", "Access log entries dropped because the buffer was full", accessLogger.getDropped());
+        }
+
+        CompressionStats compression = (CompressionStats) getServletContext().getAttribute(CompressionStats.CONTEXT_ATTRIBUTE);
+        if (compression != null) {
+            counter(w, "compression_responses_total", "Responses compressed", compression.getResponses());
+            counter(w, "compression_input_bytes_total", "Response body bytes before compression", compression.getInputBytes());
+            counter(w, "compression_output_bytes_total", "Response body bytes after compression", compression.getOutputBytes());
+            counter(w, "compression_deflaters_created_total", "Deflaters created because the pool was empty", compression.getDeflatersCreated());
+        }
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        gauge(w, "jvm_threads_live", "Live platform threads", threads.getThreadCount());
+        gauge(w, "jvm_threads_peak", "Peak live platform threads since start", threads.getPeakThreadCount());
+        gauge(w, "jvm_memory_heap_used_bytes", "Used heap memory", ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed());
+        long residentBytes = residentMemoryBytes();
+        if (residentBytes >= 0) {
+            gauge(w, "process_resident_memory_bytes", "Resident set size of the process", residentBytes);
+        }
+    }
+
+    // 리눅스의 /proc/self/status 의 VmRSS (kB). 읽을 수 없으면 -1
+    private static long residentMemoryBytes() {
+        if (!Files.isReadable(PROC_STATUS)) {
+            return -1;
+        }
+        try {
+            for (String line : Files.readAllLines(PROC_STATUS)) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.substring("VmRSS:".length()).replace("kB", "").trim()) * 1024;
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            return -1;
+        }
+        return -1;
+    }
+
+    private static void gauge(PrintWriter w, String name, String help, long value) {
+        w.write("# HELP " + name + " " + help + "\n");
+        w.write("# TYPE " + name + " gauge\n");
+        w.write(name + " " + value + "\n");
+    }
+
+    private static void counter(PrintWriter w, String name, String help, long value) {
+        w.write("# HELP " + name + " " + help + "\n");
+        w.write("# TYPE " + name + " counter\n");
+        w.write(name + " " + value + "\n");
+    }
+
+    private static String labels(RouteMetrics route, RouteMetrics.Phase phase) {
+        return "dispatcher=\"" + escape(route.getDispatcher()) + "\",route=\"" + escape(route.getRoute())
+                + "\",phase=\"" + phase.name().toLowerCase(Locale.ROOT) + "\"";
+    }
+
+    private static String seconds(long nanos) {
+        return Double.toString(nanos / NANOS_PER_SECOND);
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
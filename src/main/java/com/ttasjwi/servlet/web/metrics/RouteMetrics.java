@@ -0,0 +1,56 @@
+package com.ttasjwi.servlet.web.metrics;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 한 route 의 단계별 지연시간 히스토그램과 에러 수
+ */
+public class RouteMetrics {
+
+    public enum Phase {
+        LOOKUP,  // 핸들러 조회
+        HANDLE,  // 핸들러(어댑터) 실행. v5 비동기 모드에서는 작업 큐 대기시간 포함
+        RESOLVE, // view 조회
+        RENDER,  // view 렌더링
+        TOTAL    // 요청 전체
+    }
+
+    private final String dispatcher;
+    private final String route;
+    private final Map<Phase, LatencyHistogram> histograms = new EnumMap<>(Phase.class);
+    private final LongAdder errors = new LongAdder();
+
+    RouteMetrics(String dispatcher, String route) {
+        this.dispatcher = dispatcher;
+        this.route = route;
+        for (Phase phase : Phase.values()) {
+            histograms.put(phase, new LatencyHistogram()); // 생성 후에는 읽기만 하므로 동기화 불필요
+        }
+    }
+
+    public void record(Phase phase, long nanos) {
+        histograms.get(phase).record(nanos);
+    }
+
+    public void recordError() {
+        errors.increment();
+    }
+
+    public String getDispatcher() {
+        return dispatcher;
+    }
+
+    public String getRoute() {
+        return route;
+    }
+
+    public LatencyHistogram getHistogram(Phase phase) {
+        return histograms.get(phase);
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+}
@@ -0,0 +1,62 @@
+package com.ttasjwi.servlet.web.server;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+
+/**
+ * AppCDS 아카이브를 만드는 학습 실행(startup.training-run=true) 용. 시작이 끝나면 주요 화면을 한 번씩 요청한 뒤 종료
+ * - 요청을 보내야 JSP, 프론트 컨트롤러, Jackson 처럼 첫 요청에서 읽히는 클래스까지 아카이브에 포함됨
+ * - -XX:ArchiveClassesAtExit 는 JVM 이 정상 종료될 때 아카이브를 씀 (./gradlew cdsArchive)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "startup.training-run", havingValue = "true")
+public class TrainingRunExitListener implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final String DEFAULT_PATHS = "/index.html,/hello?username=training,/servlet/members,/servlet-mvc/members,"
+            + "/front-controller/v5/v4/members,/front-controller/v5/annotated/members,/springmvc/v3/members,/api/members";
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        ConfigurableApplicationContext context = event.getApplicationContext();
+        Environment environment = context.getEnvironment();
+        int port = environment.getProperty("local.server.port", Integer.class, 8080);
+
+        for (String path : environment.getProperty("startup.training-run.paths", DEFAULT_PATHS).split(",")) {
+            int status = request("http://localhost:" + port + path.trim());
+            log.info("학습 요청 path = {}, status = {}", path.trim(), status);
+        }
+
+        log.info("학습 실행을 마치고 종료합니다.");
+        System.exit(SpringApplication.exit(context));
+    }
+
+    // 응답 body 까지 모두 읽어야 렌더링이 끝까지 실행됨. 실패하면 -1
+    private static int request(String url) {
+        try {
+            HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+            int status = connection.getResponseCode();
+            try (InputStream body = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+                if (body != null) {
+                    body.transferTo(OutputStream.nullOutputStream());
+                }
+            }
+            return status;
+        } catch (IOException e) {
+            log.warn("학습 요청 실패. url = {}", url, e);
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.ttasjwi.servlet.web.server;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * spring.threads.virtual.enabled=true 일 때 내장 톰캣이 요청마다 가상 스레드에서 처리하도록 설정 (JDK 21 이상에서 실행해야 함)
+ * - 고정 크기 작업 스레드 풀(server.tomcat.threads.max) 대신 요청 하나당 가상 스레드 하나
+ *   -> 느린 I/O 를 기다리는 요청이 많아도 스레드 풀이 먼저 고갈되지 않음. 동시 연결 수는 server.tomcat.max-connections 로 제한
+ * - 설정 이름은 스프링 부트 3.2 의 같은 기능과 맞춤
+ * - 외부 톰캣에 war 로 배포(ServletInitializer)한 경우에는 적용되지 않음
+ * <p>
+ * 주의 : 부트 2.6 의 톰캣 9 는 소켓 읽기/쓰기에서 synchronized 블록 안에서 기다림 (NioEndpoint 의 blocking read/write)
+ * -> 요청 body 를 천천히 보내거나 응답을 천천히 받는 클라이언트를 기다리는 동안 가상 스레드가 carrier 스레드를 붙잡음 (pinning, JDK 21 ~ 23)
+ * -> 이득은 핸들러 안의 대기(sleep, 다른 서버 호출 등)에 한정. -Djdk.tracePinnedThreads=short 로 확인할 수 있음
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    public VirtualThreadTomcatCustomizer virtualThreadTomcatCustomizer() {
+        return new VirtualThreadTomcatCustomizer();
+    }
+}
@@ -0,0 +1,39 @@
+package com.ttasjwi.servlet.web.server;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.AbstractProtocol;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * 톰캣 커넥터의 작업 스레드 풀을 요청마다 가상 스레드를 만드는 executor 로 교체
+ * - executor 를 빈으로 노출하지 않음 (Executor 빈이 있으면 스프링 부트가 applicationTaskExecutor 를 만들지 않음)
+ * - 톰캣은 외부에서 받은 executor 를 닫지 않으므로, 웹 서버가 멈춘 뒤 컨텍스트 종료 시 직접 닫음
+ */
+@Slf4j
+public class VirtualThreadTomcatCustomizer implements WebServerFactoryCustomizer<TomcatServletWebServerFactory>, DisposableBean {
+
+    private final ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor("tomcat-virtual-");
+
+    @Override
+    public void customize(TomcatServletWebServerFactory factory) {
+        factory.addConnectorCustomizers(connector -> {
+            ProtocolHandler protocolHandler = connector.getProtocolHandler();
+            if (protocolHandler instanceof AbstractProtocol) {
+                ((AbstractProtocol<?>) protocolHandler).setExecutor(executor);
+                log.info("톰캣 커넥터가 요청마다 가상 스레드에서 처리합니다. protocolHandler = {}", protocolHandler);
+            } else {
+                log.warn("가상 스레드 executor 를 설정할 수 없는 프로토콜입니다. protocolHandler = {}", protocolHandler);
+            }
+        });
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
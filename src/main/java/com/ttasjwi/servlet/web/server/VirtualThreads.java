@@ -0,0 +1,72 @@
+package com.ttasjwi.servlet.web.server;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 가상 스레드(JDK 21+) 관련 API 를 리플렉션으로 사용
+ * - 빌드는 sourceCompatibility = 11 이므로 Thread.ofVirtual(), Thread.isVirtual() 을 직접 호출할 수 없음
+ * - JDK 21 미만에서 실행하면 isSupported() 는 false, isVirtual() 은 항상 false
+ */
+public abstract class VirtualThreads {
+
+    private static final MethodHandle IS_VIRTUAL = findIsVirtual();
+
+    public static boolean isSupported() {
+        return IS_VIRTUAL != null;
+    }
+
+    /**
+     * 가상 스레드인지 확인
+     * 가상 스레드는 요청마다 새로 만들어지므로, 스레드마다 재사용하는 자원(ThreadLocal 풀 등)은 가상 스레드에서 쓰지 않음
+     */
+    public static boolean isVirtual(Thread thread) {
+        if (IS_VIRTUAL == null) {
+            return false;
+        }
+        try {
+            return (boolean) IS_VIRTUAL.invokeExact(thread);
+        } catch (Throwable e) {
+            return false;
+        }
+    }
+
+    /**
+     * 작업마다 새 가상 스레드에서 실행하는 ExecutorService (Executors.newThreadPerTaskExecutor)
+     * 스레드 이름은 namePrefix + 0, 1, 2 ...
+     *
+     * @throws IllegalStateException 가상 스레드를 지원하지 않는 JDK 인 경우
+     */
+    public static ExecutorService newThreadPerTaskExecutor(String namePrefix) {
+        if (!isSupported()) {
+            throw new IllegalStateException("가상 스레드는 JDK 21 이상에서만 사용할 수 있습니다. 현재 JDK = " + System.getProperty("java.version"));
+        }
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+            ThreadFactory factory = (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+
+            Method newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return (ExecutorService) newThreadPerTaskExecutor.invoke(null, factory);
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException("가상 스레드 executor 를 만들 수 없습니다.", e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("가상 스레드 executor 를 만들 수 없습니다.", e);
+        }
+    }
+
+    private static MethodHandle findIsVirtual() {
+        try {
+            return MethodHandles.publicLookup().findVirtual(Thread.class, "isVirtual", MethodType.methodType(boolean.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.ttasjwi.servlet.web.servlet;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.ttasjwi.servlet.domain.Member;
+import com.ttasjwi.servlet.domain.MemberRepository;
+import com.ttasjwi.servlet.web.JsonCodecs;
+
+import javax.servlet.ServletException;
+import javax.servlet.ServletInputStream;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 회원 일괄 등록 (POST /servlet/members/import?batchSize=1000)
+ * - Content-Type 이 text/csv 이면 CSV, 그 외에는 NDJSON 으로 처리
+ * - NDJSON : 한 줄에 회원 하나 {"username":"hello","age":20}
+ * - CSV : 한 줄에 username,age (첫 줄이 username,age 이면 헤더로 보고 건너뜀. 따옴표 이스케이프는 지원하지 않음)
+ * - 요청 body 를 스트림에서 읽는 대로 batchSize 명씩 MemberRepository.saveAll 로 저장 -> body 전체를 메모리에 올리지 않음
+ * - 응답으로 등록 건수, 처리량(members/s), 배치별 저장 지연시간(평균, 최대)을 Json 으로 반환
+ * - 형식이 잘못된 줄을 만나면 400 (응답의 error 에 줄 번호). 그 이전 배치까지는 이미 저장되어 있으며 응답의 imported 에 포함됨
+ */
+@WebServlet(name = "memberImportServlet", urlPatterns = "/servlet/members/import")
+public class MemberImportServlet extends HttpServlet {
+
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+    public static final int MAX_BATCH_SIZE = 10000;
+
+    private MemberRepository memberRepository = MemberRepository.getInstance();
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+        int batchSize = batchSize(request.getParameter("batchSize"));
+        String contentType = request.getContentType();
+        boolean csv = contentType != null && contentType.toLowerCase().startsWith("text/csv");
+
+        ImportResult result = new ImportResult(batchSize);
+        String error = null;
+        try {
+            ServletInputStream inputStream = request.getInputStream();
+            if (csv) {
+                importCsv(inputStream, result);
+            } else {
+                importNdjson(inputStream, result);
+            }
+            result.flush();
+        } catch (IllegalArgumentException e) { // 형식이 잘못된 줄 (메시지에 줄 번호)
+            error = e.getMessage();
+        }
+        long elapsedNanos = System.nanoTime() - result.startNanos;
+
+        response.setStatus(error == null ? HttpServletResponse.SC_OK : HttpServletResponse.SC_BAD_REQUEST);
+        response.setContentType("application/json");
+        response.setCharacterEncoding("utf-8");
+        writeReport(response, result, elapsedNanos, error);
+    }
+
+    /**
+     * 스트리밍 파서로 회원 객체를 하나씩 읽음 (Member 로 바로 매핑하지 않고 필드를 직접 확인)
+     * - 객체가 아닌 값(null 등), username 이 문자열이 아니거나 없음, age 가 정수가 아니거나 없음 -> 그 줄 번호와 함께 400
+     */
+    private void importNdjson(ServletInputStream inputStream, ImportResult result) throws IOException {
+        try (JsonParser parser = JsonCodecs.objectMapper().getFactory().createParser(inputStream)) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) { // 루트 값이 여러 개 이어진 입력을 하나씩 읽음
+                int lineNumber = parser.getTokenLocation().getLineNr();
+                if (token != JsonToken.START_OBJECT) {
+                    throw new IllegalArgumentException("회원 객체가 아닙니다. line = " + lineNumber);
+                }
+                String username = null;
+                Integer age = null;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.getCurrentName();
+                    JsonToken value = parser.nextToken();
+                    if ("username".equals(field)) {
+                        if (value != JsonToken.VALUE_STRING) {
+                            throw new IllegalArgumentException("username 이 문자열이 아닙니다. line = " + lineNumber);
+                        }
+                        username = parser.getText();
+                    } else if ("age".equals(field)) {
+                        if (value != JsonToken.VALUE_NUMBER_INT || parser.getNumberType() != JsonParser.NumberType.INT) {
+                            throw new IllegalArgumentException("age 가 숫자가 아닙니다. line = " + lineNumber);
+                        }
+                        age = parser.getIntValue();
+                    } else {
+                        parser.skipChildren(); // 모르는 필드는 무시
+                    }
+                }
+                if (username == null) {
+                    throw new IllegalArgumentException("username 이 없습니다. line = " + lineNumber);
+                }
+                if (age == null) {
+                    throw new IllegalArgumentException("age 가 없습니다. line = " + lineNumber);
+                }
+                result.add(new Member(username, age));
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("JSON 형식이 아닙니다. line = " + (e.getLocation() == null ? "?" : e.getLocation().getLineNr()));
+        }
+    }
+
+    private void importCsv(ServletInputStream inputStream, ImportResult result) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || (lineNumber == 1 && line.trim().equalsIgnoreCase("username,age"))) {
+                continue;
+            }
+            int comma = line.lastIndexOf(',');
+            if (comma < 0) {
+                throw new IllegalArgumentException("CSV 형식이 아닙니다. line = " + lineNumber);
+            }
+            try {
+                int age = Integer.parseInt(line.substring(comma + 1).trim());
+                result.add(new Member(line.substring(0, comma).trim(), age));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("age 가 숫자가 아닙니다. line = " + lineNumber);
+            }
+        }
+    }
+
+    private void writeReport(HttpServletResponse response, ImportResult result, long elapsedNanos, String error) throws IOException {
+        double elapsedSeconds = elapsedNanos / 1_000_000_000.0;
+        try (JsonGenerator generator = JsonCodecs.objectMapper().getFactory().createGenerator(response.getOutputStream())) {
+            generator.writeStartObject();
+            generator.writeNumberField("imported", result.imported);
+            generator.writeNumberField("batches", result.batches);
+            generator.writeNumberField("batchSize", result.batchSize);
+            generator.writeNumberField("elapsedMillis", TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+            generator.writeNumberField("membersPerSecond", elapsedSeconds == 0 ? 0 : (long) (result.imported / elapsedSeconds));
+            generator.writeObjectFieldStart("batchLatencyMillis");
+            generator.writeNumberField("avg", result.batches == 0 ? 0 : toMillis(result.totalBatchNanos / result.batches));
+            generator.writeNumberField("max", toMillis(result.maxBatchNanos));
+            generator.writeEndObject();
+            if (error != null) {
+                generator.writeStringField("error", error);
+            }
+            generator.writeEndObject();
+        }
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static int batchSize(String value) {
+        if (value == null || value.isEmpty()) {
+            return DEFAULT_BATCH_SIZE;
+        }
+        try {
+            int size = Integer.parseInt(value);
+            return size <= 0 ? DEFAULT_BATCH_SIZE : Math.min(size, MAX_BATCH_SIZE);
+        } catch (NumberFormatException e) {
+            return DEFAULT_BATCH_SIZE;
+        }
+    }
+
+    /**
+     * 읽은 회원을 batchSize 만큼 모았다가 저장하고, 배치별 저장 시간을 집계
+     */
+    private class ImportResult {
+
+        private final int batchSize;
+        private final long startNanos = System.nanoTime();
+        private List<Member> batch;
+        private long imported;
+        private long batches;
+        private long totalBatchNanos;
+        private long maxBatchNanos;
+
+        private ImportResult(int batchSize) {
+            this.batchSize = batchSize;
+            this.batch = new ArrayList<>(batchSize);
+        }
+
+        private void add(Member member) {
+            batch.add(member);
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            long start = System.nanoTime();
+            memberRepository.saveAll(batch);
+            long latency = System.nanoTime() - start;
+
+            imported += batch.size();
+            batches++;
+            totalBatchNanos += latency;
+            maxBatchNanos = Math.max(maxBatchNanos, latency);
+            batch = new ArrayList<>(batchSize); // 저장된 리스트는 saveAll 의 반환값으로 넘어갔으므로 재사용하지 않음
+        }
+    }
+}
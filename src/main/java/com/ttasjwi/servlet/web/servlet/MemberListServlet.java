@@ -2,6 +2,11 @@ package com.ttasjwi.servlet.web.servlet;
 
 import com.ttasjwi.servlet.domain.Member;
 import com.ttasjwi.servlet.domain.MemberRepository;
+import com.ttasjwi.servlet.web.ConditionalGet;
+import com.ttasjwi.servlet.web.PageParams;
+import com.ttasjwi.servlet.web.bind.BindException;
+import com.ttasjwi.servlet.web.view.HtmlTemplateView;
+import com.ttasjwi.servlet.web.view.MembersTemplate;
 
 import javax.servlet.ServletException;
 import javax.servlet.annotation.WebServlet;
@@ -9,47 +14,35 @@ import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @WebServlet(name = "memberListServlet", urlPatterns = "/servlet/members")
 public class MemberListServlet extends HttpServlet {
 
     private MemberRepository memberRepository = MemberRepository.getInstance();
+    private final MembersTemplate membersTemplate = new MembersTemplate(); // 행마다 PrintWriter.write 를 여러 번 호출하지 않고, 미리 인코딩한 조각을 버퍼에 모아서 씀
 
     protected void service(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
-        List<Member> members = memberRepository.findAll();
-
-        response.setContentType("text/html");
-        response.setCharacterEncoding("utf-8");
-
-        PrintWriter w = response.getWriter();
-        w.write("<html>");
-        w.write("<head>");
-        w.write(" <meta charset=\"UTF-8\">");
-        w.write(" <title>Title</title>");
-        w.write("</head>");
-        w.write("<body>");
-        w.write("<a href=\"/index.html\">메인</a>");
-        w.write("<table>");
-        w.write("   <thead>");
-        w.write("       <th>id</th>");
-        w.write("       <th>username</th>");
-        w.write("       <th>age</th>");
-        w.write("   </thead>");
-        w.write("   <tbody>");
-
-        for (Member member : members) {
-            w.write(" <tr>");
-            w.write("   <td>" + member.getId() + "</td>");
-            w.write("   <td>" + member.getUsername() + "</td>");
-            w.write("   <td>" + member.getAge() + "</td>");
-            w.write(" </tr>");
+        long afterId;
+        int size;
+        try {
+            afterId = PageParams.afterId(request.getParameter(PageParams.AFTER_ID));
+            size = PageParams.size(request.getParameter(PageParams.SIZE));
+        } catch (BindException e) {
+            e.sendError(response); // 잘못된 페이지 파라미터 -> 400 (ETag 가 맞아도 304 보다 먼저)
+            return;
         }
+        if (ConditionalGet.checkNotModified(request, response, memberRepository.getVersion(), memberRepository.getLastModified())) {
+            return; // 바뀐 것이 없으면 조회, 렌더링 없이 304
+        }
+
+        List<Member> members = memberRepository.findPage(afterId, size);
 
-        w.write("   </tbody>");
-        w.write("</table>");
-        w.write("</body>");
-        w.write("</html>");
+        Map<String, Object> model = new HashMap<>();
+        model.put("members", members);
+        model.put(PageParams.NEXT_PAGE, PageParams.nextPage(memberRepository, members, size));
+        HtmlTemplateView.render(membersTemplate, model, response);
     }
 }
@@ -2,6 +2,9 @@ package com.ttasjwi.servlet.web.servlet;
 
 import com.ttasjwi.servlet.domain.Member;
 import com.ttasjwi.servlet.domain.MemberRepository;
+import com.ttasjwi.servlet.web.bind.BindException;
+import com.ttasjwi.servlet.web.bind.ParamReader;
+import lombok.extern.slf4j.Slf4j;
 
 import javax.servlet.ServletException;
 import javax.servlet.annotation.WebServlet;
@@ -11,6 +14,7 @@ import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.io.PrintWriter;
 
+@Slf4j
 @WebServlet(name = "memberSaveServlet", urlPatterns = "/servlet/members/save")
 public class MemberSaveServlet extends HttpServlet {
 
@@ -18,11 +22,15 @@ public class MemberSaveServlet extends HttpServlet {
 
     @Override
     protected void service(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
-        System.out.println("MemberSaveServlet.service");
-        String username = request.getParameter("username");
-        int age = Integer.parseInt(request.getParameter("age"));
-
-        Member member = new Member(username, age);
+        log.debug("MemberSaveServlet.service");
+        ParamReader params = ParamReader.of(request);
+        Member member = params.bind(Member.class); // username, age
+        try {
+            params.validate();
+        } catch (BindException e) {
+            e.sendError(response); // 잘못된 파라미터 -> 400
+            return;
+        }
         memberRepository.save(member);
 
         response.setContentType("text/html");
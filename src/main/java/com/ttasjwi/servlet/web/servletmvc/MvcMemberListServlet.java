@@ -2,6 +2,9 @@ package com.ttasjwi.servlet.web.servletmvc;
 
 import com.ttasjwi.servlet.domain.Member;
 import com.ttasjwi.servlet.domain.MemberRepository;
+import com.ttasjwi.servlet.web.ConditionalGet;
+import com.ttasjwi.servlet.web.PageParams;
+import com.ttasjwi.servlet.web.bind.BindException;
 
 import javax.servlet.RequestDispatcher;
 import javax.servlet.ServletException;
@@ -19,8 +22,22 @@ public class MvcMemberListServlet extends HttpServlet {
 
     @Override
     protected void service(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
-        List<Member> members = memberRepository.findAll();
+        long afterId;
+        int size;
+        try {
+            afterId = PageParams.afterId(request.getParameter(PageParams.AFTER_ID));
+            size = PageParams.size(request.getParameter(PageParams.SIZE));
+        } catch (BindException e) {
+            e.sendError(response); // 잘못된 페이지 파라미터 -> 400 (ETag 가 맞아도 304 보다 먼저)
+            return;
+        }
+        if (ConditionalGet.checkNotModified(request, response, memberRepository.getVersion(), memberRepository.getLastModified())) {
+            return; // 바뀐 것이 없으면 조회, 렌더링 없이 304
+        }
+
+        List<Member> members = memberRepository.findPage(afterId, size);
         request.setAttribute("members", members);
+        request.setAttribute(PageParams.NEXT_PAGE, PageParams.nextPage(memberRepository, members, size));
         String viewPath = "/WEB-INF/views/members.jsp";
         RequestDispatcher dispatcher = request.getRequestDispatcher(viewPath);
         dispatcher.forward(request, response);
@@ -2,6 +2,9 @@ package com.ttasjwi.servlet.web.servletmvc;
 
 import com.ttasjwi.servlet.domain.Member;
 import com.ttasjwi.servlet.domain.MemberRepository;
+import com.ttasjwi.servlet.web.bind.BindException;
+import com.ttasjwi.servlet.web.bind.ParamReader;
+import lombok.extern.slf4j.Slf4j;
 
 import javax.servlet.RequestDispatcher;
 import javax.servlet.ServletException;
@@ -11,6 +14,7 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 
+@Slf4j
 @WebServlet(name = "mvcMemberSaveServlet", urlPatterns = "/servlet-mvc/members/save")
 public class MvcMemberSaveServlet extends HttpServlet {
 
@@ -18,12 +22,16 @@ public class MvcMemberSaveServlet extends HttpServlet {
 
     @Override
     protected void service(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
-        System.out.println("MvcMemberSaveServlet.service");
-
-        String username = request.getParameter("username");
-        int age = Integer.parseInt(request.getParameter("age"));
-
-        Member member = new Member(username, age);
+        log.debug("MvcMemberSaveServlet.service");
+
+        ParamReader params = ParamReader.of(request);
+        Member member = params.bind(Member.class); // username, age
+        try {
+            params.validate();
+        } catch (BindException e) {
+            e.sendError(response); // 잘못된 파라미터 -> 400
+            return;
+        }
         memberRepository.save(member);
 
         // model에 데이터 보관
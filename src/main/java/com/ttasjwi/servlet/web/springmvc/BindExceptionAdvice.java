@@ -0,0 +1,20 @@
+package com.ttasjwi.servlet.web.springmvc;
+
+import com.ttasjwi.servlet.web.bind.BindException;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 스프링 MVC 컨트롤러에서 PageParams 등이 던진 BindException 을 서블릿, 프론트 컨트롤러와 같은 400 으로 응답
+ */
+@ControllerAdvice(basePackages = "com.ttasjwi.servlet.web.springmvc")
+public class BindExceptionAdvice {
+
+    @ExceptionHandler(BindException.class)
+    public void handleBindException(BindException e, HttpServletResponse response) throws IOException {
+        e.sendError(response);
+    }
+}
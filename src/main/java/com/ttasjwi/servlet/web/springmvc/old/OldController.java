@@ -1,5 +1,6 @@
 package com.ttasjwi.servlet.web.springmvc.old;
 
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.ModelAndView;
 import org.springframework.web.servlet.mvc.Controller;
@@ -7,12 +8,13 @@ import org.springframework.web.servlet.mvc.Controller;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+@Slf4j
 @Component("/springmvc/old-controller")
 public class OldController implements Controller {
 
     @Override
     public ModelAndView handleRequest(HttpServletRequest request, HttpServletResponse response) throws Exception {
-        System.out.println("OldController.handleRequest");
+        log.debug("OldController.handleRequest");
         return new ModelAndView("new-form");
     }
 }
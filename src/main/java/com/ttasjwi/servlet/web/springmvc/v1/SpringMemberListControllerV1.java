@@ -2,10 +2,15 @@ package com.ttasjwi.servlet.web.springmvc.v1;
 
 import com.ttasjwi.servlet.domain.Member;
 import com.ttasjwi.servlet.domain.MemberRepository;
+import com.ttasjwi.servlet.web.ConditionalGet;
+import com.ttasjwi.servlet.web.PageParams;
+import com.ttasjwi.servlet.web.cache.CacheableResponse;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.ModelAndView;
 
+import javax.servlet.http.HttpServletRequest;
 import java.util.List;
 
 @Controller
@@ -13,11 +18,18 @@ public class SpringMemberListControllerV1 {
 
     private MemberRepository memberRepository = MemberRepository.getInstance();
 
+    @CacheableResponse
     @RequestMapping("/springmvc/v1/members")
-    public ModelAndView process() {
-        List<Member> members = memberRepository.findAll();
+    public ModelAndView process(HttpServletRequest request, WebRequest webRequest) {
+        long afterId = PageParams.afterId(request.getParameter(PageParams.AFTER_ID)); // 잘못된 값이면 304 보다 먼저 400
+        int size = PageParams.size(request.getParameter(PageParams.SIZE));
+        if (webRequest.checkNotModified(ConditionalGet.eTag(memberRepository.getVersion()), memberRepository.getLastModified())) {
+            return null; // 바뀐 것이 없으면 조회, 렌더링 없이 304
+        }
+        List<Member> members = memberRepository.findPage(afterId, size);
         ModelAndView mv = new ModelAndView("members");
         mv.addObject("members", members); // mv.getModel().put("members",members)와 구조적 동일
+        mv.addObject(PageParams.NEXT_PAGE, PageParams.nextPage(memberRepository, members, size));
         return mv;
     }
 }
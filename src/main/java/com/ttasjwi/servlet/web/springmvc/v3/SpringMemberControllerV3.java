@@ -2,9 +2,14 @@ package com.ttasjwi.servlet.web.springmvc.v3;
 
 import com.ttasjwi.servlet.domain.Member;
 import com.ttasjwi.servlet.domain.MemberRepository;
+import com.ttasjwi.servlet.web.ConditionalGet;
+import com.ttasjwi.servlet.web.PageParams;
+import com.ttasjwi.servlet.web.SearchParams;
+import com.ttasjwi.servlet.web.cache.CacheableResponse;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -32,10 +37,37 @@ public class SpringMemberControllerV3 {
         return "save-result";
     }
 
+    @CacheableResponse
     @GetMapping
-    public String members(Model model) {
+    public String members(
+            @RequestParam(value = PageParams.AFTER_ID, required = false) String afterId,
+            @RequestParam(value = PageParams.SIZE, required = false) String size,
+            Model model,
+            WebRequest webRequest) {
+        long after = PageParams.afterId(afterId); // 잘못된 값이면 304 보다 먼저 400
+        int pageSize = PageParams.size(size); // 기본값, 범위, 잘못된 값(400) 처리를 다른 목록과 같게
+        if (webRequest.checkNotModified(ConditionalGet.eTag(memberRepository.getVersion()), memberRepository.getLastModified())) {
+            return null; // 바뀐 것이 없으면 조회, 렌더링 없이 304
+        }
 
-        List<Member> members = memberRepository.findAll();
+        List<Member> members = memberRepository.findPage(after, pageSize);
+
+        model.addAttribute("members", members);
+        model.addAttribute(PageParams.NEXT_PAGE, PageParams.nextPage(memberRepository, members, pageSize));
+        return "members";
+    }
+
+    //   /springmvc/v3/members/search?username=kim , /springmvc/v3/members/search?minAge=20&maxAge=30
+    @CacheableResponse
+    @GetMapping("/search")
+    public String search(
+            @RequestParam(value = SearchParams.USERNAME, required = false) String username,
+            @RequestParam(value = SearchParams.MIN_AGE, required = false) String minAge,
+            @RequestParam(value = SearchParams.MAX_AGE, required = false) String maxAge,
+            @RequestParam(value = PageParams.SIZE, required = false) String size,
+            Model model) {
+
+        List<Member> members = SearchParams.search(memberRepository, username, minAge, maxAge, size); // size 명까지
 
         model.addAttribute("members", members);
         return "members";
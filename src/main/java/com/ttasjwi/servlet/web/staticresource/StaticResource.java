@@ -0,0 +1,100 @@
+package com.ttasjwi.servlet.web.staticresource;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.regex.Pattern;
+
+/**
+ * 시작 시 읽어둔 정적 파일 하나 (StaticResources)
+ * - identity : 원본. gzip : 빌드 시 만든 "경로.gz" 가 있을 때만
+ * - 표현마다 내용의 해시로 만든 ETag 를 가짐 -> 내용이 같으면 재시작, 재배포 후에도 같은 ETag
+ * - 파일 이름에 내용 해시가 들어있으면(ex: app.3f2a9c1b.js, app-3f2a9c1b.css) fingerprinted
+ *   -> 내용이 바뀌면 URL 도 바뀌므로 오래 캐시해도 됨
+ */
+public class StaticResource {
+
+    // 확장자 바로 앞의 16진수 8자리 이상 ('.' 또는 '-' 로 구분)
+    private static final Pattern FINGERPRINT = Pattern.compile("[.-][0-9a-fA-F]{8,}\\.[^./]+$");
+
+    private final String path;
+    private final String contentType;
+    private final long lastModified;
+    private final Representation identity;
+    private final Representation gzip;
+    private final boolean fingerprinted;
+
+    StaticResource(String path, String contentType, long lastModified, Representation identity, Representation gzip) {
+        this.path = path;
+        this.contentType = contentType;
+        this.lastModified = lastModified;
+        this.identity = identity;
+        this.gzip = gzip;
+        this.fingerprinted = FINGERPRINT.matcher(path).find();
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    public Representation getIdentity() {
+        return identity;
+    }
+
+    public Representation getGzip() {
+        return gzip;
+    }
+
+    public boolean isFingerprinted() {
+        return fingerprinted;
+    }
+
+    /**
+     * 응답 body 하나
+     * - 작은 파일은 content(힙) 에서 바로 씀
+     * - 큰 파일은 content 없이 file 로 sendfile, 지원하지 않으면 channel 의 transferTo
+     */
+    public static class Representation {
+
+        private final long length;
+        private final String eTag;
+        private final byte[] content;
+        private final Path file;
+        private final FileChannel channel;
+
+        Representation(long length, String eTag, byte[] content, Path file, FileChannel channel) {
+            this.length = length;
+            this.eTag = eTag;
+            this.content = content;
+            this.file = file;
+            this.channel = channel;
+        }
+
+        public long getLength() {
+            return length;
+        }
+
+        public String getETag() {
+            return eTag;
+        }
+
+        public byte[] getContent() {
+            return content;
+        }
+
+        public Path getFile() {
+            return file;
+        }
+
+        public FileChannel getChannel() {
+            return channel;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.ttasjwi.servlet.web.staticresource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * static-resource.enabled=true (기본값) 일 때 정적 파일을 StaticResourceServlet 으로 응답 (application.properties 참고)
+ */
+@Configuration
+@ConditionalOnProperty(name = "static-resource.enabled", havingValue = "true", matchIfMissing = true)
+public class StaticResourceConfig {
+
+    @Bean
+    public StaticResourceRegistrar staticResourceRegistrar(
+            @Value("${static-resource.in-memory-max-size:49152}") int inMemoryMaxSize,
+            @Value("${static-resource.max-age:31536000}") long maxAgeSeconds) {
+        return new StaticResourceRegistrar(inMemoryMaxSize, maxAgeSeconds);
+    }
+}
@@ -0,0 +1,59 @@
+package com.ttasjwi.servlet.web.staticresource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.web.servlet.ServletContextInitializer;
+
+import javax.servlet.ServletContext;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRegistration;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 시작할 때 웹 루트의 정적 파일을 StaticResources 로 읽고, 각 파일 경로(정확히 일치하는 매핑)에 StaticResourceServlet 을 등록
+ * - 정확한 매핑은 기본 서블릿("/")보다 우선. "/" 요청도 톰캣의 welcome file 처리로 /index.html 매핑을 거침
+ * - 매핑한 경로는 ServletContext 의 StaticResourceServlet.PATHS_ATTRIBUTE 로 알림 (필터가 감싸지 않도록)
+ */
+@Slf4j
+public class StaticResourceRegistrar implements ServletContextInitializer {
+
+    private static final String SERVLET_NAME = "staticResourceServlet";
+    private static final int LOAD_ON_STARTUP = 1;
+
+    private final int inMemoryMaxSize;
+    private final long maxAgeSeconds;
+
+    public StaticResourceRegistrar(int inMemoryMaxSize, long maxAgeSeconds) {
+        this.inMemoryMaxSize = inMemoryMaxSize;
+        this.maxAgeSeconds = maxAgeSeconds;
+    }
+
+    @Override
+    public void onStartup(ServletContext servletContext) throws ServletException {
+        StaticResources resources;
+        try {
+            resources = StaticResources.load(servletContext, inMemoryMaxSize);
+        } catch (IOException e) {
+            throw new ServletException("정적 리소스를 읽을 수 없습니다.", e);
+        }
+        if (resources.size() == 0) {
+            return;
+        }
+
+        ServletRegistration.Dynamic registration = servletContext.addServlet(SERVLET_NAME, new StaticResourceServlet(resources, maxAgeSeconds));
+        if (registration == null) { // 같은 이름이 이미 등록됨
+            return;
+        }
+        Set<String> conflicts = registration.addMapping(resources.paths().toArray(new String[0]));
+        if (!conflicts.isEmpty()) {
+            log.warn("다른 서블릿이 이미 매핑한 정적 리소스 경로는 건너뜀 : {}", conflicts);
+        }
+        Set<String> mapped = new HashSet<>(resources.paths());
+        mapped.removeAll(conflicts);
+        servletContext.setAttribute(StaticResourceServlet.PATHS_ATTRIBUTE, Collections.unmodifiableSet(mapped));
+        registration.setLoadOnStartup(LOAD_ON_STARTUP);
+        log.info("정적 리소스 {} 개 등록 (gzip 표현 {} 개, 힙 {} bytes)", resources.size(), resources.gzipCount(), resources.inMemoryBytes());
+    }
+}
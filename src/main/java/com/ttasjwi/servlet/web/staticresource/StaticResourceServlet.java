@@ -0,0 +1,231 @@
+package com.ttasjwi.servlet.web.staticresource;
+
+import com.ttasjwi.servlet.web.ConditionalGet;
+import com.ttasjwi.servlet.web.compression.ContentEncoding;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.Set;
+
+/**
+ * StaticResources 에 읽어둔 정적 파일을 응답 (StaticResourceRegistrar 가 파일 경로마다 매핑)
+ * - 클라이언트가 gzip 을 받고 "경로.gz" 가 있으면 그 내용을 그대로 보냄 (요청마다 압축하지 않음, CompressionFilter 는 건너뜀)
+ * - ETag 는 내용의 해시. 조건부 GET 은 ConditionalGet 으로 304
+ * - Cache-Control 은 이름에 내용 해시가 있는 파일(StaticResource.isFingerprinted)만 max-age 로 오래 캐시 (immutable)
+ *   나머지는 no-cache -> 같은 URL 의 내용이 재배포로 바뀔 수 있으므로 매번 ETag 로 다시 확인 (바뀌지 않았으면 304)
+ * - Range (bytes=시작-끝 하나) 는 원본 표현에 대해 206. 여러 구간이나 잘못된 형식이면 무시하고 전체를 보냄
+ * - body 는 힙에 있으면 한 번에 쓰고, 파일이면 톰캣 커넥터의 sendfile, 쓸 수 없으면 FileChannel.transferTo
+ *   sendfile 은 요청, 응답이 톰캣의 facade 그대로일 때만 사용 (DefaultServlet.checkSendfile 과 같음)
+ *   -> 접근 로그, 압축 필터는 handles 인 요청을 감싸지 않음. 다른 필터가 감쌌으면 body 가 필터를 거치도록 transferTo
+ *   in-memory-max-size 이하의 파일은 힙에서 바로 쓰므로 sendfile 은 그보다 큰 파일에만 해당
+ */
+@Slf4j
+public class StaticResourceServlet extends HttpServlet {
+
+    // 톰캣이 sendfile 을 쓸 수 있는 요청에 설정하는 속성과, 서블릿이 보낼 파일을 알려주는 속성 (DefaultServlet 과 같음)
+    static final String SENDFILE_SUPPORTED_ATTRIBUTE = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME_ATTRIBUTE = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START_ATTRIBUTE = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END_ATTRIBUTE = "org.apache.tomcat.sendfile.end";
+    private static final String REQUEST_FACADE = "org.apache.catalina.connector.RequestFacade";
+    private static final String RESPONSE_FACADE = "org.apache.catalina.connector.ResponseFacade";
+
+    static final String REVALIDATE = "no-cache";
+
+    // 이 서블릿이 응답하는 경로 (Set<String>). StaticResourceRegistrar 가 ServletContext 에 설정
+    public static final String PATHS_ATTRIBUTE = StaticResourceServlet.class.getName() + ".paths";
+
+    private static final long[] UNSATISFIABLE = new long[0];
+    private static final long EMPTY = -1;
+    private static final long INVALID = -2;
+
+    private final StaticResources resources;
+    private final String fingerprintedCacheControl;
+
+    /**
+     * @param maxAgeSeconds 이름에 내용 해시가 있는 파일의 max-age
+     */
+    public StaticResourceServlet(StaticResources resources, long maxAgeSeconds) {
+        this.resources = resources;
+        this.fingerprintedCacheControl = "public, max-age=" + maxAgeSeconds + ", immutable";
+    }
+
+    /**
+     * 이 서블릿이 응답할 요청인지 (정확한 매핑이므로 servletPath 로 판단. "/" 는 welcome file 처리 후 /index.html)
+     * 응답을 감싸는 필터는 이 요청을 그대로 넘겨야 sendfile 을 쓸 수 있음
+     */
+    public static boolean handles(HttpServletRequest request) {
+        Object paths = request.getServletContext().getAttribute(PATHS_ATTRIBUTE);
+        return paths instanceof Set && ((Set<?>) paths).contains(request.getServletPath());
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        serve(request, response, true);
+    }
+
+    @Override
+    protected void doHead(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        serve(request, response, false);
+    }
+
+    @Override
+    public void destroy() {
+        try {
+            resources.close();
+        } catch (IOException e) {
+            log.warn("정적 리소스 파일을 정리하지 못했습니다.", e);
+        }
+    }
+
+    private void serve(HttpServletRequest request, HttpServletResponse response, boolean body) throws IOException {
+        StaticResource resource = resources.get(request.getServletPath());
+        if (resource == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        String range = body ? range(request, resource) : null;
+        boolean gzip = range == null && resource.getGzip() != null
+                && ContentEncoding.negotiate(request.getHeader("Accept-Encoding")) == ContentEncoding.GZIP;
+        StaticResource.Representation representation = gzip ? resource.getGzip() : resource.getIdentity();
+
+        response.setContentType(resource.getContentType());
+        response.setHeader("Cache-Control", resource.isFingerprinted() ? fingerprintedCacheControl : REVALIDATE);
+        response.setHeader("Accept-Ranges", "bytes");
+        if (resource.getGzip() != null) {
+            response.addHeader("Vary", "Accept-Encoding");
+        }
+        if (ConditionalGet.checkNotModified(request, response, representation.getETag(), resource.getLastModified())) {
+            return;
+        }
+        if (gzip) {
+            response.setHeader("Content-Encoding", "gzip");
+        }
+
+        long length = representation.getLength();
+        long start = 0;
+        long end = length - 1;
+        if (range != null) {
+            long[] bounds = parseRange(range, length);
+            if (bounds == UNSATISFIABLE) {
+                response.setHeader("Content-Range", "bytes */" + length);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            if (bounds != null) {
+                start = bounds[0];
+                end = bounds[1];
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader("Content-Range", "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+        if (!body || count == 0) {
+            return;
+        }
+        if (representation.getContent() != null) {
+            response.getOutputStream().write(representation.getContent(), (int) start, (int) count);
+        } else if (canSendfile(request, response)) {
+            // 서블릿이 끝난 뒤 커넥터가 파일에서 소켓으로 바로 보냄 (사용자 공간으로 복사하지 않음)
+            request.setAttribute(SENDFILE_FILENAME_ATTRIBUTE, representation.getFile().toString());
+            request.setAttribute(SENDFILE_START_ATTRIBUTE, start);
+            request.setAttribute(SENDFILE_END_ATTRIBUTE, end + 1);
+        } else {
+            transfer(representation, start, count, response.getOutputStream());
+        }
+    }
+
+    private static boolean canSendfile(HttpServletRequest request, HttpServletResponse response) {
+        return Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED_ATTRIBUTE))
+                && REQUEST_FACADE.equals(request.getClass().getName())
+                && RESPONSE_FACADE.equals(response.getClass().getName());
+    }
+
+    /**
+     * 적용할 Range 헤더. 없거나, If-Range 가 지금 원본과 맞지 않으면 null (전체 응답)
+     */
+    private static String range(HttpServletRequest request, StaticResource resource) {
+        String range = request.getHeader("Range");
+        if (range == null) {
+            return null;
+        }
+        String ifRange = request.getHeader("If-Range");
+        if (ifRange == null) {
+            return range;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(resource.getIdentity().getETag()) ? range : null; // 강한 비교
+        }
+        try {
+            return request.getDateHeader("If-Range") == resource.getLastModified() ? range : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * "bytes=시작-끝", "bytes=시작-", "bytes=-마지막 n 바이트" -> {시작, 끝(포함)}
+     * 만족할 수 없는 구간이면 UNSATISFIABLE, 여러 구간이거나 형식이 잘못되었으면 null (Range 무시)
+     * long 을 넘는 숫자도 형식은 맞으므로 끝 위치, 마지막 n 바이트는 길이로 자르고, 시작 위치는 길이를 넘는 것으로 봄
+     */
+    static long[] parseRange(String range, long length) {
+        if (!range.regionMatches(true, 0, "bytes=", 0, 6) || range.indexOf(',') >= 0) {
+            return null;
+        }
+        String spec = range.substring(6).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        long first = position(spec.substring(0, dash).trim());
+        long last = position(spec.substring(dash + 1).trim());
+        if (first == INVALID || last == INVALID || (first == EMPTY && last == EMPTY)) {
+            return null;
+        }
+        if (first == EMPTY) {
+            return last == 0 || length == 0 ? UNSATISFIABLE : new long[]{Math.max(0, length - last), length - 1};
+        }
+        long end = last == EMPTY ? Long.MAX_VALUE : last;
+        if (end < first) {
+            return null;
+        }
+        return first >= length ? UNSATISFIABLE : new long[]{first, Math.min(end, length - 1)};
+    }
+
+    // 10진수 숫자만 허용 (부호 X). 비어있으면 EMPTY, 숫자가 아니면 INVALID, long 을 넘으면 Long.MAX_VALUE
+    private static long position(String value) {
+        if (value.isEmpty()) {
+            return EMPTY;
+        }
+        long position = 0;
+        for (int i = 0; i < value.length(); i++) {
+            int digit = value.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return INVALID;
+            }
+            position = position > (Long.MAX_VALUE - digit) / 10 ? Long.MAX_VALUE : position * 10 + digit;
+        }
+        return position;
+    }
+
+    private static void transfer(StaticResource.Representation representation, long position, long count, ServletOutputStream out) throws IOException {
+        WritableByteChannel target = Channels.newChannel(out);
+        while (count > 0) {
+            long transferred = representation.getChannel().transferTo(position, count, target);
+            if (transferred <= 0) {
+                throw new IOException("정적 리소스 파일이 시작 후 바뀌었습니다. file = " + representation.getFile());
+            }
+            position += transferred;
+            count -= transferred;
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.ttasjwi.servlet.web.staticresource;
+
+import javax.servlet.ServletContext;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * 웹 루트의 정적 파일(*.html 등)을 시작할 때 한 번 읽어서 경로별로 보관
+ * - WEB-INF, META-INF 아래, *.jsp, *.gz 는 제외 ("경로.gz" 는 그 파일의 gzip 표현으로 사용)
+ * - inMemoryMaxSize 이하의 파일은 힙에 복사, 그보다 크면 파일로 두고 열린 FileChannel 을 유지
+ *   실행 가능한 war 처럼 웹 루트가 파일 시스템에 없으면(getRealPath == null) 임시 디렉터리에 풀어놓고 사용
+ * - 시작 후 파일을 바꿔도 다시 읽지 않음 -> 개발 중에는 static-resource.enabled=false
+ */
+public class StaticResources implements Closeable {
+
+    private static final Set<String> EXCLUDED_DIRECTORIES = Set.of("/WEB-INF/", "/META-INF/");
+    private static final String GZIP_SUFFIX = ".gz";
+
+    private final Map<String, StaticResource> resources = new LinkedHashMap<>();
+    private final List<FileChannel> channels = new ArrayList<>();
+    private final ServletContext servletContext;
+    private final int inMemoryMaxSize;
+    private Path extractDirectory;
+
+    private StaticResources(ServletContext servletContext, int inMemoryMaxSize) {
+        this.servletContext = servletContext;
+        this.inMemoryMaxSize = inMemoryMaxSize;
+    }
+
+    public static StaticResources load(ServletContext servletContext, int inMemoryMaxSize) throws IOException {
+        StaticResources resources = new StaticResources(servletContext, inMemoryMaxSize);
+        try {
+            List<String> paths = new ArrayList<>();
+            findFiles(servletContext, "/", paths);
+            Collections.sort(paths);
+            for (String path : paths) {
+                resources.add(path);
+            }
+        } catch (IOException | RuntimeException e) {
+            resources.close();
+            throw e;
+        }
+        return resources;
+    }
+
+    public StaticResource get(String path) {
+        return resources.get(path);
+    }
+
+    public Set<String> paths() {
+        return Collections.unmodifiableSet(resources.keySet());
+    }
+
+    public int size() {
+        return resources.size();
+    }
+
+    public long gzipCount() {
+        return resources.values().stream().filter(resource -> resource.getGzip() != null).count();
+    }
+
+    // 힙에 올려둔 바이트 수
+    public long inMemoryBytes() {
+        long bytes = 0;
+        for (StaticResource resource : resources.values()) {
+            bytes += inMemoryBytes(resource.getIdentity()) + inMemoryBytes(resource.getGzip());
+        }
+        return bytes;
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (FileChannel channel : channels) {
+            channel.close();
+        }
+        channels.clear();
+        if (extractDirectory != null) {
+            try (Stream<Path> files = Files.walk(extractDirectory)) {
+                for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                    Files.deleteIfExists(file);
+                }
+            }
+            extractDirectory = null;
+        }
+    }
+
+    private void add(String path) throws IOException {
+        StaticResource.Representation identity = read(path);
+        String gzipPath = path + GZIP_SUFFIX;
+        StaticResource.Representation gzip = servletContext.getResource(gzipPath) == null ? null : read(gzipPath);
+        resources.put(path, new StaticResource(path, contentType(path), lastModified(path), identity, gzip));
+    }
+
+    /**
+     * 내용을 읽으면서 해시를 계산. inMemoryMaxSize 를 넘으면 그때부터는 파일로 (웹 루트의 파일이 있으면 그 파일, 없으면 임시 파일)
+     */
+    private StaticResource.Representation read(String path) throws IOException {
+        MessageDigest digest = sha256();
+        ByteArrayOutputStream memory = new ByteArrayOutputStream();
+        Path file = null;
+        OutputStream extracted = null;
+        long length = 0;
+        try (InputStream in = servletContext.getResourceAsStream(path)) {
+            if (in == null) {
+                throw new IOException("정적 리소스를 읽을 수 없습니다. path = " + path);
+            }
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+                length += read;
+                if (file == null && length > inMemoryMaxSize) {
+                    file = realFile(path);
+                    if (file == null) {
+                        file = extractFile(path);
+                        extracted = Files.newOutputStream(file);
+                        memory.writeTo(extracted);
+                    }
+                    memory = null;
+                }
+                if (memory != null) {
+                    memory.write(buffer, 0, read);
+                } else if (extracted != null) {
+                    extracted.write(buffer, 0, read);
+                }
+            }
+        } finally {
+            if (extracted != null) {
+                extracted.close();
+            }
+        }
+
+        String eTag = "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest.digest(), 16)) + "\"";
+        if (memory != null) {
+            return new StaticResource.Representation(length, eTag, memory.toByteArray(), null, null);
+        }
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        channels.add(channel);
+        return new StaticResource.Representation(length, eTag, null, file.toAbsolutePath(), channel);
+    }
+
+    private Path realFile(String path) {
+        String realPath = servletContext.getRealPath(path);
+        if (realPath == null) {
+            return null;
+        }
+        Path file = Paths.get(realPath);
+        return Files.isRegularFile(file) ? file : null;
+    }
+
+    private Path extractFile(String path) throws IOException {
+        if (extractDirectory == null) {
+            extractDirectory = Files.createTempDirectory("static-resources");
+        }
+        Path file = extractDirectory.resolve(path.substring(1)).normalize();
+        if (!file.startsWith(extractDirectory)) {
+            throw new IOException("웹 루트 밖의 경로입니다. path = " + path);
+        }
+        Files.createDirectories(file.getParent());
+        return file;
+    }
+
+    private String contentType(String path) {
+        String mimeType = servletContext.getMimeType(path);
+        if (mimeType == null) {
+            return "application/octet-stream";
+        }
+        // 웹 루트의 텍스트 파일은 UTF-8 로 작성
+        return mimeType.startsWith("text/") && !mimeType.contains("charset") ? mimeType + ";charset=UTF-8" : mimeType;
+    }
+
+    // 초 단위 (Last-Modified, If-Modified-Since 의 정밀도). 알 수 없으면 읽은 시각
+    private long lastModified(String path) throws IOException {
+        URL url = servletContext.getResource(path);
+        long lastModified = 0;
+        if (url != null) {
+            URLConnection connection = url.openConnection();
+            lastModified = connection.getLastModified();
+            connection.getInputStream().close(); // jar 항목이면 열린 jar 를 반환
+        }
+        if (lastModified <= 0) {
+            lastModified = System.currentTimeMillis();
+        }
+        return lastModified / 1000 * 1000;
+    }
+
+    private static long inMemoryBytes(StaticResource.Representation representation) {
+        return representation == null || representation.getContent() == null ? 0 : representation.getContent().length;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // 모든 JVM 이 지원해야 하는 알고리즘
+        }
+    }
+
+    private static void findFiles(ServletContext servletContext, String directory, List<String> files) {
+        Set<String> paths = servletContext.getResourcePaths(directory);
+        if (paths == null) {
+            return;
+        }
+        for (String path : paths) {
+            if (path.endsWith("/")) {
+                if (!EXCLUDED_DIRECTORIES.contains(path)) {
+                    findFiles(servletContext, path, files);
+                }
+            } else if (!path.endsWith(".jsp") && !path.endsWith(GZIP_SUFFIX)) {
+                files.add(path);
+            }
+        }
+    }
+}
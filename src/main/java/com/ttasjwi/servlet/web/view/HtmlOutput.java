@@ -0,0 +1,152 @@
+package com.ttasjwi.servlet.web.view;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * HtmlTemplate 이 응답을 쓰는 출력
+ * - 고정 조각은 미리 UTF-8 로 인코딩해둔 byte[] 를 그대로 복사
+ * - 값은 HTML 이스케이프와 UTF-8 인코딩을 한 번의 순회로 처리 (중간 String, byte[] 를 만들지 않음)
+ * - 내부 버퍼가 찰 때만 OutputStream 에 씀 -> write 호출 수가 행 수와 무관하게 (출력 크기 / 버퍼 크기) 로 줄어듦
+ * - thread-safe 하지 않음. 요청마다 하나씩 만들어서 사용
+ */
+public class HtmlOutput {
+
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private static final byte[] AMP = bytes("&amp;");
+    private static final byte[] LT = bytes("&lt;");
+    private static final byte[] GT = bytes("&gt;");
+    private static final byte[] QUOT = bytes("&quot;");
+    private static final byte[] APOS = bytes("&#39;");
+    private static final int MAX_BYTES_PER_CHAR = 6; // "&quot;" (UTF-8 은 최대 4바이트)
+
+    private final OutputStream out;
+    private final byte[] buffer;
+    private int count;
+
+    public HtmlOutput(OutputStream out) {
+        this(out, DEFAULT_BUFFER_SIZE);
+    }
+
+    public HtmlOutput(OutputStream out, int bufferSize) {
+        this.out = out;
+        this.buffer = new byte[Math.max(bufferSize, 64)];
+    }
+
+    /**
+     * 템플릿의 고정 조각을 클래스 로딩 시점에 한 번만 인코딩할 때 사용
+     */
+    public static byte[] bytes(String fragment) {
+        return fragment.getBytes(StandardCharsets.UTF_8);
+    }
+
+    public void write(byte[] fragment) throws IOException {
+        if (fragment.length > buffer.length - count) {
+            flushBuffer();
+            if (fragment.length > buffer.length) {
+                out.write(fragment);
+                return;
+            }
+        }
+        System.arraycopy(fragment, 0, buffer, count, fragment.length);
+        count += fragment.length;
+    }
+
+    public void writeInt(int value) throws IOException {
+        writeLong(value);
+    }
+
+    public void writeLong(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            write(bytes(Long.toString(value)));
+            return;
+        }
+        ensureCapacity(20);
+        if (value < 0) {
+            buffer[count++] = '-';
+            value = -value;
+        }
+        int end = count + digits(value);
+        for (int i = end - 1; i >= count; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        count = end;
+    }
+
+    /**
+     * &, <, >, ", ' 를 이스케이프해서 UTF-8 로 씀. null 이면 아무것도 쓰지 않음 (JSP EL 과 같음)
+     */
+    public void writeEscaped(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            if (buffer.length - count < MAX_BYTES_PER_CHAR) {
+                flushBuffer();
+            }
+            char c = value.charAt(i);
+            switch (c) {
+                case '&': put(AMP); break;
+                case '<': put(LT); break;
+                case '>': put(GT); break;
+                case '"': put(QUOT); break;
+                case '\'': put(APOS); break;
+                default:
+                    if (c < 0x80) {
+                        buffer[count++] = (byte) c;
+                    } else if (c < 0x800) {
+                        buffer[count++] = (byte) (0xC0 | (c >> 6));
+                        buffer[count++] = (byte) (0x80 | (c & 0x3F));
+                    } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                        int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                        buffer[count++] = (byte) (0xF0 | (codePoint >> 18));
+                        buffer[count++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                        buffer[count++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                        buffer[count++] = (byte) (0x80 | (codePoint & 0x3F));
+                    } else if (Character.isSurrogate(c)) {
+                        buffer[count++] = '?'; // 짝이 없는 surrogate (String.getBytes 와 같은 처리)
+                    } else {
+                        buffer[count++] = (byte) (0xE0 | (c >> 12));
+                        buffer[count++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                        buffer[count++] = (byte) (0x80 | (c & 0x3F));
+                    }
+            }
+        }
+    }
+
+    public void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    private void put(byte[] entity) {
+        System.arraycopy(entity, 0, buffer, count, entity.length);
+        count += entity.length;
+    }
+
+    private void ensureCapacity(int bytes) throws IOException {
+        if (buffer.length - count < bytes) {
+            flushBuffer();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (count > 0) {
+            out.write(buffer, 0, count);
+            count = 0;
+        }
+    }
+
+    private static int digits(long value) {
+        int digits = 1;
+        while (value >= 10) {
+            value /= 10;
+            digits++;
+        }
+        return digits;
+    }
+}
@@ -0,0 +1,13 @@
+package com.ttasjwi.servlet.web.view;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * JSP 대신 자바 코드로 미리 만들어둔 HTML 템플릿
+ * - 구현체는 상태가 없어야 함 (여러 요청에서 동시에 사용)
+ */
+public interface HtmlTemplate {
+
+    void render(Map<String, ?> model, HtmlOutput out) throws IOException;
+}
@@ -0,0 +1,18 @@
+package com.ttasjwi.servlet.web.view;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * view.template.enabled=true 일 때 스프링 MVC 의 view 조회에 HtmlTemplateViewResolver 를 추가 (application.properties 참고)
+ */
+@Configuration
+@ConditionalOnProperty(name = HtmlTemplates.ENABLED_PROPERTY, havingValue = "true")
+public class HtmlTemplateConfig {
+
+    @Bean
+    public HtmlTemplateViewResolver htmlTemplateViewResolver() {
+        return new HtmlTemplateViewResolver();
+    }
+}
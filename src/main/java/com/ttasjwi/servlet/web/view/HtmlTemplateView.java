@@ -0,0 +1,42 @@
+package com.ttasjwi.servlet.web.view;
+
+import org.springframework.web.servlet.View;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * 스프링 MVC 에서 HtmlTemplate 을 View 로 사용하기 위한 어댑터
+ */
+public class HtmlTemplateView implements View {
+
+    public static final String CONTENT_TYPE = "text/html;charset=UTF-8";
+
+    private final HtmlTemplate template;
+
+    public HtmlTemplateView(HtmlTemplate template) {
+        this.template = template;
+    }
+
+    @Override
+    public String getContentType() {
+        return CONTENT_TYPE;
+    }
+
+    @Override
+    public void render(Map<String, ?> model, HttpServletRequest request, HttpServletResponse response) throws Exception {
+        render(template, model, response);
+    }
+
+    /**
+     * 응답의 ServletOutputStream 에 바로 렌더링 (TemplateView 와 공용)
+     */
+    public static void render(HtmlTemplate template, Map<String, ?> model, HttpServletResponse response) throws IOException {
+        response.setContentType(CONTENT_TYPE);
+        HtmlOutput out = new HtmlOutput(response.getOutputStream());
+        template.render(model, out);
+        out.flush();
+    }
+}
@@ -0,0 +1,31 @@
+package com.ttasjwi.servlet.web.view;
+
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.View;
+import org.springframework.web.servlet.ViewResolver;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * HtmlTemplates 에 등록된 view 이름이면 HtmlTemplateView 를 반환하고, 아니면 null 을 반환해서 다음 ViewResolver(JSP) 로 넘김
+ */
+public class HtmlTemplateViewResolver implements ViewResolver, Ordered {
+
+    private final Map<String, View> views = new ConcurrentHashMap<>();
+
+    @Override
+    public View resolveViewName(String viewName, Locale locale) {
+        HtmlTemplate template = HtmlTemplates.find(viewName);
+        if (template == null) {
+            return null;
+        }
+        return views.computeIfAbsent(viewName, name -> new HtmlTemplateView(template));
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE; // InternalResourceViewResolver 는 모든 이름을 받아들이므로 먼저 확인
+    }
+}
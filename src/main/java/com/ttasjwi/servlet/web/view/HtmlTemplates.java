@@ -0,0 +1,23 @@
+package com.ttasjwi.servlet.web.view;
+
+import java.util.Map;
+
+/**
+ * 논리 view 이름 -> HtmlTemplate
+ * - 여기에 등록된 view 는 view.template.enabled=true 일 때 JSP 대신 템플릿으로 렌더링됨 (MyViewResolver, HtmlTemplateViewResolver)
+ */
+public abstract class HtmlTemplates {
+
+    public static final String ENABLED_PROPERTY = "view.template.enabled";
+
+    private static final Map<String, HtmlTemplate> templates = Map.of(
+            "members", new MembersTemplate()
+    );
+
+    /**
+     * @return 등록된 템플릿, 없으면 null
+     */
+    public static HtmlTemplate find(String viewName) {
+        return templates.get(viewName);
+    }
+}
@@ -0,0 +1,76 @@
+package com.ttasjwi.servlet.web.view;
+
+import com.ttasjwi.servlet.domain.Member;
+import com.ttasjwi.servlet.web.PageParams;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * members.jsp 와 같은 회원 목록 테이블
+ * - 모델의 "members" (Iterable&lt;Member&gt;) 를 사용
+ * - 모델의 "nextPage" (PageParams.nextPage) 가 있으면 다음 페이지 링크를 씀
+ */
+public class MembersTemplate implements HtmlTemplate {
+
+    private static final byte[] HEAD = HtmlOutput.bytes(
+            "<html>\n" +
+            "<head>\n" +
+            "    <meta charset=\"UTF-8\">\n" +
+            "    <title>Title</title>\n" +
+            "</head>\n" +
+            "<body>\n" +
+            "<a href=\"/index.html\">메인</a>\n" +
+            "<table>\n" +
+            "    <thead>\n" +
+            "    <th>id</th>\n" +
+            "    <th>username</th>\n" +
+            "    <th>age</th>\n" +
+            "    </thead>\n" +
+            "    <tbody>\n");
+    private static final byte[] ROW_START = HtmlOutput.bytes("        <tr>\n            <td>");
+    private static final byte[] CELL = HtmlOutput.bytes("</td>\n            <td>");
+    private static final byte[] ROW_END = HtmlOutput.bytes("</td>\n        </tr>\n");
+    private static final byte[] TABLE_END = HtmlOutput.bytes(
+            "    </tbody>\n" +
+            "</table>\n");
+    private static final byte[] NEXT_PAGE_START = HtmlOutput.bytes("<a href=\"");
+    private static final byte[] NEXT_PAGE_END = HtmlOutput.bytes("\">다음 페이지</a>\n");
+    private static final byte[] TAIL = HtmlOutput.bytes(
+            "</body>\n" +
+            "</html>\n");
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void render(Map<String, ?> model, HtmlOutput out) throws IOException {
+        render((Iterable<Member>) model.get("members"), (String) model.get(PageParams.NEXT_PAGE), out);
+    }
+
+    public void render(Iterable<Member> members, HtmlOutput out) throws IOException {
+        render(members, null, out);
+    }
+
+    public void render(Iterable<Member> members, String nextPage, HtmlOutput out) throws IOException {
+        out.write(HEAD);
+        if (members != null) {
+            for (Member member : members) {
+                out.write(ROW_START);
+                if (member.getId() != null) {
+                    out.writeLong(member.getId());
+                }
+                out.write(CELL);
+                out.writeEscaped(member.getUsername());
+                out.write(CELL);
+                out.writeInt(member.getAge());
+                out.write(ROW_END);
+            }
+        }
+        out.write(TABLE_END);
+        if (nextPage != null) {
+            out.write(NEXT_PAGE_START);
+            out.writeEscaped(nextPage);
+            out.write(NEXT_PAGE_END);
+        }
+        out.write(TAIL);
+    }
+}
@@ -0,0 +1,18 @@
+package com.ttasjwi.servlet.web.view;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * view.jsp.precompiled=true (기본값) 일 때 미리 컴파일된 JSP 서블릿을 등록 (application.properties 참고)
+ */
+@Configuration
+@ConditionalOnProperty(name = "view.jsp.precompiled", havingValue = "true", matchIfMissing = true)
+public class PrecompiledJspConfig {
+
+    @Bean
+    public PrecompiledJspRegistrar precompiledJspRegistrar() {
+        return new PrecompiledJspRegistrar();
+    }
+}
@@ -0,0 +1,75 @@
+package com.ttasjwi.servlet.web.view;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.jasper.compiler.JspUtil;
+import org.springframework.boot.web.servlet.ServletContextInitializer;
+import org.springframework.util.ClassUtils;
+
+import javax.servlet.ServletContext;
+import javax.servlet.ServletRegistration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 빌드 시 JspC 로 미리 컴파일한 JSP 서블릿(./gradlew jspc)을 JSP 경로에 직접 등록
+ * - 웹 루트 아래의 *.jsp 마다 Jasper 와 같은 규칙으로 클래스 이름을 만들어서 (ex: /WEB-INF/views/new-form.jsp -> org.apache.jsp.WEB_002dINF.views.new_002dform_jsp)
+ *   클래스가 있으면 그 JSP 경로(정확히 일치하는 매핑)에 등록 -> *.jsp 매핑의 JspServlet 보다 우선하므로 첫 요청에 컴파일하지 않음
+ * - 클래스가 없는 JSP (미리 컴파일하지 않고 실행한 경우) 는 지금처럼 JspServlet 이 처리
+ * - 시작 시 로딩(load-on-startup) 해서 첫 요청에 클래스 로딩, 초기화 비용도 내지 않음
+ * - 미리 컴파일된 서블릿은 JSP 파일이 바뀌어도 다시 컴파일하지 않으므로, 개발 중에는 view.jsp.precompiled=false
+ */
+@Slf4j
+public class PrecompiledJspRegistrar implements ServletContextInitializer {
+
+    public static final String JSP_PACKAGE = "org.apache.jsp"; // JspC 의 기본 패키지
+
+    private static final int LOAD_ON_STARTUP = 1;
+
+    @Override
+    public void onStartup(ServletContext servletContext) {
+        ClassLoader classLoader = ClassUtils.getDefaultClassLoader();
+        List<String> jspPaths = new ArrayList<>();
+        findJsp(servletContext, "/", jspPaths);
+
+        int registered = 0;
+        for (String jspPath : jspPaths) {
+            String className = className(jspPath);
+            if (!ClassUtils.isPresent(className, classLoader)) {
+                continue;
+            }
+            ServletRegistration.Dynamic registration = servletContext.addServlet(className, className);
+            if (registration == null) { // 같은 이름이 이미 등록됨
+                continue;
+            }
+            registration.addMapping(jspPath);
+            registration.setLoadOnStartup(LOAD_ON_STARTUP);
+            registered++;
+        }
+        log.info("미리 컴파일된 JSP {} 개 등록 (전체 JSP {} 개)", registered, jspPaths.size());
+    }
+
+    /**
+     * JSP 경로 -> JspC 가 만든 서블릿 클래스 이름
+     */
+    public static String className(String jspPath) {
+        int slash = jspPath.lastIndexOf('/');
+        String directory = jspPath.substring(1, Math.max(1, slash));
+        String packageName = directory.isEmpty() ? JSP_PACKAGE : JSP_PACKAGE + "." + JspUtil.makeJavaPackage(directory);
+        return packageName + "." + JspUtil.makeJavaIdentifier(jspPath.substring(slash + 1));
+    }
+
+    private static void findJsp(ServletContext servletContext, String directory, List<String> jspPaths) {
+        Set<String> paths = servletContext.getResourcePaths(directory);
+        if (paths == null) {
+            return;
+        }
+        for (String path : paths) {
+            if (path.endsWith("/")) {
+                findJsp(servletContext, path, jspPaths);
+            } else if (path.endsWith(".jsp")) {
+                jspPaths.add(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+<%@ page contentType="text/html;charset=UTF-8" language="java" %>
+<%@ taglib prefix="c" uri="http://java.sun.com/jsp/jstl/core" %>
+<html>
+<head>
+    <meta charset="UTF-8">
+    <title>Title</title>
+</head>
+<body>
+<a href="/index.html">메인</a>
+<c:choose>
+    <c:when test="${member != null}">
+        <ul>
+            <li>id=${member.id}</li>
+            <li>username=${member.username}</li>
+            <li>age=${member.age}</li>
+        </ul>
+    </c:when>
+    <c:otherwise>
+        <p>회원을 찾을 수 없습니다.</p>
+    </c:otherwise>
+</c:choose>
+</body>
+</html>
@@ -27,5 +27,9 @@
         </tr>
     </c:forEach>
     </tbody>
+</table>
+<c:if test="${not empty nextPage}">
+<a href="<c:out value="${nextPage}"/>">다음 페이지</a>
+</c:if>
 </body>
 </html>
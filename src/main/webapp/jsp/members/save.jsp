@@ -6,7 +6,6 @@
 
     MemberRepository memberRepository = MemberRepository.getInstance();
 
-    System.out.println("MemberSaveServlet.service");
     String username = request.getParameter("username");
     int age = Integer.parseInt(request.getParameter("age"));
 
@@ -0,0 +1,55 @@
+package com.ttasjwi.servlet.basic.request;
+
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+class RequestBodyJsonServletTest {
+
+    RequestBodyJsonServlet servlet = new RequestBodyJsonServlet();
+
+    @Test
+    @DisplayName("단건과 배열 body 를 읽고 ok 로 응답해야한다.")
+    void read() throws ServletException, IOException {
+        //when
+        MockHttpServletResponse single = post("{\"username\":\"hello\", \"age\":20}");
+        MockHttpServletResponse array = post("[{\"username\":\"hello\", \"age\":20}, {\"username\":\"kim\", \"age\":30}]");
+
+        //then
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(single.getContentAsString()).isEqualTo("ok");
+        softAssertions.assertThat(array.getContentAsString()).isEqualTo("ok");
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("body 가 비었거나, null 이거나, JSON 이 아니면 400 으로 응답해야한다.")
+    void badBody() throws ServletException, IOException {
+        //when
+        MockHttpServletResponse empty = post("");
+        MockHttpServletResponse nullBody = post("null");
+        MockHttpServletResponse notJson = post("{username");
+
+        //then
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(empty.getStatus()).isEqualTo(400);
+        softAssertions.assertThat(nullBody.getStatus()).isEqualTo(400);
+        softAssertions.assertThat(notJson.getStatus()).isEqualTo(400);
+        softAssertions.assertAll();
+    }
+
+    private MockHttpServletResponse post(String body) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/request-body-json");
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        servlet.service(request, response);
+        return response;
+    }
+}
@@ -0,0 +1,69 @@
+package com.ttasjwi.servlet.basic.response;
+
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.ServletException;
+import java.io.IOException;
+
+class ResponseJsonServletTest {
+
+    ResponseJsonServlet servlet = new ResponseJsonServlet();
+
+    @Test
+    @DisplayName("count 가 있으면 count 개의 배열을, 없으면 단건을 응답해야한다.")
+    void count() throws ServletException, IOException {
+        //when
+        MockHttpServletResponse single = get(null);
+        MockHttpServletResponse array = get("2");
+        MockHttpServletResponse empty = get("0");
+
+        //then
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(single.getContentAsString()).startsWith("{").contains("\"age\":20");
+        softAssertions.assertThat(array.getContentAsString()).startsWith("[").contains("\"age\":20").contains("\"age\":21");
+        softAssertions.assertThat(empty.getContentAsString()).isEqualTo("[]");
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("count 가 숫자가 아니거나 음수이면 400 으로 응답해야한다.")
+    void badCount() throws ServletException, IOException {
+        //when
+        MockHttpServletResponse notNumber = get("many");
+        MockHttpServletResponse negative = get("-1");
+
+        //then
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(notNumber.getStatus()).isEqualTo(400);
+        softAssertions.assertThat(negative.getStatus()).isEqualTo(400);
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("count 가 MAX_COUNT 보다 크면 MAX_COUNT 개만 응답해야한다.")
+    void maxCount() throws ServletException, IOException {
+        //when
+        MockHttpServletResponse response = get(String.valueOf(Integer.MAX_VALUE));
+
+        //then
+        String lastAge = "\"age\":" + (20 + ResponseJsonServlet.MAX_COUNT - 1) + "}";
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(response.getStatus()).isEqualTo(200);
+        softAssertions.assertThat(response.getContentAsString()).endsWith(lastAge + "]");
+        softAssertions.assertAll();
+    }
+
+    private MockHttpServletResponse get(String count) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/response-json");
+        if (count != null) {
+            request.setParameter("count", count);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        servlet.service(request, response);
+        return response;
+    }
+}
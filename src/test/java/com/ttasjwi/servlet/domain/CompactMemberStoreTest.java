@@ -0,0 +1,152 @@
+package com.ttasjwi.servlet.domain;
+
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompactMemberStoreTest {
+
+    CompactMemberStore store = new CompactMemberStore();
+
+    @Test
+    @DisplayName("저장한 멤버를 id 로 조회하면, 같은 username 과 age 를 가진 회원이 만들어져 반환되어야한다.")
+    void put() {
+        //given
+        store.put(member(1L, "hello", 20));
+
+        //when
+        Member findMember = store.get(1L);
+
+        //then
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(findMember.getId()).isEqualTo(1L);
+        softAssertions.assertThat(findMember.getUsername()).isEqualTo("hello");
+        softAssertions.assertThat(findMember.getAge()).isEqualTo(20);
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("청크 크기를 넘어서 저장해도, valuesAfter 는 id 순으로 모든 회원을 반환해야한다.")
+    void valuesAfter() {
+        //given
+        int count = 100_000;
+        List<Member> members = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            members.add(member(i, "member" + (i % 10), i));
+        }
+        store.putAll(members);
+
+        //when
+        List<Member> all = new ArrayList<>(store.valuesAfter(0L));
+        List<Member> tail = new ArrayList<>(store.valuesAfter(count - 3));
+
+        //then
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(all).hasSize(count);
+        softAssertions.assertThat(all.get(count - 1).getId()).isEqualTo(count);
+        softAssertions.assertThat(all.get(count - 1).getUsername()).isEqualTo("member0");
+        softAssertions.assertThat(tail).extracting(Member::getId).containsExactly(count - 2L, count - 1L, (long) count);
+        softAssertions.assertThat(store.size()).isEqualTo(count);
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("id 가 순서대로 들어오지 않거나 중간이 비어도, 비어있는 id 는 조회되지 않아야한다.")
+    void sparseIds() {
+        //given
+        store.put(member(200_000L, "far", 30));
+        store.put(member(3L, "near", 10));
+
+        //when
+        List<Member> all = new ArrayList<>(store.valuesAfter(0L));
+
+        //then
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(all).extracting(Member::getId).containsExactly(3L, 200_000L);
+        softAssertions.assertThat(store.get(4L)).isNull();
+        softAssertions.assertThat(store.get(-1L)).isNull();
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("findByUsername 과 findByAgeBetween 은 조건에 맞는 회원만 limit 명까지, findByAgeBetween 은 나이순으로 반환해야한다.")
+    void search() {
+        //given
+        store.put(member(1L, "kim", 30));
+        store.put(member(2L, "lee", 20));
+        store.put(member(3L, "kim", 20));
+        store.put(member(4L, null, 40));
+
+        //when
+        List<Member> byUsername = store.findByUsername("kim", 10);
+        List<Member> byAge = store.findByAgeBetween(20, 30, 10);
+        List<Member> limitedByUsername = store.findByUsername("kim", 1);
+        List<Member> limitedByAge = store.findByAgeBetween(0, 100, 3);
+
+        //then
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(byUsername).extracting(Member::getId).containsExactly(1L, 3L);
+        softAssertions.assertThat(byAge).extracting(Member::getId).containsExactly(2L, 3L, 1L);
+        softAssertions.assertThat(limitedByUsername).extracting(Member::getId).containsExactly(1L);
+        softAssertions.assertThat(limitedByAge).extracting(Member::getId).containsExactly(2L, 3L, 1L);
+        softAssertions.assertThat(store.get(4L).getUsername()).isNull();
+        softAssertions.assertThat(store.findByUsername("nobody", 10)).isEmpty();
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("limit 이 같은 나이의 중간에서 끝나면, 그 나이의 회원은 id 가 작은 순서로 채워져야한다.")
+    void findByAgeBetweenCutoff() {
+        //given
+        store.put(member(1L, "a", 30));
+        store.put(member(2L, "b", 20));
+        store.put(member(3L, "c", 30));
+        store.put(member(70_000L, "d", 30));
+        store.put(member(5L, "e", 40));
+
+        //when
+        List<Member> result = store.findByAgeBetween(0, 100, 3);
+
+        //then
+        assertThat(result).extracting(Member::getId).containsExactly(2L, 1L, 3L);
+    }
+
+    @Test
+    @DisplayName("emptyCopy 는 기존 회원이 없는 같은 방식의 저장소를 반환해야한다.")
+    void emptyCopy() {
+        //given
+        store.put(member(1L, "before", 10));
+
+        //when
+        MemberStore empty = store.emptyCopy();
+        empty.put(member(2L, "after", 20));
+
+        //then
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(empty).isInstanceOf(CompactMemberStore.class);
+        softAssertions.assertThat(empty.get(1L)).isNull();
+        softAssertions.assertThat(empty.findByUsername("before", 10)).isEmpty();
+        softAssertions.assertThat(empty.get(2L).getUsername()).isEqualTo("after");
+        softAssertions.assertThat(store.get(1L).getUsername()).isEqualTo("before");
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("존재하지 않는 id 로 조회하면 null 이 반환되어야한다.")
+    void findByUnknownId() {
+        store.put(member(1L, "hello", 20));
+
+        assertThat(store.get(999L)).isNull();
+    }
+
+    private Member member(long id, String username, int age) {
+        Member member = new Member(username, age);
+        member.setId(id);
+        return member;
+    }
+}
@@ -0,0 +1,370 @@
+package com.ttasjwi.servlet.domain;
+
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemberLogTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("로그에 기록한 회원은 다시 열었을 때 재생되어야한다.")
+    void replay() throws IOException {
+        //given
+        try (MemberLog log = new MemberLog(dir, MemberLog.FsyncPolicy.ALWAYS, 100, 0)) {
+            log.replay(new MapReplayer());
+            log.appendSave(member(1L, "hello", 20));
+            log.appendSave(member(2L, null, 30));
+        }
+
+        //when
+        MapReplayer replayer = replay(dir);
+
+        //then
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(replayer.members).hasSize(2);
+        softAssertions.assertThat(replayer.members.get(1L).getUsername()).isEqualTo("hello");
+        softAssertions.assertThat(replayer.members.get(2L).getUsername()).isNull();
+        softAssertions.assertThat(replayer.members.get(2L).getAge()).isEqualTo(30);
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("appendSaveAll 로 기록한 회원들도 모두 재생되어야한다.")
+    void replaySaveAll() throws IOException {
+        //given
+        try (MemberLog log = new MemberLog(dir, MemberLog.FsyncPolicy.ALWAYS, 100, 0)) {
+            log.replay(new MapReplayer());
+            log.appendSaveAll(List.of(member(1L, "hello", 20), member(2L, "world", 30)));
+            log.appendSave(member(3L, "single", 40));
+        }
+
+        //when
+        MapReplayer replayer = replay(dir);
+
+        //then
+        assertThat(replayer.members).containsOnlyKeys(1L, 2L, 3L);
+    }
+
+    @Test
+    @DisplayName("clear 레코드 이전의 회원은 재생되지 않아야한다.")
+    void replayClear() throws IOException {
+        //given
+        try (MemberLog log = new MemberLog(dir, MemberLog.FsyncPolicy.NEVER, 100, 0)) {
+            log.replay(new MapReplayer());
+            log.appendSave(member(1L, "before", 20));
+            log.appendClear();
+            log.appendSave(member(2L, "after", 30));
+        }
+
+        //when
+        MapReplayer replayer = replay(dir);
+
+        //then
+        assertThat(replayer.members).containsOnlyKeys(2L);
+    }
+
+    @Test
+    @DisplayName("마지막 레코드가 잘려있으면, 그 앞까지만 재생하고 잘린 부분은 버려야한다.")
+    void truncatedTail() throws IOException {
+        //given
+        try (MemberLog log = new MemberLog(dir, MemberLog.FsyncPolicy.ALWAYS, 100, 0)) {
+            log.replay(new MapReplayer());
+            log.appendSave(member(1L, "hello", 20));
+        }
+        long validSize = Files.size(dir.resolve(MemberLog.LOG_FILE));
+        Files.write(dir.resolve(MemberLog.LOG_FILE), new byte[]{0, 0, 0, 30, 1, 2}, StandardOpenOption.APPEND);
+
+        //when
+        MapReplayer replayer = replay(dir);
+
+        //then
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(replayer.members).containsOnlyKeys(1L);
+        softAssertions.assertThat(Files.size(dir.resolve(MemberLog.LOG_FILE))).isEqualTo(validSize);
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("compact 이후에는 로그가 비워지고, 스냅샷과 이후의 로그로 복구되어야한다.")
+    void compact() throws IOException {
+        //given
+        Map<Long, Member> store = new TreeMap<>();
+        try (MemberLog log = new MemberLog(dir, MemberLog.FsyncPolicy.ALWAYS, 100, 0)) {
+            log.replay(new MapReplayer());
+            log.setSnapshotSource(store::values, () -> 101L);
+            for (long id = 1; id <= 100; id++) {
+                Member member = member(id, "member" + id, (int) id);
+                store.put(id, member);
+                log.appendSave(member);
+            }
+
+            //when
+            log.compact();
+            log.appendSave(member(101L, "member101", 101));
+        }
+
+        //then
+        MapReplayer replayer = replay(dir);
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(replayer.members).hasSize(101);
+        softAssertions.assertThat(Files.exists(dir.resolve(MemberLog.SNAPSHOT_FILE))).isTrue();
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("회원이 모두 지워진 뒤 compact 해도, 스냅샷에 기록된 가장 큰 id 가 재생되어야한다.")
+    void compactAfterClear() throws IOException {
+        //given
+        Map<Long, Member> store = new TreeMap<>();
+        try (MemberLog log = new MemberLog(dir, MemberLog.FsyncPolicy.ALWAYS, 100, 0)) {
+            log.replay(new MapReplayer());
+            log.setSnapshotSource(store::values, () -> 2L);
+            log.appendSave(member(1L, "member1", 10), () -> store.put(1L, member(1L, "member1", 10)));
+            log.appendSave(member(2L, "member2", 20), () -> store.put(2L, member(2L, "member2", 20)));
+            log.appendClear(store::clear);
+
+            //when
+            log.compact();
+        }
+
+        //then
+        MapReplayer replayer = replay(dir);
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(replayer.members).isEmpty();
+        softAssertions.assertThat(replayer.lastId).isEqualTo(2L);
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("apply 는 레코드를 쓴 뒤에 실행되고, 쓰기에 실패하면 실행되지 않아야한다.")
+    void applyAfterWrite() throws IOException {
+        //given
+        List<Long> appliedLogSizes = new ArrayList<>();
+        MemberLog log = new MemberLog(dir, MemberLog.FsyncPolicy.NEVER, 100, 0);
+        log.replay(new MapReplayer());
+
+        //when
+        log.appendSave(member(1L, "hello", 20), () -> appliedLogSizes.add(logSize()));
+        log.close();
+        boolean failed = false;
+        try {
+            log.appendSave(member(2L, "world", 30), () -> appliedLogSizes.add(-1L));
+        } catch (IOException e) {
+            failed = true;
+        }
+
+        //then
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(appliedLogSizes).hasSize(1);
+        softAssertions.assertThat(appliedLogSizes.get(0)).isGreaterThan(0L);
+        softAssertions.assertThat(failed).isTrue();
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("ALWAYS 정책에서는 fsync 된 뒤에 apply 하고, fsync 에 실패하면 apply 하지 않고 이후의 기록도 거절해야한다.")
+    void failedSync() throws IOException {
+        //given
+        FailingChannel channel = new FailingChannel(FileChannel.open(dir.resolve(MemberLog.LOG_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE));
+        MemberLog log = new MemberLog(dir, MemberLog.FsyncPolicy.ALWAYS, 100, 0, channel);
+        log.replay(new MapReplayer());
+        List<String> applied = new ArrayList<>();
+        log.appendSave(member(1L, "hello", 20), () -> applied.add("1 after " + channel.forces + " fsync"));
+
+        //when
+        channel.failForce = true;
+        boolean syncFailed = appendFails(log, member(2L, "world", 30), () -> applied.add("2"));
+        channel.failForce = false;
+        long sizeAfterFailure = logSize();
+        boolean rejected = appendFails(log, member(3L, "again", 40), () -> applied.add("3"));
+
+        //then
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(applied).containsExactly("1 after 1 fsync");
+        softAssertions.assertThat(syncFailed).isTrue();
+        softAssertions.assertThat(rejected).isTrue();
+        softAssertions.assertThat(logSize()).isEqualTo(sizeAfterFailure); // 거절된 레코드는 쓰지 않음
+        softAssertions.assertAll();
+        log.close();
+    }
+
+    private boolean appendFails(MemberLog log, Member member, Runnable apply) {
+        try {
+            log.appendSave(member, apply);
+            return false;
+        } catch (IOException e) {
+            return true;
+        }
+    }
+
+    private long logSize() {
+        try {
+            return Files.size(dir.resolve(MemberLog.LOG_FILE));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private MapReplayer replay(Path dir) throws IOException {
+        MapReplayer replayer = new MapReplayer();
+        try (MemberLog log = new MemberLog(dir, MemberLog.FsyncPolicy.NEVER, 100, 0)) {
+            log.replay(replayer);
+        }
+        return replayer;
+    }
+
+    private Member member(Long id, String username, int age) {
+        Member member = new Member(username, age);
+        member.setId(id);
+        return member;
+    }
+
+    /**
+     * failForce 이면 force 에서 IOException. 나머지는 원래 채널에 위임
+     */
+    static class FailingChannel extends FileChannel {
+
+        private final FileChannel delegate;
+        volatile boolean failForce;
+        volatile int forces;
+
+        FailingChannel(FileChannel delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void force(boolean metaData) throws IOException {
+            if (failForce) {
+                throw new IOException("injected fsync failure");
+            }
+            delegate.force(metaData);
+            forces++;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            return delegate.read(dst);
+        }
+
+        @Override
+        public long read(ByteBuffer[] dsts, int offset, int length) throws IOException {
+            return delegate.read(dsts, offset, length);
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            return delegate.write(src);
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+            return delegate.write(srcs, offset, length);
+        }
+
+        @Override
+        public long position() throws IOException {
+            return delegate.position();
+        }
+
+        @Override
+        public FileChannel position(long newPosition) throws IOException {
+            delegate.position(newPosition);
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            return delegate.size();
+        }
+
+        @Override
+        public FileChannel truncate(long size) throws IOException {
+            delegate.truncate(size);
+            return this;
+        }
+
+        @Override
+        public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+            return delegate.transferTo(position, count, target);
+        }
+
+        @Override
+        public long transferFrom(ReadableByteChannel src, long position, long count) throws IOException {
+            return delegate.transferFrom(src, position, count);
+        }
+
+        @Override
+        public int read(ByteBuffer dst, long position) throws IOException {
+            return delegate.read(dst, position);
+        }
+
+        @Override
+        public int write(ByteBuffer src, long position) throws IOException {
+            return delegate.write(src, position);
+        }
+
+        @Override
+        public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+            return delegate.map(mode, position, size);
+        }
+
+        @Override
+        public FileLock lock(long position, long size, boolean shared) throws IOException {
+            return delegate.lock(position, size, shared);
+        }
+
+        @Override
+        public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+            return delegate.tryLock(position, size, shared);
+        }
+
+        @Override
+        protected void implCloseChannel() throws IOException {
+            delegate.close();
+        }
+    }
+
+    static class MapReplayer implements MemberLog.Replayer {
+
+        final Map<Long, Member> members = new TreeMap<>();
+        long lastId;
+
+        @Override
+        public void save(Member member) {
+            members.put(member.getId(), member);
+        }
+
+        @Override
+        public void clear() {
+            members.clear();
+        }
+
+        @Override
+        public void lastId(long id) {
+            lastId = Math.max(lastId, id);
+        }
+    }
+}
@@ -4,8 +4,20 @@ import org.assertj.core.api.SoftAssertions;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -16,6 +28,7 @@ class MemberRepositoryTest {
     @AfterEach
     void afterEach() {
         memberRepository.clearStore();
+        memberRepository.useStore(new MapMemberStore());
     }
 
     @Test
@@ -52,4 +65,310 @@ class MemberRepositoryTest {
         softAssertions.assertAll();
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("saveAll 로 저장한 회원들은 연속된 id 를 받고, 인덱스로도 조회되어야한다.")
+    void saveAll() {
+        //given
+        List<Member> members = List.of(new Member("member1", 20), new Member("member2", 30), new Member("member1", 40));
+
+        //when
+        memberRepository.saveAll(members);
+
+        //then
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(members.get(1).getId()).isEqualTo(members.get(0).getId() + 1);
+        softAssertions.assertThat(members.get(2).getId()).isEqualTo(members.get(0).getId() + 2);
+        softAssertions.assertThat(memberRepository.findAll()).containsExactlyElementsOf(members);
+        softAssertions.assertThat(memberRepository.findByUsername("member1")).containsExactly(members.get(0), members.get(2));
+        softAssertions.assertThat(memberRepository.findByAgeBetween(25, 35)).containsExactly(members.get(1));
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("save, saveAll, clearStore 를 할 때마다 version 이 증가해야한다.")
+    void version() {
+        //given
+        long version = memberRepository.getVersion();
+
+        //when
+        memberRepository.save(new Member("member1", 20));
+        memberRepository.saveAll(List.of(new Member("member2", 30), new Member("member3", 40)));
+        memberRepository.clearStore();
+
+        //then
+        assertThat(memberRepository.getVersion()).isEqualTo(version + 3);
+    }
+
+    @Test
+    @DisplayName("findPage 는 afterId 이후의 회원을 id 순으로 limit 명까지 반환해야한다.")
+    void findPage() {
+        //given
+        Member member1 = memberRepository.save(new Member("member1", 20));
+        Member member2 = memberRepository.save(new Member("member2", 30));
+        Member member3 = memberRepository.save(new Member("member3", 40));
+
+        //when
+        List<Member> firstPage = memberRepository.findPage(0L, 2);
+        List<Member> secondPage = memberRepository.findPage(firstPage.get(firstPage.size() - 1).getId(), 2);
+
+        //then
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(firstPage).containsExactly(member1, member2);
+        softAssertions.assertThat(secondPage).containsExactly(member3);
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("viewAfter 는 afterId 이후의 회원을 복사 없이 id 순으로 보여주고, 이후 저장된 회원도 반영되어야한다.")
+    void viewAfter() {
+        //given
+        Member member1 = memberRepository.save(new Member("member1", 20));
+        Member member2 = memberRepository.save(new Member("member2", 30));
+
+        //when
+        Collection<Member> view = memberRepository.viewAfter(member1.getId());
+        Member member3 = memberRepository.save(new Member("member3", 40));
+
+        //then
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(view).containsExactly(member2, member3);
+        softAssertions.assertThatThrownBy(view::clear).isInstanceOf(UnsupportedOperationException.class);
+        softAssertions.assertThat(MemberRepository.pageSize(0)).isEqualTo(MemberRepository.DEFAULT_PAGE_SIZE);
+        softAssertions.assertThat(MemberRepository.pageSize(MemberRepository.MAX_PAGE_SIZE + 1)).isEqualTo(MemberRepository.MAX_PAGE_SIZE);
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("findByUsername 은 해당 username 으로 저장된 회원만 반환해야한다.")
+    void findByUsername() {
+        //given
+        Member member1 = memberRepository.save(new Member("kim", 20));
+        Member member2 = memberRepository.save(new Member("lee", 30));
+        Member member3 = memberRepository.save(new Member("kim", 40));
+
+        //when
+        List<Member> result = memberRepository.findByUsername("kim");
+
+        //then
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(result).containsExactly(member1, member3);
+        softAssertions.assertThat(memberRepository.findByUsername("park")).isEmpty();
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("findByAgeBetween 은 나이가 범위 안(경계 포함)인 회원을 나이순으로 반환해야한다.")
+    void findByAgeBetween() {
+        //given
+        Member member1 = memberRepository.save(new Member("member1", 40));
+        Member member2 = memberRepository.save(new Member("member2", 20));
+        Member member3 = memberRepository.save(new Member("member3", 30));
+        memberRepository.save(new Member("member4", 50));
+
+        //when
+        List<Member> result = memberRepository.findByAgeBetween(20, 40);
+
+        //then
+        assertThat(result).containsExactly(member2, member3, member1);
+    }
+
+    @Test
+    @DisplayName("clearStore 이후에는 인덱스로도 회원이 조회되지 않아야한다.")
+    void clearStoreClearsIndexes() {
+        //given
+        memberRepository.save(new Member("kim", 20));
+
+        //when
+        memberRepository.clearStore();
+
+        //then
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(memberRepository.findByUsername("kim")).isEmpty();
+        softAssertions.assertThat(memberRepository.findByAgeBetween(0, 100)).isEmpty();
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 save 해도 id 가 중복되지 않고, 저장한 멤버가 유실되지 않아야한다.")
+    void concurrentSave() throws Exception {
+        //given
+        int threadCount = 8;
+        int savePerThread = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch start = new CountDownLatch(1);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+        //when
+        for (int i = 0; i < threadCount; i++) {
+            executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < savePerThread; j++) {
+                    ids.add(memberRepository.save(new Member("member", j)).getId());
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        //then
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(ids).hasSize(threadCount * savePerThread);
+        softAssertions.assertThat(memberRepository.findAll()).hasSize(threadCount * savePerThread);
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("null id 로 조회하면 예외 없이 null 이 반환되어야한다.")
+    void findByNullId() {
+        memberRepository.save(new Member("hello", 20));
+
+        assertThat(memberRepository.findById(null)).isNull();
+    }
+
+    @Test
+    @DisplayName("CompactMemberStore 로 바꾸면 기존 회원이 옮겨지고, 이후 저장한 회원도 id, 인덱스, 페이지로 조회되어야한다.")
+    void useCompactStore() {
+        //given
+        Member before = memberRepository.save(new Member("kim", 20));
+
+        //when
+        memberRepository.useStore(new CompactMemberStore());
+        Member after = memberRepository.save(new Member("kim", 30));
+
+        //then
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(memberRepository.findById(before.getId()).getUsername()).isEqualTo("kim");
+        softAssertions.assertThat(memberRepository.findByUsername("kim")).extracting(Member::getId)
+                .containsExactly(before.getId(), after.getId());
+        softAssertions.assertThat(memberRepository.findByAgeBetween(25, 35)).extracting(Member::getId)
+                .containsExactly(after.getId());
+        softAssertions.assertThat(memberRepository.findPage(before.getId(), 10)).extracting(Member::getId)
+                .containsExactly(after.getId());
+        softAssertions.assertThat(memberRepository.findById(null)).isNull();
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("limit 을 주면 검색 결과는 앞에서부터 limit 명까지만 반환되어야한다.")
+    void searchLimit() {
+        //given
+        Member member1 = memberRepository.save(new Member("kim", 30));
+        Member member2 = memberRepository.save(new Member("kim", 20));
+        memberRepository.save(new Member("kim", 40));
+
+        //when
+        List<Member> byUsername = memberRepository.findByUsername("kim", 2);
+        List<Member> byAge = memberRepository.findByAgeBetween(0, Integer.MAX_VALUE, 2);
+
+        //then
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(byUsername).containsExactly(member1, member2);
+        softAssertions.assertThat(byAge).containsExactly(member2, member1);
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("save 와 clearStore 가 동시에 일어나도, clearStore 이후 인덱스에 저장소에 없는 회원이 남지 않아야한다.")
+    void concurrentSaveAndClear() throws Exception {
+        //given
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+
+        //when
+        for (int i = 0; i < 3; i++) {
+            executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < 20_000; j++) {
+                    memberRepository.save(new Member("kim", j % 50));
+                }
+                return null;
+            });
+        }
+        executor.submit(() -> {
+            start.await();
+            for (int j = 0; j < 200; j++) {
+                memberRepository.clearStore();
+            }
+            return null;
+        });
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        //then
+        SoftAssertions softAssertions = new SoftAssertions();
+        for (Member member : memberRepository.findByUsername("kim")) {
+            softAssertions.assertThat(memberRepository.findById(member.getId())).isSameAs(member);
+        }
+        softAssertions.assertThat(memberRepository.findByAgeBetween(0, 100)).hasSameSizeAs(memberRepository.findAll());
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("로그가 연결된 clearStore 는 모니터를 잡지 않은 채 로그에 기록하고 저장소를 비워야한다.")
+    void clearStoreWithLog(@TempDir Path directory) throws Exception {
+        //given
+        AtomicBoolean monitorHeld = new AtomicBoolean();
+        MemberLog log = new MemberLog(directory, MemberLog.FsyncPolicy.ALWAYS, 100, 0) {
+            @Override
+            public void appendClear(Runnable apply) throws IOException {
+                monitorHeld.set(Thread.holdsLock(memberRepository)); // 모니터 안에서 fsync 하면 가상 스레드가 캐리어에 고정됨
+                super.appendClear(apply);
+            }
+        };
+        memberRepository.attachLog(log);
+        memberRepository.save(new Member("kim", 20));
+
+        //when
+        try {
+            memberRepository.clearStore();
+        } finally {
+            memberRepository.detachLog();
+            log.close();
+        }
+
+        //then
+        List<String> replayed = new ArrayList<>();
+        MemberLog reopened = new MemberLog(directory, MemberLog.FsyncPolicy.NEVER, 100, 0);
+        reopened.replay(new MemberLog.Replayer() {
+            @Override
+            public void save(Member member) {
+                replayed.add("save " + member.getUsername());
+            }
+
+            @Override
+            public void clear() {
+                replayed.add("clear");
+            }
+
+            @Override
+            public void lastId(long id) {
+            }
+        });
+        reopened.close();
+
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(monitorHeld).isFalse();
+        softAssertions.assertThat(memberRepository.findAll()).isEmpty();
+        softAssertions.assertThat(replayed).containsExactly("save kim", "clear");
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("MemberLogConfig 가 닫히면 로그를 떼어내서 이후의 save 가 닫힌 로그에 쓰지 않아야한다.")
+    void detachLogOnDestroy(@TempDir Path directory) throws Exception {
+        //given
+        MemberLogConfig config = new MemberLogConfig();
+        MemberLog log = config.memberLog(directory.toString(), "always", 100, 0);
+        memberRepository.save(new Member("before", 20));
+
+        //when
+        config.memberLogDetacher(log).destroy();
+        Member after = memberRepository.save(new Member("after", 30));
+
+        //then
+        assertThat(memberRepository.findById(after.getId())).isSameAs(after);
+    }
+}
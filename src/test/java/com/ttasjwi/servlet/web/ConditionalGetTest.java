@@ -0,0 +1,82 @@
+package com.ttasjwi.servlet.web;
+
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConditionalGetTest {
+
+    private static final long LAST_MODIFIED = 1_650_000_000_000L;
+
+    @Test
+    @DisplayName("If-None-Match 가 현재 ETag 와 같으면 304 를 설정하고 true 를 반환해야한다.")
+    void notModifiedByETag() {
+        //given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/servlet/members");
+        request.addHeader("If-None-Match", ConditionalGet.eTag(3));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        //when
+        boolean notModified = ConditionalGet.checkNotModified(request, response, 3, LAST_MODIFIED);
+
+        //then
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(notModified).isTrue();
+        softAssertions.assertThat(response.getStatus()).isEqualTo(304);
+        softAssertions.assertThat(response.getHeader("ETag")).isEqualTo(ConditionalGet.eTag(3));
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("버전이 바뀌었으면 If-Modified-Since 와 상관없이 false 를 반환해야한다.")
+    void modifiedByETag() {
+        //given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/servlet/members");
+        request.addHeader("If-None-Match", ConditionalGet.eTag(3));
+        request.addHeader("If-Modified-Since", LAST_MODIFIED);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        //when
+        boolean notModified = ConditionalGet.checkNotModified(request, response, 4, LAST_MODIFIED);
+
+        //then
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(notModified).isFalse();
+        softAssertions.assertThat(response.getStatus()).isEqualTo(200);
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("If-None-Match 가 없으면 If-Modified-Since 로 판단해야한다.")
+    void notModifiedSince() {
+        //given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/servlet/members");
+        request.addHeader("If-Modified-Since", LAST_MODIFIED);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        //when
+        boolean notModified = ConditionalGet.checkNotModified(request, response, 1, LAST_MODIFIED);
+
+        //then
+        assertThat(notModified).isTrue();
+    }
+
+    @Test
+    @DisplayName("GET, HEAD 가 아니면 조건을 확인하지 않아야한다.")
+    void onlyGetAndHead() {
+        //given
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/servlet/members");
+        request.addHeader("If-None-Match", "*");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        //when
+        boolean notModified = ConditionalGet.checkNotModified(request, response, 1, LAST_MODIFIED);
+
+        //then
+        assertThat(notModified).isFalse();
+    }
+}
@@ -0,0 +1,76 @@
+package com.ttasjwi.servlet.web;
+
+import com.ttasjwi.servlet.domain.Member;
+import com.ttasjwi.servlet.domain.MemberRepository;
+import com.ttasjwi.servlet.web.bind.BindException;
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PageParamsTest {
+
+    MemberRepository memberRepository = MemberRepository.getInstance();
+
+    @AfterEach
+    void afterEach() {
+        memberRepository.clearStore();
+    }
+
+    @Test
+    @DisplayName("값이 없으면 첫 페이지와 기본 크기를, MAX_PAGE_SIZE 보다 큰 size 는 MAX_PAGE_SIZE 를 사용해야한다.")
+    void defaults() {
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(PageParams.afterId(null)).isEqualTo(0L);
+        softAssertions.assertThat(PageParams.afterId("")).isEqualTo(0L);
+        softAssertions.assertThat(PageParams.afterId("200")).isEqualTo(200L);
+        softAssertions.assertThat(PageParams.size(null)).isEqualTo(MemberRepository.DEFAULT_PAGE_SIZE);
+        softAssertions.assertThat(PageParams.size("50")).isEqualTo(50);
+        softAssertions.assertThat(PageParams.size("1000000")).isEqualTo(MemberRepository.MAX_PAGE_SIZE);
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("숫자가 아니거나 범위를 벗어난 afterId, size 는 BindException 이 발생해야한다.")
+    void invalid() {
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThatThrownBy(() -> PageParams.afterId("abc")).isInstanceOf(BindException.class);
+        softAssertions.assertThatThrownBy(() -> PageParams.afterId("-1")).isInstanceOf(BindException.class);
+        softAssertions.assertThatThrownBy(() -> PageParams.size("ten")).isInstanceOf(BindException.class);
+        softAssertions.assertThatThrownBy(() -> PageParams.size("0")).isInstanceOf(BindException.class);
+        softAssertions.assertThatThrownBy(() -> PageParams.size("99999999999")).isInstanceOf(BindException.class);
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("다음 회원이 남아있으면 마지막 id 를 afterId 로 하는 다음 페이지 쿼리를, 마지막 페이지이면 null 을 반환해야한다.")
+    void nextPage() {
+        //given
+        Member member1 = memberRepository.save(new Member("member1", 20));
+        Member member2 = memberRepository.save(new Member("member2", 30));
+        memberRepository.save(new Member("member3", 40));
+
+        //when
+        List<Member> firstPage = memberRepository.findPage(0L, 2);
+        List<Member> lastPage = memberRepository.findPage(member2.getId(), 2);
+        List<Member> exactPage = memberRepository.findPage(member1.getId(), 2);
+
+        //then
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(PageParams.nextPage(memberRepository, firstPage, 2))
+                .isEqualTo("?afterId=" + member2.getId() + "&size=2");
+        softAssertions.assertThat(PageParams.nextPage(memberRepository, lastPage, 2)).isNull();
+        softAssertions.assertThat(PageParams.nextPage(memberRepository, exactPage, 2)).isNull();
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("회원이 없으면 다음 페이지가 없어야한다.")
+    void emptyPage() {
+        assertThat(PageParams.nextPage(memberRepository, List.of(), 2)).isNull();
+    }
+}
@@ -0,0 +1,49 @@
+package com.ttasjwi.servlet.web;
+
+import com.ttasjwi.servlet.domain.Member;
+import com.ttasjwi.servlet.domain.MemberRepository;
+import com.ttasjwi.servlet.web.bind.BindException;
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SearchParamsTest {
+
+    MemberRepository memberRepository = MemberRepository.getInstance();
+
+    @AfterEach
+    void afterEach() {
+        memberRepository.clearStore();
+    }
+
+    @Test
+    @DisplayName("username 이 있으면 username 으로, 없으면 나이 범위로 size 명까지 검색해야한다.")
+    void search() {
+        //given
+        Member member1 = memberRepository.save(new Member("kim", 20));
+        Member member2 = memberRepository.save(new Member("lee", 30));
+        Member member3 = memberRepository.save(new Member("kim", 40));
+
+        //then
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(SearchParams.search(memberRepository, "kim", null, null, null)).containsExactly(member1, member3);
+        softAssertions.assertThat(SearchParams.search(memberRepository, "kim", null, null, "1")).containsExactly(member1);
+        softAssertions.assertThat(SearchParams.search(memberRepository, null, "25", null, null)).containsExactly(member2, member3);
+        softAssertions.assertThat(SearchParams.search(memberRepository, "", null, "30", null)).containsExactly(member1, member2);
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("조건이 하나도 없거나 나이, size 가 잘못되면 BindException 이 발생해야한다.")
+    void invalid() {
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThatThrownBy(() -> SearchParams.search(memberRepository, null, null, null, null))
+                .isInstanceOf(BindException.class);
+        softAssertions.assertThatThrownBy(() -> SearchParams.search(memberRepository, null, "twenty", null, null))
+                .isInstanceOf(BindException.class);
+        softAssertions.assertThatThrownBy(() -> SearchParams.search(memberRepository, "kim", null, null, "0"))
+                .isInstanceOf(BindException.class);
+        softAssertions.assertAll();
+    }
+}
@@ -0,0 +1,228 @@
+package com.ttasjwi.servlet.web.accesslog;
+
+import com.ttasjwi.servlet.web.staticresource.StaticResourceServlet;
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockFilterConfig;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.context.support.StaticWebApplicationContext;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AccessLogFilterTest {
+
+    @TempDir
+    Path dir;
+
+    MockServletContext servletContext = new MockServletContext();
+    AccessLogFilter filter = new AccessLogFilter();
+
+    @AfterEach
+    void afterEach() {
+        filter.destroy();
+    }
+
+    @Test
+    @DisplayName("요청의 method, uri, status, 응답 바이트 수를 access.log 에 기록해야한다.")
+    void log() throws ServletException, IOException {
+        //given
+        init("true");
+
+        //when
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("POST", "/members"), response, chain(new HttpServlet() {
+            @Override
+            protected void doPost(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                resp.setStatus(201);
+                resp.setCharacterEncoding("utf-8");
+                resp.getWriter().write("회원"); // UTF-8 로 6 바이트
+            }
+        }));
+        filter.destroy(); // 남은 항목을 기록하고 닫음
+
+        //then
+        List<String> lines = lines();
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(response.getContentAsString()).isEqualTo("회원");
+        softAssertions.assertThat(lines).hasSize(1);
+        softAssertions.assertThat(lines.get(0)).contains("\"method\":\"POST\",\"uri\":\"/members\",\"status\":201,\"bytes\":6,");
+        softAssertions.assertThat(servletContext.getAttribute(AccessLogger.CONTEXT_ATTRIBUTE)).isNotNull();
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("예외로 끝난 요청은 status 500 으로 기록해야한다.")
+    void exception() throws ServletException, IOException {
+        //given
+        init("true");
+
+        //when
+        assertThatThrownBy(() -> filter.doFilter(new MockHttpServletRequest("GET", "/error"), new MockHttpServletResponse(),
+                chain(new HttpServlet() {
+                    @Override
+                    protected void doGet(HttpServletRequest req, HttpServletResponse resp) {
+                        throw new IllegalStateException("handler");
+                    }
+                })))
+                .isInstanceOf(IllegalStateException.class);
+        filter.destroy();
+
+        //then
+        assertThat(lines()).singleElement().asString().contains("\"uri\":\"/error\",\"status\":500,\"bytes\":0,");
+    }
+
+    @Test
+    @DisplayName("reset 전에 writer 에 쓴 문자는 응답과 바이트 수에서 모두 빠져야한다.")
+    void resetDiscardsWriterBuffer() throws ServletException, IOException {
+        //given
+        init("true");
+
+        //when
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/reset"), response, chain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                PrintWriter writer = resp.getWriter();
+                writer.write("discarded"); // 아직 writer 의 인코더 버퍼에 있음
+                resp.resetBuffer();
+                writer.write("also discarded");
+                resp.reset();
+                resp.setStatus(404);
+                writer.write("not found");
+            }
+        }));
+        filter.destroy();
+
+        //then
+        assertThat(response.getContentAsString()).isEqualTo("not found");
+        assertThat(lines()).singleElement().asString().contains("\"status\":404,\"bytes\":9,");
+    }
+
+    @Test
+    @DisplayName("비동기 요청은 AsyncContext 가 끝날 때 기록해야한다.")
+    void async() throws ServletException, IOException {
+        //given
+        init("true");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/async");
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        //when
+        filter.doFilter(request, response, chain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) {
+                req.startAsync(req, resp);
+            }
+        }));
+        AccessLogger accessLogger = (AccessLogger) servletContext.getAttribute(AccessLogger.CONTEXT_ATTRIBUTE);
+        int pendingBeforeComplete = accessLogger.getPending();
+        AsyncContext asyncContext = request.getAsyncContext();
+        asyncContext.getResponse().getOutputStream().write("done".getBytes(StandardCharsets.UTF_8));
+        asyncContext.complete();
+        filter.destroy();
+
+        //then
+        assertThat(pendingBeforeComplete).isZero();
+        assertThat(lines()).singleElement().asString().contains("\"uri\":\"/async\",\"status\":200,\"bytes\":4,");
+    }
+
+    @Test
+    @DisplayName("access-log.enabled=false 이면 기록하지 않고 파일도 만들지 않아야한다.")
+    void disabled() throws ServletException, IOException {
+        //given
+        init("false");
+
+        //when
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/hello"), response, chain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                resp.getWriter().write("hello");
+            }
+        }));
+
+        //then
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(response.getContentAsString()).isEqualTo("hello");
+        softAssertions.assertThat(Files.exists(dir.resolve(RollingLogFile.FILE_NAME))).isFalse();
+        softAssertions.assertThat(servletContext.getAttribute(AccessLogger.CONTEXT_ATTRIBUTE)).isNull();
+        softAssertions.assertAll();
+    }
+
+    // 스프링 컨테이너 대신 설정만 담은 context 를 등록. 기록 스레드가 버퍼가 비었을 때 쉬는 시간은 destroy 로 깨우므로 길게
+    @Test
+    @DisplayName("정적 리소스 요청은 응답을 감싸지 않고, 바이트 수는 Content-Length 로 기록해야한다.")
+    void staticResource() throws ServletException, IOException {
+        //given
+        init("true");
+        servletContext.setAttribute(StaticResourceServlet.PATHS_ATTRIBUTE, Set.of("/basic/large.html"));
+        List<Boolean> wrapped = new ArrayList<>();
+        HttpServlet servlet = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                wrapped.add(resp instanceof HttpServletResponseWrapper);
+                resp.setContentLengthLong(100_000); // sendfile 이면 body 는 서블릿이 반환한 뒤 커넥터가 보냄
+            }
+        };
+
+        //when
+        for (String method : new String[]{"GET", "HEAD"}) {
+            MockHttpServletRequest request = new MockHttpServletRequest(servletContext, method, "/basic/large.html");
+            request.setServletPath("/basic/large.html");
+            filter.doFilter(request, new MockHttpServletResponse(), chain(servlet));
+        }
+        filter.destroy();
+
+        //then
+        List<String> lines = lines();
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(wrapped).containsExactly(false, false);
+        softAssertions.assertThat(lines).hasSize(2);
+        softAssertions.assertThat(lines.get(0)).contains("\"method\":\"GET\",\"uri\":\"/basic/large.html\",\"status\":200,\"bytes\":100000,");
+        softAssertions.assertThat(lines.get(1)).contains("\"method\":\"HEAD\",\"uri\":\"/basic/large.html\",\"status\":200,\"bytes\":0,");
+        softAssertions.assertAll();
+    }
+
+    private void init(String enabled) throws ServletException {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("access-log.enabled", enabled)
+                .withProperty("access-log.dir", dir.toString())
+                .withProperty("access-log.flush-interval-ms", "60000");
+        StaticWebApplicationContext context = new StaticWebApplicationContext();
+        context.setEnvironment(environment);
+        servletContext.setAttribute(WebApplicationContext.ROOT_WEB_APPLICATION_CONTEXT_ATTRIBUTE, context);
+        filter.init(new MockFilterConfig(servletContext));
+    }
+
+    private static MockFilterChain chain(HttpServlet servlet) {
+        return new MockFilterChain(servlet);
+    }
+
+    private List<String> lines() throws IOException {
+        return Files.readAllLines(dir.resolve(RollingLogFile.FILE_NAME));
+    }
+}
@@ -0,0 +1,88 @@
+package com.ttasjwi.servlet.web.accesslog;
+
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccessLogRingBufferTest {
+
+    @Test
+    @DisplayName("가득 찬 버퍼에는 넣지 못하고, 꺼낸 만큼 다시 넣을 수 있어야한다.")
+    void full() {
+        //given
+        AccessLogRingBuffer buffer = new AccessLogRingBuffer(3);
+        for (int i = 0; i < buffer.getCapacity(); i++) {
+            buffer.offer(entry(i));
+        }
+
+        //when
+        boolean offeredWhenFull = buffer.offer(entry(100));
+        List<AccessLogEntry> drained = new ArrayList<>();
+        buffer.drain(drained::add, 1);
+        boolean offeredAfterDrain = buffer.offer(entry(101));
+
+        //then
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(buffer.getCapacity()).isEqualTo(4);
+        softAssertions.assertThat(offeredWhenFull).isFalse();
+        softAssertions.assertThat(drained.get(0).getTimestamp()).isEqualTo(0L);
+        softAssertions.assertThat(offeredAfterDrain).isTrue();
+        softAssertions.assertThat(buffer.size()).isEqualTo(4);
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 넣어도, 넣은 항목은 빠짐없이 한 번씩만 꺼내져야한다.")
+    void concurrentOffer() throws InterruptedException {
+        //given
+        int producers = 4;
+        int perProducer = 10_000;
+        AccessLogRingBuffer buffer = new AccessLogRingBuffer(256);
+        ExecutorService executorService = Executors.newFixedThreadPool(producers);
+
+        //when
+        for (int p = 0; p < producers; p++) {
+            long base = (long) p * perProducer;
+            executorService.submit(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    AccessLogEntry entry = entry(base + i);
+                    while (!buffer.offer(entry)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+        }
+        Set<Long> drained = new HashSet<>();
+        List<Long> duplicated = new ArrayList<>();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (drained.size() + duplicated.size() < producers * perProducer && System.nanoTime() < deadline) {
+            buffer.drain(entry -> {
+                if (!drained.add(entry.getTimestamp())) {
+                    duplicated.add(entry.getTimestamp());
+                }
+            }, 64);
+        }
+        executorService.shutdown();
+
+        //then
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(drained).hasSize(producers * perProducer);
+        softAssertions.assertThat(duplicated).isEmpty();
+        softAssertions.assertAll();
+        assertThat(executorService.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private AccessLogEntry entry(long timestamp) {
+        return new AccessLogEntry(timestamp, "GET", "/hello", 200, 0L, 0L, 1);
+    }
+}
@@ -0,0 +1,121 @@
+package com.ttasjwi.servlet.web.accesslog;
+
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 기록 스레드는 항목을 모두 넣은 뒤에 start() 로 시작 -> 버퍼 크기가 테스트가 넣은 만큼으로 정해짐
+ */
+class AccessLoggerTest {
+
+    private static final long NO_IDLE_FLUSH = 60_000L;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("버퍼가 sampleThreshold 이상 차면 5xx 가 아닌 요청은 sampleRate 개 중 1개만 weight 와 함께 남기고, 가득 차면 버려야한다.")
+    void samplingAndDrop() throws IOException {
+        //given : 용량 8, 4개 이상 차면 2개 중 1개만 남김
+        AccessLogger logger = new AccessLogger(new AccessLogRingBuffer(8), new RollingLogFile(dir, 0, 5),
+                512, NO_IDLE_FLUSH, 0.5, 2);
+
+        //when
+        for (int i = 0; i < 4; i++) {
+            logger.log("GET", "/ok", 200, 10, 1_000);
+        }
+        for (int i = 0; i < 4; i++) {
+            logger.log("GET", "/sampled", 200, 10, 1_000); // 2개만 남음
+        }
+        for (int i = 0; i < 3; i++) {
+            logger.log("GET", "/error", 500, 10, 1_000); // 샘플링하지 않음. 마지막 하나는 버퍼가 가득 차서 버려짐
+        }
+        long sampledOut = logger.getSampledOut();
+        long dropped = logger.getDropped();
+        int pending = logger.getPending();
+        logger.start();
+        logger.close();
+
+        //then
+        List<String> lines = lines();
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(sampledOut).isEqualTo(2);
+        softAssertions.assertThat(dropped).isEqualTo(1);
+        softAssertions.assertThat(pending).isEqualTo(8);
+        softAssertions.assertThat(logger.getWritten()).isEqualTo(8);
+        softAssertions.assertThat(lines).hasSize(8);
+        softAssertions.assertThat(lines).filteredOn(line -> line.contains("\"uri\":\"/ok\""))
+                .hasSize(4).allMatch(line -> line.endsWith("\"weight\":1}"));
+        softAssertions.assertThat(lines).filteredOn(line -> line.contains("\"uri\":\"/sampled\""))
+                .hasSize(2).allMatch(line -> line.endsWith("\"weight\":2}"));
+        softAssertions.assertThat(lines).filteredOn(line -> line.contains("\"uri\":\"/error\""))
+                .hasSize(2).allMatch(line -> line.endsWith("\"weight\":1}"));
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("기록 스레드는 batchSize 개씩 모아서 한 번에 써야한다.")
+    void batching() throws IOException {
+        //given
+        List<Integer> linesPerWrite = new ArrayList<>();
+        RollingLogFile file = new RollingLogFile(dir, 0, 5) {
+            @Override
+            void write(byte[] bytes, int length) throws IOException {
+                int count = 0;
+                for (int i = 0; i < length; i++) {
+                    if (bytes[i] == '\n') {
+                        count++;
+                    }
+                }
+                linesPerWrite.add(count);
+                super.write(bytes, length);
+            }
+        };
+        AccessLogger logger = new AccessLogger(new AccessLogRingBuffer(16), file, 3, NO_IDLE_FLUSH, 1.0, 1);
+
+        //when
+        for (int i = 0; i < 7; i++) {
+            logger.log("GET", "/members/" + i, 200, 10, 1_000);
+        }
+        logger.start();
+        logger.close();
+
+        //then
+        assertThat(linesPerWrite).containsExactly(3, 3, 1);
+        assertThat(lines()).hasSize(7);
+    }
+
+    @Test
+    @DisplayName("기록은 JSON 한 줄이어야 하고, 따옴표와 제어 문자는 escape 되어야한다.")
+    void format() throws IOException {
+        //given
+        AccessLogger logger = new AccessLogger(new AccessLogRingBuffer(4), new RollingLogFile(dir, 0, 5),
+                512, NO_IDLE_FLUSH, 1.0, 1);
+
+        //when
+        logger.log("POST", "/a\"b\\c\n", 201, 12, 3_500);
+        logger.start();
+        logger.close();
+
+        //then
+        List<String> lines = lines();
+        assertThat(lines).hasSize(1);
+        assertThat(lines.get(0))
+                .startsWith("{\"ts\":\"")
+                .endsWith("\",\"method\":\"POST\",\"uri\":\"/a\\\"b\\\\c\\u000a\",\"status\":201,\"bytes\":12,\"durationUs\":3,\"weight\":1}");
+    }
+
+    private List<String> lines() throws IOException {
+        return Files.readAllLines(dir.resolve(RollingLogFile.FILE_NAME));
+    }
+}
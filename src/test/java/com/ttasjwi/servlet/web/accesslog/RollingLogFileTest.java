@@ -0,0 +1,99 @@
+package com.ttasjwi.servlet.web.accesslog;
+
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RollingLogFileTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("maxFileBytes 를 넘으면 이름을 바꿔 넘기고, 넘긴 파일은 최근 maxFiles 개만 남겨야한다.")
+    void rollAndRetention() throws IOException {
+        //given
+        RollingLogFile file = new RollingLogFile(dir, 10, 2);
+
+        //when : 6 바이트씩 5번 -> 두 번째부터 매번 넘김 (같은 ms 안에서도 이름이 겹치지 않아야 함)
+        for (int i = 1; i <= 5; i++) {
+            write(file, "line" + i + "\n");
+        }
+        file.close();
+
+        //then
+        List<Path> rolled = rolledFiles();
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(rolled).hasSize(2);
+        softAssertions.assertThat(read(rolled.get(0))).isEqualTo("line3\n");
+        softAssertions.assertThat(read(rolled.get(1))).isEqualTo("line4\n");
+        softAssertions.assertThat(read(dir.resolve(RollingLogFile.FILE_NAME))).isEqualTo("line5\n");
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("다시 열면 기존 파일 뒤에 덧붙이고, 기존 크기까지 합쳐서 넘길지 정해야한다.")
+    void reopen() throws IOException {
+        //given
+        RollingLogFile first = new RollingLogFile(dir, 10, 2);
+        write(first, "line1\n");
+        first.close();
+
+        //when
+        RollingLogFile second = new RollingLogFile(dir, 10, 2);
+        write(second, "line2\n");
+        second.close();
+
+        //then
+        List<Path> rolled = rolledFiles();
+        assertThat(rolled).hasSize(1);
+        assertThat(read(rolled.get(0))).isEqualTo("line1\n");
+        assertThat(read(dir.resolve(RollingLogFile.FILE_NAME))).isEqualTo("line2\n");
+    }
+
+    @Test
+    @DisplayName("maxFileBytes 가 0 이면 넘기지 않아야한다.")
+    void unlimited() throws IOException {
+        //given
+        RollingLogFile file = new RollingLogFile(dir, 0, 2);
+
+        //when
+        for (int i = 1; i <= 3; i++) {
+            write(file, "line" + i + "\n");
+        }
+        file.close();
+
+        //then
+        assertThat(rolledFiles()).isEmpty();
+        assertThat(read(dir.resolve(RollingLogFile.FILE_NAME))).isEqualTo("line1\nline2\nline3\n");
+    }
+
+    private static void write(RollingLogFile file, String line) throws IOException {
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        file.write(bytes, bytes.length);
+    }
+
+    // 이름 순 = 오래된 순
+    private List<Path> rolledFiles() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(path -> !path.getFileName().toString().equals(RollingLogFile.FILE_NAME))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static String read(Path path) throws IOException {
+        return Files.readString(path);
+    }
+}
@@ -0,0 +1,215 @@
+package com.ttasjwi.servlet.web.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.ttasjwi.servlet.domain.Member;
+import com.ttasjwi.servlet.domain.MemberRepository;
+import com.ttasjwi.servlet.web.JsonCodecs;
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+class MemberApiServletTest {
+
+    MemberApiServlet servlet = new MemberApiServlet();
+    MemberRepository memberRepository = MemberRepository.getInstance();
+
+    @AfterEach
+    void afterEach() {
+        memberRepository.clearStore();
+    }
+
+    @Test
+    @DisplayName("목록은 afterId 다음부터 size 명을 id 순으로 주고, 다음 페이지가 있으면 next 에 마지막 id 를 담아야한다.")
+    void page() throws ServletException, IOException {
+        //given
+        Member kim = memberRepository.save(new Member("kim", 20));
+        Member lee = memberRepository.save(new Member("lee", 30));
+        Member park = memberRepository.save(new Member("park", 40));
+
+        //when
+        MockHttpServletResponse first = get(null, "afterId", "0", "size", "2");
+        MockHttpServletResponse last = get(null, "afterId", String.valueOf(lee.getId()), "size", "2");
+
+        //then
+        JsonNode firstBody = json(first);
+        JsonNode lastBody = json(last);
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(first.getStatus()).isEqualTo(200);
+        softAssertions.assertThat(first.getContentType()).startsWith("application/json");
+        softAssertions.assertThat(ids(firstBody.get("members"))).containsExactly(kim.getId(), lee.getId());
+        softAssertions.assertThat(firstBody.get("next").asLong()).isEqualTo(lee.getId());
+        softAssertions.assertThat(ids(lastBody.get("members"))).containsExactly(park.getId());
+        softAssertions.assertThat(lastBody.get("next").isNull()).isTrue();
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("저장소가 바뀌지 않았으면 같은 ETag 의 요청에 body 없이 304 로 응답하고, 압축은 하지 않아야한다.")
+    void notModifiedAndUncompressed() throws ServletException, IOException {
+        //given
+        memberRepository.save(new Member("kim", 20));
+        MockHttpServletRequest firstRequest = request("GET", null);
+        firstRequest.addHeader("Accept-Encoding", "gzip");
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        servlet.doGet(firstRequest, first);
+
+        //when
+        MockHttpServletRequest request = request("GET", null);
+        request.addHeader("If-None-Match", first.getHeader("ETag"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        servlet.doGet(request, response);
+
+        //then
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(first.getHeader("Content-Encoding")).isNull(); // 압축은 CompressionFilter 가 담당
+        softAssertions.assertThat(first.getContentAsString()).contains("\"kim\"");
+        softAssertions.assertThat(response.getStatus()).isEqualTo(304);
+        softAssertions.assertThat(response.getContentAsByteArray()).isEmpty();
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("ids 로 여러 명을 요청하면 있는 회원은 members 에, 없는 id 는 missing 에 담아야한다.")
+    void ids() throws ServletException, IOException {
+        //given
+        Member kim = memberRepository.save(new Member("kim", 20));
+        Member lee = memberRepository.save(new Member("lee", 30));
+        long unknownId = lee.getId() + 100;
+
+        //when
+        MockHttpServletResponse response = get(null, "ids", lee.getId() + ", " + unknownId + "," + kim.getId());
+
+        //then
+        JsonNode body = json(response);
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(response.getStatus()).isEqualTo(200);
+        softAssertions.assertThat(ids(body.get("members"))).containsExactly(lee.getId(), kim.getId());
+        softAssertions.assertThat(body.get("missing")).extracting(JsonNode::asLong).containsExactly(unknownId);
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("ids 에 정수가 아닌 값이 있거나 비어 있으면 400 으로 응답해야한다.")
+    void badIds() throws ServletException, IOException {
+        //when
+        MockHttpServletResponse notNumber = get(null, "ids", "1,kim");
+        MockHttpServletResponse empty = get(null, "ids", " , ");
+
+        //then
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(notNumber.getStatus()).isEqualTo(400);
+        softAssertions.assertThat(json(notNumber).get("fields").get(0).get("rejectedValue").asText()).isEqualTo("kim");
+        softAssertions.assertThat(empty.getStatus()).isEqualTo(400);
+        softAssertions.assertThat(json(empty).get("fields").get(0).get("name").asText()).isEqualTo("ids");
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("한 명 조회는 있으면 회원을, 없으면 404, id 가 정수가 아니면 400 으로 응답해야한다.")
+    void detail() throws ServletException, IOException {
+        //given
+        Member kim = memberRepository.save(new Member("kim", 20));
+
+        //when
+        MockHttpServletResponse found = get("/" + kim.getId());
+        MockHttpServletResponse notFound = get("/" + (kim.getId() + 1));
+        MockHttpServletResponse badId = get("/kim");
+
+        //then
+        JsonNode body = json(found);
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(found.getStatus()).isEqualTo(200);
+        softAssertions.assertThat(body.get("id").asLong()).isEqualTo(kim.getId());
+        softAssertions.assertThat(body.get("username").asText()).isEqualTo("kim");
+        softAssertions.assertThat(body.get("age").asInt()).isEqualTo(20);
+        softAssertions.assertThat(notFound.getStatus()).isEqualTo(404);
+        softAssertions.assertThat(json(notFound).get("status").asInt()).isEqualTo(404);
+        softAssertions.assertThat(badId.getStatus()).isEqualTo(400);
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("등록은 body 의 id 를 무시하고 저장한 뒤 201 과 Location 으로 응답해야한다.")
+    void post() throws ServletException, IOException {
+        //when
+        MockHttpServletResponse response = post(null, "{\"id\":999,\"username\":\"kim\",\"age\":20}");
+
+        //then
+        List<Member> members = memberRepository.findAll();
+        JsonNode body = json(response);
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(response.getStatus()).isEqualTo(201);
+        softAssertions.assertThat(members).hasSize(1);
+        softAssertions.assertThat(members.get(0).getId()).isNotEqualTo(999L);
+        softAssertions.assertThat(response.getHeader("Location")).isEqualTo("/api/members/" + members.get(0).getId());
+        softAssertions.assertThat(body.get("id").asLong()).isEqualTo(members.get(0).getId());
+        softAssertions.assertThat(body.get("username").asText()).isEqualTo("kim");
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("등록 body 가 JSON 이 아니거나 값이 잘못되면 400, 회원 경로로 등록하면 405 로 응답하고 저장하지 않아야한다.")
+    void badPost() throws ServletException, IOException {
+        //when
+        MockHttpServletResponse notJson = post(null, "username=kim&age=20");
+        MockHttpServletResponse invalid = post(null, "{\"username\":\" \",\"age\":-1}");
+        MockHttpServletResponse memberPath = post("/1", "{\"username\":\"kim\",\"age\":20}");
+
+        //then
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(notJson.getStatus()).isEqualTo(400);
+        softAssertions.assertThat(invalid.getStatus()).isEqualTo(400);
+        softAssertions.assertThat(json(invalid).get("fields")).extracting(field -> field.get("name").asText())
+                .containsExactly("username", "age");
+        softAssertions.assertThat(memberPath.getStatus()).isEqualTo(405);
+        softAssertions.assertThat(memberPath.getHeader("Allow")).isEqualTo("GET");
+        softAssertions.assertThat(memberRepository.findAll()).isEmpty();
+        softAssertions.assertAll();
+    }
+
+    // params : 이름, 값, 이름, 값 ...
+    private MockHttpServletResponse get(String pathInfo, String... params) throws ServletException, IOException {
+        MockHttpServletRequest request = request("GET", pathInfo);
+        for (int i = 0; i < params.length; i += 2) {
+            request.addParameter(params[i], params[i + 1]);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        servlet.doGet(request, response);
+        return response;
+    }
+
+    private MockHttpServletResponse post(String pathInfo, String body) throws ServletException, IOException {
+        MockHttpServletRequest request = request("POST", pathInfo);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        servlet.doPost(request, response);
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String method, String pathInfo) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/members" + (pathInfo == null ? "" : pathInfo));
+        request.setServletPath("/api/members");
+        request.setPathInfo(pathInfo);
+        return request;
+    }
+
+    private static JsonNode json(MockHttpServletResponse response) throws IOException {
+        return JsonCodecs.objectMapper().readTree(response.getContentAsString(StandardCharsets.UTF_8));
+    }
+
+    private static List<Long> ids(JsonNode members) {
+        List<Long> ids = new ArrayList<>();
+        members.forEach(member -> ids.add(member.get("id").asLong()));
+        return ids;
+    }
+}
@@ -0,0 +1,112 @@
+package com.ttasjwi.servlet.web.bind;
+
+import com.ttasjwi.servlet.basic.HelloData;
+import com.ttasjwi.servlet.domain.Member;
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ParamReaderTest {
+
+    enum Grade {
+        GOLD, SILVER
+    }
+
+    @Test
+    @DisplayName("생성자가 있는 타입은 생성자 파라미터만 바인딩되어야한다.")
+    void bindConstructor() {
+        //given
+        ParamReader params = ParamReader.of(Map.of("username", "kim", "age", "20", "id", "999"));
+
+        //when
+        Member member = params.bind(Member.class);
+
+        //then
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(params.hasErrors()).isFalse();
+        softAssertions.assertThat(member.getUsername()).isEqualTo("kim");
+        softAssertions.assertThat(member.getAge()).isEqualTo(20);
+        softAssertions.assertThat(member.getId()).isNull();
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("기본 생성자만 있는 타입은 setter 로 바인딩되어야한다.")
+    void bindSetters() {
+        //given
+        ParamReader params = ParamReader.of(Map.of("username", "kim", "age", "20"));
+
+        //when
+        HelloData helloData = params.bind(HelloData.class);
+
+        //then
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(params.hasErrors()).isFalse();
+        softAssertions.assertThat(helloData.getUsername()).isEqualTo("kim");
+        softAssertions.assertThat(helloData.getAge()).isEqualTo(20);
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("없는 필수 값과 타입이 맞지 않는 값은 모두 모아서 BindException 으로 던져야한다.")
+    void validate() {
+        //given
+        ParamReader params = ParamReader.of(Map.of("age", "twenty", "grade", "BRONZE"));
+
+        //when
+        Member member = params.bind(Member.class);
+        Grade grade = params.getEnum("grade", Grade.class, Grade.SILVER);
+        params.getRequiredLong("id");
+
+        //then
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(member).isNull();
+        softAssertions.assertThat(grade).isEqualTo(Grade.SILVER);
+        softAssertions.assertThat(params.getErrors()).extracting(FieldError::getName).containsExactly("username", "age", "grade", "id");
+        softAssertions.assertAll();
+        assertThatThrownBy(params::validate)
+                .isInstanceOf(BindException.class)
+                .hasMessageContaining("twenty");
+    }
+
+    @Test
+    @DisplayName("생성자로 바인딩할 때 참조 타입 파라미터가 없으면 null 로 만들지 않고 오류로 기록해야한다.")
+    void missingConstructorArgument() {
+        //given
+        ParamReader params = ParamReader.of(Map.of("username", "", "age", "20"));
+
+        //when
+        Member member = params.bind(Member.class);
+
+        //then
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(member).isNull();
+        softAssertions.assertThat(params.getErrors()).singleElement().satisfies(error -> {
+            assertThat(error.getName()).isEqualTo("username");
+            assertThat(error.getRejectedValue()).isNull();
+        });
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("값이 없으면 기본값을, 있으면 변환한 값을 반환해야한다.")
+    void defaults() {
+        //given
+        ParamReader params = ParamReader.of(Map.of("size", "50", "grade", "GOLD", "active", "true", "username", ""));
+
+        //when, then
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(params.getInt("size", 100)).isEqualTo(50);
+        softAssertions.assertThat(params.getLong("afterId", 0L)).isEqualTo(0L);
+        softAssertions.assertThat(params.getEnum("grade", Grade.class, null)).isEqualTo(Grade.GOLD);
+        softAssertions.assertThat(params.getBoolean("active", false)).isTrue();
+        softAssertions.assertThat(params.getString("username")).isNull();
+        softAssertions.assertAll();
+        assertThat(params.hasErrors()).isFalse();
+    }
+}
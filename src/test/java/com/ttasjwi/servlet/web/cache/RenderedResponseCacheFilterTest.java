@@ -0,0 +1,137 @@
+package com.ttasjwi.servlet.web.cache;
+
+import com.ttasjwi.servlet.domain.Member;
+import com.ttasjwi.servlet.domain.MemberRepository;
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockFilterConfig;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RenderedResponseCacheFilterTest {
+
+    MemberRepository memberRepository = MemberRepository.getInstance();
+    RenderedResponseCacheFilter filter = new RenderedResponseCacheFilter();
+    AtomicInteger rendered = new AtomicInteger(); // 핸들러(servlet)가 실제로 실행된 횟수
+
+    @BeforeEach
+    void setUp() {
+        filter.init(new MockFilterConfig(new MockServletContext())); // 스프링 컨테이너 없음 -> 기본 설정으로 켜짐
+    }
+
+    @AfterEach
+    void afterEach() {
+        filter.destroy();
+        memberRepository.clearStore();
+    }
+
+    @Test
+    @DisplayName("처음 요청은 MISS 로 렌더링해서 저장하고, 같은 요청은 렌더링 없이 HIT 로 같은 body 를 돌려줘야한다.")
+    void missThenHit() throws ServletException, IOException {
+        //when
+        MockHttpServletResponse miss = get("/front-controller/v5/v4/members", true);
+        MockHttpServletResponse hit = get("/front-controller/v5/v4/members", true);
+
+        //then
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(miss.getHeader("X-Cache")).isEqualTo("MISS");
+        softAssertions.assertThat(hit.getHeader("X-Cache")).isEqualTo("HIT");
+        softAssertions.assertThat(hit.getContentAsString()).isEqualTo(miss.getContentAsString()).isEqualTo("members=0");
+        softAssertions.assertThat(hit.getContentType()).startsWith("text/html");
+        softAssertions.assertThat(hit.getHeader("X-Rendered")).isEqualTo("1"); // 저장된 헤더
+        softAssertions.assertThat(rendered.get()).isEqualTo(1);
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("저장소가 바뀌면 저장된 응답을 버리고 다시 렌더링해야한다.")
+    void invalidate() throws ServletException, IOException {
+        //given
+        get("/front-controller/v5/v4/members", true);
+
+        //when
+        memberRepository.save(new Member("kim", 20));
+        MockHttpServletResponse afterSave = get("/front-controller/v5/v4/members", true);
+
+        //then
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(afterSave.getHeader("X-Cache")).isEqualTo("MISS");
+        softAssertions.assertThat(afterSave.getContentAsString()).isEqualTo("members=1");
+        softAssertions.assertThat(rendered.get()).isEqualTo(2);
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("캐시 대상으로 표시하지 않은 응답은 모으지 않고 X-Cache 없이 원래 응답으로 바로 써야하고, 저장하지 않아야한다.")
+    void notCacheable() throws ServletException, IOException {
+        //when
+        MockHttpServletResponse first = get("/front-controller/v5/v4/members/new-form", false);
+        MockHttpServletResponse second = get("/front-controller/v5/v4/members/new-form", false);
+
+        //then
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(first.isCommitted()).isTrue(); // 핸들러의 flushBuffer 가 원래 응답에 전달됨
+        softAssertions.assertThat(first.getContentAsString()).isEqualTo("members=0");
+        softAssertions.assertThat(first.getHeader("X-Cache")).isNull(); // 캐시를 거치지 않은 응답
+        softAssertions.assertThat(second.getHeader("X-Cache")).isNull();
+        softAssertions.assertThat(rendered.get()).isEqualTo(2);
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("캐시 대상 응답은 핸들러가 flushBuffer 를 호출해도 필터가 다 모을 때까지 commit 되지 않아야한다.")
+    void bufferedUntilFilterWrites() throws ServletException, IOException {
+        //given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/front-controller/v5/v4/members");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        boolean[] committedInHandler = new boolean[1];
+        HttpServlet servlet = new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                RenderedResponseCache.markCacheable(req);
+                resp.getWriter().write("body");
+                resp.flushBuffer();
+                committedInHandler[0] = response.isCommitted();
+            }
+        };
+
+        //when
+        filter.doFilter(request, response, new MockFilterChain(servlet));
+
+        //then
+        assertThat(committedInHandler[0]).isFalse();
+        assertThat(response.getContentAsString()).isEqualTo("body");
+    }
+
+    private MockHttpServletResponse get(String uri, boolean cacheable) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                if (cacheable) {
+                    RenderedResponseCache.markCacheable(req);
+                }
+                resp.setContentType("text/html;charset=utf-8");
+                resp.setHeader("X-Rendered", String.valueOf(rendered.incrementAndGet()));
+                resp.getWriter().write("members=" + memberRepository.findAll().size());
+                resp.flushBuffer();
+            }
+        }));
+        return response;
+    }
+}
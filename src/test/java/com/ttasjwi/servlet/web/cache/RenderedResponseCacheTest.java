@@ -0,0 +1,74 @@
+package com.ttasjwi.servlet.web.cache;
+
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RenderedResponseCacheTest {
+
+    @Test
+    @DisplayName("저장할 때와 version 이 같으면 hit, 다르면 miss 여야한다.")
+    void version() {
+        //given
+        RenderedResponseCache cache = new RenderedResponseCache(10, 1024, 1024);
+        cache.put("/members", entry(10, 1L));
+
+        //when
+        RenderedResponseCache.Entry hit = cache.get("/members", 1L);
+        RenderedResponseCache.Entry stale = cache.get("/members", 2L);
+
+        //then
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(hit).isNotNull();
+        softAssertions.assertThat(stale).isNull();
+        softAssertions.assertThat(cache.getHits()).isEqualTo(1);
+        softAssertions.assertThat(cache.getMisses()).isEqualTo(1);
+        softAssertions.assertThat(cache.size()).isZero();
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("항목 수나 전체 크기를 넘으면 가장 오래 조회되지 않은 항목부터 제거해야한다.")
+    void evictLeastRecentlyUsed() {
+        //given
+        RenderedResponseCache cache = new RenderedResponseCache(2, 1024, 1024);
+        cache.put("/a", entry(10, 1L));
+        cache.put("/b", entry(10, 1L));
+        cache.get("/a", 1L);
+
+        //when
+        cache.put("/c", entry(10, 1L));
+
+        //then
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(cache.get("/a", 1L)).isNotNull();
+        softAssertions.assertThat(cache.get("/b", 1L)).isNull();
+        softAssertions.assertThat(cache.getEvictions()).isEqualTo(1);
+        softAssertions.assertThat(cache.getTotalBytes()).isEqualTo(20);
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("invalidateAll 이후에는 모든 항목이 비워져야한다.")
+    void invalidateAll() {
+        //given
+        RenderedResponseCache cache = new RenderedResponseCache(10, 1024, 1024);
+        cache.put("/a", entry(10, 1L));
+        cache.put("/b", entry(10, 1L));
+
+        //when
+        cache.invalidateAll();
+
+        //then
+        assertThat(cache.getInvalidations()).isEqualTo(2);
+        assertThat(cache.getTotalBytes()).isZero();
+    }
+
+    private RenderedResponseCache.Entry entry(int bodySize, long version) {
+        return new RenderedResponseCache.Entry("text/html", new HashMap<>(), new byte[bodySize], version, 0L);
+    }
+}
@@ -0,0 +1,187 @@
+package com.ttasjwi.servlet.web.compression;
+
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompressionResponseWrapperTest {
+
+    private final DeflaterPool pool = new DeflaterPool(6, 2);
+    private final CompressionStats stats = new CompressionStats(pool);
+
+    @Test
+    @DisplayName("min-size 보다 큰 body 는 gzip 으로 압축하고, 중간에 flush 해도 풀면 원래 body 와 같아야한다.")
+    void gzip() throws IOException {
+        //given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setContentType("text/html;charset=utf-8");
+        response.setHeader("ETag", "\"1-2\"");
+        CompressionResponseWrapper wrapper = new CompressionResponseWrapper(response, ContentEncoding.GZIP, pool, 1024, stats);
+        String body = body();
+
+        //when
+        PrintWriter writer = wrapper.getWriter();
+        writer.write(body.substring(0, 100));
+        wrapper.flushBuffer();
+        writer.write(body.substring(100));
+        wrapper.finish();
+
+        //then
+        byte[] compressed = response.getContentAsByteArray();
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(inflate(new GZIPInputStream(new ByteArrayInputStream(compressed)))).isEqualTo(body);
+        softAssertions.assertThat(compressed.length).isLessThan(body.length() / 4);
+        softAssertions.assertThat(response.getHeader("Content-Encoding")).isEqualTo("gzip");
+        softAssertions.assertThat(response.getHeader("Vary")).isEqualTo("Accept-Encoding");
+        softAssertions.assertThat(response.getHeader("ETag")).isEqualTo("\"1-2-gzip\"");
+        softAssertions.assertThat(stats.getResponses()).isEqualTo(1);
+        softAssertions.assertThat(stats.getOutputBytes()).isEqualTo(compressed.length);
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("deflate 로 압축한 body 는 zlib 형식이어야한다.")
+    void deflate() throws IOException {
+        //given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setContentType("application/json");
+        CompressionResponseWrapper wrapper = new CompressionResponseWrapper(response, ContentEncoding.DEFLATE, pool, 1024, stats);
+        String body = body();
+
+        //when
+        wrapper.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+        wrapper.finish();
+
+        //then
+        assertThat(inflate(new InflaterInputStream(new ByteArrayInputStream(response.getContentAsByteArray())))).isEqualTo(body);
+        assertThat(response.getHeader("Content-Encoding")).isEqualTo("deflate");
+    }
+
+    @Test
+    @DisplayName("min-size 이하의 body 는 압축하지 않고 Content-Length 를 그대로 넘겨야한다.")
+    void small() throws IOException {
+        //given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setContentType("text/plain");
+        CompressionResponseWrapper wrapper = new CompressionResponseWrapper(response, ContentEncoding.GZIP, pool, 1024, stats);
+
+        //when
+        wrapper.setContentLength(2);
+        wrapper.getOutputStream().write("ok".getBytes(StandardCharsets.UTF_8));
+        wrapper.finish();
+
+        //then
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(response.getContentAsString()).isEqualTo("ok");
+        softAssertions.assertThat(response.getContentLength()).isEqualTo(2);
+        softAssertions.assertThat(response.getHeader("Content-Encoding")).isNull();
+        softAssertions.assertThat(response.getHeader("Vary")).isEqualTo("Accept-Encoding");
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("이미 Content-Encoding 이 있거나 압축할 수 없는 형식이면 body 를 그대로 보내야한다.")
+    void passThrough() throws IOException {
+        //given
+        byte[] body = body().getBytes(StandardCharsets.UTF_8);
+        MockHttpServletResponse encoded = new MockHttpServletResponse();
+        encoded.setContentType("application/json");
+        encoded.setHeader("Content-Encoding", "gzip");
+        MockHttpServletResponse image = new MockHttpServletResponse();
+        image.setContentType("image/png");
+
+        //when
+        for (MockHttpServletResponse response : new MockHttpServletResponse[]{encoded, image}) {
+            CompressionResponseWrapper wrapper = new CompressionResponseWrapper(response, ContentEncoding.GZIP, pool, 1024, stats);
+            wrapper.setContentLength(body.length);
+            wrapper.getOutputStream().write(body);
+            wrapper.finish();
+        }
+
+        //then
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(encoded.getContentAsByteArray()).isEqualTo(body);
+        softAssertions.assertThat(encoded.getContentLength()).isEqualTo(body.length);
+        softAssertions.assertThat(image.getContentAsByteArray()).isEqualTo(body);
+        softAssertions.assertThat(image.getHeader("Content-Encoding")).isNull();
+        softAssertions.assertThat(stats.getResponses()).isZero();
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("압축을 시작한 뒤 sendError, sendRedirect 하면 압축 응답의 헤더를 되돌려야한다.")
+    void sendErrorAfterCompression() throws IOException {
+        //given
+        byte[] body = body().getBytes(StandardCharsets.UTF_8);
+        MockHttpServletResponse error = new MockHttpServletResponse();
+        MockHttpServletResponse redirect = new MockHttpServletResponse();
+        CompressionResponseWrapper errorWrapper = compressing(error, body);
+        CompressionResponseWrapper redirectWrapper = compressing(redirect, body);
+        assertThat(error.getHeader("Content-Encoding")).isEqualTo("gzip"); // min-size 를 넘어서 압축 시작
+
+        //when
+        errorWrapper.sendError(500);
+        redirectWrapper.sendRedirect("/members");
+
+        //then
+        SoftAssertions softAssertions = new SoftAssertions();
+        for (MockHttpServletResponse response : new MockHttpServletResponse[]{error, redirect}) {
+            softAssertions.assertThat(response.getHeader("Content-Encoding")).isNull();
+            softAssertions.assertThat(response.getHeader("ETag")).isEqualTo("\"1-2\"");
+            softAssertions.assertThat(response.getHeaders("Vary")).containsExactly("Cookie");
+            softAssertions.assertThat(response.getHeader("Cache-Control")).isEqualTo("no-cache");
+            softAssertions.assertThat(response.getContentAsByteArray()).isEmpty();
+        }
+        softAssertions.assertThat(error.getStatus()).isEqualTo(500);
+        softAssertions.assertThat(redirect.getRedirectedUrl()).isEqualTo("/members");
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("Accept-Encoding 의 q 값에 따라 형식을 골라야한다.")
+    void negotiate() {
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(ContentEncoding.negotiate("gzip, deflate, br")).isEqualTo(ContentEncoding.GZIP);
+        softAssertions.assertThat(ContentEncoding.negotiate("gzip;q=0, deflate")).isEqualTo(ContentEncoding.DEFLATE);
+        softAssertions.assertThat(ContentEncoding.negotiate("deflate;q=0.9, gzip;q=0.5")).isEqualTo(ContentEncoding.DEFLATE);
+        softAssertions.assertThat(ContentEncoding.negotiate("*")).isEqualTo(ContentEncoding.GZIP);
+        softAssertions.assertThat(ContentEncoding.negotiate("br, identity")).isNull();
+        softAssertions.assertThat(ContentEncoding.negotiate(null)).isNull();
+        softAssertions.assertAll();
+    }
+
+    private CompressionResponseWrapper compressing(MockHttpServletResponse response, byte[] body) throws IOException {
+        response.setContentType("text/html;charset=utf-8");
+        response.setHeader("ETag", "\"1-2\"");
+        response.setHeader("Vary", "Cookie");
+        response.setHeader("Cache-Control", "no-cache");
+        CompressionResponseWrapper wrapper = new CompressionResponseWrapper(response, ContentEncoding.GZIP, pool, 1024, stats);
+        wrapper.getOutputStream().write(body);
+        return wrapper;
+    }
+
+    private static String body() {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            body.append("<tr><td>").append(i).append("</td><td>회원").append(i).append("</td></tr>\n");
+        }
+        return body.toString();
+    }
+
+    private static String inflate(InputStream in) throws IOException {
+        try (in) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.ttasjwi.servlet.web.frontcontroller.v5;
+
+import com.ttasjwi.servlet.web.frontcontroller.ModelView;
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AsyncHandlerExecutorTest {
+
+    AsyncHandlerExecutor executor = new AsyncHandlerExecutor(1, 1, 10_000);
+    CountDownLatch handlerRelease = new CountDownLatch(1); // 핸들러가 끝나는 시점을 테스트가 정함
+    CountDownLatch handlerDone = new CountDownLatch(1);
+
+    @AfterEach
+    void afterEach() {
+        handlerRelease.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("핸들러가 작업 스레드에서 끝나면 결과를 담아 같은 요청으로 dispatch 해야한다.")
+    void dispatch() throws Exception {
+        //given
+        MockHttpServletRequest request = asyncRequest();
+        CountDownLatch dispatched = new CountDownLatch(1);
+
+        //when
+        executor.execute(request, new MockHttpServletResponse(), adapter(), "handler");
+        ((MockAsyncContext) request.getAsyncContext()).addDispatchHandler(dispatched::countDown);
+        handlerRelease.countDown();
+
+        //then
+        assertThat(dispatched.await(5, TimeUnit.SECONDS)).isTrue();
+        MockAsyncContext asyncContext = (MockAsyncContext) request.getAsyncContext();
+        ModelView mv = AsyncHandlerExecutor.takeResult(request);
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(asyncContext.getDispatchedPath()).isEqualTo("/front-controller/v5/v4/members");
+        softAssertions.assertThat(mv.getViewName()).isEqualTo("members");
+        softAssertions.assertThat(mv.getModel()).containsEntry("thread", "front-controller-v5-1");
+        softAssertions.assertThat(request.getAttribute(AsyncHandlerExecutor.RESULT_ATTRIBUTE)).isNull();
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("핸들러가 던진 예외는 dispatch 뒤 takeResult 에서 다시 던져져야한다.")
+    void dispatchException() throws Exception {
+        //given
+        MockHttpServletRequest request = asyncRequest();
+        CountDownLatch dispatched = new CountDownLatch(1);
+        MyHandlerAdapter failing = new MyHandlerAdapter() {
+            @Override
+            public boolean supports(Object handler) {
+                return true;
+            }
+
+            @Override
+            public ModelView handle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+                await();
+                throw new IOException("downstream");
+            }
+        };
+
+        //when
+        executor.execute(request, new MockHttpServletResponse(), failing, "handler");
+        ((MockAsyncContext) request.getAsyncContext()).addDispatchHandler(dispatched::countDown);
+        handlerRelease.countDown();
+
+        //then
+        assertThat(dispatched.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThatThrownBy(() -> AsyncHandlerExecutor.takeResult(request))
+                .isInstanceOf(IOException.class)
+                .hasMessage("downstream");
+    }
+
+    @Test
+    @DisplayName("타임아웃이 먼저 일어나면 503 으로 응답하고, 늦게 끝난 핸들러는 dispatch 하지 않아야한다.")
+    void timeout() throws Exception {
+        //given
+        MockHttpServletRequest request = asyncRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        executor.execute(request, response, adapter(), "handler");
+        MockAsyncContext asyncContext = (MockAsyncContext) request.getAsyncContext();
+
+        //when
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onTimeout(new AsyncEvent(asyncContext, request, response)); // 컨테이너의 타임아웃 통지
+        }
+        handlerRelease.countDown();
+
+        //then
+        assertThat(handlerDone.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(100); // whenComplete 가 실행될 시간
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(response.getStatus()).isEqualTo(503);
+        softAssertions.assertThat(executor.getTimeoutCount()).isEqualTo(1);
+        softAssertions.assertThat(asyncContext.getDispatchedPath()).isNull();
+        softAssertions.assertThat(request.getAttribute(AsyncHandlerExecutor.RESULT_ATTRIBUTE)).isNull();
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("핸들러가 끝나기 전에 AsyncContext 가 끝났으면(연결 종료, 오류) dispatch 하지 않아야한다.")
+    void completedBeforeHandler() throws Exception {
+        //given
+        MockHttpServletRequest request = asyncRequest();
+        executor.execute(request, new MockHttpServletResponse(), adapter(), "handler");
+        MockAsyncContext asyncContext = (MockAsyncContext) request.getAsyncContext();
+
+        //when
+        asyncContext.complete(); // 리스너의 onComplete 호출
+        handlerRelease.countDown();
+
+        //then
+        assertThat(handlerDone.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(100);
+        assertThat(asyncContext.getDispatchedPath()).isNull();
+    }
+
+    @Test
+    @DisplayName("작업 큐가 가득 차면 503 으로 바로 응답해야한다.")
+    void rejected() throws Exception {
+        //given : 스레드 1개가 실행 중이고 큐 1칸이 차 있음
+        executor.execute(asyncRequest(), new MockHttpServletResponse(), adapter(), "handler");
+        executor.execute(asyncRequest(), new MockHttpServletResponse(), adapter(), "handler");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        //when
+        executor.execute(asyncRequest(), response, adapter(), "handler");
+
+        //then
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(response.getStatus()).isEqualTo(503);
+        softAssertions.assertThat(executor.getRejectedCount()).isEqualTo(1);
+        softAssertions.assertAll();
+    }
+
+    private MockHttpServletRequest asyncRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/front-controller/v5/v4/members");
+        request.setAsyncSupported(true);
+        return request;
+    }
+
+    // handlerRelease 가 열릴 때까지 기다렸다가, 실행한 스레드 이름을 model 에 담아 반환
+    private MyHandlerAdapter adapter() {
+        return new MyHandlerAdapter() {
+            @Override
+            public boolean supports(Object handler) {
+                return true;
+            }
+
+            @Override
+            public ModelView handle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                await();
+                HashMap<String, Object> model = new HashMap<>();
+                model.put("thread", Thread.currentThread().getName());
+                handlerDone.countDown();
+                return new ModelView("members", model);
+            }
+        };
+    }
+
+    private void await() {
+        try {
+            handlerRelease.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.ttasjwi.servlet.web.frontcontroller.v5;
+
+import com.ttasjwi.servlet.domain.Member;
+import com.ttasjwi.servlet.domain.MemberRepository;
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletConfig;
+import org.springframework.mock.web.MockServletContext;
+
+import javax.servlet.ServletException;
+import java.io.IOException;
+
+class FrontControllerServletV5Test {
+
+    MemberRepository memberRepository = MemberRepository.getInstance();
+    FrontControllerServletV5 servlet = new FrontControllerServletV5();
+
+    @BeforeEach
+    void setUp() throws ServletException {
+        servlet.init(new MockServletConfig(new MockServletContext())); // 스프링 컨테이너 없음 -> 기본 view 설정, 동기 모드
+    }
+
+    @AfterEach
+    void afterEach() {
+        servlet.destroy();
+        memberRepository.clearStore();
+    }
+
+    @Test
+    @DisplayName("경로 변수로 지정한 회원이 있으면 회원 화면으로, 없으면 404 로 응답해야한다.")
+    void memberDetail() throws ServletException, IOException {
+        //given
+        Member member = memberRepository.save(new Member("kim", 20));
+        long unknownId = member.getId() + 1;
+
+        //when
+        MockHttpServletResponse v4Found = get("/front-controller/v5/v4/members/" + member.getId());
+        MockHttpServletResponse v4NotFound = get("/front-controller/v5/v4/members/" + unknownId);
+        MockHttpServletResponse annotatedFound = get("/front-controller/v5/annotated/members/" + member.getId());
+        MockHttpServletResponse annotatedNotFound = get("/front-controller/v5/annotated/members/" + unknownId);
+
+        //then
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(v4Found.getStatus()).isEqualTo(200);
+        softAssertions.assertThat(v4Found.getForwardedUrl()).isEqualTo("/WEB-INF/views/member.jsp");
+        softAssertions.assertThat(v4NotFound.getStatus()).isEqualTo(404);
+        softAssertions.assertThat(v4NotFound.getForwardedUrl()).isNull();
+        softAssertions.assertThat(annotatedFound.getStatus()).isEqualTo(200);
+        softAssertions.assertThat(annotatedFound.getForwardedUrl()).isEqualTo("/WEB-INF/views/member.jsp");
+        softAssertions.assertThat(annotatedNotFound.getStatus()).isEqualTo(404);
+        softAssertions.assertThat(annotatedNotFound.getForwardedUrl()).isNull();
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("회원 저장 요청의 age 가 숫자가 아니거나 username 이 없으면 저장하지 않고 400 으로 응답해야한다.")
+    void saveBadRequest() throws ServletException, IOException {
+        //given
+        String[] uris = {
+                "/front-controller/v5/v3/members/save",
+                "/front-controller/v5/v4/members/save",
+                "/front-controller/v5/annotated/members/save"};
+
+        //when, then
+        SoftAssertions softAssertions = new SoftAssertions();
+        for (String uri : uris) {
+            MockHttpServletResponse badAge = post(uri, "kim", "twenty");
+            softAssertions.assertThat(badAge.getStatus()).as(uri).isEqualTo(400);
+            softAssertions.assertThat(badAge.getErrorMessage()).as(uri).contains("age").contains("twenty");
+            softAssertions.assertThat(badAge.getForwardedUrl()).as(uri).isNull();
+
+            MockHttpServletResponse noUsername = post(uri, null, "20");
+            softAssertions.assertThat(noUsername.getStatus()).as(uri).isEqualTo(400);
+            softAssertions.assertThat(noUsername.getErrorMessage()).as(uri).contains("username");
+        }
+        softAssertions.assertThat(memberRepository.findAll()).isEmpty();
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("목록의 페이지 파라미터가 잘못되었으면 ETag 가 맞아도 304 가 아니라 ETag 없이 400 으로 응답해야한다.")
+    void invalidPageBeforeNotModified() throws ServletException, IOException {
+        //given
+        memberRepository.save(new Member("kim", 20));
+        String[] uris = {
+                "/front-controller/v5/v3/members",
+                "/front-controller/v5/v4/members",
+                "/front-controller/v5/annotated/members"};
+        String eTag = get(uris[0]).getHeader("ETag");
+
+        //when, then
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(eTag).isNotNull();
+        for (String uri : uris) {
+            MockHttpServletResponse valid = get(uri + "?size=10", eTag);
+            softAssertions.assertThat(valid.getStatus()).as(uri).isEqualTo(304);
+
+            MockHttpServletResponse badSize = get(uri + "?size=ten", eTag);
+            softAssertions.assertThat(badSize.getStatus()).as(uri).isEqualTo(400);
+            softAssertions.assertThat(badSize.getErrorMessage()).as(uri).contains("size");
+            softAssertions.assertThat(badSize.getHeader("ETag")).as(uri).isNull();
+            softAssertions.assertThat(badSize.getHeader("Last-Modified")).as(uri).isNull();
+
+            MockHttpServletResponse badAfterId = get(uri + "?afterId=first", eTag);
+            softAssertions.assertThat(badAfterId.getStatus()).as(uri).isEqualTo(400);
+            softAssertions.assertThat(badAfterId.getHeader("ETag")).as(uri).isNull();
+        }
+        // 검색은 afterId 를 사용하지 않으므로 검증하지 않음
+        softAssertions.assertThat(get("/front-controller/v5/annotated/members/search?username=kim&afterId=first", eTag).getStatus()).isEqualTo(304);
+        softAssertions.assertAll();
+    }
+
+    private MockHttpServletResponse post(String uri, String username, String age) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+        if (username != null) {
+            request.addParameter("username", username);
+        }
+        request.addParameter("age", age);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        servlet.service(request, response);
+        return response;
+    }
+
+    private MockHttpServletResponse get(String uri) throws ServletException, IOException {
+        return get(uri, null);
+    }
+
+    private MockHttpServletResponse get(String uri, String ifNoneMatch) throws ServletException, IOException {
+        int query = uri.indexOf('?');
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", query < 0 ? uri : uri.substring(0, query));
+        if (query >= 0) {
+            request.setQueryString(uri.substring(query + 1));
+            for (String pair : uri.substring(query + 1).split("&")) {
+                int eq = pair.indexOf('=');
+                request.addParameter(pair.substring(0, eq), pair.substring(eq + 1));
+            }
+        }
+        if (ifNoneMatch != null) {
+            request.addHeader("If-None-Match", ifNoneMatch);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        servlet.service(request, response);
+        return response;
+    }
+}
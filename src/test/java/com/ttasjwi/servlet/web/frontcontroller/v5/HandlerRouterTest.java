@@ -0,0 +1,66 @@
+package com.ttasjwi.servlet.web.frontcontroller.v5;
+
+import com.ttasjwi.servlet.web.frontcontroller.v5.adapter.ControllerV4Adapter;
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HandlerRouterTest {
+
+    HandlerRouter router = new HandlerRouter();
+    MyHandlerAdapter adapter = new ControllerV4Adapter();
+
+    @Test
+    @DisplayName("정적 경로는 경로 변수 경로보다 우선해서 매칭되어야한다.")
+    void staticSegmentFirst() {
+        //given
+        Object list = new Object();
+        Object save = new Object();
+        Object detail = new Object();
+        router.add("/members", list, adapter);
+        router.add("/members/save", save, adapter);
+        router.add("/members/{id}", detail, adapter);
+
+        //when, then
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(router.match("/members").getHandler()).isSameAs(list);
+        softAssertions.assertThat(router.match("/members/save").getHandler()).isSameAs(save);
+        softAssertions.assertThat(router.match("/members/3").getHandler()).isSameAs(detail);
+        softAssertions.assertThat(router.match("/members/3").getAdapter()).isSameAs(adapter);
+        softAssertions.assertThat(router.match("/orders")).isNull();
+        softAssertions.assertThat(router.match("/members/3/orders")).isNull();
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("경로 변수의 값을 이름과 함께 꺼낼 수 있어야한다.")
+    void extractPathVariables() {
+        //given
+        router.add("/members/{memberId}/orders/{orderId}", new Object(), adapter);
+
+        //when
+        HandlerRouter.Route route = router.match("/members/3/orders/15");
+
+        //then
+        assertThat(route.extractPathVariables("/members/3/orders/15"))
+                .containsEntry("memberId", "3")
+                .containsEntry("orderId", "15");
+    }
+
+    @Test
+    @DisplayName("경로 변수 뒤에 정적 segment 가 있거나 '/' 가 겹쳐도 경로 변수의 값만 꺼내야한다.")
+    void extractPathVariablesAfterStaticSegments() {
+        //given
+        router.add("/api/members/{id}/orders", new Object(), adapter);
+
+        //when
+        HandlerRouter.Route route = router.match("/api//members/7/orders");
+
+        //then
+        assertThat(route.extractPathVariables("/api//members/7/orders"))
+                .hasSize(1)
+                .containsEntry("id", "7");
+    }
+}
@@ -0,0 +1,123 @@
+package com.ttasjwi.servlet.web.frontcontroller.v5.annotation;
+
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AnnotatedHandlerScannerTest {
+
+    @Test
+    @DisplayName("클래스와 메서드의 경로를 합친 패턴으로, HTTP 메서드별 핸들러 메서드가 등록되어야한다.")
+    void register() {
+        //given
+        Map<String, AnnotatedHandler> handlers = new LinkedHashMap<>();
+
+        //when
+        AnnotatedHandlerScanner.register(new TestController(), handlers);
+
+        //then
+        AnnotatedHandler items = handlers.get("/items");
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(handlers).containsOnlyKeys("/items", "/items/{id}");
+        softAssertions.assertThat(items.select("GET").getMethod().getName()).isEqualTo("list");
+        softAssertions.assertThat(items.select("HEAD").getMethod().getName()).isEqualTo("list");
+        softAssertions.assertThat(items.select("POST").getMethod().getName()).isEqualTo("save");
+        softAssertions.assertThat(items.select("DELETE")).isNull();
+        softAssertions.assertThat(items.getAllowedMethods()).isEqualTo("GET, POST");
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("요청 파라미터, 경로 변수, 기본값이 파라미터 타입으로 변환되어 전달되어야한다.")
+    void invoke() throws Exception {
+        //given
+        Map<String, AnnotatedHandler> handlers = new LinkedHashMap<>();
+        AnnotatedHandlerScanner.register(new TestController(), handlers);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/items/3");
+        request.setParameter("name", "kim");
+        Map<String, Object> model = new HashMap<>();
+
+        //when
+        Object viewName = handlers.get("/items/{id}").select("GET")
+                .invoke(request, new MockHttpServletResponse(), Map.of("id", "3"), model);
+
+        //then
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(viewName).isEqualTo("item");
+        softAssertions.assertThat(model).containsEntry("id", 3L).containsEntry("name", "kim").containsEntry("count", 10);
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("같은 경로와 HTTP 메서드가 두 번 매핑되면 시작 시점에 실패해야한다.")
+    void duplicated() {
+        assertThatThrownBy(() -> AnnotatedHandlerScanner.register(new DuplicatedController(), new LinkedHashMap<>()))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("지원하지 않는 파라미터 타입은 시작 시점에 실패해야한다.")
+    void unsupportedParameter() {
+        assertThatThrownBy(() -> AnnotatedHandlerScanner.register(new UnsupportedParameterController(), new LinkedHashMap<>()))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @RequestMapping("/items")
+    static class TestController {
+
+        @GetMapping
+        public String list() {
+            return "items";
+        }
+
+        @PostMapping
+        public String save() {
+            return "item";
+        }
+
+        @GetMapping("/{id}")
+        public String item(@PathVariable("id") long id,
+                           @RequestParam("name") String name,
+                           @RequestParam(value = "count", defaultValue = "10") int count,
+                           Map<String, Object> model) {
+            model.put("id", id);
+            model.put("name", name);
+            model.put("count", count);
+            return "item";
+        }
+    }
+
+    static class DuplicatedController {
+
+        @GetMapping("/items")
+        public String a() {
+            return "a";
+        }
+
+        @GetMapping("/items")
+        public String b() {
+            return "b";
+        }
+    }
+
+    static class UnsupportedParameterController {
+
+        @GetMapping("/items")
+        public String a(StringBuilder builder) {
+            return "a";
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.ttasjwi.servlet.web.metrics;
+
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("분위수 값은 실제 값과의 상대 오차가 약 3% 이내여야한다.")
+    void percentiles() {
+        //given
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 100_000; micros++) {
+            histogram.record(micros * 1000);
+        }
+
+        //when
+        long[] values = histogram.percentiles(0.5, 0.9, 0.99);
+
+        //then
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat((double) values[0]).isCloseTo(50_000_000, within(50_000_000 * 0.035));
+        softAssertions.assertThat((double) values[1]).isCloseTo(90_000_000, within(90_000_000 * 0.035));
+        softAssertions.assertThat((double) values[2]).isCloseTo(99_000_000, within(99_000_000 * 0.035));
+        softAssertions.assertThat(histogram.getCount()).isEqualTo(100_000);
+        softAssertions.assertThat(histogram.getMax()).isEqualTo(100_000_000);
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("버킷 상한값은 그 버킷에 들어가는 값보다 작지 않아야한다.")
+    void bucketUpperBound() {
+        for (long value = 0; value < 1_000_000; value += 7) {
+            int index = LatencyHistogram.bucketIndex(value);
+            assertThat(LatencyHistogram.bucketUpperBound(index)).isGreaterThanOrEqualTo(value);
+            if (index > 0) {
+                assertThat(LatencyHistogram.bucketUpperBound(index - 1)).isLessThan(value);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 기록해도 기록 수가 유실되지 않아야한다.")
+    void concurrentRecord() throws Exception {
+        //given
+        LatencyHistogram histogram = new LatencyHistogram();
+        int threadCount = 8;
+        int recordsPerThread = 10_000;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+
+        //when
+        for (int i = 0; i < threadCount; i++) {
+            executorService.execute(() -> {
+                for (int j = 0; j < recordsPerThread; j++) {
+                    histogram.record(j);
+                }
+            });
+        }
+        executorService.shutdown();
+        executorService.awaitTermination(10, TimeUnit.SECONDS);
+
+        //then
+        assertThat(histogram.getCount()).isEqualTo((long) threadCount * recordsPerThread);
+    }
+}
@@ -0,0 +1,46 @@
+package com.ttasjwi.servlet.web.server;
+
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class VirtualThreadsTest {
+
+    @Test
+    @DisplayName("가상 스레드를 지원하는 JDK 에서는 작업이 이름이 붙은 가상 스레드에서 실행되어야한다.")
+    void newThreadPerTaskExecutor() throws Exception {
+        //given
+        assumeTrue(VirtualThreads.isSupported());
+        ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor("test-virtual-");
+
+        //when
+        Thread thread = executor.submit(Thread::currentThread).get();
+        executor.shutdown();
+
+        //then
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(VirtualThreads.isVirtual(thread)).isTrue();
+        softAssertions.assertThat(thread.getName()).startsWith("test-virtual-");
+        softAssertions.assertThat(VirtualThreads.isVirtual(Thread.currentThread())).isFalse();
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("가상 스레드를 지원하지 않는 JDK 에서는 executor 를 만들 때 예외가 발생해야한다.")
+    void unsupported() {
+        //given
+        assumeFalse(VirtualThreads.isSupported());
+
+        //then
+        assertThat(VirtualThreads.isVirtual(Thread.currentThread())).isFalse();
+        assertThatThrownBy(() -> VirtualThreads.newThreadPerTaskExecutor("test-virtual-"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,104 @@
+package com.ttasjwi.servlet.web.servlet;
+
+import com.ttasjwi.servlet.domain.MemberRepository;
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+class MemberImportServletTest {
+
+    MemberImportServlet servlet = new MemberImportServlet();
+    MemberRepository memberRepository = MemberRepository.getInstance();
+
+    @AfterEach
+    void afterEach() {
+        memberRepository.clearStore();
+    }
+
+    @Test
+    @DisplayName("NDJSON 의 회원을 모두 저장하고, 등록 건수와 배치 수를 응답해야한다.")
+    void importNdjson() throws ServletException, IOException {
+        //given
+        String body = "{\"username\":\"kim\",\"age\":20}\n"
+                + "{\"username\":\"lee\",\"age\":30,\"memo\":{\"ignored\":[1,2]}}\n"
+                + "\n"
+                + "{\"age\":40,\"username\":\"park\"}\n";
+
+        //when
+        MockHttpServletResponse response = post("application/x-ndjson", body, "2");
+
+        //then
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(response.getStatus()).isEqualTo(200);
+        softAssertions.assertThat(response.getContentAsString()).contains("\"imported\":3", "\"batches\":2").doesNotContain("error");
+        softAssertions.assertThat(memberRepository.findByUsername("park")).extracting("age").containsExactly(40);
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("CSV 의 회원을 헤더를 건너뛰고 저장해야한다.")
+    void importCsv() throws ServletException, IOException {
+        //when
+        MockHttpServletResponse response = post("text/csv", "username,age\nkim,20\nlee,30\n", null);
+
+        //then
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(response.getStatus()).isEqualTo(200);
+        softAssertions.assertThat(response.getContentAsString()).contains("\"imported\":2");
+        softAssertions.assertThat(memberRepository.findAll()).hasSize(2);
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("NDJSON 의 잘못된 줄은 500 이 아니라 줄 번호가 담긴 400 보고서로 응답해야한다.")
+    void malformedNdjson() throws ServletException, IOException {
+        //given
+        Map<String, String> badLines = new LinkedHashMap<>(); // 잘못된 줄 -> 기대하는 오류
+        badLines.put("null", "회원 객체가 아닙니다. line = 2");
+        badLines.put("[1, 2]", "회원 객체가 아닙니다. line = 2");
+        badLines.put("{\"age\":20}", "username 이 없습니다. line = 2");
+        badLines.put("{\"username\":null,\"age\":20}", "username 이 문자열이 아닙니다. line = 2");
+        badLines.put("{\"username\":\"lee\"}", "age 가 없습니다. line = 2");
+        badLines.put("{\"username\":\"lee\",\"age\":null}", "age 가 숫자가 아닙니다. line = 2");
+        badLines.put("{\"username\":\"lee\",\"age\":\"20\"}", "age 가 숫자가 아닙니다. line = 2");
+        badLines.put("{username", "JSON 형식이 아닙니다. line = 2");
+
+        SoftAssertions softAssertions = new SoftAssertions();
+        for (Map.Entry<String, String> badLine : badLines.entrySet()) {
+            String body = "{\"username\":\"kim\",\"age\":20}\n" + badLine.getKey() + "\n{\"username\":\"park\",\"age\":40}\n";
+
+            //when
+            MockHttpServletResponse response = post("application/x-ndjson", body, "1");
+
+            //then
+            softAssertions.assertThat(response.getStatus()).as(badLine.getKey()).isEqualTo(400);
+            softAssertions.assertThat(response.getContentAsString()).as(badLine.getKey())
+                    .contains("\"imported\":1") // 잘못된 줄 이전 배치는 이미 저장됨
+                    .contains("\"error\":\"" + badLine.getValue() + "\"");
+            softAssertions.assertThat(memberRepository.findByUsername("park")).as(badLine.getKey()).isEmpty();
+            memberRepository.clearStore();
+        }
+        softAssertions.assertAll();
+    }
+
+    private MockHttpServletResponse post(String contentType, String body, String batchSize) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/servlet/members/import");
+        request.setContentType(contentType);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        if (batchSize != null) {
+            request.setParameter("batchSize", batchSize);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        servlet.doPost(request, response);
+        return response;
+    }
+}
@@ -0,0 +1,170 @@
+package com.ttasjwi.servlet.web.staticresource;
+
+import com.ttasjwi.servlet.web.accesslog.AccessLogFilter;
+import com.ttasjwi.servlet.web.compression.CompressionFilter;
+import org.apache.catalina.Context;
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.servlets.DefaultServlet;
+import org.apache.catalina.startup.Tomcat;
+import org.apache.tomcat.util.descriptor.web.FilterDef;
+import org.apache.tomcat.util.descriptor.web.FilterMap;
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.context.support.StaticWebApplicationContext;
+
+import javax.servlet.Filter;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 내장 톰캣에서 StaticResourceRegistrar 의 정확한 매핑이 기본 서블릿("/")보다 우선하는지 확인
+ * - 스프링 부트와 같이 기본 서블릿을 "/" 에, welcome file 을 index.html 로 설정
+ * - 기본 필터 체인과 같은 순서로 AccessLogFilter, CompressionFilter 를 "/*" 에 등록
+ *   가장 바깥의 필터가 서블릿이 반환한 뒤의 sendfile 요청 속성을 기록
+ */
+class StaticResourceRegistrarTest {
+
+    private static final String INDEX = "<html>index</html>";
+
+    @TempDir
+    Path tempDir;
+
+    private byte[] large;
+    private Tomcat tomcat;
+    private Context context;
+    private final List<String> sendfiles = new CopyOnWriteArrayList<>();
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void setUp() throws IOException, LifecycleException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 3000; i++) {
+            content.append("<p>").append(i).append("</p>\n");
+        }
+        large = content.toString().getBytes(StandardCharsets.UTF_8);
+
+        Path webRoot = Files.createDirectories(tempDir.resolve("webapp"));
+        Files.createDirectories(webRoot.resolve("basic"));
+        Files.write(webRoot.resolve("index.html"), INDEX.getBytes(StandardCharsets.UTF_8));
+        Files.write(webRoot.resolve("basic/large.html"), large);
+        Files.write(webRoot.resolve("basic/note.gz"), large); // StaticResources 가 제외하는 파일 -> 기본 서블릿
+
+        tomcat = new Tomcat();
+        tomcat.setBaseDir(tempDir.resolve("tomcat").toString());
+        tomcat.setPort(0);
+        context = tomcat.addContext("", webRoot.toString());
+        Tomcat.addDefaultMimeTypeMappings(context);
+        Tomcat.addServlet(context, "default", new DefaultServlet());
+        context.addServletMappingDecoded("/", "default");
+        context.addWelcomeFile("index.html");
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("access-log.dir", tempDir.resolve("logs").toString());
+        StaticWebApplicationContext applicationContext = new StaticWebApplicationContext();
+        applicationContext.setEnvironment(environment);
+        context.addServletContainerInitializer((classes, servletContext) -> {
+            servletContext.setAttribute(WebApplicationContext.ROOT_WEB_APPLICATION_CONTEXT_ATTRIBUTE, applicationContext);
+            new StaticResourceRegistrar(1024, 3600).onStartup(servletContext);
+        }, null);
+        addFilter("sendfileRecorder", (request, response, chain) -> {
+            chain.doFilter(request, response);
+            Object file = request.getAttribute(StaticResourceServlet.SENDFILE_FILENAME_ATTRIBUTE);
+            if (file != null) {
+                sendfiles.add(Path.of((String) file).getFileName() + " " + request.getAttribute(StaticResourceServlet.SENDFILE_START_ATTRIBUTE)
+                        + "-" + request.getAttribute(StaticResourceServlet.SENDFILE_END_ATTRIBUTE));
+            }
+        });
+        addFilter("accessLogFilter", new AccessLogFilter());
+        addFilter("compressionFilter", new CompressionFilter());
+        tomcat.getConnector();
+        tomcat.start();
+    }
+
+    @AfterEach
+    void tearDown() throws LifecycleException {
+        tomcat.stop();
+        tomcat.destroy();
+    }
+
+    @Test
+    @DisplayName("파일 경로는 정확한 매핑으로 StaticResourceServlet 이, 나머지는 기본 서블릿이 맡아야한다.")
+    void mappings() {
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(context.findServletMapping("/index.html")).isEqualTo("staticResourceServlet");
+        softAssertions.assertThat(context.findServletMapping("/basic/large.html")).isEqualTo("staticResourceServlet");
+        softAssertions.assertThat(context.findServletMapping("/")).isEqualTo("default");
+        softAssertions.assertThat(context.findServletMapping("/basic/note.gz")).isNull();
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("\"/\" 요청은 welcome file 처리로 /index.html 의 StaticResourceServlet 이 응답해야한다.")
+    void welcomeFile() throws IOException, InterruptedException {
+        //when
+        HttpResponse<String> root = client.send(request("/").build(), HttpResponse.BodyHandlers.ofString());
+        HttpResponse<String> index = client.send(request("/index.html").build(), HttpResponse.BodyHandlers.ofString());
+        HttpResponse<String> other = client.send(request("/basic/note.gz").build(), HttpResponse.BodyHandlers.ofString());
+
+        //then
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(root.statusCode()).isEqualTo(200);
+        softAssertions.assertThat(root.body()).isEqualTo(INDEX);
+        softAssertions.assertThat(root.headers().firstValue("ETag").orElse("")).matches("\"[A-Za-z0-9_-]{22}\""); // 기본 서블릿은 W/"길이-시각"
+        softAssertions.assertThat(root.headers().firstValue("Cache-Control")).hasValue("no-cache");
+        softAssertions.assertThat(index.headers().firstValue("ETag")).isEqualTo(root.headers().firstValue("ETag"));
+        softAssertions.assertThat(other.statusCode()).isEqualTo(200);
+        softAssertions.assertThat(other.headers().firstValue("ETag").orElse("")).startsWith("W/");
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("기본 필터 체인을 거쳐도 큰 파일은 sendfile 로 전체, Range 구간 모두 보내야한다.")
+    void sendfile() throws IOException, InterruptedException {
+        //when
+        HttpResponse<byte[]> full = client.send(request("/basic/large.html").header("Accept-Encoding", "gzip").build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        HttpResponse<byte[]> partial = client.send(request("/basic/large.html").header("Range", "bytes=100-199").build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+
+        //then
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(full.statusCode()).isEqualTo(200);
+        softAssertions.assertThat(full.headers().firstValue("Content-Encoding")).isEmpty(); // .gz 가 없으면 압축하지 않음
+        softAssertions.assertThat(full.body()).isEqualTo(large);
+        softAssertions.assertThat(partial.statusCode()).isEqualTo(206);
+        softAssertions.assertThat(partial.headers().firstValue("Content-Range")).hasValue("bytes 100-199/" + large.length);
+        softAssertions.assertThat(partial.body()).isEqualTo(Arrays.copyOfRange(large, 100, 200));
+        softAssertions.assertThat(sendfiles).containsExactly("large.html 0-" + large.length, "large.html 100-200");
+        softAssertions.assertAll();
+    }
+
+    private void addFilter(String name, Filter filter) {
+        FilterDef filterDef = new FilterDef();
+        filterDef.setFilterName(name);
+        filterDef.setFilter(filter);
+        context.addFilterDef(filterDef);
+        FilterMap filterMap = new FilterMap();
+        filterMap.setFilterName(name);
+        filterMap.addURLPattern("/*");
+        context.addFilterMap(filterMap);
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + tomcat.getConnector().getLocalPort() + path));
+    }
+}
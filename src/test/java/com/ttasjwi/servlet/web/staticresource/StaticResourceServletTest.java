@@ -0,0 +1,330 @@
+package com.ttasjwi.servlet.web.staticresource;
+
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResourceLoader;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+
+import javax.servlet.ServletException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StaticResourceServletTest {
+
+    private static final String INDEX = "<html>index</html>";
+
+    @TempDir
+    Path webRoot;
+
+    private byte[] large;
+    private StaticResources resources;
+    private StaticResourceServlet servlet;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 3000; i++) {
+            content.append("<p>").append(i).append("</p>\n");
+        }
+        large = content.toString().getBytes(StandardCharsets.UTF_8);
+
+        Files.createDirectories(webRoot.resolve("WEB-INF"));
+        Files.createDirectories(webRoot.resolve("basic"));
+        Files.write(webRoot.resolve("index.html"), INDEX.getBytes(StandardCharsets.UTF_8));
+        Files.write(webRoot.resolve("basic/large.html"), large);
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(webRoot.resolve("basic/large.html.gz")))) {
+            out.write(large);
+        }
+        Files.write(webRoot.resolve("WEB-INF/secret.html"), INDEX.getBytes(StandardCharsets.UTF_8));
+        Files.write(webRoot.resolve("page.jsp"), INDEX.getBytes(StandardCharsets.UTF_8));
+
+        resources = StaticResources.load(new MockServletContext(webRoot.toString(), new FileSystemResourceLoader()), 1024);
+        servlet = new StaticResourceServlet(resources, 3600);
+    }
+
+    @AfterEach
+    void tearDown() {
+        servlet.destroy();
+    }
+
+    @Test
+    @DisplayName("WEB-INF, JSP, .gz 를 제외한 정적 파일만 읽어야한다.")
+    void load() {
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(resources.paths()).containsExactly("/basic/large.html", "/index.html");
+        softAssertions.assertThat(resources.gzipCount()).isEqualTo(1);
+        softAssertions.assertThat(resources.inMemoryBytes()).isEqualTo(INDEX.length()); // large.html 은 파일로 보냄
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("내용 해시 ETag 와 캐시 헤더로 응답하고, 같은 ETag 로 다시 요청하면 304 여야한다.")
+    void conditionalGet() throws ServletException, IOException {
+        //given
+        MockHttpServletResponse first = get("/index.html", null, null);
+
+        //when
+        MockHttpServletRequest request = request("/index.html");
+        request.addHeader("If-None-Match", first.getHeader("ETag"));
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        servlet.service(request, second);
+
+        //then
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(first.getContentAsString()).isEqualTo(INDEX);
+        softAssertions.assertThat(first.getContentType()).isEqualTo("text/html;charset=UTF-8");
+        softAssertions.assertThat(first.getHeader("Cache-Control")).isEqualTo("no-cache"); // 같은 URL 의 내용이 바뀔 수 있으므로 매번 확인
+        softAssertions.assertThat(first.getHeader("ETag")).matches("\"[A-Za-z0-9_-]{22}\"");
+        softAssertions.assertThat(second.getStatus()).isEqualTo(304);
+        softAssertions.assertThat(second.getContentAsByteArray()).isEmpty();
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("이름에 내용 해시가 있는 파일만 max-age 로 오래 캐시해야한다.")
+    void fingerprinted() throws ServletException, IOException {
+        //given
+        Files.write(webRoot.resolve("basic/app.3f2a9c1b.js"), "alert(1);".getBytes(StandardCharsets.UTF_8));
+        Files.write(webRoot.resolve("basic/app-0123456789abcdef.css"), "p {}".getBytes(StandardCharsets.UTF_8));
+        Files.write(webRoot.resolve("basic/v1.2.js"), "alert(2);".getBytes(StandardCharsets.UTF_8));
+        servlet.destroy();
+        resources = StaticResources.load(new MockServletContext(webRoot.toString(), new FileSystemResourceLoader()), 1024);
+        servlet = new StaticResourceServlet(resources, 3600);
+
+        //when
+        MockHttpServletResponse js = get("/basic/app.3f2a9c1b.js", null, null);
+        MockHttpServletResponse css = get("/basic/app-0123456789abcdef.css", null, null);
+        MockHttpServletResponse versioned = get("/basic/v1.2.js", null, null);
+
+        //then
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(js.getHeader("Cache-Control")).isEqualTo("public, max-age=3600, immutable");
+        softAssertions.assertThat(css.getHeader("Cache-Control")).isEqualTo("public, max-age=3600, immutable");
+        softAssertions.assertThat(versioned.getHeader("Cache-Control")).isEqualTo("no-cache");
+        softAssertions.assertThat(js.getHeader("ETag")).isNotNull();
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("HEAD 요청은 GET 과 같은 헤더로 응답하고 body 는 없어야한다.")
+    void head() throws ServletException, IOException {
+        //given
+        MockHttpServletRequest request = new MockHttpServletRequest("HEAD", "/basic/large.html");
+        request.setServletPath("/basic/large.html");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        //when
+        servlet.service(request, response);
+
+        //then
+        MockHttpServletResponse get = get("/basic/large.html", null, null);
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(response.getStatus()).isEqualTo(200);
+        softAssertions.assertThat(response.getContentLengthLong()).isEqualTo(large.length);
+        softAssertions.assertThat(response.getHeader("ETag")).isEqualTo(get.getHeader("ETag"));
+        softAssertions.assertThat(response.getHeader("Accept-Ranges")).isEqualTo("bytes");
+        softAssertions.assertThat(response.getContentAsByteArray()).isEmpty();
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("gzip 을 받는 클라이언트에게는 미리 압축한 .gz 를 그대로 보내야한다.")
+    void precompressed() throws ServletException, IOException {
+        //when
+        MockHttpServletResponse gzip = get("/basic/large.html", "gzip, deflate", null);
+        MockHttpServletResponse identity = get("/basic/large.html", null, null);
+
+        //then
+        byte[] inflated = new GZIPInputStream(new ByteArrayInputStream(gzip.getContentAsByteArray())).readAllBytes();
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(gzip.getHeader("Content-Encoding")).isEqualTo("gzip");
+        softAssertions.assertThat(gzip.getHeader("Vary")).isEqualTo("Accept-Encoding");
+        softAssertions.assertThat(inflated).isEqualTo(large);
+        softAssertions.assertThat(identity.getContentAsByteArray()).isEqualTo(large);
+        softAssertions.assertThat(identity.getHeader("ETag")).isNotEqualTo(gzip.getHeader("ETag"));
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("Range 요청은 원본의 해당 구간을 206 으로, 범위 밖이면 416 으로 응답해야한다.")
+    void range() throws ServletException, IOException {
+        //when
+        MockHttpServletResponse partial = get("/basic/large.html", "gzip", "bytes=10-19");
+        MockHttpServletResponse suffix = get("/index.html", null, "bytes=-7");
+        MockHttpServletResponse unsatisfiable = get("/index.html", null, "bytes=100-");
+
+        //then
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(partial.getStatus()).isEqualTo(206);
+        softAssertions.assertThat(partial.getHeader("Content-Encoding")).isNull();
+        softAssertions.assertThat(partial.getHeader("Content-Range")).isEqualTo("bytes 10-19/" + large.length);
+        softAssertions.assertThat(partial.getContentAsString()).isEqualTo(new String(large, 10, 10, StandardCharsets.UTF_8));
+        softAssertions.assertThat(suffix.getContentAsString()).isEqualTo("</html>");
+        softAssertions.assertThat(unsatisfiable.getStatus()).isEqualTo(416);
+        softAssertions.assertThat(unsatisfiable.getHeader("Content-Range")).isEqualTo("bytes */" + INDEX.length());
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("If-Range 가 원본의 ETag 나 Last-Modified 와 같을 때만 Range 를 적용하고, 다르면 전체를 보내야한다.")
+    void ifRange() throws ServletException, IOException {
+        //given
+        StaticResource resource = resources.get("/index.html");
+        String eTag = resource.getIdentity().getETag();
+        String lastModified = httpDate(resource.getLastModified());
+        String earlier = httpDate(resource.getLastModified() - 60_000);
+
+        //when
+        MockHttpServletResponse sameETag = ifRange(eTag);
+        MockHttpServletResponse otherETag = ifRange("\"other\"");
+        MockHttpServletResponse weakETag = ifRange("W/" + eTag);
+        MockHttpServletResponse sameDate = ifRange(lastModified);
+        MockHttpServletResponse earlierDate = ifRange(earlier);
+
+        //then
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(sameETag.getStatus()).isEqualTo(206);
+        softAssertions.assertThat(sameETag.getContentAsString()).isEqualTo("<html>");
+        softAssertions.assertThat(otherETag.getStatus()).isEqualTo(200);
+        softAssertions.assertThat(otherETag.getContentAsString()).isEqualTo(INDEX);
+        softAssertions.assertThat(weakETag.getStatus()).isEqualTo(200); // 강한 비교
+        softAssertions.assertThat(sameDate.getStatus()).isEqualTo(206);
+        softAssertions.assertThat(sameDate.getContentAsString()).isEqualTo("<html>");
+        softAssertions.assertThat(earlierDate.getStatus()).isEqualTo(200);
+        softAssertions.assertThat(earlierDate.getContentAsString()).isEqualTo(INDEX);
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("Range 헤더의 경계값을 RFC 7233 에 맞게 해석해야한다.")
+    void parseRange() {
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(StaticResourceServlet.parseRange("bytes=0-0", 10)).containsExactly(0, 0);
+        softAssertions.assertThat(StaticResourceServlet.parseRange("BYTES=2-", 10)).containsExactly(2, 9);
+        softAssertions.assertThat(StaticResourceServlet.parseRange("bytes=5-100", 10)).containsExactly(5, 9);
+        softAssertions.assertThat(StaticResourceServlet.parseRange("bytes=-3", 10)).containsExactly(7, 9);
+        softAssertions.assertThat(StaticResourceServlet.parseRange("bytes=-20", 10)).containsExactly(0, 9);
+
+        // 만족할 수 없는 구간 -> 416 (빈 배열)
+        softAssertions.assertThat(StaticResourceServlet.parseRange("bytes=-0", 10)).isEmpty();
+        softAssertions.assertThat(StaticResourceServlet.parseRange("bytes=10-", 10)).isEmpty();
+        softAssertions.assertThat(StaticResourceServlet.parseRange("bytes=0-", 0)).isEmpty();
+
+        // long 을 넘는 숫자 : 끝, 마지막 n 바이트는 길이로 자르고 시작은 범위 밖
+        softAssertions.assertThat(StaticResourceServlet.parseRange("bytes=0-99999999999999999999", 10)).containsExactly(0, 9);
+        softAssertions.assertThat(StaticResourceServlet.parseRange("bytes=-99999999999999999999", 10)).containsExactly(0, 9);
+        softAssertions.assertThat(StaticResourceServlet.parseRange("bytes=99999999999999999999-", 10)).isEmpty();
+
+        // 잘못된 형식이나 여러 구간 -> Range 무시 (null)
+        softAssertions.assertThat(StaticResourceServlet.parseRange("bytes=5-3", 10)).isNull();
+        softAssertions.assertThat(StaticResourceServlet.parseRange("bytes=0-1,3-4", 10)).isNull();
+        softAssertions.assertThat(StaticResourceServlet.parseRange("bytes=-", 10)).isNull();
+        softAssertions.assertThat(StaticResourceServlet.parseRange("bytes=+1-2", 10)).isNull();
+        softAssertions.assertThat(StaticResourceServlet.parseRange("bytes=1-x", 10)).isNull();
+        softAssertions.assertThat(StaticResourceServlet.parseRange("items=0-1", 10)).isNull();
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("응답이 톰캣의 facade 가 아니면(필터가 감싼 응답) sendfile 대신 body 를 직접 써야한다.")
+    void sendfileFallback() throws ServletException, IOException {
+        //given
+        MockHttpServletRequest request = request("/basic/large.html");
+        request.setAttribute(StaticResourceServlet.SENDFILE_SUPPORTED_ATTRIBUTE, true);
+        request.addHeader("Range", "bytes=100-");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        //when
+        servlet.service(request, response);
+
+        //then
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(response.getStatus()).isEqualTo(206);
+        softAssertions.assertThat(response.getContentAsByteArray()).isEqualTo(Arrays.copyOfRange(large, 100, large.length));
+        softAssertions.assertThat(response.getContentLengthLong()).isEqualTo(large.length - 100);
+        softAssertions.assertThat(request.getAttribute(StaticResourceServlet.SENDFILE_FILENAME_ATTRIBUTE)).isNull();
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("웹 루트가 파일 시스템에 없으면 큰 파일을 임시 디렉터리에 풀어서 보내고, close 하면 지워야한다.")
+    void extract() throws ServletException, IOException {
+        //given
+        MockServletContext archive = new MockServletContext(webRoot.toString(), new FileSystemResourceLoader()) {
+            @Override
+            public String getRealPath(String path) {
+                return null; // 실행 가능한 war 처럼 웹 루트가 jar 안에 있음
+            }
+        };
+        StaticResources extracted = StaticResources.load(archive, 1024);
+        Path file = extracted.get("/basic/large.html").getIdentity().getFile();
+        Path extractDirectory = file.getParent().getParent();
+        StaticResourceServlet extractedServlet = new StaticResourceServlet(extracted, 3600);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        //when
+        extractedServlet.service(request("/basic/large.html"), response);
+        extractedServlet.destroy();
+
+        //then
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(file.startsWith(webRoot)).isFalse();
+        softAssertions.assertThat(extractDirectory.getFileName().toString()).startsWith("static-resources");
+        softAssertions.assertThat(response.getContentAsByteArray()).isEqualTo(large);
+        softAssertions.assertThat(extracted.get("/index.html").getIdentity().getFile()).isNull(); // 작은 파일은 힙
+        softAssertions.assertThat(file).doesNotExist();
+        softAssertions.assertThat(extractDirectory).doesNotExist();
+        softAssertions.assertAll();
+    }
+
+    private MockHttpServletResponse ifRange(String ifRange) throws ServletException, IOException {
+        MockHttpServletRequest request = request("/index.html");
+        request.addHeader("Range", "bytes=0-5");
+        request.addHeader("If-Range", ifRange);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        servlet.service(request, response);
+        return response;
+    }
+
+    private static String httpDate(long millis) {
+        return DateTimeFormatter.RFC_1123_DATE_TIME.format(Instant.ofEpochMilli(millis).atZone(ZoneOffset.UTC));
+    }
+
+    private MockHttpServletResponse get(String path, String acceptEncoding, String range) throws ServletException, IOException {
+        MockHttpServletRequest request = request(path);
+        if (acceptEncoding != null) {
+            request.addHeader("Accept-Encoding", acceptEncoding);
+        }
+        if (range != null) {
+            request.addHeader("Range", range);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        servlet.service(request, response);
+        assertThat(response.getStatus()).isIn(200, 206, 304, 416);
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setServletPath(path);
+        return request;
+    }
+}
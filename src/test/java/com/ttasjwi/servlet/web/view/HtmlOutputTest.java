@@ -0,0 +1,50 @@
+package com.ttasjwi.servlet.web.view;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HtmlOutputTest {
+
+    @Test
+    @DisplayName("writeEscaped 는 HTML 특수문자를 이스케이프하고, 나머지는 UTF-8 로 써야한다.")
+    void writeEscaped() throws IOException {
+        //given
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        HtmlOutput out = new HtmlOutput(bytes);
+
+        //when
+        out.writeEscaped("<b>\"땃쥐\" & 'kim' 😀</b>");
+        out.flush();
+
+        //then
+        assertThat(bytes.toString(StandardCharsets.UTF_8))
+                .isEqualTo("&lt;b&gt;&quot;땃쥐&quot; &amp; &#39;kim&#39; 😀&lt;/b&gt;");
+    }
+
+    @Test
+    @DisplayName("버퍼보다 큰 출력도 순서대로 모두 기록되어야한다.")
+    void writeLargerThanBuffer() throws IOException {
+        //given
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        HtmlOutput out = new HtmlOutput(bytes, 64);
+        StringBuilder expected = new StringBuilder();
+
+        //when
+        for (int i = -500; i < 500; i++) {
+            out.write(HtmlOutput.bytes("<td>"));
+            out.writeInt(i);
+            out.writeEscaped("회원" + i);
+            expected.append("<td>").append(i).append("회원").append(i);
+        }
+        out.flush();
+
+        //then
+        assertThat(bytes.toString(StandardCharsets.UTF_8)).isEqualTo(expected.toString());
+    }
+}
@@ -0,0 +1,143 @@
+package com.ttasjwi.servlet.web.view;
+
+import com.ttasjwi.servlet.domain.Member;
+import com.ttasjwi.servlet.domain.MemberRepository;
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.web.context.WebApplicationContext;
+
+import javax.servlet.ServletContext;
+import javax.servlet.ServletRegistration;
+import javax.servlet.jsp.HttpJspPage;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 빌드 시 JspC 로 컴파일한 JSP 서블릿(jsp 소스셋)이 테스트 클래스패스에 있어야 함 (build.gradle 의 jspc)
+ * 시간 대신 등록 상태와 Jasper 작업 디렉터리로 확인 : 요청이 JspServlet(*.jsp) 으로 가서 컴파일되면 작업 디렉터리에 *_jsp.class 가 생김
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"access-log.enabled=false", "member.log.enabled=false", "view.jsp.precompiled=true"})
+class PrecompiledJspTest {
+
+    private static final List<String> JSP_PATHS = List.of(
+            "/WEB-INF/views/member.jsp", "/WEB-INF/views/members.jsp", "/WEB-INF/views/new-form.jsp", "/WEB-INF/views/save-result.jsp",
+            "/jsp/members.jsp", "/jsp/members/new-form.jsp", "/jsp/members/save.jsp");
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    WebApplicationContext context;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @AfterEach
+    void afterEach() {
+        MemberRepository.getInstance().clearStore();
+    }
+
+    @Test
+    @DisplayName("모든 JSP 는 미리 컴파일된 서블릿 클래스로 JSP 경로에 등록되어야한다.")
+    void registered() throws ClassNotFoundException {
+        //given
+        ServletContext servletContext = context.getServletContext();
+
+        //then
+        SoftAssertions softAssertions = new SoftAssertions();
+        for (String jspPath : JSP_PATHS) {
+            String className = PrecompiledJspRegistrar.className(jspPath);
+            ServletRegistration registration = servletContext.getServletRegistrations().get(className);
+            softAssertions.assertThat(registration).as(jspPath).isNotNull();
+            if (registration != null) {
+                softAssertions.assertThat(registration.getClassName()).isEqualTo(className);
+                softAssertions.assertThat(registration.getMappings()).containsExactly(jspPath);
+            }
+            Class<?> type = Class.forName(className, false, servletContext.getClassLoader());
+            softAssertions.assertThat(HttpJspPage.class.isAssignableFrom(type)).as(jspPath).isTrue();
+        }
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("JSP 경로는 JspServlet(*.jsp) 이 아니라 정확히 일치하는 미리 컴파일된 서블릿에만 매핑되어야한다.")
+    void exactMappingsOnly() {
+        //given
+        ServletContext servletContext = context.getServletContext();
+
+        //then : 정확한 경로 매핑은 확장자 매핑(*.jsp) 보다 우선하므로, 다른 서블릿이 같은 경로를 가지지 않으면 JspServlet 으로 가지 않음
+        SoftAssertions softAssertions = new SoftAssertions();
+        for (ServletRegistration registration : servletContext.getServletRegistrations().values()) {
+            if (registration.getClassName().startsWith(PrecompiledJspRegistrar.JSP_PACKAGE + ".")) {
+                continue;
+            }
+            softAssertions.assertThat(registration.getMappings()).as(registration.getName())
+                    .doesNotContainAnyElementsOf(JSP_PATHS);
+        }
+        softAssertions.assertAll();
+    }
+
+    @Test
+    @DisplayName("모든 view 를 요청해도 Jasper 가 JSP 를 컴파일하지 않아야한다.")
+    void noRuntimeCompilation() throws Exception {
+        //given
+        Member member = MemberRepository.getInstance().save(new Member("park", 40));
+
+        //when
+        send(get("/servlet-mvc/members"));
+        send(get("/servlet-mvc/members/new-form"));
+        send(post("/servlet-mvc/members/save", "username=kim&age=20"));
+        send(get("/front-controller/v5/annotated/members/" + member.getId()));
+        send(get("/jsp/members.jsp"));
+        send(get("/jsp/members/new-form.jsp"));
+        send(get("/jsp/members/save.jsp?username=lee&age=30"));
+
+        //then
+        assertThat(compiledByJasper()).isEmpty();
+    }
+
+    // JspServlet 의 기본 scratchdir 는 ServletContext.TEMPDIR
+    private List<Path> compiledByJasper() throws IOException {
+        File scratchDir = (File) context.getServletContext().getAttribute(ServletContext.TEMPDIR);
+        if (scratchDir == null || !scratchDir.exists()) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.walk(scratchDir.toPath())) {
+            return files.filter(path -> path.getFileName().toString().endsWith("_jsp.class"))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    // status 가 200 이 아니면 실패
+    private void send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).as(request.uri().toString()).isEqualTo(200);
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build();
+    }
+
+    private HttpRequest post(String path, String form) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form))
+                .build();
+    }
+}